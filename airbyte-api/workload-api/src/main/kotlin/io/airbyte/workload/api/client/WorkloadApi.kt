@@ -8,6 +8,7 @@ import io.airbyte.workload.api.domain.ClaimResponse
 import io.airbyte.workload.api.domain.ExpiredDeadlineWorkloadListRequest
 import io.airbyte.workload.api.domain.LongRunningWorkloadRequest
 import io.airbyte.workload.api.domain.Workload
+import io.airbyte.workload.api.domain.WorkloadAwaitTerminalRequest
 import io.airbyte.workload.api.domain.WorkloadCancelRequest
 import io.airbyte.workload.api.domain.WorkloadClaimRequest
 import io.airbyte.workload.api.domain.WorkloadCreateRequest
@@ -78,6 +79,11 @@ interface WorkloadApi {
     @Path("workloadId") workloadId: String,
   ): Call<Workload>
 
+  @POST("await_terminal")
+  fun workloadAwaitTerminal(
+    @Body workloadAwaitTerminalRequest: WorkloadAwaitTerminalRequest,
+  ): Call<Workload>
+
   @PUT("heartbeat")
   fun workloadHeartbeat(
     @Body workloadHeartbeatRequest: WorkloadHeartbeatRequest,
@@ -15,6 +15,7 @@ import io.airbyte.workload.api.domain.ClaimResponse
 import io.airbyte.workload.api.domain.ExpiredDeadlineWorkloadListRequest
 import io.airbyte.workload.api.domain.LongRunningWorkloadRequest
 import io.airbyte.workload.api.domain.Workload
+import io.airbyte.workload.api.domain.WorkloadAwaitTerminalRequest
 import io.airbyte.workload.api.domain.WorkloadCancelRequest
 import io.airbyte.workload.api.domain.WorkloadClaimRequest
 import io.airbyte.workload.api.domain.WorkloadCreateRequest
@@ -65,6 +66,12 @@ class WorkloadApiClient internal constructor(
 
   fun workloadGet(workloadId: String): Workload = api.workloadGet(workloadId).body()
 
+  /**
+   * Returns the workload once it reaches a terminal status, or as it is when the server stops waiting for it.
+   */
+  fun workloadAwaitTerminal(workloadAwaitTerminalRequest: WorkloadAwaitTerminalRequest): Workload =
+    api.workloadAwaitTerminal(workloadAwaitTerminalRequest).body()
+
   fun workloadHeartbeat(workloadHeartbeatRequest: WorkloadHeartbeatRequest) = api.workloadHeartbeat(workloadHeartbeatRequest).unit()
 
   fun workloadList(workloadListRequest: WorkloadListRequest): WorkloadListResponse = api.workloadList(workloadListRequest).body()
@@ -0,0 +1,16 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.api.domain
+
+import io.swagger.v3.oas.annotations.media.Schema
+
+data class WorkloadAwaitTerminalRequest(
+  @Schema(required = true)
+  var workloadId: String = "",
+  /**
+   * How long to wait for the workload to reach a terminal status. The server may wait for less.
+   */
+  var timeoutSeconds: Int = 0,
+)
@@ -10,4 +10,8 @@ data class WorkloadQueuePollRequest(
   var dataplaneGroup: String? = null,
   var priority: WorkloadPriority? = null,
   var quantity: Int,
+  /**
+   * How long to wait for workloads to be enqueued when there are none. The poll returns immediately when it isn't set.
+   */
+  var waitTimeoutSeconds: Int? = null,
 )
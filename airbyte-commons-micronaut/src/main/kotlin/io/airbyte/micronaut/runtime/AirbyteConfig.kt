@@ -100,6 +100,8 @@ internal const val DEFAULT_DATA_DOG_ORCHESTRATOR_DISABLED_INTEGRATIONS =
 internal const val DEFAULT_DATA_PLANE_QUEUE_CHECK = "CHECK_CONNECTION"
 internal const val DEFAULT_DATA_PLANE_QUEUE_DISCOVER = "DISCOVER_SCHEMA"
 internal const val DEFAULT_DATA_PLANE_QUEUE_SYNC = "SYNC"
+internal const val DEFAULT_FEATURE_FLAG_CACHE_MAX_STALENESS = "PT5M"
+internal const val DEFAULT_FEATURE_FLAG_CACHE_POLL_TIMEOUT = "PT30S"
 internal const val DEFAULT_FEATURE_FLAG_PATH = "/etc/launchdarkly/flags"
 internal const val DEFAULT_FLYWAY_INITIALIZATION_TIMEOUT_MS = 60000L
 internal const val DEFAULT_INTERNAL_DOCUMENTATION_HOST = "https://reference.airbyte.com/"
@@ -133,6 +135,9 @@ internal const val DEFAULT_POD_SWEEPER_RUNNING_TTL_MINUTES = -1L
 internal const val DEFAULT_POD_SWEEPER_SUCCEEDED_TTL_MINUTES = 10L
 internal const val DEFAULT_POD_SWEEPER_UNSUCCESSFUL_TTL_MINUTES = 120L
 internal const val DEFAULT_POD_SWEEPER_RATE_MINUTES = "PT2M"
+internal const val DEFAULT_SECRET_HYDRATION_CACHE_MAX_SIZE = 10000L
+internal const val DEFAULT_SECRET_HYDRATION_CACHE_TTL = "PT5M"
+internal const val DEFAULT_SECRET_MAX_CONCURRENT_READS = 16
 internal const val DEFAULT_SHUTDOWN_DELAY_MS = 20000L
 internal const val DEFAULT_SIDECAR_FILE_TIMEOUT_MINUTES = 9
 internal const val DEFAULT_SIDECAR_FILE_TIMEOUT_MINUTES_WITHIN_SYNC = 30
@@ -175,13 +180,20 @@ internal const val DEFAULT_WORKER_SYNC_MAX_TIMEOUT_DAYS = 3
 internal const val DEFAULT_WORKER_SYNC_MAX_WORKERS = 5
 internal const val DEFAULT_WORKFLOW_FAILURE_RESTART_DELAY = 600L
 internal const val DEFAULT_WORKLOAD_REDELIVERY_WINDOW_SECONDS = 300
+internal const val DEFAULT_WORKLOAD_HEARTBEAT_FLUSH_INTERVAL_MILLIS = 2_000L
+internal const val DEFAULT_WORKLOAD_HEARTBEAT_MAX_BUFFERED = 10_000
 internal const val DEFAULT_WORKLOAD_LAUNCHER_HEARTBEAT_RATE = "PT30S"
 internal const val DEFAULT_WORKLOAD_LAUNCHER_WORKLOAD_START_TIMEOUT = "PT5H"
 internal const val DEFAULT_WORKLOAD_LAUNCHER_PARALLELISM = 10
 internal const val DEFAULT_WORKLOAD_LAUNCHER_NETWORK_POLICY_INTROSPECTION = false
 internal const val DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_POLL_INTERVAL_SECONDS = 1
 internal const val DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_POLL_SIZE_ITEMS = 10
+internal const val DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_MAX_POLL_INTERVAL_SECONDS = 30
+internal const val DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_MAX_POLL_SIZE_ITEMS = 100
+internal const val DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_MAX_IN_FLIGHT_LAUNCHES = 200
 internal const val DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_QUEUE_TASK_CAP = 5
+internal const val DEFAULT_WORKLOAD_LAUNCHER_STAGE_CONCURRENCY = 20
+internal const val DEFAULT_WORKLOAD_LAUNCHER_LAUNCH_STAGE_CONCURRENCY = 200
 internal const val DEFAULT_DATAPLANE_GROUPS_DEFAULT_DATAPLANE_GROUP_NAME = "AUTO"
 
 const val DEFAULT_AUTH_IDENTITY_PROVIDER_TYPE = "simple"
@@ -601,6 +613,7 @@ data class AirbyteFeatureFlagConfig(
   val client: FeatureFlagClientType = FeatureFlagClientType.CONFIGFILE,
   val path: Path = Path.of(DEFAULT_FEATURE_FLAG_PATH),
   val apiKey: String = "",
+  val cache: AirbyteFeatureFlagCacheConfig = AirbyteFeatureFlagCacheConfig(),
 ) {
   enum class FeatureFlagClientType {
     CONFIGFILE,
@@ -608,6 +621,19 @@ data class AirbyteFeatureFlagConfig(
     LAUNCHDARKLY,
     TEST,
   }
+
+  /**
+   * Local copy of the flags of the feature flag service, kept up-to-date by long-polling the service for changes.
+   *
+   * Flags are evaluated remotely whenever the local copy is older than [maxStaleness], and the last known flags are
+   * served if the service can't be reached.
+   */
+  @ConfigurationProperties("cache")
+  data class AirbyteFeatureFlagCacheConfig(
+    val enabled: Boolean = false,
+    val pollTimeout: Duration = Duration.parse(DEFAULT_FEATURE_FLAG_CACHE_POLL_TIMEOUT),
+    val maxStaleness: Duration = Duration.parse(DEFAULT_FEATURE_FLAG_CACHE_MAX_STALENESS),
+  )
 }
 
 @ConfigurationProperties(FLYWAY_PREFIX)
@@ -807,6 +833,8 @@ data class AirbyteSecretsManagerConfig(
   val persistence: SecretPersistenceType = SecretPersistenceType.NO_OP,
   val store: AirbyteSecretsManagerStoreConfig,
   val useRuntimeSecretPersistence: Boolean = false,
+  val hydrationCache: AirbyteSecretsHydrationCacheConfig = AirbyteSecretsHydrationCacheConfig(),
+  val maxConcurrentReads: Int = DEFAULT_SECRET_MAX_CONCURRENT_READS,
 ) {
   fun getSecretsConfig() =
     when (persistence) {
@@ -818,6 +846,16 @@ data class AirbyteSecretsManagerConfig(
       SecretPersistenceType.VAULT -> store.vault
     }
 
+  /**
+   * Cache of the secrets read when hydrating configs, shared by all the hydrations of a process.
+   */
+  @ConfigurationProperties("hydration-cache")
+  data class AirbyteSecretsHydrationCacheConfig(
+    val enabled: Boolean = false,
+    val ttl: Duration = Duration.parse(DEFAULT_SECRET_HYDRATION_CACHE_TTL),
+    val maxSize: Long = DEFAULT_SECRET_HYDRATION_CACHE_MAX_SIZE,
+  )
+
   @ConfigurationProperties("store")
   data class AirbyteSecretsManagerStoreConfig(
     val aws: AwsSecretsManagerConfig = AwsSecretsManagerConfig(),
@@ -1460,6 +1498,8 @@ data class AirbyteWorkloadApiClientConfig(
   data class WorkloadApiHeartbeatConfig(
     val intervalSeconds: Long = 10,
     val timeoutSeconds: Long = 600,
+    val flushIntervalMillis: Long = DEFAULT_WORKLOAD_HEARTBEAT_FLUSH_INTERVAL_MILLIS,
+    val maxBuffered: Int = DEFAULT_WORKLOAD_HEARTBEAT_MAX_BUFFERED,
   )
 
   @ConfigurationProperties("retries")
@@ -1477,6 +1517,7 @@ data class AirbyteWorkloadLauncherConfig(
   val networkPolicyIntrospection: Boolean = DEFAULT_WORKLOAD_LAUNCHER_NETWORK_POLICY_INTROSPECTION,
   val parallelism: AirbyteWorkloadLauncherParallelismConfig = AirbyteWorkloadLauncherParallelismConfig(),
   val consumer: AirbyteWorkloadLauncherConsumerConfig = AirbyteWorkloadLauncherConsumerConfig(),
+  val stageConcurrency: AirbyteWorkloadLauncherStageConcurrencyConfig = AirbyteWorkloadLauncherStageConcurrencyConfig(),
 ) {
   @ConfigurationProperties("parallelism")
   data class AirbyteWorkloadLauncherParallelismConfig(
@@ -1488,6 +1529,7 @@ data class AirbyteWorkloadLauncherConfig(
   @ConfigurationProperties("consumer")
   data class AirbyteWorkloadLauncherConsumerConfig(
     val queueTaskCap: Int = DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_QUEUE_TASK_CAP,
+    val maxInFlightLaunches: Int = DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_MAX_IN_FLIGHT_LAUNCHES,
     val defaultQueue: AirbyteWorkloadLauncherDefaultQueueConsumerConfig =
       AirbyteWorkloadLauncherDefaultQueueConsumerConfig(),
     val highPriorityQueue: AirbyteWorkloadLauncherHighPriorityQueueConsumerConfig =
@@ -1497,14 +1539,29 @@ data class AirbyteWorkloadLauncherConfig(
     data class AirbyteWorkloadLauncherDefaultQueueConsumerConfig(
       val pollIntervalSeconds: Int = DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_POLL_INTERVAL_SECONDS,
       val pollSizeItems: Int = DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_POLL_SIZE_ITEMS,
+      val maxPollIntervalSeconds: Int = DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_MAX_POLL_INTERVAL_SECONDS,
+      val maxPollSizeItems: Int = DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_MAX_POLL_SIZE_ITEMS,
     )
 
     @ConfigurationProperties("high-priority-queue")
     data class AirbyteWorkloadLauncherHighPriorityQueueConsumerConfig(
       val pollIntervalSeconds: Int = DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_POLL_INTERVAL_SECONDS,
       val pollSizeItems: Int = DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_POLL_SIZE_ITEMS,
+      val maxPollIntervalSeconds: Int = DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_MAX_POLL_INTERVAL_SECONDS,
+      val maxPollSizeItems: Int = DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_MAX_POLL_SIZE_ITEMS,
     )
   }
+
+  @ConfigurationProperties("stage-concurrency")
+  data class AirbyteWorkloadLauncherStageConcurrencyConfig(
+    val build: Int = DEFAULT_WORKLOAD_LAUNCHER_STAGE_CONCURRENCY,
+    val claim: Int = DEFAULT_WORKLOAD_LAUNCHER_STAGE_CONCURRENCY,
+    val loadShed: Int = DEFAULT_WORKLOAD_LAUNCHER_STAGE_CONCURRENCY,
+    val check: Int = DEFAULT_WORKLOAD_LAUNCHER_STAGE_CONCURRENCY,
+    val mutex: Int = DEFAULT_WORKLOAD_LAUNCHER_STAGE_CONCURRENCY,
+    val architecture: Int = DEFAULT_WORKLOAD_LAUNCHER_STAGE_CONCURRENCY,
+    val launch: Int = DEFAULT_WORKLOAD_LAUNCHER_LAUNCH_STAGE_CONCURRENCY,
+  )
 }
 
 fun SecretPersistenceType.toSecretPersistenceTypeName(): SecretPersistenceTypeName =
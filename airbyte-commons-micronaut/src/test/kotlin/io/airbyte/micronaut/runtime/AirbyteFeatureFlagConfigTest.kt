@@ -10,6 +10,7 @@ import jakarta.inject.Inject
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Test
 import java.nio.file.Path
+import java.time.Duration
 
 @MicronautTest(environments = [Environment.TEST])
 internal class AirbyteFeatureFlagConfigDefaultTest {
@@ -22,6 +23,9 @@ internal class AirbyteFeatureFlagConfigDefaultTest {
     assertEquals("", airbyteFeatureFlagConfig.baseUrl)
     assertEquals(AirbyteFeatureFlagConfig.FeatureFlagClientType.CONFIGFILE, airbyteFeatureFlagConfig.client)
     assertEquals(Path.of(DEFAULT_FEATURE_FLAG_PATH), airbyteFeatureFlagConfig.path)
+    assertEquals(false, airbyteFeatureFlagConfig.cache.enabled)
+    assertEquals(Duration.parse(DEFAULT_FEATURE_FLAG_CACHE_POLL_TIMEOUT), airbyteFeatureFlagConfig.cache.pollTimeout)
+    assertEquals(Duration.parse(DEFAULT_FEATURE_FLAG_CACHE_MAX_STALENESS), airbyteFeatureFlagConfig.cache.maxStaleness)
   }
 }
 
@@ -36,6 +40,9 @@ internal class AirbyteFeatureFlagConfigFeatureFlagServiceTest {
     assertEquals("http://localhost:8080", airbyteFeatureFlagConfig.baseUrl)
     assertEquals(AirbyteFeatureFlagConfig.FeatureFlagClientType.FFS, airbyteFeatureFlagConfig.client)
     assertEquals(Path.of(DEFAULT_FEATURE_FLAG_PATH), airbyteFeatureFlagConfig.path)
+    assertEquals(true, airbyteFeatureFlagConfig.cache.enabled)
+    assertEquals(Duration.ofSeconds(20), airbyteFeatureFlagConfig.cache.pollTimeout)
+    assertEquals(Duration.ofMinutes(2), airbyteFeatureFlagConfig.cache.maxStaleness)
   }
 }
 
@@ -10,6 +10,7 @@ import jakarta.inject.Inject
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertInstanceOf
 import org.junit.jupiter.api.Test
+import java.time.Duration
 
 @MicronautTest(environments = [Environment.TEST])
 internal class AirbyteSecretsManagerConfigTest {
@@ -20,6 +21,10 @@ internal class AirbyteSecretsManagerConfigTest {
   fun testLoadingDefaultValuesFromConfig() {
     assertEquals(SecretPersistenceType.NO_OP, secretsConfig.persistence)
     assertInstanceOf(NoOpSecretsManagerConfig::class.java, secretsConfig.getSecretsConfig())
+    assertEquals(false, secretsConfig.hydrationCache.enabled)
+    assertEquals(Duration.parse(DEFAULT_SECRET_HYDRATION_CACHE_TTL), secretsConfig.hydrationCache.ttl)
+    assertEquals(DEFAULT_SECRET_HYDRATION_CACHE_MAX_SIZE, secretsConfig.hydrationCache.maxSize)
+    assertEquals(DEFAULT_SECRET_MAX_CONCURRENT_READS, secretsConfig.maxConcurrentReads)
   }
 }
 
@@ -45,6 +50,9 @@ internal class AirbyteSecretsManagerConfigAwsTest {
     assertEquals("test-access-key-ref-key", awsConfig.accessKeyRefKey)
     assertEquals("test-secret-key-ref-name", awsConfig.secretKeyRefName)
     assertEquals("test-secret-key-ref-key", awsConfig.secretKeyRefKey)
+    assertEquals(true, secretsConfig.hydrationCache.enabled)
+    assertEquals(Duration.ofMinutes(1), secretsConfig.hydrationCache.ttl)
+    assertEquals(100L, secretsConfig.hydrationCache.maxSize)
   }
 }
 
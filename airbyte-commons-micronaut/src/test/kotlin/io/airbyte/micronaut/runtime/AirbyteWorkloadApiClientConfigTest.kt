@@ -25,6 +25,8 @@ internal class AirbyteWorkloadApiClientConfigDefaultTest {
     assertEquals(5, airbyteWorkloadApiClientConfig.retries.max)
     assertEquals(10, airbyteWorkloadApiClientConfig.heartbeat.intervalSeconds)
     assertEquals(600, airbyteWorkloadApiClientConfig.heartbeat.timeoutSeconds)
+    assertEquals(DEFAULT_WORKLOAD_HEARTBEAT_FLUSH_INTERVAL_MILLIS, airbyteWorkloadApiClientConfig.heartbeat.flushIntervalMillis)
+    assertEquals(DEFAULT_WORKLOAD_HEARTBEAT_MAX_BUFFERED, airbyteWorkloadApiClientConfig.heartbeat.maxBuffered)
   }
 }
 
@@ -43,5 +45,7 @@ internal class AirbyteWorkloadApiClientConfigTest {
     assertEquals(15, airbyteWorkloadApiClientConfig.retries.max)
     assertEquals(100, airbyteWorkloadApiClientConfig.heartbeat.intervalSeconds)
     assertEquals(10, airbyteWorkloadApiClientConfig.heartbeat.timeoutSeconds)
+    assertEquals(500, airbyteWorkloadApiClientConfig.heartbeat.flushIntervalMillis)
+    assertEquals(20, airbyteWorkloadApiClientConfig.heartbeat.maxBuffered)
   }
 }
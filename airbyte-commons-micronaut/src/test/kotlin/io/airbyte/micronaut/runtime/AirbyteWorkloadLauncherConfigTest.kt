@@ -38,6 +38,29 @@ internal class AirbyteWorkloadLauncherConfigTest {
       DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_POLL_INTERVAL_SECONDS,
       airbyteWorkloadLauncherConfig.consumer.highPriorityQueue.pollIntervalSeconds,
     )
+    assertEquals(
+      DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_MAX_IN_FLIGHT_LAUNCHES,
+      airbyteWorkloadLauncherConfig.consumer.maxInFlightLaunches,
+    )
+    assertEquals(
+      DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_MAX_POLL_SIZE_ITEMS,
+      airbyteWorkloadLauncherConfig.consumer.defaultQueue.maxPollSizeItems,
+    )
+    assertEquals(
+      DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_MAX_POLL_INTERVAL_SECONDS,
+      airbyteWorkloadLauncherConfig.consumer.defaultQueue.maxPollIntervalSeconds,
+    )
+    assertEquals(
+      DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_MAX_POLL_SIZE_ITEMS,
+      airbyteWorkloadLauncherConfig.consumer.highPriorityQueue.maxPollSizeItems,
+    )
+    assertEquals(
+      DEFAULT_WORKLOAD_LAUNCHER_QUEUE_CONSUMER_MAX_POLL_INTERVAL_SECONDS,
+      airbyteWorkloadLauncherConfig.consumer.highPriorityQueue.maxPollIntervalSeconds,
+    )
+    assertEquals(DEFAULT_WORKLOAD_LAUNCHER_STAGE_CONCURRENCY, airbyteWorkloadLauncherConfig.stageConcurrency.build)
+    assertEquals(DEFAULT_WORKLOAD_LAUNCHER_STAGE_CONCURRENCY, airbyteWorkloadLauncherConfig.stageConcurrency.loadShed)
+    assertEquals(DEFAULT_WORKLOAD_LAUNCHER_LAUNCH_STAGE_CONCURRENCY, airbyteWorkloadLauncherConfig.stageConcurrency.launch)
   }
 }
 
@@ -59,5 +82,17 @@ internal class AirbyteWorkloadLauncherConfigOverridesTest {
     assertEquals(5, airbyteWorkloadLauncherConfig.consumer.defaultQueue.pollIntervalSeconds)
     assertEquals(20, airbyteWorkloadLauncherConfig.consumer.highPriorityQueue.pollSizeItems)
     assertEquals(5, airbyteWorkloadLauncherConfig.consumer.highPriorityQueue.pollIntervalSeconds)
+    assertEquals(50, airbyteWorkloadLauncherConfig.consumer.maxInFlightLaunches)
+    assertEquals(40, airbyteWorkloadLauncherConfig.consumer.defaultQueue.maxPollSizeItems)
+    assertEquals(60, airbyteWorkloadLauncherConfig.consumer.defaultQueue.maxPollIntervalSeconds)
+    assertEquals(40, airbyteWorkloadLauncherConfig.consumer.highPriorityQueue.maxPollSizeItems)
+    assertEquals(60, airbyteWorkloadLauncherConfig.consumer.highPriorityQueue.maxPollIntervalSeconds)
+    assertEquals(1, airbyteWorkloadLauncherConfig.stageConcurrency.build)
+    assertEquals(2, airbyteWorkloadLauncherConfig.stageConcurrency.claim)
+    assertEquals(3, airbyteWorkloadLauncherConfig.stageConcurrency.loadShed)
+    assertEquals(4, airbyteWorkloadLauncherConfig.stageConcurrency.check)
+    assertEquals(5, airbyteWorkloadLauncherConfig.stageConcurrency.mutex)
+    assertEquals(6, airbyteWorkloadLauncherConfig.stageConcurrency.architecture)
+    assertEquals(70, airbyteWorkloadLauncherConfig.stageConcurrency.launch)
   }
 }
@@ -18,6 +18,12 @@ class AirbyteMessageVersionedMigrator<M>(
   private val migrator: AirbyteMessageMigrator,
   val version: Version,
 ) {
+  /**
+   * Whether messages change when migrated to [version]. When they don't, [downgrade] and [upgrade] return the
+   * messages they are given.
+   */
+  fun requiresMigration(): Boolean = migrator.mostRecentVersion.getMajorVersion() != version.getMajorVersion()
+
   fun downgrade(
     message: AirbyteMessage,
     configuredAirbyteCatalog: Optional<ConfiguredAirbyteCatalog>,
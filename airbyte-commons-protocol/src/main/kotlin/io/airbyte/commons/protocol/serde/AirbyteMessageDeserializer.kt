@@ -19,5 +19,14 @@ interface AirbyteMessageDeserializer<T : Any> {
    */
   fun deserializeExact(json: String): Optional<T>
 
+  /**
+   * Same as [deserializeExact], reading from a UTF-8 encoded slice of a byte array.
+   */
+  fun deserializeExact(
+    bytes: ByteArray,
+    offset: Int,
+    length: Int,
+  ): Optional<T> = deserializeExact(String(bytes, offset, length, Charsets.UTF_8))
+
   fun getTargetVersion(): Version
 }
@@ -19,5 +19,11 @@ open class AirbyteMessageGenericDeserializer<T : Any>(
 ) : AirbyteMessageDeserializer<T> {
   override fun deserializeExact(json: String): Optional<T> = Jsons.tryDeserializeExact(json, typeClass)
 
+  override fun deserializeExact(
+    bytes: ByteArray,
+    offset: Int,
+    length: Int,
+  ): Optional<T> = Jsons.tryDeserializeExact(bytes, offset, length, typeClass)
+
   override fun getTargetVersion(): Version = targetVersion
 }
@@ -6,6 +6,7 @@ package io.airbyte.commons.protocol.serde
 
 import io.airbyte.commons.json.Jsons
 import io.airbyte.commons.version.Version
+import java.io.OutputStream
 
 /**
  * Default Airbyte Protocol serializer.
@@ -17,5 +18,12 @@ open class AirbyteMessageGenericSerializer<T : Any>(
 ) : AirbyteMessageSerializer<T> {
   override fun serialize(message: T): String = Jsons.serialize(message)
 
+  override fun serialize(
+    message: T,
+    outputStream: OutputStream,
+  ) {
+    Jsons.serialize(message, outputStream)
+  }
+
   override fun getTargetVersion(): Version? = targetVersion
 }
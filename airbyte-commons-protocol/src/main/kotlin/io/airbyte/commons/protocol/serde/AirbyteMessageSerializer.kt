@@ -5,6 +5,7 @@
 package io.airbyte.commons.protocol.serde
 
 import io.airbyte.commons.version.Version
+import java.io.OutputStream
 
 /**
  * Airbyte Protocol serialization interface.
@@ -14,5 +15,15 @@ import io.airbyte.commons.version.Version
 interface AirbyteMessageSerializer<T : Any> {
   fun serialize(message: T): String
 
+  /**
+   * Serializes a message as UTF-8 to a stream, which is neither flushed nor closed.
+   */
+  fun serialize(
+    message: T,
+    outputStream: OutputStream,
+  ) {
+    outputStream.write(serialize(message).toByteArray(Charsets.UTF_8))
+  }
+
   fun getTargetVersion(): Version?
 }
@@ -4,8 +4,10 @@
 
 package io.airbyte.workers.internal
 
+import io.airbyte.commons.io.IOs
 import io.airbyte.protocol.models.v0.AirbyteMessage
 import java.io.BufferedReader
+import java.io.InputStream
 import java.util.stream.Stream
 
 /**
@@ -16,4 +18,13 @@ interface AirbyteStreamFactory {
     bufferedReader: BufferedReader,
     origin: MessageOrigin,
   ): Stream<AirbyteMessage>
+
+  /**
+   * Create the stream by decoding the raw UTF-8 output of a connector. Implementations that do not support byte
+   * level decoding read it line by line through a [BufferedReader].
+   */
+  fun createFromBytes(
+    inputStream: InputStream,
+    origin: MessageOrigin,
+  ): Stream<AirbyteMessage> = create(IOs.newBufferedReader(inputStream), origin)
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal
+
+import io.airbyte.commons.logging.MdcScope
+import io.airbyte.protocol.models.v0.AirbyteLogMessage
+import io.github.oshai.kotlinlogging.KotlinLogging
+import org.slf4j.MDC
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.TimeUnit
+
+private val logger = KotlinLogging.logger {}
+
+internal const val DEFAULT_LOG_SINK_CAPACITY: Int = 10_000
+private const val LOG_SINK_BATCH_SIZE: Int = 512
+
+// How often a producer waiting on a full queue checks that the consumer thread is still alive.
+private const val LOG_SINK_OFFER_TIMEOUT_MS: Long = 1_000
+
+// Marks the end of the messages in the queue.
+private val END_OF_LOGS = AirbyteLogMessage()
+
+/**
+ * Logs the LOG messages of a connector from a dedicated thread.
+ *
+ * Messages are put in a bounded queue and logged in batches. The consumer thread is started with the first message,
+ * with the MDC of the thread reading the connector output extended with the entries of [mdcBuilder]. That MDC is set
+ * up once for the whole stream rather than once per message. Producers only wait when the queue is full, so a
+ * connector cannot outrun the logging backend by more than [capacity] messages. Should the consumer thread die, the
+ * messages are dropped rather than blocking the producer for good.
+ *
+ * [close] may be called from another thread than the one reading the connector, e.g. when a sync is cancelled: the
+ * messages accepted after it are dropped.
+ */
+internal class ConnectorLogSink(
+  private val mdcBuilder: MdcScope.Builder,
+  private val log: (AirbyteLogMessage) -> Unit,
+  capacity: Int = DEFAULT_LOG_SINK_CAPACITY,
+) : AutoCloseable {
+  private val queue = ArrayBlockingQueue<AirbyteLogMessage>(capacity)
+  private var consumer: Thread? = null
+  private var closed = false
+
+  @Synchronized
+  fun accept(logMessage: AirbyteLogMessage) {
+    if (closed) {
+      logger.debug { "Dropping a connector message logged after the log sink was closed" }
+      return
+    }
+    val thread = consumer ?: startConsumer().also { consumer = it }
+    enqueue(thread, logMessage)
+  }
+
+  /**
+   * Waits for all the accepted messages to be logged, then stops the consumer thread.
+   */
+  @Synchronized
+  override fun close() {
+    if (closed) {
+      return
+    }
+    closed = true
+    consumer?.let {
+      if (enqueue(it, END_OF_LOGS)) {
+        it.join()
+      }
+    }
+  }
+
+  /**
+   * Waits for room in the queue for as long as the [consumer] is alive.
+   *
+   * @return false if the consumer is gone and the [logMessage] was dropped
+   */
+  private fun enqueue(
+    consumer: Thread,
+    logMessage: AirbyteLogMessage,
+  ): Boolean {
+    while (!queue.offer(logMessage, LOG_SINK_OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+      if (!consumer.isAlive) {
+        logger.warn { "The connector log sink stopped, dropping connector messages" }
+        return false
+      }
+    }
+    return true
+  }
+
+  private fun startConsumer(): Thread {
+    val contextMap = MDC.getCopyOfContextMap()
+    val thread = Thread({ consume(contextMap) }, "connector-log-sink")
+    thread.isDaemon = true
+    thread.start()
+    return thread
+  }
+
+  private fun consume(contextMap: Map<String, String>?) {
+    MDC.setContextMap(contextMap ?: emptyMap())
+    mdcBuilder.build().use { _ ->
+      val batch = ArrayList<AirbyteLogMessage>(LOG_SINK_BATCH_SIZE)
+      while (true) {
+        batch.add(queue.take())
+        queue.drainTo(batch, LOG_SINK_BATCH_SIZE - 1)
+        for (logMessage in batch) {
+          if (logMessage === END_OF_LOGS) {
+            return
+          }
+          try {
+            log(logMessage)
+          } catch (e: Throwable) {
+            // Keep draining, the reader would wait on a full queue otherwise.
+            logger.error(e) { "Unable to log a connector message" }
+          }
+        }
+        batch.clear()
+      }
+    }
+  }
+}
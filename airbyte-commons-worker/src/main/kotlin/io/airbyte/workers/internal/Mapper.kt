@@ -45,10 +45,20 @@ class NamespacingMapper(
   private val streamPrefix: String?,
   private val destinationToSource: MutableMap<NamespaceStreamName, NamespaceStreamName> = mutableMapOf(),
 ) : AirbyteMapper {
+  /**
+   * Destination namespace and name of the records of the streams of the last mapped catalog, by source namespace
+   * and name, so that records don't have to be formatted one by one.
+   */
+  @Volatile
+  private var recordDestinations: Map<String?, Map<String, NamespaceStreamName>> = emptyMap()
+
   override fun mapCatalog(catalog: ConfiguredAirbyteCatalog): ConfiguredAirbyteCatalog {
     val catalogCopy: ConfiguredAirbyteCatalog = Jsons.clone(catalog)
+    val destinations = mutableMapOf<String?, MutableMap<String, NamespaceStreamName>>()
     catalogCopy.streams.forEach { configuredStream ->
       val stream = configuredStream.stream
+      val sourceNamespace = stream.namespace
+      val sourceStreamName = stream.name
 
       when (namespaceDefinition) {
         NamespaceDefinitionType.DESTINATION -> stream.withNamespace(null)
@@ -64,7 +74,10 @@ class NamespacingMapper(
         else -> Unit
       }
       stream.withName(transformStreamName(stream.name, streamPrefix))
+      destinations.getOrPut(sourceNamespace) { mutableMapOf() }[sourceStreamName] =
+        NamespaceStreamName(namespace = stream.namespace, streamName = stream.name)
     }
+    recordDestinations = destinations
     return catalogCopy
   }
 
@@ -72,8 +85,14 @@ class NamespacingMapper(
     when (message.type) {
       Type.RECORD ->
         with(message.record) {
-          this.withNamespace(transformNamespace(message.record.namespace))
-          this.stream = transformStreamName(message.record.stream, streamPrefix)
+          val destination = recordDestinations[this.namespace]?.get(this.stream)
+          if (destination != null) {
+            this.withNamespace(destination.namespace)
+            this.stream = destination.streamName
+          } else {
+            this.withNamespace(transformNamespace(message.record.namespace))
+            this.stream = transformStreamName(message.record.stream, streamPrefix)
+          }
         }
       Type.STATE ->
         with(message.state) {
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal
+
+import com.fasterxml.jackson.annotation.JsonIgnore
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
+
+/**
+ * [AirbyteMessage] that remembers the line it was decoded from.
+ *
+ * Produced by [VersionedAirbyteStreamFactory] when reading a connector that speaks the most recent protocol version,
+ * so the message never needs to be upgraded. Its record, if any, is a [RawAirbyteRecordMessage]. The extra fields are
+ * never serialized and instances compare equal to a plain [AirbyteMessage] with the same content.
+ */
+class RawAirbyteMessage : AirbyteMessage() {
+  /**
+   * Size of the line this message was decoded from, excluding the line terminator. -1 if unknown.
+   */
+  @get:JsonIgnore
+  var serializedSizeInBytes: Long = -1
+
+  /**
+   * Copy of the UTF-8 line this message was decoded from. Only retained for records, and only when requested by the
+   * stream factory. Anything that mutates the message must call [discardRawBytes] since the bytes would no longer
+   * match its content.
+   */
+  @get:JsonIgnore
+  var rawBytes: ByteArray? = null
+
+  @JsonDeserialize(`as` = RawAirbyteRecordMessage::class)
+  override fun setRecord(record: AirbyteRecordMessage?) {
+    super.setRecord(record)
+  }
+
+  fun discardRawBytes() {
+    rawBytes = null
+  }
+
+  /**
+   * Must be called when the record data is modified: neither the raw bytes nor the data size read from the connector
+   * describe it anymore.
+   */
+  fun invalidateRecordData() {
+    discardRawBytes()
+    (record as? RawAirbyteRecordMessage)?.dataSizeInBytes = -1
+  }
+}
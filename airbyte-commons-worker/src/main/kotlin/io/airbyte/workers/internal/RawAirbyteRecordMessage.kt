@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal
+
+import com.fasterxml.jackson.annotation.JsonIgnore
+import com.fasterxml.jackson.core.JsonParser
+import com.fasterxml.jackson.core.JsonToken
+import com.fasterxml.jackson.databind.DeserializationContext
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer
+import com.fasterxml.jackson.databind.node.NullNode
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
+
+/**
+ * [AirbyteRecordMessage] that remembers how many bytes its data took on the wire.
+ *
+ * Only produced as the record of a [RawAirbyteMessage] decoded from bytes.
+ */
+class RawAirbyteRecordMessage : AirbyteRecordMessage() {
+  /**
+   * Size of the `data` value as read from the connector. -1 if unknown, or if the data has been modified since.
+   */
+  @get:JsonIgnore
+  var dataSizeInBytes: Long = -1
+
+  @JsonDeserialize(using = DataSizeRecordingDeserializer::class)
+  override fun setData(data: JsonNode?) {
+    super.setData(data)
+  }
+}
+
+/**
+ * Reads the `data` tree of a [RawAirbyteRecordMessage] and records how many bytes it spanned in the input.
+ *
+ * Byte offsets are only known when parsing from bytes, the size is left unknown otherwise.
+ */
+internal class DataSizeRecordingDeserializer : StdDeserializer<JsonNode>(JsonNode::class.java) {
+  override fun deserialize(
+    p: JsonParser,
+    ctxt: DeserializationContext,
+  ): JsonNode {
+    // Objects and arrays open their own context, the record being built is the value of the enclosing one.
+    val context =
+      if (p.currentToken() == JsonToken.START_OBJECT || p.currentToken() == JsonToken.START_ARRAY) {
+        p.parsingContext.parent
+      } else {
+        p.parsingContext
+      }
+    val record = context?.currentValue as? RawAirbyteRecordMessage
+    val start = p.currentTokenLocation().byteOffset
+    val data = ctxt.readTree(p)
+    val end = p.currentLocation().byteOffset
+    if (record != null && start >= 0 && end >= start) {
+      record.dataSizeInBytes = end - start
+    }
+    return data
+  }
+
+  override fun getNullValue(ctxt: DeserializationContext): JsonNode = NullNode.getInstance()
+}
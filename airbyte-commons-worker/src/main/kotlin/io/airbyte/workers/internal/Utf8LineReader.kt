@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal
+
+import java.io.InputStream
+
+private const val NEWLINE: Byte = '\n'.code.toByte()
+private const val CARRIAGE_RETURN: Byte = '\r'.code.toByte()
+
+internal const val DEFAULT_LINE_BUFFER_SIZE: Int = 1024 * 1024 // 1 megabyte
+
+/**
+ * Splits a connector's output on new lines without decoding it to characters.
+ *
+ * Bytes are read in large chunks into a single buffer that is reused between lines. Because UTF-8 never uses the
+ * newline byte inside a multibyte sequence, lines can be found without decoding. A trailing carriage return is
+ * stripped to match [java.io.BufferedReader.readLine].
+ *
+ * The slice exposed by [buffer], [lineStart] and [lineLength] is only valid until the next call to [nextLine].
+ * The buffer grows to fit the longest line seen, and shrinks back once that line has been consumed.
+ */
+internal class Utf8LineReader(
+  private val inputStream: InputStream,
+  private val initialBufferSize: Int = DEFAULT_LINE_BUFFER_SIZE,
+) {
+  var buffer: ByteArray = ByteArray(initialBufferSize)
+    private set
+  var lineStart: Int = 0
+    private set
+  var lineLength: Int = 0
+    private set
+
+  // Start of the bytes that have not been returned yet.
+  private var position = 0
+
+  // End of the valid bytes in the buffer.
+  private var limit = 0
+
+  // Bytes before this index, and after position, are known not to contain a new line.
+  private var scanPosition = 0
+  private var endOfStream = false
+
+  /**
+   * Advances to the next line.
+   *
+   * @return false once the input stream is exhausted.
+   */
+  fun nextLine(): Boolean {
+    while (true) {
+      val newLineIndex = indexOfNewLine(scanPosition, limit)
+      if (newLineIndex >= 0) {
+        setLine(position, newLineIndex)
+        position = newLineIndex + 1
+        scanPosition = position
+        return true
+      }
+      scanPosition = limit
+
+      if (endOfStream) {
+        if (position < limit) {
+          setLine(position, limit)
+          position = limit
+          return true
+        }
+        return false
+      }
+      fill()
+    }
+  }
+
+  private fun indexOfNewLine(
+    from: Int,
+    to: Int,
+  ): Int {
+    for (i in from until to) {
+      if (buffer[i] == NEWLINE) {
+        return i
+      }
+    }
+    return -1
+  }
+
+  private fun setLine(
+    start: Int,
+    end: Int,
+  ) {
+    lineStart = start
+    lineLength = if (end > start && buffer[end - 1] == CARRIAGE_RETURN) end - 1 - start else end - start
+  }
+
+  private fun fill() {
+    val remaining = limit - position
+    if (buffer.size > initialBufferSize && remaining < initialBufferSize) {
+      // The previous oversized line has been consumed, release the memory it needed.
+      buffer = buffer.copyInto(ByteArray(initialBufferSize), 0, position, limit)
+    } else if (position > 0) {
+      buffer.copyInto(buffer, 0, position, limit)
+    } else if (limit == buffer.size) {
+      buffer = buffer.copyOf(buffer.size * 2)
+    }
+    scanPosition -= position
+    limit = remaining
+    position = 0
+
+    val read = inputStream.read(buffer, limit, buffer.size - limit)
+    if (read < 0) {
+      endOfStream = true
+    } else {
+      limit += read
+    }
+  }
+}
@@ -5,6 +5,7 @@
 package io.airbyte.workers.internal
 
 import com.fasterxml.jackson.databind.JsonNode
+import io.airbyte.commons.io.IOs
 import io.airbyte.commons.json.Jsons
 import io.airbyte.commons.logging.MdcScope
 import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider
@@ -25,17 +26,17 @@ import io.airbyte.workers.helper.GsonPksExtractor
 import io.github.oshai.kotlinlogging.KLogger
 import io.github.oshai.kotlinlogging.KotlinLogging
 import io.micronaut.core.util.StringUtils
-import kotlinx.coroutines.runBlocking
-import kotlinx.coroutines.slf4j.MDCContext
-import kotlinx.coroutines.withContext
-import org.slf4j.MDC
 import java.io.BufferedReader
 import java.io.IOException
+import java.io.InputStream
 import java.util.Locale
 import java.util.Optional
+import java.util.Spliterator
+import java.util.Spliterators
 import java.util.UUID
 import java.util.function.Consumer
 import java.util.stream.Stream
+import java.util.stream.StreamSupport
 
 const val CONNECTION_ID_NOT_PRESENT: String = "not present"
 
@@ -86,6 +87,7 @@ class VersionedAirbyteStreamFactory<T>(
   private val invalidLineFailureConfiguration: InvalidLineFailureConfiguration,
   private val gsonPksExtractor: GsonPksExtractor,
   private val metricClient: MetricClient,
+  private val retainRawRecordBytes: Boolean = false,
   private val logger: KLogger = KotlinLogging.logger { },
 ) : AirbyteStreamFactory {
   data class InvalidLineFailureConfiguration(
@@ -111,15 +113,52 @@ class VersionedAirbyteStreamFactory<T>(
     origin: MessageOrigin,
   ): Stream<AirbyteMessage> {
     detectAndInitialiseMigrators(bufferedReader)
-    val needMigration = protocolVersion.getMajorVersion() != migratorFactory.mostRecentVersion.getMajorVersion()
+    logProtocolVersion()
+    return addLineReadLogic(bufferedReader, origin)
+  }
+
+  /**
+   * Create the [AirbyteMessage] stream by splitting and parsing the raw UTF-8 output of the connector, without
+   * decoding each line to a String first.
+   *
+   * Version detection relies on a look-ahead through a character reader, so it falls back to [create] when
+   * detectVersion is set to true.
+   */
+  override fun createFromBytes(
+    inputStream: InputStream,
+    origin: MessageOrigin,
+  ): Stream<AirbyteMessage> {
+    if (shouldDetectVersion) {
+      return create(IOs.newBufferedReader(inputStream), origin)
+    }
+    logProtocolVersion()
+    val lineReader = Utf8LineReader(inputStream)
+    val messages =
+      object : AbstractIterator<AirbyteMessage>() {
+        override fun computeNext() {
+          while (lineReader.nextLine()) {
+            val message = toAirbyteMessage(lineReader.buffer, lineReader.lineStart, lineReader.lineLength, origin)
+            if (message != null) {
+              setNext(message)
+              return
+            }
+          }
+          done()
+        }
+      }
+    return filterLogs(messages)
+  }
+
+  private fun needMigration(): Boolean = protocolVersion.getMajorVersion() != migratorFactory.mostRecentVersion.getMajorVersion()
+
+  private fun logProtocolVersion() {
     val protocolMessage =
-      if (needMigration) {
+      if (needMigration()) {
         ", messages will be upgraded to protocol version ${migratorFactory.mostRecentVersion.serialize()}"
       } else {
         ""
       }
     logger.info { "Reading messages from protocol version ${protocolVersion.serialize()}$protocolMessage" }
-    return addLineReadLogic(bufferedReader, origin)
   }
 
   private fun detectAndInitialiseMigrators(bufferedReader: BufferedReader) {
@@ -145,10 +184,39 @@ class VersionedAirbyteStreamFactory<T>(
     bufferedReader: BufferedReader,
     origin: MessageOrigin,
   ): Stream<AirbyteMessage> =
-    bufferedReader
-      .lines()
-      .flatMap<AirbyteMessage> { line: String -> this.toAirbyteMessage(line, origin) }
-      .filter { message: AirbyteMessage -> runBlocking { filterLog(message) } }
+    filterLogs(
+      bufferedReader
+        .lines()
+        .flatMap<AirbyteMessage> { line: String -> this.toAirbyteMessage(line, origin) }
+        .iterator(),
+    )
+
+  /**
+   * Hands the LOG messages over to a [ConnectorLogSink] and returns the other messages.
+   *
+   * The sink is drained once the messages are exhausted, or when the returned stream is closed.
+   */
+  private fun filterLogs(messages: Iterator<AirbyteMessage?>): Stream<AirbyteMessage> {
+    val logSink = ConnectorLogSink(containerLogMdcBuilder, ::internalLog)
+    val nonLogMessages =
+      object : AbstractIterator<AirbyteMessage>() {
+        override fun computeNext() {
+          while (messages.hasNext()) {
+            val message = messages.next() ?: continue
+            if (message.type != AirbyteMessage.Type.LOG) {
+              setNext(message)
+              return
+            }
+            logSink.accept(message.log)
+          }
+          logSink.close()
+          done()
+        }
+      }
+    return StreamSupport
+      .stream(Spliterators.spliteratorUnknownSize(nonLogMessages, Spliterator.ORDERED or Spliterator.NONNULL), false)
+      .onClose(logSink::close)
+  }
 
   /**
    * Attempt to detect the version by scanning the stream
@@ -211,18 +279,6 @@ class VersionedAirbyteStreamFactory<T>(
     this.protocolVersion = protocolVersion
   }
 
-  private suspend fun filterLog(message: AirbyteMessage): Boolean {
-    val isLog = message.type == AirbyteMessage.Type.LOG
-    if (isLog) {
-      containerLogMdcBuilder.build().use { _ ->
-        withContext(MDCContext(MDC.getCopyOfContextMap())) {
-          internalLog(message.log)
-        }
-      }
-    }
-    return !isLog
-  }
-
   internal fun internalLog(logMessage: AirbyteLogMessage) {
     val combinedMessage =
       logMessage.message + (
@@ -281,6 +337,58 @@ class VersionedAirbyteStreamFactory<T>(
     return m.stream()
   }
 
+  /**
+   * Same as [toAirbyteMessage] for a line held in a reusable byte buffer.
+   *
+   * When the connector speaks the most recent protocol version, the message is decoded as a [RawAirbyteMessage] that
+   * remembers the size of its line, and for records the size of their data and the line itself if
+   * [retainRawRecordBytes] is set. The line is only kept when it holds nothing but the message, so that it can be
+   * forwarded as is.
+   */
+  internal fun toAirbyteMessage(
+    buffer: ByteArray,
+    offset: Int,
+    length: Int,
+    origin: MessageOrigin,
+  ): AirbyteMessage? {
+    if (length >= MAXIMUM_CHARACTERS_ALLOWED) {
+      // Only decode the line when we have to report it, this is rare enough to not matter.
+      logLargeRecordWarning(String(buffer, offset, length, Charsets.UTF_8))
+    }
+
+    val needMigration = needMigration()
+    var wholeLine = false
+    val m: Optional<out AirbyteMessage> =
+      if (needMigration) {
+        deserializer.deserializeExact(buffer, offset, length)
+      } else {
+        val raw = Jsons.tryDeserializeExactWithTrailingCheck(buffer, offset, length, RawAirbyteMessage::class.java)
+        wholeLine = raw?.second ?: false
+        Optional.ofNullable(raw?.first)
+      }
+    if (m.isEmpty) {
+      logMalformedLogMessage(String(buffer, offset, length, Charsets.UTF_8))
+      return null
+    }
+
+    val message = m.get()
+    if (message is RawAirbyteMessage) {
+      message.serializedSizeInBytes = length.toLong()
+      // A line with content after the message, e.g. a second message, is not forwarded as is but re-serialized.
+      if (retainRawRecordBytes && wholeLine && message.type == AirbyteMessage.Type.RECORD) {
+        message.rawBytes = buffer.copyOfRange(offset, offset + length)
+      }
+    }
+
+    val validated = BasicAirbyteMessageValidator.validate(message, configuredAirbyteCatalog, origin)
+    if (validated.isEmpty) {
+      logger.debug { "Validation failed: ${Jsons.serialize(String(buffer, offset, length, Charsets.UTF_8))}" }
+      return null
+    }
+
+    return if (needMigration) upgradeMessage(validated.get()).findFirst().orElse(null) else validated.get()
+  }
+
   private fun logLargeRecordWarning(line: String) {
     if (line.length < MAXIMUM_CHARACTERS_ALLOWED) {
       return
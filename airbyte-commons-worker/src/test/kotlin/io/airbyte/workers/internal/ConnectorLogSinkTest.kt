@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal
+
+import io.airbyte.commons.logging.MdcScope
+import io.airbyte.protocol.models.v0.AirbyteLogMessage
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.slf4j.MDC
+import java.util.Collections
+import kotlin.concurrent.thread
+
+internal class ConnectorLogSinkTest {
+  @AfterEach
+  fun tearDown() {
+    MDC.clear()
+  }
+
+  @Test
+  fun `logs every message in order before close returns`() {
+    val logged = Collections.synchronizedList(mutableListOf<String>())
+    val sink = ConnectorLogSink(mdcBuilder = MdcScope.Builder(), log = { logged.add(it.message) }, capacity = 4)
+
+    val expected = (0 until 1000).map { "message $it" }
+    expected.forEach { sink.accept(logMessage(it)) }
+    sink.close()
+
+    assertEquals(expected, logged)
+  }
+
+  @Test
+  fun `logs with the reader MDC and the connector MDC entries`() {
+    MDC.put("job", "1")
+    val mdcBuilder = MdcScope.Builder().setExtraMdcEntriesNonNullable(mapOf("log_source" to "source"))
+    val contexts = Collections.synchronizedList(mutableListOf<Map<String, String>>())
+    val threads = Collections.synchronizedList(mutableListOf<Thread>())
+    val sink =
+      ConnectorLogSink(
+        mdcBuilder = mdcBuilder,
+        log = {
+          contexts.add(MDC.getCopyOfContextMap())
+          threads.add(Thread.currentThread())
+        },
+      )
+
+    sink.accept(logMessage("first"))
+    sink.accept(logMessage("second"))
+    sink.close()
+
+    assertEquals(listOf(mapOf("job" to "1", "log_source" to "source"), mapOf("job" to "1", "log_source" to "source")), contexts)
+    assertTrue(threads.none { it == Thread.currentThread() })
+    // The reader MDC is left untouched.
+    assertNotEquals("source", MDC.get("log_source"))
+  }
+
+  @Test
+  fun `keeps logging after a failure`() {
+    val logged = mutableListOf<String>()
+    val sink =
+      ConnectorLogSink(
+        mdcBuilder = MdcScope.Builder(),
+        log = {
+          if (it.message == "fail") {
+            throw IllegalStateException("boom")
+          }
+          logged.add(it.message)
+        },
+      )
+
+    sink.accept(logMessage("fail"))
+    sink.accept(logMessage("ok"))
+    sink.close()
+
+    assertEquals(listOf("ok"), logged)
+  }
+
+  @Test
+  fun `keeps logging after an error`() {
+    val logged = mutableListOf<String>()
+    val sink =
+      ConnectorLogSink(
+        mdcBuilder = MdcScope.Builder(),
+        log = {
+          if (it.message == "fail") {
+            throw StackOverflowError()
+          }
+          logged.add(it.message)
+        },
+        capacity = 1,
+      )
+
+    repeat(3) { sink.accept(logMessage("fail")) }
+    sink.accept(logMessage("ok"))
+    sink.close()
+
+    assertEquals(listOf("ok"), logged)
+  }
+
+  @Test
+  fun `drops messages once closed`() {
+    val logged = mutableListOf<String>()
+    val sink = ConnectorLogSink(mdcBuilder = MdcScope.Builder(), log = { logged.add(it.message) })
+    sink.accept(logMessage("on time"))
+    sink.close()
+    // Closing twice is a no-op.
+    sink.close()
+
+    sink.accept(logMessage("late"))
+    assertEquals(listOf("on time"), logged)
+  }
+
+  @Test
+  fun `can be closed from another thread than the reader`() {
+    val logged = Collections.synchronizedList(mutableListOf<String>())
+    val sink = ConnectorLogSink(mdcBuilder = MdcScope.Builder(), log = { logged.add(it.message) }, capacity = 4)
+    val reader =
+      thread {
+        (0 until 1000).forEach { sink.accept(logMessage("message $it")) }
+      }
+
+    Thread.sleep(5)
+    sink.close()
+    reader.join()
+
+    // Whatever was accepted before the sink was closed is logged, in order.
+    assertEquals((0 until logged.size).map { "message $it" }, logged)
+  }
+
+  private fun logMessage(message: String): AirbyteLogMessage = AirbyteLogMessage().withLevel(AirbyteLogMessage.Level.INFO).withMessage(message)
+}
@@ -415,4 +415,26 @@ internal class NamespacingMapperTest {
 
     assertEquals(expectedMessage, actualMessage)
   }
+
+  @Test
+  fun testMapRecordOfStreamOutsideOfCatalog() {
+    val mapper =
+      NamespacingMapper(
+        JobSyncConfig.NamespaceDefinitionType.CUSTOMFORMAT,
+        "\${SOURCE_NAMESPACE}_suffix",
+        OUTPUT_PREFIX,
+        destinationToSourceNamespaceAndStreamName,
+      )
+    mapper.mapCatalog(catalog)
+
+    val otherStreamMessage = AirbyteMessageUtils.createRecordMessage("other_stream", FIELD_NAME, BLUE)
+    otherStreamMessage.record.withNamespace("other_namespace")
+    val expectedOtherStreamMessage = AirbyteMessageUtils.createRecordMessage(OUTPUT_PREFIX + "other_stream", FIELD_NAME, BLUE)
+    expectedOtherStreamMessage.record.withNamespace("other_namespace_suffix")
+    assertEquals(expectedOtherStreamMessage, mapper.mapMessage(otherStreamMessage))
+
+    val expectedMessage = AirbyteMessageUtils.createRecordMessage(OUTPUT_PREFIX + STREAM_NAME, FIELD_NAME, BLUE)
+    expectedMessage.record.withNamespace(INPUT_NAMESPACE + "_suffix")
+    assertEquals(expectedMessage, mapper.mapMessage(recordMessage))
+  }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.ValueSource
+import java.io.ByteArrayInputStream
+
+internal class Utf8LineReaderTest {
+  @ParameterizedTest
+  @ValueSource(ints = [1, 2, 3, 7, 1024])
+  fun testSplitsLinesWhateverTheBufferSize(bufferSize: Int) {
+    val input = "first\nsecond line\n\nfourth\n"
+
+    assertEquals(listOf("first", "second line", "", "fourth"), readLines(input, bufferSize))
+  }
+
+  @Test
+  fun testReturnsLastLineWithoutNewLine() {
+    assertEquals(listOf("first", "last"), readLines("first\nlast", 4))
+  }
+
+  @Test
+  fun testStripsCarriageReturn() {
+    assertEquals(listOf("first", "second"), readLines("first\r\nsecond\r\n", 4))
+  }
+
+  @Test
+  fun testKeepsMultibyteCharacters() {
+    val input = "{\"value\":\"héllo wörld ✓ 😀\"}\n{\"value\":\"日本語\"}\n"
+
+    assertEquals(listOf("{\"value\":\"héllo wörld ✓ 😀\"}", "{\"value\":\"日本語\"}"), readLines(input, 3))
+  }
+
+  @Test
+  fun testGrowsForLongLinesAndShrinksBack() {
+    val longLine = "x".repeat(100)
+    val reader = Utf8LineReader(ByteArrayInputStream("$longLine\nshort\nshort\n".toByteArray(Charsets.UTF_8)), 8)
+
+    reader.nextLine()
+    assertEquals(longLine, reader.currentLine())
+    reader.nextLine()
+    assertEquals("short", reader.currentLine())
+    reader.nextLine()
+    assertEquals("short", reader.currentLine())
+    assertFalse(reader.nextLine())
+    assertEquals(8, reader.buffer.size)
+  }
+
+  @Test
+  fun testEmptyInput() {
+    assertEquals(emptyList<String>(), readLines("", 8))
+  }
+
+  private fun readLines(
+    input: String,
+    bufferSize: Int,
+  ): List<String> {
+    val reader = Utf8LineReader(ByteArrayInputStream(input.toByteArray(Charsets.UTF_8)), bufferSize)
+    val lines = mutableListOf<String>()
+    while (reader.nextLine()) {
+      lines.add(reader.currentLine())
+    }
+    return lines
+  }
+
+  private fun Utf8LineReader.currentLine(): String = String(buffer, lineStart, lineLength, Charsets.UTF_8)
+}
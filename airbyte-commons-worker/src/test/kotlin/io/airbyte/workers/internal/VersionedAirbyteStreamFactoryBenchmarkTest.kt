@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal
+
+import io.airbyte.commons.json.Jsons
+import io.airbyte.commons.logging.MdcScope
+import io.airbyte.commons.protocol.AirbyteMessageMigrator
+import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider
+import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory
+import io.airbyte.commons.protocol.ConfiguredAirbyteCatalogMigrator
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Deserializer
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Serializer
+import io.airbyte.commons.version.AirbyteProtocolVersion
+import io.airbyte.protocol.models.v0.AirbyteLogMessage
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.workers.internal.VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration
+import io.airbyte.workers.testutils.AirbyteMessageUtils
+import io.github.oshai.kotlinlogging.KotlinLogging
+import io.mockk.mockk
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.slf4j.MDCContext
+import kotlinx.coroutines.withContext
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty
+import org.slf4j.MDC
+import java.io.BufferedReader
+import java.io.ByteArrayInputStream
+import java.io.InputStream
+import java.io.InputStreamReader
+import java.lang.management.ManagementFactory
+import java.util.stream.Stream
+
+private val logger = KotlinLogging.logger {}
+
+private const val RECORD_COUNT = 200_000
+private const val COLUMN_COUNT = 50
+private const val ITERATIONS = 5
+
+/**
+ * Compares throughput and allocations of the line based and byte based read paths of [VersionedAirbyteStreamFactory]
+ * on wide records, and of the LOG message filtering on a chatty connector.
+ *
+ * Run with `-Dbenchmark=true`.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+internal class VersionedAirbyteStreamFactoryBenchmarkTest {
+  private val input: ByteArray =
+    buildString {
+      val row = (0 until COLUMN_COUNT).associate { "column_$it" to "value of column $it with some padding to make it wide" }
+      val line = Jsons.serialize(AirbyteMessageUtils.createRecordMessage("wide_stream", row))
+      repeat(RECORD_COUNT) { append(line).append('\n') }
+    }.toByteArray(Charsets.UTF_8)
+
+  // Nine LOG messages for each record, like a connector logging at debug level.
+  private val chattyInput: ByteArray =
+    buildString {
+      val record = Jsons.serialize(AirbyteMessageUtils.createRecordMessage("stream", mapOf("id" to 1)))
+      val log = Jsons.serialize(AirbyteMessageUtils.createLogMessage(AirbyteLogMessage.Level.DEBUG, "fetched page with cursor abc"))
+      repeat(RECORD_COUNT) {
+        repeat(9) { append(log).append('\n') }
+        append(record).append('\n')
+      }
+    }.toByteArray(Charsets.UTF_8)
+
+  @Test
+  fun compareLineAndByteReaders() {
+    val lines = measure("lines") { factory().create(BufferedReader(InputStreamReader(it, Charsets.UTF_8)), MessageOrigin.SOURCE) }
+    val bytes = measure("bytes") { factory().createFromBytes(it, MessageOrigin.SOURCE) }
+
+    logger.info {
+      "Byte reader: ${"%.2f".format(bytes.messagesPerSecond / lines.messagesPerSecond)}x throughput, " +
+        "${"%.2f".format(bytes.bytesAllocatedPerMessage.toDouble() / lines.bytesAllocatedPerMessage)}x allocations of the line reader"
+    }
+  }
+
+  @Test
+  fun compareLogFiltering() {
+    val before =
+      measure("per message runBlocking", chattyInput) { stream ->
+        // How LOG messages were filtered before they were handed over to a ConnectorLogSink.
+        val factory = factory()
+        BufferedReader(InputStreamReader(stream, Charsets.UTF_8))
+          .lines()
+          .flatMap { factory.toAirbyteMessage(it, MessageOrigin.SOURCE) }
+          .filter { message ->
+            runBlocking {
+              val isLog = message!!.type == AirbyteMessage.Type.LOG
+              if (isLog) {
+                MdcScope.DEFAULT_BUILDER.build().use { _ ->
+                  withContext(MDCContext(MDC.getCopyOfContextMap())) {
+                    factory.internalLog(message.log)
+                  }
+                }
+              }
+              !isLog
+            }
+          }
+      }
+    val after = measure("log sink", chattyInput) { factory().create(BufferedReader(InputStreamReader(it, Charsets.UTF_8)), MessageOrigin.SOURCE) }
+
+    logger.info { "Log sink: ${"%.2f".format(after.messagesPerSecond / before.messagesPerSecond)}x throughput of per message filtering" }
+  }
+
+  private fun measure(
+    name: String,
+    input: ByteArray = this.input,
+    read: (InputStream) -> Stream<*>,
+  ): Result {
+    val threadMXBean = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+    // Warm up
+    assertEquals(RECORD_COUNT.toLong(), read(ByteArrayInputStream(input)).count())
+
+    var elapsedNanos = 0L
+    var allocatedBytes = 0L
+    repeat(ITERATIONS) {
+      val allocatedBefore = threadMXBean.currentThreadAllocatedBytes
+      val start = System.nanoTime()
+      assertEquals(RECORD_COUNT.toLong(), read(ByteArrayInputStream(input)).count())
+      elapsedNanos += System.nanoTime() - start
+      allocatedBytes += threadMXBean.currentThreadAllocatedBytes - allocatedBefore
+    }
+
+    val messages = RECORD_COUNT.toLong() * ITERATIONS
+    return Result(
+      messagesPerSecond = messages * 1_000_000_000.0 / elapsedNanos,
+      bytesAllocatedPerMessage = allocatedBytes / messages,
+    ).also { logger.info { "$name: ${"%.0f".format(it.messagesPerSecond)} messages/s, ${it.bytesAllocatedPerMessage} bytes allocated/message" } }
+  }
+
+  private fun factory(): VersionedAirbyteStreamFactory<Any> {
+    val migrator = AirbyteMessageMigrator(listOf()).also { it.initialize() }
+    val catalogMigrator = ConfiguredAirbyteCatalogMigrator(listOf()).also { it.initialize() }
+    return VersionedAirbyteStreamFactory(
+      serDeProvider =
+        AirbyteMessageSerDeProvider(listOf(AirbyteMessageV0Deserializer()), listOf(AirbyteMessageV0Serializer())).also { it.initialize() },
+      migratorFactory = AirbyteProtocolVersionedMigratorFactory(migrator, catalogMigrator),
+      protocolVersion = AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION,
+      invalidLineFailureConfiguration = InvalidLineFailureConfiguration(false),
+      gsonPksExtractor = mockk(relaxed = true),
+      metricClient = mockk(relaxed = true),
+    )
+  }
+
+  private data class Result(
+    val messagesPerSecond: Double,
+    val bytesAllocatedPerMessage: Long,
+  )
+}
@@ -388,6 +388,112 @@ internal class VersionedAirbyteStreamFactoryTest {
     assertEquals(2, messageCount)
   }
 
+  @Test
+  fun testCreateFromBytesMatchesLineReading() {
+    val record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "gréén")
+    val state = AirbyteMessageUtils.createStateMessage(STREAM_NAME, "cursor", "1")
+    val log = AirbyteMessageUtils.createLogMessage(AirbyteLogMessage.Level.INFO, "a log line")
+    val input = listOf(Jsons.serialize(record), "not json", Jsons.serialize(log), Jsons.serialize(state)).joinToString("\n")
+
+    val fromLines = stringToMessageStream(input).toList()
+    val fromBytes = streamFactory.createFromBytes(ByteArrayInputStream(input.toByteArray(StandardCharsets.UTF_8)), MessageOrigin.SOURCE).toList()
+
+    assertEquals(listOf(record, state), fromBytes)
+    assertEquals(fromLines, fromBytes)
+  }
+
+  @Test
+  fun testCreateFromBytesKeepsLineSize() {
+    val line = Jsons.serialize(AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "gréén"))
+
+    val message = streamFactory.createFromBytes(ByteArrayInputStream(line.toByteArray(StandardCharsets.UTF_8)), MessageOrigin.SOURCE).toList().single()
+
+    assertTrue(message is RawAirbyteMessage)
+    assertEquals(line.toByteArray(StandardCharsets.UTF_8).size.toLong(), (message as RawAirbyteMessage).serializedSizeInBytes)
+    assertEquals(null, message.rawBytes)
+  }
+
+  @Test
+  fun testCreateFromBytesRetainsRawRecordBytes() {
+    val streamFactory =
+      VersionedAirbyteStreamFactory<Any>(
+        serDeProvider = serDeProvider,
+        migratorFactory = migratorFactory,
+        protocolVersion = AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION,
+        invalidLineFailureConfiguration = InvalidLineFailureConfiguration(false),
+        gsonPksExtractor = gsonPksExtractor,
+        metricClient = mockk(relaxed = true),
+        retainRawRecordBytes = true,
+        logger = mockLogger,
+      )
+    val recordLine = Jsons.serialize(AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green"))
+    val stateLine = Jsons.serialize(AirbyteMessageUtils.createStateMessage(STREAM_NAME, "cursor", "1"))
+    val input = "$recordLine\r\n$stateLine\n"
+
+    val messages =
+      streamFactory
+        .createFromBytes(ByteArrayInputStream(input.toByteArray(StandardCharsets.UTF_8)), MessageOrigin.SOURCE)
+        .toList()
+        .map { it as RawAirbyteMessage }
+
+    assertEquals(recordLine, String(messages[0].rawBytes!!, StandardCharsets.UTF_8))
+    assertEquals(null, messages[1].rawBytes)
+    // The retained bytes are never serialized with the message.
+    assertEquals(recordLine, Jsons.serialize(messages[0]))
+  }
+
+  @Test
+  fun testCreateFromBytesDoesNotRetainRecordLinesWithTrailingContent() {
+    val streamFactory =
+      VersionedAirbyteStreamFactory<Any>(
+        serDeProvider = serDeProvider,
+        migratorFactory = migratorFactory,
+        protocolVersion = AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION,
+        invalidLineFailureConfiguration = InvalidLineFailureConfiguration(false),
+        gsonPksExtractor = gsonPksExtractor,
+        metricClient = mockk(relaxed = true),
+        retainRawRecordBytes = true,
+        logger = mockLogger,
+      )
+    val record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green")
+    val recordLine = Jsons.serialize(record)
+    val input = "$recordLine junk\n$recordLine$recordLine\n$recordLine  \n"
+
+    val messages =
+      streamFactory
+        .createFromBytes(ByteArrayInputStream(input.toByteArray(StandardCharsets.UTF_8)), MessageOrigin.SOURCE)
+        .toList()
+        .map { it as RawAirbyteMessage }
+
+    // Lines with content after the record are still read, but are re-serialized rather than forwarded as is.
+    assertEquals(listOf(record, record, record), messages)
+    assertEquals(null, messages[0].rawBytes)
+    assertEquals(null, messages[1].rawBytes)
+    assertEquals("$recordLine  ", String(messages[2].rawBytes!!, StandardCharsets.UTF_8))
+  }
+
+  @Test
+  fun testCreateFromBytesRecordsDataSize() {
+    val compactLine = """{"type":"RECORD","record":{"stream":"s","data":{"id":1,"name":"abc","tags":["a","b"]},"emitted_at":1}}"""
+    val spacedLine = """{"type": "RECORD", "record": {"stream": "s", "data": {"id": 1, "name": "abc", "tags": ["a", "b"]}, "emitted_at": 1}}"""
+    val nonAsciiLine = """{"type":"RECORD","record":{"stream":"s","data":{"name":"日本"},"emitted_at":1}}"""
+    val input = "$compactLine\n$spacedLine\n$nonAsciiLine\n"
+
+    val records =
+      streamFactory
+        .createFromBytes(ByteArrayInputStream(input.toByteArray(StandardCharsets.UTF_8)), MessageOrigin.SOURCE)
+        .toList()
+        .map { it.record as RawAirbyteRecordMessage }
+
+    // Drift from the size of the serialized data, which used to be the only way records were measured.
+    // Compact ASCII output, which is what connectors emit, is measured identically.
+    assertEquals(Jsons.getEstimatedByteSize(records[0].data).toLong(), records[0].dataSizeInBytes)
+    // Whitespace between tokens is sent to the destination, so it is counted.
+    assertEquals(Jsons.getEstimatedByteSize(records[1].data).toLong() + 6, records[1].dataSizeInBytes)
+    // Sizes are in bytes, not in characters.
+    assertEquals(Jsons.getEstimatedByteSize(records[2].data).toLong() + 4, records[2].dataSizeInBytes)
+  }
+
   private fun getBufferedReader(resourceFile: String?): BufferedReader =
     BufferedReader(
       InputStreamReader(
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.common
+
+import io.airbyte.workload.repository.WORKLOAD_QUEUE_CHANNEL
+import io.airbyte.workload.repository.WorkloadQueueRepository
+import io.github.oshai.kotlinlogging.KotlinLogging
+import io.micronaut.context.annotation.Value
+import jakarta.annotation.PreDestroy
+import jakarta.inject.Singleton
+import org.postgresql.PGConnection
+import java.sql.DriverManager
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicBoolean
+
+private val logger = KotlinLogging.logger {}
+
+private const val ANY_DATAPLANE_GROUP = ""
+private const val NOTIFICATION_TIMEOUT_MS = 5_000
+private val RECONNECT_DELAY: Duration = Duration.ofSeconds(5)
+
+/**
+ * Wakes up long polls of the workload queue when workloads are enqueued.
+ *
+ * A dedicated connection LISTENs on [WORKLOAD_QUEUE_CHANNEL], to which
+ * [WorkloadQueueRepository.notifyWorkloadEnqueued] publishes the dataplane group of every enqueued workload. The
+ * connection is opened outside of the config database pool, which it would otherwise take a connection from for the
+ * lifetime of the process, and only once something waits on the queue.
+ *
+ * Notifications are best effort: they are lost while the listener reconnects. They are delivered once the enqueuing
+ * transaction commits, so a woken up poll finds the workload, but a poll may still lose the race for it to another
+ * one. Callers should wait for their signal with a bounded timeout and poll the queue again either way.
+ */
+@Singleton
+class WorkloadQueueListener(
+  @Value("\${datasources.config.url}") private val dbUrl: String,
+  @Value("\${datasources.config.username}") private val dbUsername: String,
+  @Value("\${datasources.config.password:}") private val dbPassword: String,
+) {
+  private val signals = ConcurrentHashMap<String, MutableSet<CompletableFuture<Unit>>>()
+  private val started = AtomicBoolean(false)
+
+  @Volatile
+  private var running = true
+
+  /**
+   * Returns a signal that completes when a workload is enqueued in [dataplaneGroup], or in any group if it is null.
+   * Unsubscribe from it once done waiting.
+   *
+   * Subscribe before polling the queue, so that a workload enqueued between the poll and the wait isn't missed.
+   */
+  fun subscribe(dataplaneGroup: String?): CompletableFuture<Unit> {
+    if (running && started.compareAndSet(false, true)) {
+      Thread(::listen, "workload-queue-listener").apply { isDaemon = true }.start()
+    }
+    val signal = CompletableFuture<Unit>()
+    signals.compute(dataplaneGroup ?: ANY_DATAPLANE_GROUP) { _, waiting -> (waiting ?: mutableSetOf()).apply { add(signal) } }
+    return signal
+  }
+
+  fun unsubscribe(
+    dataplaneGroup: String?,
+    signal: CompletableFuture<Unit>,
+  ) {
+    signals.computeIfPresent(dataplaneGroup ?: ANY_DATAPLANE_GROUP) { _, waiting ->
+      waiting.apply { remove(signal) }.takeIf { it.isNotEmpty() }
+    }
+  }
+
+  @PreDestroy
+  fun close() {
+    running = false
+    wakeAll()
+  }
+
+  private fun listen() {
+    try {
+      listenUntilClosed()
+    } finally {
+      // Let the next subscriber start listening again if the listener stopped before being closed.
+      started.set(false)
+    }
+  }
+
+  private fun listenUntilClosed() {
+    while (running) {
+      try {
+        DriverManager.getConnection(dbUrl, dbUsername, dbPassword).use { connection ->
+          connection.autoCommit = true
+          connection.createStatement().use { it.execute("LISTEN $WORKLOAD_QUEUE_CHANNEL") }
+          val pgConnection = connection.unwrap(PGConnection::class.java)
+          logger.info { "Listening for workloads enqueued on $WORKLOAD_QUEUE_CHANNEL" }
+          // Workloads may have been enqueued while we weren't listening.
+          wakeAll()
+          while (running) {
+            pgConnection.getNotifications(NOTIFICATION_TIMEOUT_MS)?.forEach { wake(it.parameter) }
+          }
+        }
+      } catch (e: Exception) {
+        if (running) {
+          logger.warn(e) { "Lost the connection listening for enqueued workloads, reconnecting in $RECONNECT_DELAY" }
+          wakeAll()
+          try {
+            Thread.sleep(RECONNECT_DELAY.toMillis())
+          } catch (e: InterruptedException) {
+            Thread.currentThread().interrupt()
+            return
+          }
+        }
+      }
+    }
+  }
+
+  private fun wake(dataplaneGroup: String) {
+    signals.remove(dataplaneGroup)?.forEach { it.complete(Unit) }
+    signals.remove(ANY_DATAPLANE_GROUP)?.forEach { it.complete(Unit) }
+  }
+
+  private fun wakeAll() {
+    signals.keys.forEach { group -> signals.remove(group)?.forEach { it.complete(Unit) } }
+  }
+}
@@ -46,6 +46,7 @@ open class WorkloadQueueService(
     // TODO dataplaneGroup should not be nullable
     if (dataplaneGroup != null) {
       workloadQueueRepository.enqueueWorkload(dataplaneGroup = dataplaneGroup, priority = priority.toInt(), workloadId = workloadId)
+      workloadQueueRepository.notifyWorkloadEnqueued(dataplaneGroup = dataplaneGroup)
 
       metricClient.count(
         metric = OssMetricsRegistry.WORKLOAD_MESSAGE_PUBLISHED,
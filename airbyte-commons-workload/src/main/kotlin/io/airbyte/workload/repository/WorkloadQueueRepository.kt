@@ -14,6 +14,11 @@ import io.micronaut.data.model.query.builder.sql.Dialect
 import io.micronaut.data.repository.PageableRepository
 import java.util.UUID
 
+/**
+ * Postgres channel on which the dataplane group of enqueued workloads is published.
+ */
+const val WORKLOAD_QUEUE_CHANNEL = "workload_queue"
+
 @JdbcRepository(dialect = Dialect.POSTGRES, dataSource = "config")
 interface WorkloadQueueRepository : PageableRepository<WorkloadQueueItem, UUID> {
   /**
@@ -102,6 +107,16 @@ interface WorkloadQueueRepository : PageableRepository<WorkloadQueueItem, UUID>
     workloadId: String,
   ): WorkloadQueueItem
 
+  /**
+   * Wakes up the long polls of the queue of [dataplaneGroup], see [io.airbyte.workload.common.WorkloadQueueListener].
+   */
+  @Query(
+    """
+    SELECT count(*) FROM pg_notify('$WORKLOAD_QUEUE_CHANNEL', :dataplaneGroup)
+  """,
+  )
+  fun notifyWorkloadEnqueued(dataplaneGroup: String): Long
+
   @Query(
     """
     UPDATE workload_queue SET acked_at = now(), updated_at = now() WHERE workload_id = :workloadId
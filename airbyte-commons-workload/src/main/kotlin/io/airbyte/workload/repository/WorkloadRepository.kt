@@ -217,6 +217,34 @@ interface WorkloadRepository : PageableRepository<Workload, String> {
     deadline: OffsetDateTime,
   ): Int
 
+  /**
+   * Heartbeats many running workloads at once, the i-th workload of [ids] with the i-th of [deadlines] and
+   * [heartbeatAts]. Unlike [heartbeat], it never moves a deadline or the last heartbeat backwards, so that heartbeats
+   * written out of order don't shorten the deadline of a workload.
+   * Returns the workloads that were updated, the others were not found or not in running state.
+   */
+  @Query(
+    """
+      UPDATE workload
+      SET
+       deadline = GREATEST(workload.deadline, heartbeats.deadline),
+       last_heartbeat_at = GREATEST(workload.last_heartbeat_at, heartbeats.heartbeat_at),
+       updated_at = now()
+      FROM unnest(
+        ARRAY[:ids],
+        CAST(ARRAY[:deadlines] AS timestamptz[]),
+        CAST(ARRAY[:heartbeatAts] AS timestamptz[])
+      ) AS heartbeats(id, deadline, heartbeat_at)
+      WHERE workload.id = heartbeats.id AND workload.status = 'running'
+      RETURNING workload.id, workload.status, workload.deadline, workload.auto_id
+    """,
+  )
+  fun heartbeatAll(
+    @Expandable ids: List<String>,
+    @Expandable deadlines: List<OffsetDateTime>,
+    @Expandable heartbeatAts: List<OffsetDateTime>,
+  ): List<WorkloadSummaryDTO>
+
   /**
    * Launch transitions a workload into a launched state if the workload was claimed or launched.
    * Succeed returns the workload if the status is launched.
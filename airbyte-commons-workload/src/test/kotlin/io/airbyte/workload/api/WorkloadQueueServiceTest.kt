@@ -53,11 +53,13 @@ class WorkloadQueueServiceTest {
         workloadId = workloadId,
         pollDeadline = null,
       )
+    every { workloadQueueRepository.notifyWorkloadEnqueued(expectedQueue) } returns 1
     val workloadQueueService = WorkloadQueueService(metricClient, workloadQueueRepository)
 
     workloadQueueService.create(workloadId, workloadInput, labels, logPath, mutexKey, workloadType, autoId, priority, expectedQueue)
 
     verify { workloadQueueRepository.enqueueWorkload(expectedQueue, priority.toInt(), workloadId) }
+    verify { workloadQueueRepository.notifyWorkloadEnqueued(expectedQueue) }
   }
 
   companion object {
@@ -7,6 +7,7 @@ package io.airbyte.workload.repository
 import io.airbyte.db.factory.DSLContextFactory
 import io.airbyte.db.instance.DatabaseConstants
 import io.airbyte.db.instance.test.TestDatabaseProviders
+import io.airbyte.workload.common.WorkloadQueueListener
 import io.airbyte.workload.repository.domain.Workload
 import io.airbyte.workload.repository.domain.WorkloadStatus
 import io.airbyte.workload.repository.domain.WorkloadType
@@ -21,6 +22,7 @@ import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.api.assertThrows
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.Arguments
 import org.junit.jupiter.params.provider.MethodSource
@@ -28,6 +30,8 @@ import org.testcontainers.containers.PostgreSQLContainer
 import java.time.OffsetDateTime
 import java.time.temporal.ChronoUnit
 import java.util.UUID
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
 import javax.sql.DataSource
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -142,6 +146,27 @@ class WorkloadQueueTableTests {
     assertWorkloadsEqual(unAcked, result, "only un-acked workloads are delivered")
   }
 
+  @Test
+  fun `enqueue notifications wake up the listeners of the dataplane group`() {
+    val listener = context.getBean(WorkloadQueueListener::class.java)
+    // Subscribing starts the listener, which wakes up every subscriber once it listens.
+    listener.subscribe("warm-up").get(10, TimeUnit.SECONDS)
+
+    val group = "group-${UUID.randomUUID()}"
+    val sameGroup = listener.subscribe(group)
+    val otherGroup = listener.subscribe("other-group")
+    val anyGroup = listener.subscribe(null)
+
+    val workload = Fixtures.workload(dataplaneGroup = group)
+    workloadRepo.save(workload)
+    workloadQueueRepo.enqueueWorkload(group, 0, workload.id)
+    workloadQueueRepo.notifyWorkloadEnqueued(group)
+
+    sameGroup.get(10, TimeUnit.SECONDS)
+    anyGroup.get(10, TimeUnit.SECONDS)
+    assertThrows<TimeoutException> { otherGroup.get(100, TimeUnit.MILLISECONDS) }
+  }
+
   private fun pendingWorkloadMatrix(): List<Arguments> =
     listOf(
       Arguments.of(
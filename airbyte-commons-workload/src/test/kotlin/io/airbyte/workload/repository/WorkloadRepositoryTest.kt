@@ -323,6 +323,33 @@ class WorkloadRepositoryTest {
     assertEquals(safeguardWorkload.status, safeguardCheck.get().status)
   }
 
+  @Test
+  fun `heartbeatAll updates the running workloads without moving their deadlines backwards`() {
+    val deadline = Fixtures.newTimestamp().plusMinutes(10)
+    val running = Fixtures.workload(status = WorkloadStatus.RUNNING, deadline = deadline)
+    val runningWithLaterDeadline = Fixtures.workload(status = WorkloadStatus.RUNNING, deadline = deadline.plusMinutes(10))
+    val succeeded = Fixtures.workload(status = WorkloadStatus.SUCCESS, deadline = deadline)
+    listOf(running, runningWithLaterDeadline, succeeded).forEach { workloadRepo.save(it) }
+    val heartbeatAt = Fixtures.newTimestamp()
+
+    val updated =
+      workloadRepo.heartbeatAll(
+        ids = listOf(running.id, runningWithLaterDeadline.id, succeeded.id, Fixtures.newWorkloadId()),
+        deadlines = List(4) { deadline.plusMinutes(5) },
+        heartbeatAts = List(4) { heartbeatAt },
+      )
+
+    assertEquals(setOf(running.id, runningWithLaterDeadline.id), updated.map { it.id }.toSet())
+    val actualRunning = workloadRepo.findById(running.id).get()
+    assertEquals(deadline.plusMinutes(5).truncateToTestPrecision(), actualRunning.deadline?.truncateToTestPrecision())
+    assertEquals(heartbeatAt, actualRunning.lastHeartbeatAt?.truncateToTestPrecision())
+    assertEquals(
+      deadline.plusMinutes(10).truncateToTestPrecision(),
+      workloadRepo.findById(runningWithLaterDeadline.id).get().deadline?.truncateToTestPrecision(),
+    )
+    assertNull(workloadRepo.findById(succeeded.id).get().lastHeartbeatAt)
+  }
+
   @ParameterizedTest
   @EnumSource(WorkloadStatus::class, names = ["PENDING", "CLAIMED", "LAUNCHED", "CANCELLED", "FAILURE", "SUCCESS"])
   fun `heartbeat a workload that isn't running doesn't update the workload and returns 0`(status: WorkloadStatus) {
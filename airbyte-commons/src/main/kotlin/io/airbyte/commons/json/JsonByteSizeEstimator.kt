@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.json
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.node.JsonNodeType
+
+private const val NULL_SIZE = 4L
+private const val TRUE_SIZE = 4L
+private const val FALSE_SIZE = 5L
+private const val SHORT_ESCAPE_SIZE = 2
+private const val UNICODE_ESCAPE_SIZE = 6
+
+/**
+ * Computes the size in bytes of the UTF-8 encoding of [Jsons.serialize] without building the string.
+ *
+ * The tree is walked once and each value is sized with the rules the serializer uses to write it. Values that would
+ * need a non trivial formatting, like binary or non finite floating point numbers, are serialized to be measured.
+ */
+object JsonByteSizeEstimator {
+  @JvmStatic
+  fun estimate(jsonNode: JsonNode?): Long = if (jsonNode == null) NULL_SIZE else sizeOf(jsonNode)
+
+  private fun sizeOf(node: JsonNode): Long =
+    when (node.nodeType) {
+      JsonNodeType.OBJECT -> {
+        // Braces, plus a colon per property and a comma between properties.
+        var size = 2L
+        for ((name, value) in node.properties()) {
+          size += stringSize(name) + 1 + sizeOf(value)
+        }
+        size + maxOf(node.size() - 1, 0)
+      }
+      JsonNodeType.ARRAY -> {
+        var size = 2L
+        for (element in node) {
+          size += sizeOf(element)
+        }
+        size + maxOf(node.size() - 1, 0)
+      }
+      JsonNodeType.STRING -> stringSize(node.textValue())
+      JsonNodeType.NUMBER -> numberSize(node)
+      JsonNodeType.BOOLEAN -> if (node.booleanValue()) TRUE_SIZE else FALSE_SIZE
+      JsonNodeType.NULL -> NULL_SIZE
+      else -> serializedSize(node)
+    }
+
+  private fun numberSize(node: JsonNode): Long =
+    when {
+      node.isInt || node.isLong || node.isShort -> digitCount(node.longValue())
+      node.isBigInteger -> node.bigIntegerValue().toString().length.toLong()
+      // The serializer writes big decimals as plain strings.
+      node.isBigDecimal -> node.decimalValue().toPlainString().length.toLong()
+      node.isDouble && node.doubleValue().isFinite() -> node.doubleValue().toString().length.toLong()
+      node.isFloat && node.floatValue().isFinite() -> node.floatValue().toString().length.toLong()
+      else -> serializedSize(node)
+    }
+
+  private fun digitCount(value: Long): Long {
+    if (value == Long.MIN_VALUE) {
+      return Long.MIN_VALUE.toString().length.toLong()
+    }
+    var remaining = if (value < 0) -value else value
+    var count = if (value < 0) 2L else 1L
+    while (remaining >= 10) {
+      remaining /= 10
+      count++
+    }
+    return count
+  }
+
+  private fun stringSize(value: String): Long {
+    // Surrounding quotes.
+    var size = 2L
+    var i = 0
+    while (i < value.length) {
+      val c = value[i]
+      size +=
+        when {
+          c == '"' || c == '\\' -> SHORT_ESCAPE_SIZE
+          c < ' ' -> if (c == '\b' || c == '\t' || c == '\n' || c == '\u000C' || c == '\r') SHORT_ESCAPE_SIZE else UNICODE_ESCAPE_SIZE
+          c.code < 0x80 -> 1
+          c.code < 0x800 -> 2
+          Character.isHighSurrogate(c) && i + 1 < value.length && Character.isLowSurrogate(value[i + 1]) -> {
+            i++
+            4
+          }
+          else -> 3
+        }
+      i++
+    }
+    return size
+  }
+
+  private fun serializedSize(node: JsonNode): Long = Jsons.serialize(node).toByteArray(Charsets.UTF_8).size.toLong()
+}
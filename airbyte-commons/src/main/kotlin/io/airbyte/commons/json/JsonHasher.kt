@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.json
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.node.JsonNodeType
+
+private const val PRIME64_1 = -0x61c8864e7a143579L
+private const val PRIME64_2 = -0x3d4d51c2d82b14b1L
+private const val PRIME64_3 = 0x165667b19e3779f9L
+private const val SEED = 0x27d4eb2f165667c5L
+
+private const val NULL_TAG = 1L
+private const val FALSE_TAG = 2L
+private const val TRUE_TAG = 3L
+private const val INTEGER_TAG = 4L
+private const val DOUBLE_TAG = 5L
+private const val DECIMAL_TAG = 6L
+private const val STRING_TAG = 7L
+private const val ARRAY_TAG = 8L
+private const val OBJECT_TAG = 9L
+private const val OTHER_TAG = 10L
+
+/**
+ * Computes a 64-bit hash of a JSON tree without serializing it.
+ *
+ * The tree is walked once and its values are fed to the xxHash64 round and avalanche functions, tagged with their
+ * type so that, for instance, `1` and `"1"` hash differently. Object properties are combined independently of their
+ * order. This is meant to identify values, not to protect them: it isn't a cryptographic hash.
+ */
+object JsonHasher {
+  @JvmStatic
+  fun hash64(jsonNode: JsonNode?): Long = avalanche(if (jsonNode == null) round(SEED, NULL_TAG) else hashOf(jsonNode, SEED))
+
+  private fun hashOf(
+    node: JsonNode,
+    seed: Long,
+  ): Long =
+    when (node.nodeType) {
+      JsonNodeType.OBJECT -> {
+        // Summing the hashes of the properties makes the result independent of their order.
+        var properties = 0L
+        for ((name, value) in node.properties()) {
+          properties += avalanche(hashOf(value, hashString(name, SEED)))
+        }
+        round(round(round(seed, OBJECT_TAG), node.size().toLong()), properties)
+      }
+      JsonNodeType.ARRAY -> {
+        var hash = round(round(seed, ARRAY_TAG), node.size().toLong())
+        for (element in node) {
+          hash = round(hash, hashOf(element, SEED))
+        }
+        hash
+      }
+      JsonNodeType.STRING -> hashString(node.textValue(), seed)
+      JsonNodeType.NUMBER -> hashNumber(node, seed)
+      JsonNodeType.BOOLEAN -> round(seed, if (node.booleanValue()) TRUE_TAG else FALSE_TAG)
+      JsonNodeType.NULL -> round(seed, NULL_TAG)
+      else -> hashString(Jsons.serialize(node), round(seed, OTHER_TAG))
+    }
+
+  private fun hashNumber(
+    node: JsonNode,
+    seed: Long,
+  ): Long =
+    when {
+      node.isInt || node.isLong || node.isShort -> round(round(seed, INTEGER_TAG), node.longValue())
+      node.isBigInteger && node.canConvertToLong() -> round(round(seed, INTEGER_TAG), node.longValue())
+      node.isDouble || node.isFloat -> round(round(seed, DOUBLE_TAG), java.lang.Double.doubleToLongBits(node.doubleValue()))
+      // Big integers that don't fit in a long and big decimals.
+      else -> hashString(node.decimalValue().stripTrailingZeros().toPlainString(), round(seed, DECIMAL_TAG))
+    }
+
+  private fun hashString(
+    value: String,
+    seed: Long,
+  ): Long {
+    var hash = round(round(seed, STRING_TAG), value.length.toLong())
+    var i = 0
+    // Four chars at a time.
+    while (i + 4 <= value.length) {
+      hash =
+        round(
+          hash,
+          value[i].code.toLong() or
+            (value[i + 1].code.toLong() shl 16) or
+            (value[i + 2].code.toLong() shl 32) or
+            (value[i + 3].code.toLong() shl 48),
+        )
+      i += 4
+    }
+    var tail = 0L
+    var shift = 0
+    while (i < value.length) {
+      tail = tail or (value[i].code.toLong() shl shift)
+      shift += 16
+      i++
+    }
+    return round(hash, tail)
+  }
+
+  private fun round(
+    hash: Long,
+    input: Long,
+  ): Long = java.lang.Long.rotateLeft(hash xor (java.lang.Long.rotateLeft(input * PRIME64_2, 31) * PRIME64_1), 27) * PRIME64_1 + PRIME64_3
+
+  private fun avalanche(hash: Long): Long {
+    var h = hash
+    h = h xor (h ushr 33)
+    h *= PRIME64_2
+    h = h xor (h ushr 29)
+    h *= PRIME64_3
+    return h xor (h ushr 32)
+  }
+}
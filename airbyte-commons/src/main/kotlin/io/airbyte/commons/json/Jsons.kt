@@ -4,6 +4,7 @@
 
 package io.airbyte.commons.json
 
+import com.fasterxml.jackson.core.JsonGenerator
 import com.fasterxml.jackson.core.JsonProcessingException
 import com.fasterxml.jackson.core.StreamReadConstraints
 import com.fasterxml.jackson.core.type.TypeReference
@@ -20,6 +21,7 @@ import com.fasterxml.jackson.databind.node.TextNode
 import io.airbyte.commons.jackson.MoreMappers.initMapper
 import java.io.File
 import java.io.IOException
+import java.io.OutputStream
 import java.util.Optional
 import java.util.Spliterator
 import java.util.Spliterators
@@ -65,6 +67,12 @@ object Jsons {
 
   private val OBJECT_WRITER: ObjectWriter = OBJECT_MAPPER.writer(JsonPrettyPrinter())
 
+  private val STREAM_WRITER: ObjectWriter =
+    OBJECT_MAPPER
+      .writer()
+      .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+      .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+
   /**
    * Serialize an object to a JSON string.
    *
@@ -81,6 +89,26 @@ object Jsons {
     }
   }
 
+  /**
+   * Serialize an object as UTF-8 JSON directly to a stream, without building a string. The stream is neither flushed
+   * nor closed.
+   *
+   * @param obj to serialize
+   * @param outputStream to write to
+   * @param <T> type of object
+   */
+  @JvmStatic
+  fun <T> serialize(
+    obj: T?,
+    outputStream: OutputStream,
+  ) {
+    try {
+      STREAM_WRITER.writeValue(outputStream, obj)
+    } catch (e: IOException) {
+      throw RuntimeException(e)
+    }
+  }
+
   /**
    * Deserialize a JSON string to an object with a type.
    *
@@ -210,6 +238,64 @@ object Jsons {
       Optional.empty<T>()
     }
 
+  /**
+   * Deserialize a UTF-8 encoded slice of a byte array to a JSON object using the exact ObjectMapper.
+   * This avoids decoding the bytes to an intermediate [String].
+   *
+   * @param bytes buffer holding the JSON document.
+   * @param offset index of the first byte of the document.
+   * @param length number of bytes of the document.
+   * @param klass to deserialize to.
+   * @param <T> type of input object.
+   * @return optional as type T.
+   */
+  @JvmStatic
+  fun <T : Any> tryDeserializeExact(
+    bytes: ByteArray,
+    offset: Int,
+    length: Int,
+    klass: Class<T>,
+  ): Optional<T> =
+    try {
+      Optional.of<T>(OBJECT_MAPPER_EXACT.readValue<T>(bytes, offset, length, klass))
+    } catch (_: Throwable) {
+      Optional.empty<T>()
+    }
+
+  /**
+   * Same as [tryDeserializeExact] for a slice of a byte array, also telling whether the document is the whole content of
+   * the slice. Like [tryDeserializeExact], content after the document, e.g. a second document, doesn't fail it.
+   *
+   * @param bytes buffer holding the JSON document.
+   * @param offset index of the first byte of the document.
+   * @param length number of bytes of the document.
+   * @param klass to deserialize to.
+   * @param <T> type of input object.
+   * @return the deserialized object, and whether nothing but whitespace follows it in the slice, or null if it can't be
+   * deserialized.
+   */
+  @JvmStatic
+  fun <T : Any> tryDeserializeExactWithTrailingCheck(
+    bytes: ByteArray,
+    offset: Int,
+    length: Int,
+    klass: Class<T>,
+  ): Pair<T, Boolean>? =
+    try {
+      OBJECT_MAPPER_EXACT.factory.createParser(bytes, offset, length).use { parser ->
+        val value = OBJECT_MAPPER_EXACT.readValue(parser, klass) ?: return null
+        val wholeSlice =
+          try {
+            parser.nextToken() == null
+          } catch (_: IOException) {
+            false
+          }
+        value to wholeSlice
+      }
+    } catch (_: Throwable) {
+      null
+    }
+
   /**
    * Convert an object to [JsonNode].
    *
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.json
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.node.JsonNodeFactory
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.ValueSource
+import java.math.BigDecimal
+import java.math.BigInteger
+
+internal class JsonByteSizeEstimatorTest {
+  @ParameterizedTest
+  @ValueSource(
+    strings = [
+      "{}",
+      "[]",
+      "null",
+      "{\"string_key\":\"abc\",\"array_key\":[\"item1\", \"item2\"]}",
+      "{\"int\":0,\"negative\":-12345,\"long\":9223372036854775807,\"min\":-9223372036854775808,\"big\":123456789012345678901234567890}",
+      "{\"bool\":true,\"other\":false,\"nothing\":null,\"nested\":{\"a\":[1,[2,{}],{\"b\":null}]}}",
+      "{\"escaped\":\"quote \\\" backslash \\\\ slash / tab \\t new line \\n control \\u0001 \\u001f\"}",
+      "{\"unicode\":\"été ß 日本語 \uD83D\uDE00\",\"key é\":1}",
+    ],
+  )
+  fun `estimate matches the size of the serialized json`(json: String) {
+    assertEstimateMatchesSerialization(Jsons.deserialize(json))
+  }
+
+  @Test
+  fun `estimate matches the size of the serialized json for floating point numbers`() {
+    val node =
+      JsonNodeFactory.instance
+        .objectNode()
+        .put("double", 1.5)
+        .put("small", 1.0E-10)
+        .put("large", 1.2345678E20)
+        .put("float", 0.1f)
+        .put("decimal", BigDecimal("1E+5"))
+        .put("exact", BigDecimal("0.10"))
+        .put("integer", BigInteger.valueOf(-42))
+        .put("nan", Double.NaN)
+    node
+      .putArray("shorts")
+      .add(JsonNodeFactory.instance.numberNode(1.toShort()))
+      .add(JsonNodeFactory.instance.numberNode(Short.MIN_VALUE))
+    node.put("binary", byteArrayOf(1, 2, 3))
+
+    assertEstimateMatchesSerialization(node)
+    assertEstimateMatchesSerialization(Jsons.tryDeserializeExact("{\"value\":123.4500,\"other\":-0.0}", JsonNode::class.java).get())
+  }
+
+  @Test
+  fun `estimate of a null node`() {
+    assertEquals(4L, JsonByteSizeEstimator.estimate(null))
+  }
+
+  @Test
+  fun `estimate only differs from the previous estimate for non ascii characters`() {
+    val ascii = Jsons.deserialize("{\"id\":1,\"name\":\"abc\",\"values\":[1.5,\"x\"]}")
+    assertEquals(Jsons.getEstimatedByteSize(ascii).toLong(), JsonByteSizeEstimator.estimate(ascii))
+
+    // The previous estimate counted UTF-16 characters, we now count the bytes that are sent.
+    val nonAscii = Jsons.deserialize("{\"name\":\"日本\"}")
+    assertEquals(Jsons.getEstimatedByteSize(nonAscii).toLong() + 4, JsonByteSizeEstimator.estimate(nonAscii))
+  }
+
+  private fun assertEstimateMatchesSerialization(node: JsonNode) {
+    assertEquals(Jsons.serialize(node).toByteArray(Charsets.UTF_8).size.toLong(), JsonByteSizeEstimator.estimate(node))
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.json
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.CsvSource
+
+internal class JsonHasherTest {
+  @Test
+  fun `equal trees have the same hash`() {
+    val json =
+      """{"cursor":"2024-01-01","nested":{"ids":[1,2,3],"name":"été 日本語 😀","empty":null},"big":123456789012345678901234567890}"""
+
+    assertEquals(JsonHasher.hash64(Jsons.deserialize(json)), JsonHasher.hash64(Jsons.deserialize(json)))
+  }
+
+  @Test
+  fun `hash does not depend on the order of object properties`() {
+    assertEquals(
+      JsonHasher.hash64(Jsons.deserialize("""{"a":1,"b":{"c":true,"d":"x"}}""")),
+      JsonHasher.hash64(Jsons.deserialize("""{"b":{"d":"x","c":true},"a":1}""")),
+    )
+  }
+
+  @ParameterizedTest
+  @CsvSource(
+    delimiter = '|',
+    value = [
+      """{"a":1}|{"a":"1"}""",
+      """{"a":1}|{"a":2}""",
+      """{"a":1}|{"b":1}""",
+      """{"a":null}|{}""",
+      """[1,2]|[2,1]""",
+      """[[1],2]|[1,[2]]""",
+      """{"a":"bc"}|{"ab":"c"}""",
+      """{"a":"abcde"}|{"a":"abcd"}""",
+      """{"a":{"b":1},"c":2}|{"a":{"c":2},"b":1}""",
+      """{"a":true}|{"a":false}""",
+      """{"a":1.5}|{"a":2.5}""",
+    ],
+  )
+  fun `different trees have different hashes`(
+    first: String,
+    second: String,
+  ) {
+    assertNotEquals(JsonHasher.hash64(Jsons.deserialize(first)), JsonHasher.hash64(Jsons.deserialize(second)))
+  }
+
+  @Test
+  fun `big decimals are hashed by value`() {
+    assertEquals(
+      JsonHasher.hash64(Jsons.jsonNode(mapOf("a" to "1.50".toBigDecimal()))),
+      JsonHasher.hash64(Jsons.jsonNode(mapOf("a" to "1.5".toBigDecimal()))),
+    )
+  }
+}
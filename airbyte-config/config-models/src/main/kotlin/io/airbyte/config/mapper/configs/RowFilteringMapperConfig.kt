@@ -22,6 +22,9 @@ import java.util.UUID
   JsonSubTypes.Type(value = OrOperation::class, names = ["OR", "or"]),
   JsonSubTypes.Type(value = EqualOperation::class, names = ["EQUAL", "equal"]),
   JsonSubTypes.Type(value = NotOperation::class, names = ["NOT", "not"]),
+  JsonSubTypes.Type(value = InOperation::class, names = ["IN", "in"]),
+  JsonSubTypes.Type(value = RangeOperation::class, names = ["RANGE", "range"]),
+  JsonSubTypes.Type(value = IsNullOperation::class, names = ["IS_NULL", "is_null"]),
 )
 sealed class Operation {
   abstract val type: String
@@ -56,6 +59,55 @@ data class EqualOperation(
   val comparisonValue: String,
 ) : Operation()
 
+data class InOperation(
+  @JsonProperty("type")
+  @field:NotNull
+  @field:SchemaConstant("IN")
+  override val type: String = "IN",
+  @JsonProperty("fieldName")
+  @field:NotNull
+  @field:SchemaTitle("Field Name")
+  @field:SchemaDescription("The name of the field to apply the operation on.")
+  val fieldName: String,
+  @JsonProperty("comparisonValues")
+  @field:NotNull
+  @field:SchemaTitle("Comparison Values")
+  @field:SchemaDescription("The values to compare the field against, the field must be equal to one of them.")
+  val comparisonValues: List<String>,
+) : Operation()
+
+data class RangeOperation(
+  @JsonProperty("type")
+  @field:NotNull
+  @field:SchemaConstant("RANGE")
+  override val type: String = "RANGE",
+  @JsonProperty("fieldName")
+  @field:NotNull
+  @field:SchemaTitle("Field Name")
+  @field:SchemaDescription("The name of the field to apply the operation on.")
+  val fieldName: String,
+  @JsonProperty("lowerBound")
+  @field:SchemaTitle("Lower Bound")
+  @field:SchemaDescription("The inclusive lower bound of the field. Numbers are compared numerically and strings lexicographically.")
+  val lowerBound: String? = null,
+  @JsonProperty("upperBound")
+  @field:SchemaTitle("Upper Bound")
+  @field:SchemaDescription("The inclusive upper bound of the field. Numbers are compared numerically and strings lexicographically.")
+  val upperBound: String? = null,
+) : Operation()
+
+data class IsNullOperation(
+  @JsonProperty("type")
+  @field:NotNull
+  @field:SchemaConstant("IS_NULL")
+  override val type: String = "IS_NULL",
+  @JsonProperty("fieldName")
+  @field:NotNull
+  @field:SchemaTitle("Field Name")
+  @field:SchemaDescription("The name of the field that must be null or missing.")
+  val fieldName: String,
+) : Operation()
+
 data class OrOperation(
   @JsonProperty("type")
   @field:NotNull
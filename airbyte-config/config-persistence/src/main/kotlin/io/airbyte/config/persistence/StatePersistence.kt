@@ -64,19 +64,7 @@ class StatePersistence(
         )
       }
 
-    if (records.isEmpty()) {
-      return Optional.empty()
-    }
-
-    return when (getStateType(connectionId, records)) {
-      StateType.GLOBAL ->
-        Optional.of(
-          buildGlobalState(records),
-        )
-
-      StateType.STREAM -> Optional.of(buildStreamState(records))
-      else -> Optional.of(buildLegacyState(records))
-    }
+    return buildState(connectionId, records)
   }
 
   /**
@@ -94,29 +82,36 @@ class StatePersistence(
     connectionId: UUID,
     state: StateWrapper,
   ) {
-    val previousState = getCurrentState(connectionId)
-    val currentStateType = state.stateType
-    val isMigration = isMigration(currentStateType, previousState)
-
-    // The only case where we allow a state migration is moving from LEGACY.
-    // We expect any other migration to go through an explicit reset.
-    check(!(!isMigration && previousState.isPresent && previousState.get().stateType != currentStateType)) {
-      (
-        "Unexpected type migration from '" + previousState.get().stateType + "' to '" + currentStateType +
-          "'. Migration of StateType need to go through an explicit reset."
-      )
-    }
-
     database.transaction<Any?> { ctx: DSLContext ->
-      if (isMigration) {
-        clearLegacyState(ctx, connectionId)
+      val previousRecords = getStateRecords(ctx, connectionId)
+      val previousState = buildState(connectionId, previousRecords)
+      val currentStateType = state.stateType
+      val isMigration = isMigration(currentStateType, previousState)
+
+      // The only case where we allow a state migration is moving from LEGACY.
+      // We expect any other migration to go through an explicit reset.
+      check(!(!isMigration && previousState.isPresent && previousState.get().stateType != currentStateType)) {
+        (
+          "Unexpected type migration from '" + previousState.get().stateType + "' to '" + currentStateType +
+            "'. Migration of StateType need to go through an explicit reset."
+        )
       }
+
+      // The states as they are stored, so that only the ones that changed are written.
+      val previousStates =
+        if (isMigration) {
+          clearLegacyState(ctx, connectionId)
+          emptyMap()
+        } else {
+          previousRecords.associate { StateKey(it.streamName, it.namespace) to it.state }
+        }
       when (state.stateType) {
         io.airbyte.config.StateType.GLOBAL ->
           saveGlobalState(
             ctx,
             connectionId,
             state.global.global,
+            previousStates,
           )
 
         io.airbyte.config.StateType.STREAM ->
@@ -124,6 +119,7 @@ class StatePersistence(
             ctx,
             connectionId,
             state.stateMessages,
+            previousStates,
           )
 
         io.airbyte.config.StateType.LEGACY ->
@@ -131,6 +127,7 @@ class StatePersistence(
             ctx,
             connectionId,
             state.legacyState,
+            previousStates,
           )
 
         else -> {}
@@ -230,13 +227,21 @@ class StatePersistence(
     val state: JsonNode,
   )
 
+  /**
+   * Identifies a state row of a connection. Shared global and legacy states have neither a stream name nor a namespace.
+   */
+  data class StateKey(
+    val streamName: String?,
+    val namespace: String?,
+  )
+
   companion object {
     private fun clearLegacyState(
       ctx: DSLContext,
       connectionId: UUID,
     ) {
       val stateUpdateBatch = StateUpdateBatch()
-      writeStateToDb(ctx, connectionId, null, null, io.airbyte.config.StateType.LEGACY, null, stateUpdateBatch)
+      writeStateToDb(ctx, connectionId, null, null, io.airbyte.config.StateType.LEGACY, null, stateUpdateBatch, emptyMap())
       stateUpdateBatch.save(ctx)
     }
 
@@ -244,9 +249,19 @@ class StatePersistence(
       ctx: DSLContext,
       connectionId: UUID,
       globalState: AirbyteGlobalState,
+      previousStates: Map<StateKey, JsonNode>,
     ) {
       val stateUpdateBatch = StateUpdateBatch()
-      writeStateToDb(ctx, connectionId, null, null, io.airbyte.config.StateType.GLOBAL, globalState.sharedState, stateUpdateBatch)
+      writeStateToDb(
+        ctx,
+        connectionId,
+        null,
+        null,
+        io.airbyte.config.StateType.GLOBAL,
+        globalState.sharedState,
+        stateUpdateBatch,
+        previousStates,
+      )
       for (streamState in globalState.streamStates) {
         writeStateToDb(
           ctx,
@@ -256,6 +271,7 @@ class StatePersistence(
           io.airbyte.config.StateType.GLOBAL,
           streamState.streamState,
           stateUpdateBatch,
+          previousStates,
         )
       }
       stateUpdateBatch.save(ctx)
@@ -265,6 +281,7 @@ class StatePersistence(
       ctx: DSLContext,
       connectionId: UUID,
       stateMessages: List<AirbyteStateMessage>,
+      previousStates: Map<StateKey, JsonNode>,
     ) {
       val stateUpdateBatch = StateUpdateBatch()
       for (stateMessage in stateMessages) {
@@ -277,6 +294,7 @@ class StatePersistence(
           io.airbyte.config.StateType.STREAM,
           streamState.streamState,
           stateUpdateBatch,
+          previousStates,
         )
       }
       stateUpdateBatch.save(ctx)
@@ -286,16 +304,18 @@ class StatePersistence(
       ctx: DSLContext,
       connectionId: UUID,
       state: JsonNode?,
+      previousStates: Map<StateKey, JsonNode>,
     ) {
       val stateUpdateBatch = StateUpdateBatch()
-      writeStateToDb(ctx, connectionId, null, null, io.airbyte.config.StateType.LEGACY, state, stateUpdateBatch)
+      writeStateToDb(ctx, connectionId, null, null, io.airbyte.config.StateType.LEGACY, state, stateUpdateBatch, previousStates)
       stateUpdateBatch.save(ctx)
     }
 
     /**
      * Performs the actual SQL operation depending on the state.
      *
-     * If the state is null, it will delete the row, otherwise do an insert or update on conflict
+     * If the state is null, it will delete the row. Otherwise, it will insert the row if it isn't in the previous states,
+     * or update it if its state changed since.
      */
     fun writeStateToDb(
       ctx: DSLContext,
@@ -305,20 +325,20 @@ class StatePersistence(
       stateType: io.airbyte.config.StateType,
       state: JsonNode?,
       stateUpdateBatch: StateUpdateBatch,
+      previousStates: Map<StateKey, JsonNode>,
     ) {
       if (state != null) {
-        val hasState =
-          ctx.fetchExists(
-            Tables.STATE,
-            Tables.STATE.CONNECTION_ID.eq(connectionId),
-            PersistenceHelpers.isNullOrEquals(Tables.STATE.STREAM_NAME, streamName),
-            PersistenceHelpers.isNullOrEquals(Tables.STATE.NAMESPACE, namespace),
-          )
+        val key = StateKey(streamName, namespace)
+        val hasState = previousStates.containsKey(key)
 
         // NOTE: the legacy code was storing a State object instead of just the State data field. We kept
         // the same behavior for consistency.
-        val jsonbState =
-          JSONB.valueOf(Jsons.serialize(if (stateType != io.airbyte.config.StateType.LEGACY) state else State().withState(state)))
+        val storedState = if (stateType != io.airbyte.config.StateType.LEGACY) state else Jsons.jsonNode(State().withState(state))
+        if (hasState && previousStates[key] == storedState) {
+          return
+        }
+
+        val jsonbState = JSONB.valueOf(Jsons.serialize(storedState))
         val now = OffsetDateTime.now()
 
         if (!hasState) {
@@ -372,6 +392,32 @@ class StatePersistence(
       }
     }
 
+    /**
+     * Build the State of a Connection from its state records.
+     *
+     * @param connectionId connection id
+     * @param records state records of the connection
+     * @return state of the connection, empty if it has no records
+     */
+    private fun buildState(
+      connectionId: UUID,
+      records: List<StateRecord>,
+    ): Optional<StateWrapper> {
+      if (records.isEmpty()) {
+        return Optional.empty()
+      }
+
+      return when (getStateType(connectionId, records)) {
+        StateType.GLOBAL ->
+          Optional.of(
+            buildGlobalState(records),
+          )
+
+        StateType.STREAM -> Optional.of(buildStreamState(records))
+        else -> Optional.of(buildLegacyState(records))
+      }
+    }
+
     /**
      * Get the StateType for a given list of StateRecords.
      *
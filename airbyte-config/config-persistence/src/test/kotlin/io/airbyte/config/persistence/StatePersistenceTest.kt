@@ -47,6 +47,7 @@ import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.mockito.Mockito
+import java.time.OffsetDateTime
 import java.util.UUID
 
 internal class StatePersistenceTest : BaseConfigDatabaseTest() {
@@ -1283,6 +1284,88 @@ internal class StatePersistenceTest : BaseConfigDatabaseTest() {
     assertEquals(otherState, statePersistence!!.getCurrentState(otherConnectionId).get(), "the other connection state has been altered")
   }
 
+  @Test
+  fun testUnchangedStreamStatesAreNotRewritten() {
+    val state0 =
+      StateWrapper()
+        .withStateType(StateType.STREAM)
+        .withStateMessages(
+          listOf(
+            AirbyteStateMessage()
+              .withType(AirbyteStateType.STREAM)
+              .withStream(
+                AirbyteStreamState()
+                  .withStreamDescriptor(StreamDescriptor().withName("s1").withNamespace("n1"))
+                  .withStreamState(deserialize(STATE_WITH_NAMESPACE)),
+              ),
+            AirbyteStateMessage()
+              .withType(AirbyteStateType.STREAM)
+              .withStream(
+                AirbyteStreamState()
+                  .withStreamDescriptor(StreamDescriptor().withName("s2"))
+                  .withStreamState(deserialize(STREAM_STATE_2)),
+              ),
+          ),
+        )
+    statePersistence!!.updateOrCreateState(connectionId!!, state0)
+    val updatedAt0 = readUpdatedAtByStream()
+
+    val state1 = clone(state0)
+    state1
+      .stateMessages[1]
+      .stream
+      .withStreamState(deserialize("\"updated state s2\""))
+    statePersistence!!.updateOrCreateState(connectionId!!, state1)
+    val updatedAt1 = readUpdatedAtByStream()
+
+    assertEquals(state1, statePersistence!!.getCurrentState(connectionId!!).orElseThrow())
+    Assertions.assertEquals(updatedAt0["s1"], updatedAt1["s1"])
+    Assertions.assertTrue(updatedAt1["s2"]!!.isAfter(updatedAt0["s2"]))
+  }
+
+  @Test
+  fun testStreamStateOfManyStreamsOnlyWritesChangedStreams() {
+    val streams = 5_000
+    val state0 =
+      StateWrapper()
+        .withStateType(StateType.STREAM)
+        .withStateMessages(
+          (0 until streams).map {
+            AirbyteStateMessage()
+              .withType(AirbyteStateType.STREAM)
+              .withStream(
+                AirbyteStreamState()
+                  .withStreamDescriptor(StreamDescriptor().withName("stream_$it").withNamespace(if (it % 2 == 0) "ns" else null))
+                  .withStreamState(deserialize("{\"cursor\": $it}")),
+              )
+          },
+        )
+    statePersistence!!.updateOrCreateState(connectionId!!, state0)
+    val updatedAt0 = readUpdatedAtByStream()
+
+    // Only a few streams progress between two flushes of the state of a sync.
+    val state1 = clone(state0)
+    (0 until streams step 100).forEach {
+      state1.stateMessages[it].stream.withStreamState(deserialize("{\"cursor\": ${it + streams}}"))
+    }
+    statePersistence!!.updateOrCreateState(connectionId!!, state1)
+    val updatedAt1 = readUpdatedAtByStream()
+
+    assertEquals(state1, statePersistence!!.getCurrentState(connectionId!!).orElseThrow())
+    Assertions.assertEquals(streams, updatedAt1.size)
+    Assertions.assertEquals(streams / 100, updatedAt1.count { (stream, updatedAt) -> updatedAt != updatedAt0[stream] })
+  }
+
+  private fun readUpdatedAtByStream(): Map<String, OffsetDateTime> =
+    database!!.query { ctx: DSLContext ->
+      ctx
+        .select(DSL.field("stream_name", String::class.java), DSL.field("updated_at", OffsetDateTime::class.java))
+        .from(DSL.table(STATE))
+        .where(DSL.field("connection_id").eq(connectionId))
+        .fetch()
+        .associate { it.value1() to it.value2() }
+    }
+
   private fun setupSecondConnection(): UUID {
     val workspace = MockData.standardWorkspaces()[0]!!
     val sourceDefinition = MockData.publicSourceDefinition()!!
@@ -15,10 +15,12 @@ dependencies {
   implementation(libs.micronaut.jackson.databind)
   implementation(libs.google.cloud.storage)
   implementation(libs.micronaut.jooq)
+  implementation(libs.micronaut.cache.caffeine)
   api(libs.bundles.secret.hydration)  // Keep: secret hydration types may be in public API
   api(libs.airbyte.protocol)  // Keep: protocol types in public API
   implementation(libs.jakarta.transaction.api)
   implementation(libs.micronaut.data.tx)
+  implementation(libs.aws.java.sdk.secretsmanager)
   implementation(libs.aws.java.sdk.sts)
   api(project(":oss:airbyte-commons"))  // Keep: commons types in public API
 
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.secrets
+
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import io.airbyte.config.secrets.SecretCoordinate.AirbyteManagedSecretCoordinate
+import io.airbyte.config.secrets.persistence.ReadOnlySecretPersistence
+import io.airbyte.config.secrets.persistence.SecretPersistence
+import io.airbyte.micronaut.runtime.AirbyteSecretsManagerConfig
+import io.airbyte.micronaut.runtime.SECRET_PREFIX
+import io.micronaut.context.annotation.Requires
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import java.time.Duration
+
+/**
+ * Cache of the secrets read by [SecretsHelpers.combineConfig], so that hydrating the config of the same connection for
+ * every attempt doesn't read its secrets from the secret persistence every time.
+ *
+ * Only the secrets read from [secretPersistence], the default secret persistence of this deployment, are cached. Secrets
+ * read from any other persistence, e.g. the runtime secret persistence of an organization, are neither served from nor
+ * stored in the cache, so they are always read from the store that owns them and a store that revokes access is never
+ * bypassed.
+ *
+ * Only [AirbyteManagedSecretCoordinate]s are cached: they are versioned, so updating a secret writes it to a new
+ * coordinate rather than changing the payload of the cached one. Secrets expire after [ttl].
+ */
+@Singleton
+@Requires(property = "$SECRET_PREFIX.hydration-cache.enabled", value = "true")
+class SecretReadCache(
+  private val secretPersistence: ReadOnlySecretPersistence,
+  ttl: Duration,
+  maxSize: Long,
+) {
+  @Inject
+  constructor(
+    secretPersistence: SecretPersistence,
+    airbyteSecretsManagerConfig: AirbyteSecretsManagerConfig,
+  ) : this(
+    secretPersistence = secretPersistence,
+    ttl = airbyteSecretsManagerConfig.hydrationCache.ttl,
+    maxSize = airbyteSecretsManagerConfig.hydrationCache.maxSize,
+  )
+
+  private val secrets: Cache<String, String> =
+    Caffeine
+      .newBuilder()
+      .expireAfterWrite(ttl)
+      .maximumSize(maxSize)
+      .build()
+
+  /**
+   * @return the cached payload of the [coordinate] when it is to be read from the [readFrom] persistence, or null
+   */
+  fun get(
+    readFrom: ReadOnlySecretPersistence,
+    coordinate: SecretCoordinate,
+  ): String? =
+    when {
+      isCached(readFrom, coordinate) -> secrets.getIfPresent(coordinate.fullCoordinate)
+      else -> null
+    }
+
+  /**
+   * Caches the [payload] of the [coordinate] that was read from the [readFrom] persistence, if it is cacheable.
+   */
+  fun put(
+    readFrom: ReadOnlySecretPersistence,
+    coordinate: SecretCoordinate,
+    payload: String,
+  ) {
+    if (isCached(readFrom, coordinate) && payload.isNotBlank()) {
+      secrets.put(coordinate.fullCoordinate, payload)
+    }
+  }
+
+  private fun isCached(
+    readFrom: ReadOnlySecretPersistence,
+    coordinate: SecretCoordinate,
+  ): Boolean = readFrom === secretPersistence && coordinate is AirbyteManagedSecretCoordinate
+}
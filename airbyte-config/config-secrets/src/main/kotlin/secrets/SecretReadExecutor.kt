@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.secrets
+
+import io.airbyte.micronaut.runtime.AirbyteSecretsManagerConfig
+import jakarta.annotation.PreDestroy
+import jakarta.inject.Inject
+import jakarta.inject.Singleton
+import java.util.concurrent.Executor
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Runs the secret reads of [SecretsHelpers.combineConfig] concurrently, at most [maxConcurrentReads] at once across all
+ * the configs being hydrated.
+ *
+ * At most [maxConcurrentReads] reads wait for a thread. Reads submitted beyond that run on the thread hydrating the
+ * config, which slows down hydrations instead of queueing reads without bound.
+ */
+@Singleton
+class SecretReadExecutor(
+  maxConcurrentReads: Int,
+) : Executor {
+  @Inject
+  constructor(airbyteSecretsManagerConfig: AirbyteSecretsManagerConfig) : this(airbyteSecretsManagerConfig.maxConcurrentReads)
+
+  private val threadCount = AtomicInteger()
+
+  private val executor =
+    ThreadPoolExecutor(
+      maxConcurrentReads,
+      maxConcurrentReads,
+      60,
+      TimeUnit.SECONDS,
+      LinkedBlockingQueue(maxConcurrentReads),
+      { Thread(it, "secret-read-${threadCount.incrementAndGet()}").apply { isDaemon = true } },
+      ThreadPoolExecutor.CallerRunsPolicy(),
+    ).apply { allowCoreThreadTimeOut(true) }
+
+  override fun execute(command: Runnable) = executor.execute(command)
+
+  @PreDestroy
+  fun close() {
+    executor.shutdown()
+  }
+}
@@ -16,12 +16,16 @@ import io.airbyte.commons.json.JsonSchemas
 import io.airbyte.commons.json.Jsons
 import io.airbyte.config.secrets.SecretCoordinate.AirbyteManagedSecretCoordinate
 import io.airbyte.config.secrets.SecretCoordinate.ExternalSecretCoordinate
+import io.airbyte.config.secrets.persistence.BatchReadSecretPersistence
 import io.airbyte.config.secrets.persistence.ReadOnlySecretPersistence
 import io.airbyte.config.secrets.persistence.SecretPersistence
 import io.airbyte.domain.models.SecretReferenceId
 import io.airbyte.domain.models.SecretStorageId
 import secrets.persistence.SecretCoordinateException
 import java.util.UUID
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.Executor
 import java.util.function.Supplier
 
 /**
@@ -192,13 +196,17 @@ object SecretsHelpers {
    *
    * @param configWithRefs configuration containing secret coordinates (references to secrets)
    * @param secretPersistence secret storage mechanism
+   * @param cache optional cache of the secrets read by previous hydrations
+   * @param executor optional executor the secrets are read concurrently on, they are read one after the other otherwise
    * @return full config including actual secret values
    */
   fun combineConfig(
     configWithRefs: ConfigWithSecretReferences?,
     secretPersistence: ReadOnlySecretPersistence,
+    cache: SecretReadCache? = null,
+    executor: Executor? = null,
   ): JsonNode =
-    combineConfigInternal(configWithRefs) {
+    combineConfigInternal(configWithRefs, cache, executor) {
       secretPersistence
     }
 
@@ -207,14 +215,20 @@ object SecretsHelpers {
    *
    * @param configWithRefs configuration containing secret coordinates (references to secrets)
    * @param secretPersistenceMap map of secret storage IDs to their corresponding secret persistence
+   * @param cache optional cache of the secrets read by previous hydrations
+   * @param executor optional executor the secrets are read concurrently on, they are read one after the other otherwise
    * @return full config including actual secret values
    */
   fun combineConfig(
     configWithRefs: ConfigWithSecretReferences?,
     secretPersistenceMap: Map<UUID?, ReadOnlySecretPersistence>,
+    cache: SecretReadCache? = null,
+    executor: Executor? = null,
   ): JsonNode =
     combineConfigInternal(
       configWithRefs,
+      cache,
+      executor,
       resolvePersistence = { secretStorageId ->
         secretPersistenceMap[secretStorageId]
           ?: throw IllegalStateException("No persistence found for secret storage ID: $secretStorageId")
@@ -223,16 +237,18 @@ object SecretsHelpers {
 
   private fun combineConfigInternal(
     configWithRefs: ConfigWithSecretReferences?,
+    cache: SecretReadCache?,
+    executor: Executor?,
     resolvePersistence: (UUID?) -> ReadOnlySecretPersistence,
   ): JsonNode {
     if (configWithRefs == null) {
       return JsonNodeFactory.instance.objectNode()
     }
 
+    val secretValues = readSecretValues(configWithRefs.referencedSecrets.values, cache, executor, resolvePersistence)
     var config = configWithRefs.originalConfig
     for ((hydrationPath, secretRefConfig) in configWithRefs.referencedSecrets) {
-      val secretPersistence = resolvePersistence(secretRefConfig.secretStorageId)
-      val secretValue = getOrThrowSecretValue(secretPersistence, secretRefConfig.secretCoordinate)
+      val secretValue = secretValues.getValue(SecretLocation(secretRefConfig))
       config =
         when (hydrationPath) {
           "$" -> TextNode(secretValue)
@@ -243,6 +259,97 @@ object SecretsHelpers {
     return config
   }
 
+  /**
+   * Reads the secrets of all the [secretRefs] up front rather than one after the other. The secrets that aren't in the
+   * [cache] are read concurrently on the [executor] if there is one, and the ones of a [BatchReadSecretPersistence] with as few calls to its store as it
+   * allows.
+   *
+   * @throws SecretCoordinateException when one of the secrets is not available in its persistence
+   */
+  private fun readSecretValues(
+    secretRefs: Collection<SecretReferenceConfig>,
+    cache: SecretReadCache?,
+    executor: Executor?,
+    resolvePersistence: (UUID?) -> ReadOnlySecretPersistence,
+  ): Map<SecretLocation, String> {
+    val secretValues = mutableMapOf<SecretLocation, String>()
+    val reads = mutableListOf<() -> Map<SecretLocation, String>>()
+    val secretPersistences = mutableMapOf<UUID?, ReadOnlySecretPersistence>()
+    for ((secretStorageId, refs) in secretRefs.groupBy { it.secretStorageId }) {
+      val secretPersistence = resolvePersistence(secretStorageId)
+      secretPersistences[secretStorageId] = secretPersistence
+      val coordinates =
+        refs
+          .map { it.secretCoordinate }
+          .distinctBy { it.fullCoordinate }
+          .filter { coordinate ->
+            val cached = cache?.get(secretPersistence, coordinate) ?: return@filter true
+            secretValues[SecretLocation(secretStorageId, coordinate)] = cached
+            false
+          }
+
+      if (secretPersistence is BatchReadSecretPersistence && coordinates.size > 1) {
+        reads.add {
+          secretPersistence.readBatch(coordinates).mapKeys { (coordinate, _) -> SecretLocation(secretStorageId, coordinate) }
+        }
+      } else {
+        coordinates.forEach { coordinate ->
+          reads.add { mapOf(SecretLocation(secretStorageId, coordinate) to secretPersistence.read(coordinate)) }
+        }
+      }
+    }
+    runConcurrently(reads, executor).forEach { secretValues.putAll(it) }
+
+    for (secretRef in secretRefs) {
+      val location = SecretLocation(secretRef)
+      val secretValue = requireSecretValue(secretRef.secretCoordinate, secretValues[location] ?: "")
+      cache?.put(secretPersistences.getValue(secretRef.secretStorageId), secretRef.secretCoordinate, secretValue)
+      secretValues[location] = secretValue
+    }
+    return secretValues
+  }
+
+  /**
+   * Runs the first of the [tasks] on the calling thread and the others on the [executor], and waits for all of them. The
+   * exception of the first failed task, in order, is rethrown. Without an executor, the tasks run one after the other.
+   */
+  private fun <T> runConcurrently(
+    tasks: List<() -> T>,
+    executor: Executor?,
+  ): List<T> {
+    if (executor == null || tasks.size <= 1) {
+      return tasks.map { it() }
+    }
+    val others = tasks.drop(1).map { task -> CompletableFuture.supplyAsync({ task() }, executor) }
+    val first =
+      try {
+        tasks.first()()
+      } catch (e: Exception) {
+        others.forEach { it.cancel(false) }
+        throw e
+      }
+    return listOf(first) +
+      others.map {
+        try {
+          it.join()
+        } catch (e: CompletionException) {
+          throw e.cause ?: e
+        }
+      }
+  }
+
+  /**
+   * Where a secret lives: its coordinate in the secret storage it is read from.
+   */
+  private data class SecretLocation(
+    val secretStorageId: UUID?,
+    val fullCoordinate: String,
+  ) {
+    constructor(secretStorageId: UUID?, coordinate: SecretCoordinate) : this(secretStorageId, coordinate.fullCoordinate)
+
+    constructor(secretRef: SecretReferenceConfig) : this(secretRef.secretStorageId, secretRef.secretCoordinate)
+  }
+
   /**
    * This returns all the unique path to the airbyte secrets based on a schema spec. The path will be
    * return in an ascending alphabetical order.
@@ -416,8 +523,15 @@ object SecretsHelpers {
   private fun getOrThrowSecretValue(
     secretPersistence: ReadOnlySecretPersistence,
     coordinate: SecretCoordinate,
+  ): String = requireSecretValue(coordinate, secretPersistence.read(coordinate))
+
+  /**
+   * @throws SecretCoordinateException when the [secret] read at the [coordinate] is blank, i.e. it is not available
+   */
+  private fun requireSecretValue(
+    coordinate: SecretCoordinate,
+    secret: String,
   ): String {
-    val secret: String = secretPersistence.read(coordinate)
     if (secret.isNotBlank()) {
       return secret
     } else {
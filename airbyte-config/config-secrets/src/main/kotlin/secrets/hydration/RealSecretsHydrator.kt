@@ -8,6 +8,8 @@ import com.fasterxml.jackson.databind.JsonNode
 import io.airbyte.commons.json.Jsons
 import io.airbyte.config.secrets.ConfigWithSecretReferences
 import io.airbyte.config.secrets.InlinedConfigWithSecretRefs
+import io.airbyte.config.secrets.SecretReadCache
+import io.airbyte.config.secrets.SecretReadExecutor
 import io.airbyte.config.secrets.SecretsHelpers
 import io.airbyte.config.secrets.persistence.SecretPersistence
 import io.airbyte.config.secrets.toConfigWithRefs
@@ -16,20 +18,35 @@ import jakarta.inject.Singleton
 import java.util.UUID
 
 /**
- * Adds secrets to a partial config based off a persistence.
+ * Adds secrets to a partial config based off a persistence. Configs are hydrated through the [secretReadCache] when
+ * one is configured, which only caches the secrets read from the [defaultSecretPersistence]. Their secrets are read
+ * concurrently on the [secretReadExecutor], if there is one.
  */
 @Requires(bean = SecretPersistence::class)
 @Singleton
 class RealSecretsHydrator(
   private val defaultSecretPersistence: SecretPersistence,
+  private val secretReadCache: SecretReadCache? = null,
+  private val secretReadExecutor: SecretReadExecutor? = null,
 ) : SecretsHydrator {
   override fun hydrateFromDefaultSecretPersistence(partialConfig: JsonNode): JsonNode =
-    SecretsHelpers.combineConfig(InlinedConfigWithSecretRefs(partialConfig).toConfigWithRefs(), defaultSecretPersistence)
+    SecretsHelpers.combineConfig(
+      InlinedConfigWithSecretRefs(partialConfig).toConfigWithRefs(),
+      defaultSecretPersistence,
+      secretReadCache,
+      secretReadExecutor,
+    )
 
   override fun hydrateFromRuntimeSecretPersistence(
     partialConfig: JsonNode,
     runtimeSecretPersistence: SecretPersistence,
-  ): JsonNode = SecretsHelpers.combineConfig(InlinedConfigWithSecretRefs(partialConfig).toConfigWithRefs(), runtimeSecretPersistence)
+  ): JsonNode =
+    SecretsHelpers.combineConfig(
+      InlinedConfigWithSecretRefs(partialConfig).toConfigWithRefs(),
+      runtimeSecretPersistence,
+      secretReadCache,
+      secretReadExecutor,
+    )
 
   override fun hydrateSecretCoordinateFromDefaultSecretPersistence(secretCoordinate: JsonNode): JsonNode =
     hydrateSecretCoordinateAsJson(secretCoordinate, defaultSecretPersistence)
@@ -52,10 +69,10 @@ class RealSecretsHydrator(
   override fun hydrate(
     config: ConfigWithSecretReferences,
     secretPersistence: SecretPersistence,
-  ): JsonNode = SecretsHelpers.combineConfig(config, secretPersistence)
+  ): JsonNode = SecretsHelpers.combineConfig(config, secretPersistence, secretReadCache, secretReadExecutor)
 
   override fun hydrate(
     config: ConfigWithSecretReferences,
     secretPersistenceMap: Map<UUID?, SecretPersistence>,
-  ): JsonNode = SecretsHelpers.combineConfig(config, secretPersistenceMap)
+  ): JsonNode = SecretsHelpers.combineConfig(config, secretPersistenceMap, secretReadCache, secretReadExecutor)
 }
@@ -11,6 +11,7 @@ import com.amazonaws.secretsmanager.caching.SecretCache
 import com.amazonaws.services.secretsmanager.AWSSecretsManager
 import com.amazonaws.services.secretsmanager.AWSSecretsManagerClientBuilder
 import com.amazonaws.services.secretsmanager.model.AWSSecretsManagerException
+import com.amazonaws.services.secretsmanager.model.BatchGetSecretValueRequest
 import com.amazonaws.services.secretsmanager.model.CreateSecretRequest
 import com.amazonaws.services.secretsmanager.model.CreateSecretResult
 import com.amazonaws.services.secretsmanager.model.DeleteSecretRequest
@@ -43,6 +44,9 @@ private val logger = KotlinLogging.logger {}
 private const val ACCESS_DENIED_ERROR_CODE = "AccessDeniedException"
 private const val ASSUMED_ROLE_MARKER = "assumed-role"
 
+// The most secrets a single BatchGetSecretValue call can read by id.
+private const val MAX_BATCH_GET_SECRET_VALUES = 20
+
 /**
  * Returns true if this [AWSSecretsManagerException] is an AccessDeniedException whose message
  * mentions an assumed-role, indicating tag-based IAM (ABAC) denied access because the secret
@@ -78,9 +82,12 @@ enum class AwsAuthType(
 @Named("secretPersistence")
 class AwsSecretManagerPersistence(
   private val awsClient: AwsSecretsManagerClient,
-) : SecretPersistence {
+) : SecretPersistence,
+  BatchReadSecretPersistence {
   override fun read(coordinate: SecretCoordinate): String = awsClient.getSecret(coordinate)
 
+  override fun readBatch(coordinates: Collection<SecretCoordinate>): Map<SecretCoordinate, String> = awsClient.getSecrets(coordinates)
+
   override fun write(
     coordinate: AirbyteManagedSecretCoordinate,
     payload: String,
@@ -310,6 +317,30 @@ interface AwsSecretsManagerClient {
     return secretString
   }
 
+  /**
+   * Reads the [coordinates] with BatchGetSecretValue, 20 secrets at a time. The secrets a batch doesn't return, e.g. the
+   * ones only found under their coordinate base or that the credentials can't batch read, are read one at a time with
+   * [getSecret] so that they are handled the same way as single reads.
+   */
+  fun getSecrets(coordinates: Collection<SecretCoordinate>): Map<SecretCoordinate, String> {
+    val secretStrings = mutableMapOf<String, String>()
+    for (secretIds in coordinates.map { it.fullCoordinate }.distinct().chunked(MAX_BATCH_GET_SECRET_VALUES)) {
+      try {
+        var nextToken: String? = null
+        do {
+          logger.debug { "Batch reading secrets $secretIds" }
+          val result = getClient().batchGetSecretValue(BatchGetSecretValueRequest().withSecretIdList(secretIds).withNextToken(nextToken))
+          result.secretValues.forEach { secret -> secret.secretString?.let { secretStrings[secret.name] = it } }
+          result.errors.forEach { error -> logger.debug { "Failed to batch read secret ${error.secretId}: ${error.errorCode}" } }
+          nextToken = result.nextToken
+        } while (nextToken != null)
+      } catch (e: AWSSecretsManagerException) {
+        logger.warn { "Failed to batch read secrets, reading them one at a time: ${e.errorMessage}" }
+      }
+    }
+    return coordinates.associateWith { secretStrings[it.fullCoordinate] ?: getSecret(it) }
+  }
+
   fun createSecret(
     name: String,
     payload: String,
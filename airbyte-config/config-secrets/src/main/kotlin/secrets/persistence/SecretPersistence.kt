@@ -16,6 +16,18 @@ fun interface ReadOnlySecretPersistence {
   fun read(coordinate: SecretCoordinate): String
 }
 
+/**
+ * A [ReadOnlySecretPersistence] backed by a store that can read several secrets in a single call.
+ */
+interface BatchReadSecretPersistence : ReadOnlySecretPersistence {
+  /**
+   * Reads the secrets at all the [coordinates] with as few calls to the backing store as possible.
+   *
+   * @return the secret payload of each coordinate, which is empty if there is no secret at that coordinate, like [read]
+   */
+  fun readBatch(coordinates: Collection<SecretCoordinate>): Map<SecretCoordinate, String>
+}
+
 /**
  * Provides the ability to read and write secrets to a backing store. Assumes that secret payloads
  * are always strings. See {@link SecretCoordinate} for more information on how secrets are
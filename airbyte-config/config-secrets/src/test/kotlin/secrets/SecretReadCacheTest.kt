@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.secrets
+
+import io.airbyte.config.secrets.SecretCoordinate.AirbyteManagedSecretCoordinate
+import io.airbyte.config.secrets.SecretCoordinate.ExternalSecretCoordinate
+import io.airbyte.config.secrets.persistence.SecretPersistence
+import io.mockk.mockk
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+import java.time.Duration
+
+internal class SecretReadCacheTest {
+  private val defaultPersistence = mockk<SecretPersistence>()
+  private val cache = SecretReadCache(defaultPersistence, ttl = Duration.ofMinutes(1), maxSize = 100)
+
+  @Test
+  fun `airbyte managed secrets read from the default persistence are cached`() {
+    val coordinate = AirbyteManagedSecretCoordinate("airbyte_workspace_123_secret_456", 1L)
+
+    cache.put(defaultPersistence, coordinate, "secret")
+
+    Assertions.assertEquals("secret", cache.get(defaultPersistence, coordinate))
+    Assertions.assertEquals("secret", cache.get(defaultPersistence, AirbyteManagedSecretCoordinate("airbyte_workspace_123_secret_456", 1L)))
+    Assertions.assertNull(cache.get(defaultPersistence, AirbyteManagedSecretCoordinate("airbyte_workspace_123_secret_456", 2L)))
+  }
+
+  @Test
+  fun `secrets of other persistences are neither cached nor served from the cache`() {
+    val runtimePersistence = mockk<SecretPersistence>()
+    val coordinate = AirbyteManagedSecretCoordinate("airbyte_workspace_123_secret_456", 1L)
+
+    cache.put(runtimePersistence, coordinate, "runtime secret")
+    Assertions.assertNull(cache.get(runtimePersistence, coordinate))
+    Assertions.assertNull(cache.get(defaultPersistence, coordinate))
+
+    cache.put(defaultPersistence, coordinate, "secret")
+    Assertions.assertNull(cache.get(runtimePersistence, coordinate))
+  }
+
+  @Test
+  fun `external and blank secrets are not cached`() {
+    val external = ExternalSecretCoordinate("my_external_secret")
+    val blank = AirbyteManagedSecretCoordinate("airbyte_workspace_123_secret_456", 1L)
+
+    cache.put(defaultPersistence, external, "secret")
+    cache.put(defaultPersistence, blank, " ")
+
+    Assertions.assertNull(cache.get(defaultPersistence, external))
+    Assertions.assertNull(cache.get(defaultPersistence, blank))
+  }
+
+  @Test
+  fun `secrets expire after the ttl`() {
+    val expiringCache = SecretReadCache(defaultPersistence, ttl = Duration.ZERO, maxSize = 100)
+    val coordinate = AirbyteManagedSecretCoordinate("airbyte_workspace_123_secret_456", 1L)
+
+    expiringCache.put(defaultPersistence, coordinate, "secret")
+
+    Assertions.assertNull(expiringCache.get(defaultPersistence, coordinate))
+  }
+}
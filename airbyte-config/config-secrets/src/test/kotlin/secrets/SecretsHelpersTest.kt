@@ -10,6 +10,8 @@ import io.airbyte.commons.constants.AirbyteSecretConstants.AIRBYTE_SECRET_FIELD
 import io.airbyte.config.secrets.SecretCoordinate.AirbyteManagedSecretCoordinate
 import io.airbyte.config.secrets.SecretCoordinate.ExternalSecretCoordinate
 import io.airbyte.config.secrets.SecretsHelpers.SECRET_REF_PREFIX
+import io.airbyte.config.secrets.persistence.BatchReadSecretPersistence
+import io.airbyte.config.secrets.persistence.LocalTestingSecretPersistence
 import io.airbyte.config.secrets.persistence.ReadOnlySecretPersistence
 import io.airbyte.config.secrets.persistence.SecretPersistence
 import io.airbyte.config.secrets.test.cases.ArrayOneOfTestCase
@@ -28,21 +30,35 @@ import io.airbyte.validation.json.JsonSchemaValidator
 import io.kotlintest.matchers.string.shouldStartWith
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.verify
+import org.jooq.DSLContext
+import org.jooq.Record
+import org.jooq.Result
+import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.Nested
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.Arguments
 import org.junit.jupiter.params.provider.MethodSource
+import secrets.persistence.SecretCoordinateException
+import java.time.Duration
 import java.util.UUID
 import java.util.function.Consumer
 import java.util.regex.Pattern
 import java.util.stream.Stream
 
 private const val PROVIDE_TEST_CASES = "provideTestCases"
+private val SECRET_READ_LATENCY = Duration.ofMillis(200)
 
 internal class SecretsHelpersTest {
   private val secretPersistence: SecretPersistence = MemorySecretPersistence()
+  private val secretReadExecutor = SecretReadExecutor(maxConcurrentReads = 8)
+
+  @AfterEach
+  fun tearDown() {
+    secretReadExecutor.close()
+  }
 
   @ParameterizedTest
   @MethodSource(PROVIDE_TEST_CASES)
@@ -310,6 +326,133 @@ internal class SecretsHelpersTest {
     }
   }
 
+  @Test
+  fun testCombineReadsSecretsConcurrently() {
+    val secrets = (1..6).associate { AirbyteManagedSecretCoordinate("airbyte_workspace_123_secret_$it") to "secretValue$it" }
+    val dslContext = slowLocalSecretsDslContext(secrets, SECRET_READ_LATENCY)
+    val configWithRefs = configWithRefs(secrets.keys.map { SecretReferenceConfig(secretCoordinate = it) })
+
+    val start = System.nanoTime()
+    val actualCombinedConfig =
+      SecretsHelpers.combineConfig(configWithRefs, LocalTestingSecretPersistence(dslContext), executor = secretReadExecutor)
+    val elapsed = Duration.ofNanos(System.nanoTime() - start)
+
+    Assertions.assertEquals(expectedConfig(secrets.values), actualCombinedConfig)
+    Assertions.assertTrue(elapsed < SECRET_READ_LATENCY.multipliedBy(3), "Reading 6 secrets took $elapsed")
+    verify(exactly = 6) { dslContext.fetch(any<String>(), any<String>()) }
+  }
+
+  @Test
+  fun testCombineReadsTheSecretsOfABatchPersistenceInOneBatch() {
+    val secrets = (1..3).associate { AirbyteManagedSecretCoordinate("airbyte_workspace_123_secret_$it") to "secretValue$it" }
+    val batchPersistence = mockk<BatchReadSecretPersistence>()
+    every { batchPersistence.readBatch(any()) } answers { firstArg<Collection<SecretCoordinate>>().associateWith { secrets.getValue(it) } }
+    val secretRefs = secrets.keys.map { SecretReferenceConfig(secretCoordinate = it) }
+
+    val actualCombinedConfig = SecretsHelpers.combineConfig(configWithRefs(secretRefs + secretRefs.first()), batchPersistence)
+
+    Assertions.assertEquals(expectedConfig(secrets.values + secrets.values.first()), actualCombinedConfig)
+    verify(exactly = 1) { batchPersistence.readBatch(secrets.keys.toList()) }
+    verify(exactly = 0) { batchPersistence.read(any()) }
+  }
+
+  @Test
+  fun testCombineServesAirbyteManagedSecretsFromTheCache() {
+    val managedCoordinate = AirbyteManagedSecretCoordinate("airbyte_workspace_123_secret_456")
+    val externalCoordinate = ExternalSecretCoordinate("my_external_secret")
+    val secrets = mapOf(managedCoordinate to "managedValue", externalCoordinate to "externalValue")
+    val dslContext = slowLocalSecretsDslContext(secrets, Duration.ZERO)
+    val secretPersistence = LocalTestingSecretPersistence(dslContext)
+    val cache = SecretReadCache(secretPersistence, ttl = Duration.ofMinutes(1), maxSize = 100)
+    val configWithRefs = configWithRefs(secrets.keys.map { SecretReferenceConfig(secretCoordinate = it) })
+
+    repeat(3) {
+      Assertions.assertEquals(expectedConfig(secrets.values), SecretsHelpers.combineConfig(configWithRefs, secretPersistence, cache))
+    }
+
+    verify(exactly = 1) { dslContext.fetch(any<String>(), managedCoordinate.fullCoordinate) }
+    verify(exactly = 3) { dslContext.fetch(any<String>(), externalCoordinate.fullCoordinate) }
+  }
+
+  @Test
+  fun testCombineOnlyCachesTheSecretsOfTheDefaultPersistence() {
+    val coordinate = AirbyteManagedSecretCoordinate("airbyte_workspace_123_secret_456")
+    val defaultDslContext = slowLocalSecretsDslContext(mapOf(coordinate to "defaultValue"), Duration.ZERO)
+    val runtimeDslContext = slowLocalSecretsDslContext(mapOf(coordinate to "runtimeValue"), Duration.ZERO)
+    val defaultPersistence = LocalTestingSecretPersistence(defaultDslContext)
+    val runtimePersistence = LocalTestingSecretPersistence(runtimeDslContext)
+    val cache = SecretReadCache(defaultPersistence, ttl = Duration.ofMinutes(1), maxSize = 100)
+    val configWithRefs = configWithRefs(listOf(SecretReferenceConfig(secretCoordinate = coordinate)))
+
+    repeat(2) {
+      Assertions.assertEquals(
+        expectedConfig(listOf("runtimeValue")),
+        SecretsHelpers.combineConfig(configWithRefs, runtimePersistence, cache),
+      )
+      Assertions.assertEquals(
+        expectedConfig(listOf("defaultValue")),
+        SecretsHelpers.combineConfig(configWithRefs, defaultPersistence, cache),
+      )
+      Assertions.assertEquals(
+        expectedConfig(listOf("runtimeValue")),
+        SecretsHelpers.combineConfig(configWithRefs, mapOf<UUID?, ReadOnlySecretPersistence>(null to runtimePersistence), cache),
+      )
+    }
+
+    verify(exactly = 1) { defaultDslContext.fetch(any<String>(), coordinate.fullCoordinate) }
+    verify(exactly = 4) { runtimeDslContext.fetch(any<String>(), coordinate.fullCoordinate) }
+  }
+
+  @Test
+  fun testCombineReportsMissingSecretsReadConcurrently() {
+    val found = AirbyteManagedSecretCoordinate("airbyte_workspace_123_secret_1")
+    val missing = AirbyteManagedSecretCoordinate("airbyte_workspace_123_secret_2")
+    val dslContext = slowLocalSecretsDslContext(mapOf(found to "secretValue1", missing to ""), SECRET_READ_LATENCY)
+    val secretPersistence = LocalTestingSecretPersistence(dslContext)
+    val cache = SecretReadCache(secretPersistence, ttl = Duration.ofMinutes(1), maxSize = 100)
+    val configWithRefs = configWithRefs(listOf(SecretReferenceConfig(found), SecretReferenceConfig(missing)))
+
+    val exception =
+      Assertions.assertThrows(SecretCoordinateException::class.java) {
+        SecretsHelpers.combineConfig(configWithRefs, secretPersistence, cache, secretReadExecutor)
+      }
+    Assertions.assertTrue(exception.message!!.contains(missing.fullCoordinate))
+    Assertions.assertNull(cache.get(secretPersistence, missing))
+  }
+
+  /**
+   * A [DSLContext] for a [LocalTestingSecretPersistence] that stores the [secrets] and takes [latency] to read each of them.
+   */
+  private fun slowLocalSecretsDslContext(
+    secrets: Map<out SecretCoordinate, String>,
+    latency: Duration,
+  ): DSLContext =
+    mockk {
+      every { execute(any<String>()) } returns 1
+      secrets.forEach { (coordinate, payload) ->
+        val record = mockk<Record> { every { getValue(0, String::class.java) } returns payload }
+        val result =
+          mockk<Result<Record>> {
+            every { size } returns 1
+            every { get(0) } returns record
+          }
+        every { fetch(any<String>(), coordinate.fullCoordinate) } answers {
+          Thread.sleep(latency.toMillis())
+          result
+        }
+      }
+    }
+
+  private fun configWithRefs(secretRefs: List<SecretReferenceConfig>): ConfigWithSecretReferences =
+    ConfigWithSecretReferences(
+      originalConfig =
+        Jsons.jsonNode(secretRefs.withIndex().associate { (i, ref) -> "key$i" to mapOf("_secret" to ref.secretCoordinate.fullCoordinate) }),
+      referencedSecrets = secretRefs.withIndex().associate { (i, ref) -> "$.key$i" to ref },
+    )
+
+  private fun expectedConfig(secretValues: Collection<String>): JsonNode =
+    Jsons.jsonNode(secretValues.withIndex().associate { (i, value) -> "key$i" to value })
+
   @Test
   fun testUpdatingSecretsOneAtATimeShouldAlwaysIncrementAllVersions() {
     val uuidIterator = SecretsTestCase.UUIDS.iterator()
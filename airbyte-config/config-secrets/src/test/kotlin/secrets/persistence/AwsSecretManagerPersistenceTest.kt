@@ -7,9 +7,12 @@ package io.airbyte.config.secrets.persistence
 import com.amazonaws.secretsmanager.caching.SecretCache
 import com.amazonaws.services.secretsmanager.AWSSecretsManager
 import com.amazonaws.services.secretsmanager.model.AWSSecretsManagerException
+import com.amazonaws.services.secretsmanager.model.BatchGetSecretValueRequest
+import com.amazonaws.services.secretsmanager.model.BatchGetSecretValueResult
 import com.amazonaws.services.secretsmanager.model.CreateSecretResult
 import com.amazonaws.services.secretsmanager.model.DeleteSecretResult
 import com.amazonaws.services.secretsmanager.model.ResourceNotFoundException
+import com.amazonaws.services.secretsmanager.model.SecretValueEntry
 import com.amazonaws.services.secretsmanager.model.Tag
 import com.amazonaws.services.secretsmanager.model.UpdateSecretResult
 import io.airbyte.config.secrets.SecretCoordinate
@@ -52,6 +55,57 @@ class AwsSecretManagerPersistenceTest {
     }
   }
 
+  @Test
+  fun `test batch reading secrets`() {
+    val coordinates = (1..25).map { AirbyteManagedSecretCoordinate("airbyte_secret_coordinate_$it", 1L) }
+    val notBatched = coordinates.last()
+
+    val mockAwsClient = mockk<AWSSecretsManager>()
+    every { mockAwsClient.batchGetSecretValue(any()) } answers {
+      BatchGetSecretValueResult().withSecretValues(
+        firstArg<BatchGetSecretValueRequest>()
+          .secretIdList
+          .filter { it != notBatched.fullCoordinate }
+          .map { SecretValueEntry().withName(it).withSecretString("value of $it") },
+      )
+    }
+    val mockAwsCache: SecretCache = mockk()
+    every { mockAwsCache.getSecretString(notBatched.fullCoordinate) } returns "not batched"
+
+    val spyAwsClient = spyk(SystemAwsSecretsManagerClient(config = AwsSecretsManagerConfig()))
+    every { spyAwsClient.getClient() } returns mockAwsClient
+    every { spyAwsClient.getCache() } returns mockAwsCache
+
+    val result = AwsSecretManagerPersistence(spyAwsClient).readBatch(coordinates)
+
+    Assertions.assertEquals(
+      coordinates.associateWith { if (it == notBatched) "not batched" else "value of ${it.fullCoordinate}" },
+      result,
+    )
+    // 20 secrets at a time, and only the one missing from its batch is read on its own
+    verify(exactly = 2) { mockAwsClient.batchGetSecretValue(any()) }
+    verify(exactly = 1) { mockAwsCache.getSecretString(any()) }
+  }
+
+  @Test
+  fun `test batch reading secrets falls back to reading them one at a time`() {
+    val coordinates = (1..3).map { AirbyteManagedSecretCoordinate("airbyte_secret_coordinate_$it", 1L) }
+
+    val mockAwsClient = mockk<AWSSecretsManager>()
+    every { mockAwsClient.batchGetSecretValue(any()) } throws AWSSecretsManagerException("not authorized to batch read")
+    val mockAwsCache: SecretCache = mockk()
+    every { mockAwsCache.getSecretString(any()) } answers { "value of ${firstArg<String>()}" }
+
+    val spyAwsClient = spyk(SystemAwsSecretsManagerClient(config = AwsSecretsManagerConfig()))
+    every { spyAwsClient.getClient() } returns mockAwsClient
+    every { spyAwsClient.getCache() } returns mockAwsCache
+
+    val result = AwsSecretManagerPersistence(spyAwsClient).readBatch(coordinates)
+
+    Assertions.assertEquals(coordinates.associateWith { "value of ${it.fullCoordinate}" }, result)
+    verify(exactly = 3) { mockAwsCache.getSecretString(any()) }
+  }
+
   @Test
   fun `test reading secret that is not found`() {
     val coordinate = AirbyteManagedSecretCoordinate("airbyte_secret_coordinate", 1L)
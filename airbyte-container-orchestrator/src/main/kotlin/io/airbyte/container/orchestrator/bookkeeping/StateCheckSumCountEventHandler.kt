@@ -120,9 +120,12 @@ class StateCheckSumCountEventHandler(
 
   fun getCurrentTimeInMicroSecond() = epochMilliSupplier.get() * 1000
 
+  /**
+   * Publishes the events returned by [eventsToPublish], which is only called when the events are going to be published.
+   */
   private fun trackStateCountMetrics(
-    eventsToPublish: List<StateCheckSumCountEvent>,
     eventType: EventType,
+    eventsToPublish: () -> List<StateCheckSumCountEvent>,
   ) {
     try {
       if (!shouldEmitStateStatsToSegment()) {
@@ -144,8 +147,9 @@ class StateCheckSumCountEventHandler(
         }
 
       if (totalEvents <= maxEvents) {
-        pubSubWriter?.publishEvent(eventsToPublish)
-        totalEvents += eventsToPublish.size
+        val events = eventsToPublish()
+        pubSubWriter?.publishEvent(events)
+        totalEvents += events.size
       }
 
       when (eventType) {
@@ -303,12 +307,11 @@ class StateCheckSumCountEventHandler(
     validData: Boolean,
   ) {
     noCheckSumError = false
-    trackStateCountMetrics(
+    trackStateCountMetrics(EventType.MISSING) {
       listOf(
         stateCheckSumCountEvent(platformRecordCount, stateMessage, AirbyteMessageOrigin.INTERNAL.toString(), validData),
-      ),
-      EventType.MISSING,
-    )
+      )
+    }
   }
 
   private fun destinationIsMissingButSourceIsPresent(
@@ -318,13 +321,12 @@ class StateCheckSumCountEventHandler(
     validData: Boolean,
   ) {
     noCheckSumError = false
-    trackStateCountMetrics(
+    trackStateCountMetrics(EventType.MISSING) {
       listOf(
         stateCheckSumCountEvent(sourceRecordCount, stateMessage, AirbyteMessageOrigin.SOURCE.toString(), validData),
         stateCheckSumCountEvent(platformRecordCount, stateMessage, AirbyteMessageOrigin.INTERNAL.toString(), validData),
-      ),
-      EventType.MISSING,
-    )
+      )
+    }
   }
 
   private fun sourceIsMissingButDestinationIsPresent(
@@ -334,13 +336,12 @@ class StateCheckSumCountEventHandler(
     validData: Boolean,
   ) {
     noCheckSumError = false
-    trackStateCountMetrics(
+    trackStateCountMetrics(EventType.MISSING) {
       listOf(
         stateCheckSumCountEvent(platformRecordCount, stateMessage, AirbyteMessageOrigin.INTERNAL.toString(), validData),
         stateCheckSumCountEvent(destinationRecordCount, stateMessage, AirbyteMessageOrigin.DESTINATION.toString(), validData),
-      ),
-      EventType.MISSING,
-    )
+      )
+    }
   }
 
   private fun misMatchWhenAllThreeCountsArePresent(
@@ -354,14 +355,13 @@ class StateCheckSumCountEventHandler(
     validData: Boolean,
   ) {
     noCheckSumError = false
-    trackStateCountMetrics(
+    trackStateCountMetrics(EventType.MISMATCH) {
       listOf(
         stateCheckSumCountEvent(sourceRecordCount, stateMessage, AirbyteMessageOrigin.SOURCE.toString(), validData),
         stateCheckSumCountEvent(platformRecordCount, stateMessage, AirbyteMessageOrigin.INTERNAL.toString(), validData),
         stateCheckSumCountEvent(destinationRecordCount, stateMessage, AirbyteMessageOrigin.DESTINATION.toString(), validData),
-      ),
-      EventType.MISMATCH,
-    )
+      )
+    }
 
     logAndFailIfRequired(
       misMatchMessageWhenAllCountsThreeArePresent(
@@ -457,14 +457,13 @@ class StateCheckSumCountEventHandler(
     if (completedSuccessfully && !isClosed && sourceStateMessageSeen && destinationStateMessageSeen && noCheckSumError) {
       logger.info { "No checksum errors were reported in the entire sync." }
       val dummyState = DUMMY_STATE_MESSAGE
-      trackStateCountMetrics(
+      trackStateCountMetrics(EventType.SUCCESS) {
         listOf(
           stateCheckSumCountEvent(1.0, dummyState, AirbyteMessageOrigin.SOURCE.toString(), true),
           stateCheckSumCountEvent(1.0, dummyState, AirbyteMessageOrigin.INTERNAL.toString(), true),
           stateCheckSumCountEvent(1.0, dummyState, AirbyteMessageOrigin.DESTINATION.toString(), true),
-        ),
-        EventType.SUCCESS,
-      )
+        )
+      }
       isClosed = true
     }
     pubSubWriter?.close()
@@ -488,9 +487,9 @@ class StateCheckSumCountEventHandler(
           "."
         } +
         if (validData) {
-          " No hash collisions were observed."
+          " No state collisions were observed."
         } else {
-          " Hash collisions were observed so count comparison result may be wrong."
+          " State collisions were observed so count comparison result may be wrong."
         } +
         if (includeStreamInLogs) {
           val namesAndCounts =
@@ -521,9 +520,9 @@ class StateCheckSumCountEventHandler(
           "."
         } +
         if (validData) {
-          " No hash collisions were observed."
+          " No state collisions were observed."
         } else {
-          " Hash collisions were observed so count comparison result may be wrong."
+          " State collisions were observed so count comparison result may be wrong."
         }
 
     private fun checksumIsValid(
@@ -542,9 +541,9 @@ class StateCheckSumCountEventHandler(
             "."
           } +
           if (validData) {
-            " No hash collisions were observed."
+            " No state collisions were observed."
           } else {
-            " Hash collisions were observed so count comparison result may be wrong."
+            " State collisions were observed so count comparison result may be wrong."
           }
       }
     }
@@ -5,16 +5,21 @@
 package io.airbyte.container.orchestrator.bookkeeping
 
 import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.node.JsonNodeFactory
+import com.fasterxml.jackson.databind.node.ObjectNode
+import io.airbyte.commons.json.JsonByteSizeEstimator
+import io.airbyte.commons.json.JsonHasher
 import io.airbyte.commons.json.Jsons
-import io.airbyte.commons.security.murmur332
 import io.airbyte.config.FileTransferInformations
 import io.airbyte.container.orchestrator.worker.state.getIdFromStateMessage
 import io.airbyte.metrics.MetricClient
 import io.airbyte.metrics.OssMetricsRegistry
 import io.airbyte.protocol.models.v0.AirbyteEstimateTraceMessage
+import io.airbyte.protocol.models.v0.AirbyteGlobalState
 import io.airbyte.protocol.models.v0.AirbyteRecordMessage
 import io.airbyte.protocol.models.v0.AirbyteStateMessage
 import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair
+import io.airbyte.workers.internal.RawAirbyteRecordMessage
 import io.github.oshai.kotlinlogging.KotlinLogging
 import java.math.BigDecimal
 import java.time.LocalDateTime
@@ -22,11 +27,23 @@ import java.time.temporal.ChronoUnit
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ConcurrentLinkedQueue
 import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicIntegerArray
 import java.util.concurrent.atomic.AtomicLong
 import java.util.concurrent.atomic.LongAccumulator
+import java.util.concurrent.atomic.LongAdder
 
 internal const val SOURCE_FIELDS_POPULATED_METRIC_NAME = "sourceFieldsPopulated"
 
+/**
+ * Additional stats that are updated for every record. They are kept in fixed counter slots instead of the additional
+ * stats map, so that tracking them doesn't allocate.
+ */
+internal enum class RecordAdditionalStat(
+  val metricName: String,
+) {
+  SOURCE_FIELDS_POPULATED(SOURCE_FIELDS_POPULATED_METRIC_NAME),
+}
+
 /**
  * Track Stats for a specific stream.
  *
@@ -40,15 +57,18 @@ internal const val SOURCE_FIELDS_POPULATED_METRIC_NAME = "sourceFieldsPopulated"
  *
  * Data class for tracking stats of a given stream, this is also how stats are returned to the outside.
  *
- * All the counters are implemented as AtomicLong to avoid race conditions on updates.
+ * All the counters are atomic to avoid race conditions on updates. The ones updated for every record are [LongAdder]s,
+ * so that threads processing records of the same stream don't contend on them, and are only summed up when read. They
+ * are overwritten by adding the difference to their value rather than by resetting them, so that records counted
+ * concurrently aren't lost.
  *
  * TODO: Make internal when [io.airbyte.container.orchestrator.bookkeeping.ParallelStreamStatsTracker] has converted.
  */
 data class StreamStatsCounters(
-  val emittedRecordsCount: AtomicLong = AtomicLong(),
-  val filteredOutRecords: AtomicLong = AtomicLong(),
-  val filteredOutBytesCount: AtomicLong = AtomicLong(),
-  val emittedBytesCount: AtomicLong = AtomicLong(),
+  val emittedRecordsCount: LongAdder = LongAdder(),
+  val filteredOutRecords: LongAdder = LongAdder(),
+  val filteredOutBytesCount: LongAdder = LongAdder(),
+  val emittedBytesCount: LongAdder = LongAdder(),
   val committedRecordsCount: AtomicLong = AtomicLong(),
   val committedBytesCount: AtomicLong = AtomicLong(),
   val estimatedRecordsCount: AtomicLong = AtomicLong(),
@@ -61,8 +81,39 @@ data class StreamStatsCounters(
   val meanSecondsBetweenStateEmittedAndCommitted: AtomicLong = AtomicLong(),
   val unreliableStateOperations: AtomicBoolean = AtomicBoolean(false),
   val rejectedRecordsCount: AtomicLong = AtomicLong(),
-  val additionalStats: MutableMap<String, BigDecimal> = ConcurrentHashMap(),
+  private val mergedAdditionalStats: MutableMap<String, BigDecimal> = ConcurrentHashMap(),
 ) {
+  private val recordAdditionalStats = Array(RecordAdditionalStat.entries.size) { LongAdder() }
+
+  // Whether a slot of recordAdditionalStats has been updated, so that stats that were never tracked aren't reported.
+  private val trackedRecordAdditionalStats = AtomicIntegerArray(RecordAdditionalStat.entries.size)
+
+  /**
+   * Snapshot of the additional statistics of the stream, including the ones tracked for every record.
+   */
+  val additionalStats: Map<String, BigDecimal>
+    get() =
+      HashMap(mergedAdditionalStats).apply {
+        RecordAdditionalStat.entries.forEach { stat ->
+          if (trackedRecordAdditionalStats.get(stat.ordinal) != 0) {
+            merge(stat.metricName, recordAdditionalStats[stat.ordinal].sum().toBigDecimal(), BigDecimal::add)
+          }
+        }
+      }
+
+  /**
+   * Adds [value] to an additional statistic that is tracked for every record.
+   */
+  fun addRecordAdditionalStat(
+    stat: RecordAdditionalStat,
+    value: Long,
+  ) {
+    recordAdditionalStats[stat.ordinal].add(value)
+    if (trackedRecordAdditionalStats.get(stat.ordinal) == 0) {
+      trackedRecordAdditionalStats.set(stat.ordinal, 1)
+    }
+  }
+
   /**
    * Merges the incoming additional statistics associated with the stream with
    * accumulated additional statistics by summing values associated with the same key.
@@ -73,7 +124,7 @@ data class StreamStatsCounters(
    */
   fun mergeAdditionalStats(additionalStats: Map<String, BigDecimal>) {
     additionalStats.forEach { (key, value) ->
-      this.additionalStats.merge(key, value, BigDecimal::add)
+      mergedAdditionalStats.merge(key, value, BigDecimal::add)
     }
   }
 
@@ -115,12 +166,22 @@ data class StreamStatsCounters(
  * once the state is acked by the destination.
  */
 data class EmittedStatsCounters(
-  val remittedRecordsCount: AtomicLong = AtomicLong(),
-  val emittedBytesCount: AtomicLong = AtomicLong(),
-  val filteredOutRecords: AtomicLong = AtomicLong(),
-  val filteredOutBytesCount: AtomicLong = AtomicLong(),
+  val remittedRecordsCount: LongAdder = LongAdder(),
+  val emittedBytesCount: LongAdder = LongAdder(),
+  val filteredOutRecords: LongAdder = LongAdder(),
+  val filteredOutBytesCount: LongAdder = LongAdder(),
 )
 
+/**
+ * Sets the value of a [LongAdder] by adding the difference to its current value. Unlike resetting it, this doesn't lose
+ * the increments made concurrently: they are either overwritten like the ones made before, or kept like the ones made
+ * after. Values are only set while handling the messages of the destination, which are read one at a time, so sets
+ * don't race with each other.
+ */
+private fun LongAdder.set(value: Long) {
+  add(value - sum())
+}
+
 /**
  * Data class for tracking stats that have been staged and are waiting for the state ack from the
  * destination to become committed.
@@ -172,14 +233,14 @@ class StreamStatsTracker(
 
   fun updateFilteredOutRecordsStats(recordMessage: AirbyteRecordMessage) {
     val emittedStatsToUpdate = emittedStats
-    val filteredOutByteSize = Jsons.getEstimatedByteSize(recordMessage.data).toLong()
+    val filteredOutByteSize = getRecordSize(recordMessage)
     with(emittedStatsToUpdate) {
-      filteredOutRecords.incrementAndGet()
-      filteredOutBytesCount.addAndGet(filteredOutByteSize)
+      filteredOutRecords.increment()
+      filteredOutBytesCount.add(filteredOutByteSize)
     }
     with(streamStats) {
-      filteredOutRecords.incrementAndGet()
-      filteredOutBytesCount.addAndGet(filteredOutByteSize)
+      filteredOutRecords.increment()
+      filteredOutBytesCount.add(filteredOutByteSize)
     }
   }
 
@@ -228,19 +289,18 @@ class StreamStatsTracker(
     // acquire the write.
     val emittedStatsToUpdate = emittedStats
     with(emittedStatsToUpdate) {
-      remittedRecordsCount.incrementAndGet()
-      emittedBytesCount.addAndGet(bytesToTrack)
+      remittedRecordsCount.increment()
+      emittedBytesCount.add(bytesToTrack)
     }
 
     // Update the global stream stats
     with(streamStats) {
-      emittedRecordsCount.incrementAndGet()
-      emittedBytesCount.addAndGet(bytesToTrack)
+      emittedRecordsCount.increment()
+      emittedBytesCount.add(bytesToTrack)
 
       // Count and track fields with defined values
       recordMessage.data?.let { data ->
-        val fieldsPopulated = countFieldsWithValues(data)
-        mergeAdditionalStats(mapOf(SOURCE_FIELDS_POPULATED_METRIC_NAME to fieldsPopulated.toBigDecimal()))
+        addRecordAdditionalStat(RecordAdditionalStat.SOURCE_FIELDS_POPULATED, countFieldsWithValues(data))
       }
     }
   }
@@ -252,10 +312,12 @@ class StreamStatsTracker(
    * @return The count of fields with defined (non-null) values
    */
   private fun countFieldsWithValues(data: JsonNode): Long {
+    if (!data.isObject) {
+      return 0L
+    }
     var count = 0L
-    data.fieldNames().forEach { fieldName ->
-      val field = data.get(fieldName)
-      if (field != null && !field.isNull) {
+    data.elements().forEach { field ->
+      if (!field.isNull) {
         count++
       }
     }
@@ -276,7 +338,16 @@ class StreamStatsTracker(
       null
     }
 
-  private fun getRecordSize(recordMessage: AirbyteRecordMessage): Long = Jsons.getEstimatedByteSize(recordMessage.data).toLong()
+  /**
+   * Size of the record data in bytes.
+   *
+   * Uses the size of the data as read from the source when it is known and the record hasn't been modified since.
+   * Otherwise, the size of the serialized data is computed without serializing it.
+   */
+  private fun getRecordSize(recordMessage: AirbyteRecordMessage): Long {
+    val wireSize = (recordMessage as? RawAirbyteRecordMessage)?.dataSizeInBytes ?: -1
+    return if (wireSize >= 0) wireSize else JsonByteSizeEstimator.estimate(recordMessage.data)
+  }
 
   /**
    * Bookkeeping for when a state is read from the source.
@@ -397,10 +468,10 @@ class StreamStatsTracker(
         val (totalCommittedRecords, totalCommittedBytes, totalRejectedRecords) =
           extractBookkeeperRelatedCounts(stateMessage)
         streamStats.apply {
-          if (emittedRecordsCount.get() < totalCommittedRecords) {
+          if (emittedRecordsCount.sum() < totalCommittedRecords) {
             emittedRecordsCount.set(totalCommittedRecords)
           }
-          if (emittedBytesCount.get() < totalCommittedBytes) {
+          if (emittedBytesCount.sum() < totalCommittedBytes) {
             emittedBytesCount.set(totalCommittedBytes)
           }
           committedRecordsCount.set(totalCommittedRecords)
@@ -414,13 +485,13 @@ class StreamStatsTracker(
         // Increment committed stats as we are un-staging stats
         streamStats.committedBytesCount.addAndGet(
           stagedStats.emittedStatsCounters.emittedBytesCount
-            .get()
-            .minus(stagedStats.emittedStatsCounters.filteredOutBytesCount.get()),
+            .sum()
+            .minus(stagedStats.emittedStatsCounters.filteredOutBytesCount.sum()),
         )
         streamStats.committedRecordsCount.addAndGet(
           stagedStats.emittedStatsCounters.remittedRecordsCount
-            .get()
-            .minus(stagedStats.emittedStatsCounters.filteredOutRecords.get()),
+            .sum()
+            .minus(stagedStats.emittedStatsCounters.filteredOutRecords.sum()),
         )
 
         // If rejected records, we should decrement the record count and increment rejected
@@ -502,7 +573,7 @@ class StreamStatsTracker(
       estimatedRecordsCount.set(msg.rowEstimate)
     }
 
-  fun getTrackedEmittedRecordsSinceLastStateMessage(): Long = previousEmittedStats.remittedRecordsCount.get()
+  fun getTrackedEmittedRecordsSinceLastStateMessage(): Long = previousEmittedStats.remittedRecordsCount.sum()
 
   fun getTrackedEmittedRecordsSinceLastStateMessage(stateMessage: AirbyteStateMessage): Long {
     val stateId = stateMessage.getStateIdForStatsTracking()
@@ -510,14 +581,14 @@ class StreamStatsTracker(
     if (stagedStats == null) {
       logger.warn { "Could not find the state message with id $stateId in the stagedStatsList" }
     }
-    return stagedStats?.emittedStatsCounters?.remittedRecordsCount?.get() ?: 0
+    return stagedStats?.emittedStatsCounters?.remittedRecordsCount?.sum() ?: 0
   }
 
   // returns counts pre-rollover
-  fun getEmittedRecordCountForCurrentState() = emittedStats.remittedRecordsCount.get()
+  fun getEmittedRecordCountForCurrentState() = emittedStats.remittedRecordsCount.sum()
 
   // returns counts pre-rollover
-  fun getFilteredRecordCountForCurrentState() = emittedStats.filteredOutRecords.get()
+  fun getFilteredRecordCountForCurrentState() = emittedStats.filteredOutRecords.sum()
 
   fun getTrackedFilteredOutRecordsSinceLastStateMessage(stateMessage: AirbyteStateMessage): Long {
     val stateId = stateMessage.getStateIdForStatsTracking()
@@ -525,35 +596,50 @@ class StreamStatsTracker(
     if (stagedStats == null) {
       logger.warn { "Could not find the state message with id $stateId in the stagedStatsList" }
     }
-    return stagedStats?.emittedStatsCounters?.filteredOutRecords?.get() ?: 0
+    return stagedStats?.emittedStatsCounters?.filteredOutRecords?.sum() ?: 0
   }
 
   fun areStreamStatsReliable(): Boolean = !streamStats.unreliableStateOperations.get()
 }
 
-fun AirbyteStateMessage.getStateHashCode(): Int =
+/**
+ * 64-bit hash of the state, ignoring the stats attached to the message. The state isn't serialized to be hashed.
+ */
+fun AirbyteStateMessage.getStateHashCode(): Long =
   when (type) {
-    AirbyteStateMessage.AirbyteStateType.GLOBAL ->
-      Jsons
-        .serialize(global)
-        .toByteArray()
-        .murmur332()
-        .hashCode()
-    AirbyteStateMessage.AirbyteStateType.STREAM ->
-      Jsons
-        .serialize(stream.streamState)
-        .toByteArray()
-        .murmur332()
-        .hashCode()
+    AirbyteStateMessage.AirbyteStateType.GLOBAL -> JsonHasher.hash64(global.toHashedNode())
+    AirbyteStateMessage.AirbyteStateType.STREAM -> JsonHasher.hash64(stream.streamState)
     // state type is legacy
-    else ->
-      Jsons
-        .serialize(data)
-        .toByteArray()
-        .murmur332()
-        .hashCode()
+    else -> JsonHasher.hash64(data)
   }
 
+/**
+ * Tree of the values of a global state, referencing the states instead of copying them. It holds the same values as the
+ * serialized global state, additional properties included.
+ */
+private fun AirbyteGlobalState.toHashedNode(): JsonNode =
+  JsonNodeFactory.instance.objectNode().also { node ->
+    node.set<JsonNode>("shared_state", sharedState)
+    val streamStatesNode = node.putArray("stream_states")
+    streamStates?.forEach { streamState ->
+      val streamStateNode = streamStatesNode.addObject()
+      streamState.streamDescriptor?.let { descriptor ->
+        streamStateNode
+          .putObject("stream_descriptor")
+          .put("name", descriptor.name)
+          .put("namespace", descriptor.namespace)
+          .putAdditionalProperties(descriptor.additionalProperties)
+      }
+      streamStateNode
+        .set<ObjectNode>("stream_state", streamState.streamState)
+        .putAdditionalProperties(streamState.additionalProperties)
+    }
+    node.putAdditionalProperties(additionalProperties)
+  }
+
+private fun ObjectNode.putAdditionalProperties(additionalProperties: Map<String, Any?>?): ObjectNode =
+  also { additionalProperties?.forEach { (name, value) -> set<JsonNode>(name, Jsons.jsonNode(value)) } }
+
 fun AirbyteStateMessage.getStateIdForStatsTracking(): Int = getIdFromStateMessage(this)
 
 private fun updateMean(
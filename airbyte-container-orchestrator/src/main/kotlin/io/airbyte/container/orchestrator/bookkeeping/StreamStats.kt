@@ -27,7 +27,7 @@ class StreamStatsView(
     get() = streamStatsTracker.streamStats.committedBytesCount.get()
 
   override val bytesEmitted: Long
-    get() = streamStatsTracker.streamStats.emittedBytesCount.get()
+    get() = streamStatsTracker.streamStats.emittedBytesCount.sum()
 
   override val bytesEstimated: Long?
     get() =
@@ -36,13 +36,13 @@ class StreamStatsView(
         .takeIf { !hasEstimatesError }
 
   override val bytesFilteredOut: Long
-    get() = streamStatsTracker.streamStats.filteredOutBytesCount.get()
+    get() = streamStatsTracker.streamStats.filteredOutBytesCount.sum()
 
   override val recordsCommitted: Long
     get() = streamStatsTracker.streamStats.committedRecordsCount.get()
 
   override val recordsEmitted: Long
-    get() = streamStatsTracker.streamStats.emittedRecordsCount.get()
+    get() = streamStatsTracker.streamStats.emittedRecordsCount.sum()
 
   override val recordsEstimated: Long?
     get() =
@@ -54,7 +54,7 @@ class StreamStatsView(
     get() = streamStatsTracker.streamStats.rejectedRecordsCount.get()
 
   override val recordsFilteredOut: Long
-    get() = streamStatsTracker.streamStats.filteredOutRecords.get()
+    get() = streamStatsTracker.streamStats.filteredOutRecords.sum()
 
   override val additionalStats: Map<String, BigDecimal>
     get() = streamStatsTracker.streamStats.additionalStats
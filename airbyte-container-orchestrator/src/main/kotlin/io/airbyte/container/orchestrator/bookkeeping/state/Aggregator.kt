@@ -76,6 +76,18 @@ class DefaultStateAggregator(
     getStateAggregator().clear()
   }
 
+  /**
+   * Moves the aggregated states to a new aggregator, leaving this one empty.
+   */
+  fun drain(): DefaultStateAggregator {
+    val drained = DefaultStateAggregator(StreamStateAggregator(), SingleStateAggregator())
+    if (!isEmpty()) {
+      drained.ingest(this)
+      clear()
+    }
+    return drained
+  }
+
   /** Return the state aggregator that match the state type. */
   private fun getStateAggregator(): StateAggregator =
     when (stateType) {
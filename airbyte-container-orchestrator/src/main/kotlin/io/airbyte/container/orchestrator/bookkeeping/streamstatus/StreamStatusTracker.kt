@@ -20,6 +20,7 @@ import io.airbyte.protocol.models.v0.StreamDescriptor
 import io.github.oshai.kotlinlogging.KotlinLogging
 import io.micronaut.context.event.ApplicationEventPublisher
 import jakarta.inject.Singleton
+import java.util.concurrent.ConcurrentHashMap
 import io.airbyte.api.client.model.generated.StreamStatusRunState as ApiEnum
 import io.airbyte.protocol.models.v0.AirbyteStreamStatusTraceMessage.AirbyteStreamStatus as ProtocolEnum
 
@@ -45,7 +46,8 @@ class StreamStatusTracker(
   // Cache for api responses — we put this here so it gets GC'd when the sync
   // finishes for Docker. The client is a singleton and in Docker runs in the worker
   // so will never be torn down, so we create it in the Tracker which is unique per sync. ,
-  private val apiResponseCache: MutableMap<StreamStatusKey, StreamStatusRead> = mutableMapOf()
+  // Messages are tracked from concurrent shards, so the cache must be safe to update concurrently.
+  private val apiResponseCache: MutableMap<StreamStatusKey, StreamStatusRead> = ConcurrentHashMap()
 
   fun track(msg: AirbyteMessage) {
     val stream = dataExtractor.getStreamFromMessage(msg)
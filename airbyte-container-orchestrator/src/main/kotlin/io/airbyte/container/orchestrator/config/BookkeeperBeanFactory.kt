@@ -12,7 +12,7 @@ import io.airbyte.container.orchestrator.worker.ReplicationWorkerState
 import io.airbyte.container.orchestrator.worker.SourceReader
 import io.airbyte.container.orchestrator.worker.io.AirbyteDestination
 import io.airbyte.container.orchestrator.worker.io.AirbyteSource
-import io.airbyte.container.orchestrator.worker.util.ClosableChannelQueue
+import io.airbyte.container.orchestrator.worker.util.MessageQueue
 import io.airbyte.protocol.models.v0.AirbyteMessage
 import io.airbyte.workers.models.ArchitectureConstants.BOOKKEEPER
 import io.airbyte.workers.models.ArchitectureConstants.PLATFORM_MODE
@@ -37,7 +37,7 @@ class BookkeeperBeanFactory {
     replicationWorkerHelper: ReplicationWorkerHelper,
     replicationWorkerState: ReplicationWorkerState,
     source: AirbyteSource,
-    @Named("sourceMessageQueue") sourceMessageQueue: ClosableChannelQueue<AirbyteMessage>,
+    @Named("sourceMessageQueue") sourceMessageQueue: MessageQueue<AirbyteMessage>,
     streamStatusCompletionTracker: StreamStatusCompletionTracker,
   ) = listOf(
     SourceReader(
@@ -20,12 +20,17 @@ import io.airbyte.container.orchestrator.worker.ReplicationContextProvider
 import io.airbyte.container.orchestrator.worker.ReplicationWorkerContext
 import io.airbyte.container.orchestrator.worker.SourceStarter
 import io.airbyte.container.orchestrator.worker.context.ReplicationInputFeatureFlagReader
+import io.airbyte.container.orchestrator.worker.createMessageQueue
 import io.airbyte.container.orchestrator.worker.io.AirbyteDestination
 import io.airbyte.container.orchestrator.worker.io.AirbyteSource
-import io.airbyte.container.orchestrator.worker.util.ClosableChannelQueue
+import io.airbyte.container.orchestrator.worker.util.MessageQueue
 import io.airbyte.container.orchestrator.worker.withBufferSize
 import io.airbyte.container.orchestrator.worker.withDefaultConfiguration
 import io.airbyte.featureflag.ReplicationBufferOverride
+import io.airbyte.featureflag.ReplicationQueueBatchSizeOverride
+import io.airbyte.featureflag.ReplicationQueueMaxBytesOverride
+import io.airbyte.featureflag.UseRingBufferReplicationQueue
+import io.airbyte.metrics.MetricClient
 import io.airbyte.micronaut.runtime.AirbyteConfig
 import io.airbyte.micronaut.runtime.AirbyteConnectorConfig
 import io.airbyte.micronaut.runtime.AirbyteContextConfig
@@ -122,7 +127,14 @@ class CommonBeanFactory {
   @Singleton
   fun bufferConfiguration(replicationInputFeatureFlagReader: ReplicationInputFeatureFlagReader): BufferConfiguration {
     val bufferSize = replicationInputFeatureFlagReader.read(ReplicationBufferOverride)
-    return if (bufferSize > 0) withBufferSize(bufferSize) else withDefaultConfiguration()
+    val configuration = if (bufferSize > 0) withBufferSize(bufferSize) else withDefaultConfiguration()
+    val batchSize = replicationInputFeatureFlagReader.read(ReplicationQueueBatchSizeOverride)
+    val maxBufferedBytes = replicationInputFeatureFlagReader.read(ReplicationQueueMaxBytesOverride)
+    return configuration.copy(
+      useRingBufferQueue = replicationInputFeatureFlagReader.read(UseRingBufferReplicationQueue),
+      batchSize = if (batchSize > 0) batchSize else configuration.batchSize,
+      maxBufferedBytes = if (maxBufferedBytes > 0) maxBufferedBytes.toLong() else configuration.maxBufferedBytes,
+    )
   }
 
   @Singleton
@@ -164,7 +176,15 @@ class CommonBeanFactory {
 
   @Singleton
   @Named("sourceMessageQueue")
-  fun sourceMessageQueue(context: ReplicationWorkerContext) = ClosableChannelQueue<AirbyteMessage>(context.bufferConfiguration.sourceMaxBufferSize)
+  fun sourceMessageQueue(
+    context: ReplicationWorkerContext,
+    metricClient: MetricClient,
+  ): MessageQueue<AirbyteMessage> =
+    context.bufferConfiguration.createMessageQueue(
+      capacity = context.bufferConfiguration.sourceMaxBufferSize,
+      queueName = "source",
+      metricClient = metricClient,
+    )
 
   @Singleton
   @Named("replicationMdcScopeBuilder")
@@ -26,6 +26,8 @@ import io.airbyte.container.orchestrator.worker.io.LocalContainerAirbyteDestinat
 import io.airbyte.container.orchestrator.worker.io.LocalContainerAirbyteSource
 import io.airbyte.featureflag.HeartbeatDiagnosticLogsEnabled
 import io.airbyte.featureflag.PrintLongRecordPks
+import io.airbyte.featureflag.ReplicationRecordPassThrough
+import io.airbyte.featureflag.UseByteLevelSourceReader
 import io.airbyte.metrics.MetricClient
 import io.airbyte.persistence.job.models.ReplicationInput
 import io.airbyte.workers.helper.GsonPksExtractor
@@ -113,6 +115,9 @@ class ConnectorBeanFactory {
         connectionId = replicationInput.connectionId,
         dockerImage = replicationInput.sourceLauncherConfig.dockerImage,
         diagnosticLogsEnabled = replicationInputFeatureFlagReader.read(HeartbeatDiagnosticLogsEnabled),
+        useByteLevelReader =
+          replicationInputFeatureFlagReader.read(UseByteLevelSourceReader) ||
+            replicationInputFeatureFlagReader.read(ReplicationRecordPassThrough),
       )
     }
 
@@ -161,6 +166,7 @@ class ConnectorBeanFactory {
     metricClient: MetricClient,
     migratorFactory: AirbyteProtocolVersionedMigratorFactory,
     replicationInput: ReplicationInput,
+    replicationInputFeatureFlagReader: ReplicationInputFeatureFlagReader,
     serDeProvider: AirbyteMessageSerDeProvider,
   ): AirbyteStreamFactory =
     VersionedAirbyteStreamFactory<Any>(
@@ -173,5 +179,24 @@ class ConnectorBeanFactory {
       invalidLineFailureConfiguration = invalidLineFailureConfiguration,
       gsonPksExtractor = gsonPksExtractor,
       metricClient = metricClient,
+      retainRawRecordBytes =
+        replicationInputFeatureFlagReader.read(ReplicationRecordPassThrough) &&
+          supportsRecordPassThrough(replicationInput, migratorFactory),
     )
+
+  /**
+   * Records can only be forwarded with the bytes read from the source if neither side needs a protocol migration and
+   * no mapper rewrites them. Field selection and namespace mapping are checked record by record.
+   */
+  private fun supportsRecordPassThrough(
+    replicationInput: ReplicationInput,
+    migratorFactory: AirbyteProtocolVersionedMigratorFactory,
+  ): Boolean {
+    val mostRecentMajorVersion = migratorFactory.mostRecentVersion.getMajorVersion()
+    val sourceVersion = replicationInput.sourceLauncherConfig.protocolVersion ?: AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION
+    val destinationVersion = replicationInput.destinationLauncherConfig.protocolVersion ?: AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION
+    return sourceVersion.getMajorVersion() == mostRecentMajorVersion &&
+      destinationVersion.getMajorVersion() == mostRecentMajorVersion &&
+      replicationInput.catalog.streams.all { it.mappers.isEmpty() }
+  }
 }
@@ -15,13 +15,19 @@ import io.airbyte.container.orchestrator.worker.ReplicationContextProvider
 import io.airbyte.container.orchestrator.worker.ReplicationWorkerContext
 import io.airbyte.container.orchestrator.worker.ReplicationWorkerHelper
 import io.airbyte.container.orchestrator.worker.ReplicationWorkerState
+import io.airbyte.container.orchestrator.worker.ShardedMessageProcessor
 import io.airbyte.container.orchestrator.worker.SourceReader
 import io.airbyte.container.orchestrator.worker.context.ReplicationInputFeatureFlagReader
+import io.airbyte.container.orchestrator.worker.createMessageQueue
 import io.airbyte.container.orchestrator.worker.filter.FieldSelector
 import io.airbyte.container.orchestrator.worker.io.AirbyteDestination
 import io.airbyte.container.orchestrator.worker.io.AirbyteSource
-import io.airbyte.container.orchestrator.worker.util.ClosableChannelQueue
+import io.airbyte.container.orchestrator.worker.util.MessageQueue
 import io.airbyte.container.orchestrator.worker.util.ReplicationMetricReporter
+import io.airbyte.featureflag.ReplicationMessageProcessorShards
+import io.airbyte.featureflag.ReplicationSchemaValidationSampleRate
+import io.airbyte.featureflag.ReplicationSchemaValidationThreads
+import io.airbyte.metrics.MetricClient
 import io.airbyte.persistence.job.models.ReplicationInput
 import io.airbyte.protocol.models.v0.AirbyteMessage
 import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair
@@ -74,24 +80,36 @@ class OrchestratorBeanFactory {
 
   @Singleton
   @Named("schemaValidationExecutorService")
-  fun schemaValidationExecutorService(): ExecutorService = Executors.newSingleThreadExecutor()
+  fun schemaValidationExecutorService(replicationInputFeatureFlagReader: ReplicationInputFeatureFlagReader): ExecutorService =
+    Executors.newFixedThreadPool(replicationInputFeatureFlagReader.read(ReplicationSchemaValidationThreads).coerceAtLeast(1))
 
   @Singleton
   fun recordSchemaValidator(
     @Named("jsonSchemaValidator") jsonSchemaValidator: JsonSchemaValidator,
     @Named("schemaValidationExecutorService") schemaValidationExecutorService: ExecutorService,
     @Named("streamNamesToSchemas") streamNamesToSchemas: MutableMap<AirbyteStreamNameNamespacePair, JsonNode?>,
+    replicationInputFeatureFlagReader: ReplicationInputFeatureFlagReader,
+    metricClient: MetricClient,
   ): RecordSchemaValidator =
     RecordSchemaValidator(
       jsonSchemaValidator = jsonSchemaValidator,
       schemaValidationExecutorService = schemaValidationExecutorService,
       streamNamesToSchemas = streamNamesToSchemas,
+      metricClient = metricClient,
+      sampleRate = replicationInputFeatureFlagReader.read(ReplicationSchemaValidationSampleRate),
     )
 
   @Singleton
   @Named("destinationMessageQueue")
-  fun destinationMessageQueue(context: ReplicationWorkerContext) =
-    ClosableChannelQueue<AirbyteMessage>(context.bufferConfiguration.destinationMaxBufferSize)
+  fun destinationMessageQueue(
+    context: ReplicationWorkerContext,
+    metricClient: MetricClient,
+  ): MessageQueue<AirbyteMessage> =
+    context.bufferConfiguration.createMessageQueue(
+      capacity = context.bufferConfiguration.destinationMaxBufferSize,
+      queueName = "destination",
+      metricClient = metricClient,
+    )
 
   @Singleton
   fun missingStateInjector(context: ReplicationContextProvider.Context) = MissingStateInjector(context)
@@ -100,13 +118,15 @@ class OrchestratorBeanFactory {
   @Named("syncReplicationJobs")
   fun syncReplicationJobs(
     destination: AirbyteDestination,
-    @Named("destinationMessageQueue") destinationMessageQueue: ClosableChannelQueue<AirbyteMessage>,
+    @Named("destinationMessageQueue") destinationMessageQueue: MessageQueue<AirbyteMessage>,
     replicationWorkerHelper: ReplicationWorkerHelper,
     replicationWorkerState: ReplicationWorkerState,
     source: AirbyteSource,
-    @Named("sourceMessageQueue") sourceMessageQueue: ClosableChannelQueue<AirbyteMessage>,
+    @Named("sourceMessageQueue") sourceMessageQueue: MessageQueue<AirbyteMessage>,
     streamStatusCompletionTracker: StreamStatusCompletionTracker,
     missingStateInjector: MissingStateInjector,
+    replicationInputFeatureFlagReader: ReplicationInputFeatureFlagReader,
+    metricClient: MetricClient,
   ) = listOf(
     SourceReader(
       messagesFromSourceQueue = sourceMessageQueue,
@@ -116,12 +136,25 @@ class OrchestratorBeanFactory {
       streamStatusCompletionTracker = streamStatusCompletionTracker,
       missingStateInjector = missingStateInjector,
     ),
-    MessageProcessor(
-      destinationQueue = destinationMessageQueue,
-      replicationWorkerHelper = replicationWorkerHelper,
-      replicationWorkerState = replicationWorkerState,
-      sourceQueue = sourceMessageQueue,
-    ),
+    replicationInputFeatureFlagReader.read(ReplicationMessageProcessorShards).let { shardCount ->
+      if (shardCount > 1) {
+        ShardedMessageProcessor(
+          destinationQueue = destinationMessageQueue,
+          replicationWorkerHelper = replicationWorkerHelper,
+          replicationWorkerState = replicationWorkerState,
+          sourceQueue = sourceMessageQueue,
+          shardCount = shardCount,
+          metricClient = metricClient,
+        )
+      } else {
+        MessageProcessor(
+          destinationQueue = destinationMessageQueue,
+          replicationWorkerHelper = replicationWorkerHelper,
+          replicationWorkerState = replicationWorkerState,
+          sourceQueue = sourceMessageQueue,
+        )
+      }
+    },
     DestinationWriter(
       source = source,
       destination = destination,
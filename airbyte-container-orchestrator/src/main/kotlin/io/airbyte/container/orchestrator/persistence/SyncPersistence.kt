@@ -4,17 +4,21 @@
 
 package io.airbyte.container.orchestrator.persistence
 
+import com.fasterxml.jackson.databind.JsonNode
 import io.airbyte.api.client.AirbyteApiClient
 import io.airbyte.api.client.model.generated.AttemptStats
 import io.airbyte.api.client.model.generated.AttemptStreamStats
 import io.airbyte.api.client.model.generated.ConnectionStateCreateOrUpdate
 import io.airbyte.api.client.model.generated.SaveStatsRequestBody
 import io.airbyte.commons.converters.StateConverter
+import io.airbyte.config.StateType
+import io.airbyte.config.StateWrapper
 import io.airbyte.config.SyncStats
 import io.airbyte.config.helpers.StateMessageHelper
 import io.airbyte.container.orchestrator.bookkeeping.SyncStatsTracker
 import io.airbyte.container.orchestrator.bookkeeping.getPerStreamStats
 import io.airbyte.container.orchestrator.bookkeeping.getTotalStats
+import io.airbyte.container.orchestrator.bookkeeping.state.DefaultStateAggregator
 import io.airbyte.container.orchestrator.bookkeeping.state.StateAggregator
 import io.airbyte.metrics.MetricClient
 import io.airbyte.metrics.OssMetricsRegistry
@@ -23,6 +27,7 @@ import io.airbyte.micronaut.runtime.AirbyteWorkerConfig
 import io.airbyte.protocol.models.v0.AirbyteEstimateTraceMessage
 import io.airbyte.protocol.models.v0.AirbyteRecordMessage
 import io.airbyte.protocol.models.v0.AirbyteStateMessage
+import io.airbyte.protocol.models.v0.StreamDescriptor
 import io.github.oshai.kotlinlogging.KotlinLogging
 import io.opentelemetry.instrumentation.annotations.WithSpan
 import jakarta.inject.Named
@@ -56,7 +61,7 @@ private const val FLUSH_TERMINATION_TIMEOUT_IN_SECONDS: Long = 60
 @Named("syncPersistence")
 class SyncPersistenceImpl(
   private val airbyteApiClient: AirbyteApiClient,
-  @Named("stateAggregator") private val stateBuffer: StateAggregator,
+  @Named("stateAggregator") private val stateBuffer: DefaultStateAggregator,
   @Named("syncPersistenceExecutorService") private val stateFlushExecutorService: ScheduledExecutorService,
   private val airbyteWorkerConfig: AirbyteWorkerConfig,
   private val metricClient: MetricClient,
@@ -70,6 +75,9 @@ class SyncPersistenceImpl(
   private var persistedStats: SaveStatsRequestBody? = null
   private var statsToPersist: SaveStatsRequestBody? = null
 
+  // Stream states as of the last successful flush, so that streams that didn't move since are not sent again.
+  private val flushedStreamStates = mutableMapOf<StreamDescriptor, JsonNode?>()
+
   init {
     startBackgroundFlushStateTask(airbyteContextConfig.connectionIdAsUUID())
   }
@@ -84,7 +92,9 @@ class SyncPersistenceImpl(
     }
 
     metricClient.count(metric = OssMetricsRegistry.STATE_BUFFERING)
-    stateBuffer.ingest(stateMessage)
+    synchronized(stateBuffer) {
+      stateBuffer.ingest(stateMessage)
+    }
   }
 
   private fun startBackgroundFlushStateTask(connectionId: UUID) {
@@ -186,7 +196,8 @@ class SyncPersistenceImpl(
   }
 
   private fun prepareDataForFlush() {
-    val stateBufferToFlush = stateBuffer
+    // Swap the buffer so that the states accepted while flushing are kept for the next flush
+    val stateBufferToFlush = synchronized(stateBuffer) { stateBuffer.drain() }
     if (stateToFlush == null) {
       // Happy path, previous flush was successful
       stateToFlush = stateBufferToFlush
@@ -211,20 +222,48 @@ class SyncPersistenceImpl(
 
     val state = stateToFlush?.getAggregated() ?: return
     val maybeStateWrapper = StateMessageHelper.getTypedState(state.state).getOrNull() ?: return
+    val changedStateWrapper = withoutUnchangedStreams(maybeStateWrapper)
 
-    val stateApiRequest =
-      ConnectionStateCreateOrUpdate(
-        connectionId = airbyteContextConfig.connectionIdAsUUID(),
-        connectionState = StateConverter.toClient(airbyteContextConfig.connectionIdAsUUID(), maybeStateWrapper),
-      )
+    if (changedStateWrapper != null) {
+      val stateApiRequest =
+        ConnectionStateCreateOrUpdate(
+          connectionId = airbyteContextConfig.connectionIdAsUUID(),
+          connectionState = StateConverter.toClient(airbyteContextConfig.connectionIdAsUUID(), changedStateWrapper),
+        )
 
-    airbyteApiClient.stateApi.createOrUpdateState(stateApiRequest)
+      airbyteApiClient.stateApi.createOrUpdateState(stateApiRequest)
+
+      if (changedStateWrapper.stateType == StateType.STREAM) {
+        changedStateWrapper.stateMessages.forEach { flushedStreamStates[it.stream.streamDescriptor] = it.stream.streamState }
+      }
+    }
 
     // Only clear and reset stateToFlush if the API call was successful
     stateToFlush?.clear()
     stateToFlush = null
   }
 
+  /**
+   * Stream states are persisted stream by stream, so only the streams whose state changed since the last successful
+   * flush need to be sent. Returns null if none did.
+   */
+  private fun withoutUnchangedStreams(stateWrapper: StateWrapper): StateWrapper? {
+    if (stateWrapper.stateType != StateType.STREAM) {
+      return stateWrapper
+    }
+
+    // A stream that wasn't flushed yet is always sent, even with a null state: it resets the stored state of the stream.
+    val changedStateMessages =
+      stateWrapper.stateMessages.filter {
+        val streamDescriptor = it.stream.streamDescriptor
+        !flushedStreamStates.containsKey(streamDescriptor) || flushedStreamStates[streamDescriptor] != it.stream.streamState
+      }
+    if (changedStateMessages.isEmpty()) {
+      return null
+    }
+    return StateWrapper().withStateType(StateType.STREAM).withStateMessages(changedStateMessages)
+  }
+
   private fun doFlushStats() {
     if (!hasStatsToFlush()) {
       return
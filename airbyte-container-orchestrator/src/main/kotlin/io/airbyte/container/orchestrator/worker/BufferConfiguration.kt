@@ -5,6 +5,14 @@
 package io.airbyte.container.orchestrator.worker
 
 import io.airbyte.commons.concurrency.ClosableLinkedBlockingQueue
+import io.airbyte.container.orchestrator.worker.util.ClosableChannelQueue
+import io.airbyte.container.orchestrator.worker.util.DEFAULT_QUEUE_BATCH_SIZE
+import io.airbyte.container.orchestrator.worker.util.DEFAULT_QUEUE_MAX_BYTES
+import io.airbyte.container.orchestrator.worker.util.MessageQueue
+import io.airbyte.container.orchestrator.worker.util.RingBufferMessageQueue
+import io.airbyte.metrics.MetricClient
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.workers.internal.RawAirbyteMessage
 
 const val DEFAULT_SOURCE_MAX_BUFFER_SIZE = 1000
 const val DEFAULT_DESTINATION_MAX_BUFFER_SIZE = 1000
@@ -20,4 +28,29 @@ data class BufferConfiguration(
   val sourceMaxBufferSize: Int = DEFAULT_SOURCE_MAX_BUFFER_SIZE,
   val destinationMaxBufferSize: Int = DEFAULT_DESTINATION_MAX_BUFFER_SIZE,
   val pollTimeoutDuration: Int = DEFAULT_POLL_TIME_OUT_DURATION_SECONDS,
+  val useRingBufferQueue: Boolean = false,
+  val batchSize: Int = DEFAULT_QUEUE_BATCH_SIZE,
+  val maxBufferedBytes: Long = DEFAULT_QUEUE_MAX_BYTES,
 )
+
+/**
+ * Creates the queue between two replication tasks, holding up to [capacity] messages.
+ */
+fun BufferConfiguration.createMessageQueue(
+  capacity: Int,
+  queueName: String,
+  metricClient: MetricClient,
+): MessageQueue<AirbyteMessage> =
+  if (useRingBufferQueue) {
+    RingBufferMessageQueue(
+      capacity = capacity,
+      batchSize = batchSize,
+      maxBytes = maxBufferedBytes,
+      // Messages that were not read as bytes are only bounded by count.
+      sizeOf = { (it as? RawAirbyteMessage)?.serializedSizeInBytes?.coerceAtLeast(0L) ?: 0L },
+      metricClient = metricClient,
+      queueName = queueName,
+    )
+  } else {
+    ClosableChannelQueue(capacity)
+  }
@@ -6,22 +6,46 @@ package io.airbyte.container.orchestrator.worker
 
 import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.node.ObjectNode
+import io.airbyte.metrics.MetricClient
+import io.airbyte.metrics.OssMetricsRegistry
 import io.airbyte.protocol.models.v0.AirbyteRecordMessage
 import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair
 import io.airbyte.validation.json.JsonSchemaValidator
 import java.io.Closeable
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ConcurrentMap
 import java.util.concurrent.ExecutorService
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+const val DEFAULT_MAX_PENDING_VALIDATIONS = 1_000
 
 /**
  * Validates that [AirbyteRecordMessage] data conforms to the JSON schema defined by the source's
  * configured catalog.
+ *
+ * Records are validated in the background by [schemaValidationExecutorService], on a copy of their data taken when
+ * they are submitted so that later stages of the pipeline can keep modifying them. At most [maxPendingValidations]
+ * records wait to be validated, so that validation can't hold on to an unbounded amount of memory. Records submitted
+ * while the validators are behind wait for room, so that every record is validated, unless sampling is configured:
+ * only one record out of [sampleRate] of each stream is then submitted, and sampled records are dropped rather than
+ * waited for.
  */
 class RecordSchemaValidator(
   private val jsonSchemaValidator: JsonSchemaValidator,
   private val schemaValidationExecutorService: ExecutorService,
   private val streamNamesToSchemas: MutableMap<AirbyteStreamNameNamespacePair, JsonNode?>,
+  metricClient: MetricClient,
+  maxPendingValidations: Int = DEFAULT_MAX_PENDING_VALIDATIONS,
+  private val sampleRate: Int = 1,
 ) : Closeable {
+  private val pendingValidations = Semaphore(maxPendingValidations)
+  private val recordsSeen: ConcurrentMap<AirbyteStreamNameNamespacePair, AtomicLong> = ConcurrentHashMap()
+  private val lagTimer = metricClient.timer(OssMetricsRegistry.SCHEMA_VALIDATION_LAG)
+  private val droppedSamples = metricClient.counter(OssMetricsRegistry.SCHEMA_VALIDATION_DROPPED_SAMPLES)
+
   fun initializeSchemaValidator() {
     // initialize schema validator to avoid creating validators each time.
     streamNamesToSchemas.keys.forEach { stream ->
@@ -48,11 +72,8 @@ class RecordSchemaValidator(
     airbyteStream: AirbyteStreamNameNamespacePair,
     validationErrors: ConcurrentMap<AirbyteStreamNameNamespacePair, Pair<MutableSet<String>, Int>?>,
   ) {
-    schemaValidationExecutorService.execute {
-      val errorMessages = jsonSchemaValidator.validateInitializedSchema(airbyteStream.toString(), message.getData())
-      if (errorMessages.isNotEmpty()) {
-        updateValidationErrors(errorMessages.toMutableSet(), airbyteStream, validationErrors)
-      }
+    submit(message, airbyteStream) { errorMessages ->
+      updateValidationErrors(errorMessages.toMutableSet(), airbyteStream, validationErrors)
     }
   }
 
@@ -65,12 +86,69 @@ class RecordSchemaValidator(
     airbyteStream: AirbyteStreamNameNamespacePair,
     validationErrors: ConcurrentMap<AirbyteStreamNameNamespacePair, MutableSet<String>>,
   ) {
-    schemaValidationExecutorService.execute {
-      val errorMessages = jsonSchemaValidator.validateInitializedSchema(airbyteStream.toString(), message.data)
-      if (errorMessages.isNotEmpty()) {
-        validationErrors.computeIfAbsent(airbyteStream) { k: AirbyteStreamNameNamespacePair -> HashSet() }.addAll(errorMessages)
+    submit(message, airbyteStream) { errorMessages ->
+      validationErrors.computeIfAbsent(airbyteStream) { _ -> ConcurrentHashMap.newKeySet() }.addAll(errorMessages)
+    }
+  }
+
+  /**
+   * Validates a copy of the data of the record in the background if it is sampled and there is room for it, and calls
+   * [onErrors] with the validation errors, if any.
+   */
+  private fun submit(
+    message: AirbyteRecordMessage,
+    airbyteStream: AirbyteStreamNameNamespacePair,
+    onErrors: (Set<String>) -> Unit,
+  ) {
+    if (!isSampled(airbyteStream)) {
+      return
+    }
+    if (!reserveValidation()) {
+      return
+    }
+
+    val data = message.data?.deepCopy<JsonNode>()
+    val submittedAt = System.nanoTime()
+    try {
+      schemaValidationExecutorService.execute {
+        try {
+          lagTimer?.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS)
+          val errorMessages = jsonSchemaValidator.validateInitializedSchema(airbyteStream.toString(), data)
+          if (errorMessages.isNotEmpty()) {
+            onErrors(errorMessages)
+          }
+        } finally {
+          pendingValidations.release()
+        }
       }
+    } catch (e: RejectedExecutionException) {
+      // The validator has been closed.
+      pendingValidations.release()
+    }
+  }
+
+  private fun isSampled(airbyteStream: AirbyteStreamNameNamespacePair): Boolean =
+    sampleRate <= 1 || recordsSeen.computeIfAbsent(airbyteStream) { AtomicLong() }.getAndIncrement() % sampleRate == 0L
+
+  /**
+   * Takes a slot for a pending validation. Waits for one when every record is validated, and gives up right away
+   * otherwise, since skipping some records is already accepted when sampling.
+   */
+  private fun reserveValidation(): Boolean {
+    if (sampleRate <= 1) {
+      try {
+        pendingValidations.acquire()
+        return true
+      } catch (e: InterruptedException) {
+        Thread.currentThread().interrupt()
+        return false
+      }
+    }
+    if (!pendingValidations.tryAcquire()) {
+      droppedSamples?.increment()
+      return false
     }
+    return true
   }
 
   private fun updateValidationErrors(
@@ -8,7 +8,7 @@ import io.airbyte.container.orchestrator.bookkeeping.state.MissingStateInjector
 import io.airbyte.container.orchestrator.tracker.StreamStatusCompletionTracker
 import io.airbyte.container.orchestrator.worker.io.AirbyteDestination
 import io.airbyte.container.orchestrator.worker.io.AirbyteSource
-import io.airbyte.container.orchestrator.worker.util.ClosableChannelQueue
+import io.airbyte.container.orchestrator.worker.util.MessageQueue
 import io.airbyte.persistence.job.models.ReplicationInput
 import io.airbyte.protocol.models.v0.AirbyteMessage
 import io.airbyte.protocol.models.v0.AirbyteMessage.Type
@@ -86,7 +86,7 @@ class DestinationWriter(
   private val destination: AirbyteDestination,
   private val replicationWorkerState: ReplicationWorkerState,
   private val replicationWorkerHelper: ReplicationWorkerHelper,
-  private val destinationQueue: ClosableChannelQueue<AirbyteMessage>,
+  private val destinationQueue: MessageQueue<AirbyteMessage>,
 ) : ReplicationTask {
   override suspend fun run() {
     logger.info { "DestinationWriter started." }
@@ -134,8 +134,8 @@ class DestinationWriter(
 class MessageProcessor(
   private val replicationWorkerState: ReplicationWorkerState,
   private val replicationWorkerHelper: ReplicationWorkerHelper,
-  private val sourceQueue: ClosableChannelQueue<AirbyteMessage>,
-  private val destinationQueue: ClosableChannelQueue<AirbyteMessage>? = null,
+  private val sourceQueue: MessageQueue<AirbyteMessage>,
+  private val destinationQueue: MessageQueue<AirbyteMessage>? = null,
 ) : ReplicationTask {
   override suspend fun run() {
     logger.info { "MessageProcessor started." }
@@ -177,7 +177,7 @@ class SourceReader(
   private val replicationWorkerState: ReplicationWorkerState,
   private val streamStatusCompletionTracker: StreamStatusCompletionTracker,
   private val replicationWorkerHelper: ReplicationWorkerHelper,
-  private val messagesFromSourceQueue: ClosableChannelQueue<AirbyteMessage>,
+  private val messagesFromSourceQueue: MessageQueue<AirbyteMessage>,
   private val missingStateInjector: MissingStateInjector?,
 ) : ReplicationTask {
   override suspend fun run() {
@@ -8,7 +8,6 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import io.airbyte.commons.annotation.InternalForTesting
 import io.airbyte.commons.io.LineGobbler
 import io.airbyte.config.FailureReason
-import io.airbyte.config.MapperConfig
 import io.airbyte.config.PerformanceMetrics
 import io.airbyte.config.ReplicationAttemptSummary
 import io.airbyte.config.ReplicationOutput
@@ -35,6 +34,7 @@ import io.airbyte.container.orchestrator.worker.io.AirbyteSource
 import io.airbyte.container.orchestrator.worker.model.adapter.AirbyteJsonRecordAdapter
 import io.airbyte.container.orchestrator.worker.state.StateEnricher
 import io.airbyte.container.orchestrator.worker.util.BytesSizeHelper.byteCountToDisplaySize
+import io.airbyte.container.orchestrator.worker.util.StreamLookup
 import io.airbyte.mappers.application.RecordMapper
 import io.airbyte.mappers.transformations.DestinationCatalogGenerator
 import io.airbyte.metrics.MetricAttribute
@@ -51,11 +51,13 @@ import io.airbyte.workers.WorkerUtils
 import io.airbyte.workers.exception.WorkerException
 import io.airbyte.workers.helper.ResumableFullRefreshStatsHelper
 import io.airbyte.workers.internal.AirbyteMapper
+import io.airbyte.workers.internal.RawAirbyteMessage
 import io.github.oshai.kotlinlogging.KotlinLogging
 import jakarta.inject.Named
 import jakarta.inject.Singleton
 import java.nio.file.Path
 import java.util.Optional
+import java.util.concurrent.atomic.AtomicLong
 
 private val logger = KotlinLogging.logger {}
 
@@ -77,9 +79,8 @@ class ReplicationWorkerHelper(
   destinationCatalogGenerator: DestinationCatalogGenerator,
   private val metricClient: MetricClient,
 ) {
-  private val streamMappers: Map<StreamDescriptor, List<MapperConfig>>
+  private val streamMappers: StreamLookup<StreamMapperChain>
   private val destinationConfig: WorkerDestinationConfig
-  private val mappersConfigured: Boolean
   private val metricAttrs: MutableList<MetricAttribute> = mutableListOf()
 
   private fun toConnectionAttrs(ctx: ReplicationContext?): List<MetricAttribute> {
@@ -121,18 +122,24 @@ class ReplicationWorkerHelper(
     }
 
     val catalogWithoutInvalidMappers = destinationCatalogGenerator.generateDestinationCatalog(context.configuredCatalog)
-    streamMappers = catalogWithoutInvalidMappers.catalog.streams.associate { stream -> stream.streamDescriptor to stream.mappers }
+    streamMappers =
+      StreamLookup(
+        catalogWithoutInvalidMappers.catalog.streams
+          .filter { stream -> stream.mappers.isNotEmpty() }
+          .map { stream -> StreamMapperChain(stream.streamDescriptor, recordMapper.resolve(stream.mappers)) },
+        { it.streamDescriptor.namespace },
+        { it.streamDescriptor.name },
+      )
     destinationConfig =
       WorkerUtils.syncToWorkerDestinationConfig(context.replicationInput).apply {
         catalog = mapper?.mapCatalog(catalog) ?: catalog
         supportRefreshes = context.supportRefreshes
       }
-    mappersConfigured = streamMappers.isNotEmpty()
     timeTracker.trackReplicationStartTime()
   }
 
-  private var recordsRead: Long = 0
-  private var totalRecordsRead: Long = 0
+  // Updated concurrently when the message processor is sharded.
+  private val recordsRead = AtomicLong()
 
   fun initialize(jobRoot: Path) {
     ApmTraceUtils.addTagsToTrace(
@@ -284,17 +291,16 @@ class ReplicationWorkerHelper(
   }
 
   private fun processRecordMessage(sourceRawMessage: AirbyteMessage): AirbyteMessage? {
-    if (mappersConfigured) {
-      val adapter = AirbyteJsonRecordAdapter(sourceRawMessage)
-      applyTransformationMappers(adapter)
-      return if (!adapter.shouldInclude()) {
-        syncStatsTracker.updateFilteredOutRecordsStats(sourceRawMessage.record)
-        null
-      } else {
-        sourceRawMessage
-      }
+    val record = sourceRawMessage.record
+    val streamMapperChain = streamMappers[record.namespace, record.stream] ?: return sourceRawMessage
+    val adapter = AirbyteJsonRecordAdapter(sourceRawMessage)
+    applyTransformationMappers(adapter, streamMapperChain.mapperChain)
+    return if (!adapter.shouldInclude()) {
+      syncStatsTracker.updateFilteredOutRecordsStats(record)
+      null
+    } else {
+      sourceRawMessage
     }
-    return sourceRawMessage
   }
 
   private fun handleControlMessage(
@@ -336,13 +342,45 @@ class ReplicationWorkerHelper(
 
   fun processMessageFromSource(sourceRawMessage: AirbyteMessage): Optional<AirbyteMessage> =
     internalProcessMessageFromSource(stateEnricher.enrich(sourceRawMessage))
-      ?.let { mapper?.mapMessage(it) ?: it }
+      ?.let { applyMapper(it) }
       ?.let { Optional.of(it) } ?: Optional.empty()
 
+  /**
+   * Applies the namespace mapping. Records that are passed through as raw bytes keep them only if the mapping
+   * left their stream name and namespace untouched.
+   */
+  private fun applyMapper(message: AirbyteMessage): AirbyteMessage {
+    if (mapper == null) {
+      return message
+    }
+    if (message !is RawAirbyteMessage || message.rawBytes == null) {
+      return mapper.mapMessage(message)
+    }
+    val namespace = message.record.namespace
+    val stream = message.record.stream
+    val mappedMessage = mapper.mapMessage(message)
+    if (mappedMessage !== message || message.record.namespace != namespace || message.record.stream != stream) {
+      message.discardRawBytes()
+    }
+    return mappedMessage
+  }
+
   internal fun applyTransformationMappers(message: AirbyteJsonRecordAdapter) {
-    streamMappers[message.streamDescriptor]?.takeIf { it.isNotEmpty() }?.let { mappers ->
-      recordMapper.applyMappers(message, mappers)
+    streamMappers[message.streamDescriptor.namespace, message.streamDescriptor.name]?.let { streamMapperChain ->
+      applyTransformationMappers(message, streamMapperChain.mapperChain)
+    }
+  }
+
+  private fun applyTransformationMappers(
+    message: AirbyteJsonRecordAdapter,
+    mapperChain: RecordMapper.MapperChain,
+  ) {
+    if (mapperChain.isEmpty()) {
+      return
     }
+    // Mappers work on the parsed record, what was read from the source no longer describes it.
+    (message.asProtocol as? RawAirbyteMessage)?.invalidateRecordData()
+    recordMapper.applyMappers(message, mapperChain)
   }
 
   private fun getTotalStats(
@@ -386,18 +424,24 @@ class ReplicationWorkerHelper(
     }
 
   private fun updateRecordsCount() {
-    recordsRead++
+    val totalRecordsRead = recordsRead.incrementAndGet()
 
-    if (recordsRead == 5000L) {
-      totalRecordsRead += recordsRead
+    if (totalRecordsRead % 5000L == 0L) {
       logger.info {
         val bytes = byteCountToDisplaySize(syncStatsTracker.getStats().values.sumOf { it.bytesEmitted })
         "Records read: $totalRecordsRead ($bytes)"
       }
-      recordsRead = 0
     }
   }
 }
 
+/**
+ * The mappers of a stream, resolved once at the start of the sync.
+ */
+private class StreamMapperChain(
+  val streamDescriptor: StreamDescriptor,
+  val mapperChain: RecordMapper.MapperChain,
+)
+
 private fun isAnalyticsMessage(msg: AirbyteMessage): Boolean =
   msg.type == AirbyteMessage.Type.TRACE && msg.trace.type == AirbyteTraceMessage.Type.ANALYTICS
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.worker
+
+import io.airbyte.container.orchestrator.worker.util.MessageQueue
+import io.airbyte.metrics.MetricAttribute
+import io.airbyte.metrics.MetricClient
+import io.airbyte.metrics.OssMetricsRegistry
+import io.airbyte.metrics.lib.MetricTags
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.protocol.models.v0.AirbyteMessage.Type
+import io.github.oshai.kotlinlogging.KotlinLogging
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.ClosedSendChannelException
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.joinAll
+import kotlinx.coroutines.launch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.ToDoubleFunction
+
+private val logger = KotlinLogging.logger {}
+
+const val DEFAULT_SHARD_CAPACITY = 1000
+
+/**
+ * [MessageProcessor] that processes the records of different streams in parallel.
+ *
+ * Records are dispatched to [shardCount] workers by stream, so the records of a stream are always processed by the
+ * same worker and in the order they were read. Processed records are merged back into the destination queue.
+ *
+ * Every other message is a barrier: it is only processed once the workers have processed and forwarded all the
+ * records read before it. A STATE message therefore always reaches the destination after the records it covers, and
+ * stream statuses and estimates are tracked after the records of their stream.
+ */
+class ShardedMessageProcessor(
+  private val replicationWorkerState: ReplicationWorkerState,
+  private val replicationWorkerHelper: ReplicationWorkerHelper,
+  private val sourceQueue: MessageQueue<AirbyteMessage>,
+  private val destinationQueue: MessageQueue<AirbyteMessage>,
+  private val shardCount: Int,
+  private val metricClient: MetricClient,
+  private val shardCapacity: Int = DEFAULT_SHARD_CAPACITY,
+) : ReplicationTask {
+  init {
+    require(shardCount > 0) { "The shard count must be positive" }
+  }
+
+  override suspend fun run() {
+    logger.info { "MessageProcessor started with $shardCount shards." }
+    val executor =
+      Executors.newFixedThreadPool(shardCount) { runnable ->
+        Thread(runnable, "message-processor-shard").apply { isDaemon = true }
+      }
+    try {
+      coroutineScope {
+        val merged = Channel<AirbyteMessage>(shardCapacity)
+        val shards = List(shardCount) { Shard(it, merged) }
+        val dispatcher = executor.asCoroutineDispatcher()
+        val workers = shards.map { shard -> launch(dispatcher) { shard.run() } }
+        val forwarder = launch { forward(merged) }
+
+        try {
+          dispatch(shards, merged)
+        } finally {
+          shards.forEach { it.input.close() }
+        }
+        if (replicationWorkerState.shouldAbort) {
+          // Nothing else will be sent to the destination, drop the records the shards still hold.
+          workers.forEach { it.cancel() }
+          forwarder.cancel()
+          return@coroutineScope
+        }
+        workers.joinAll()
+        merged.close()
+        forwarder.join()
+      }
+    } catch (e: DestinationQueueClosedException) {
+      logger.info { "Destination queue closed — stopping message processor..." }
+    } finally {
+      executor.shutdownNow()
+      sourceQueue.close()
+      destinationQueue.close()
+      logger.info { "MessageProcessor finished." }
+    }
+  }
+
+  private suspend fun dispatch(
+    shards: List<Shard>,
+    merged: Channel<AirbyteMessage>,
+  ) {
+    while (true) {
+      if (replicationWorkerState.shouldAbort) {
+        logger.info { "State set to abort — stopping message processor..." }
+        break
+      }
+      if (sourceQueue.isClosedForReceiving()) {
+        logger.info { "Source queue closed — stopping message processor..." }
+        break
+      }
+      if (destinationQueue.isClosedForSending()) {
+        logger.info { "Destination queue closed — stopping message processor..." }
+        break
+      }
+
+      val message = sourceQueue.receive() ?: continue
+      if (message.type == Type.RECORD) {
+        shards[shardIndex(message)].accept(message)
+      } else {
+        awaitShards(shards)
+        val processedMessageOpt = replicationWorkerHelper.processMessageFromSource(message)
+        if (processedMessageOpt.isPresent && processedMessageOpt.get().type == Type.STATE) {
+          merged.send(processedMessageOpt.get())
+        }
+      }
+    }
+  }
+
+  private fun shardIndex(message: AirbyteMessage): Int {
+    val record = message.record
+    val hash = 31 * (record.namespace?.hashCode() ?: 0) + (record.stream?.hashCode() ?: 0)
+    return Math.floorMod(hash, shardCount)
+  }
+
+  /**
+   * Waits for the shards that received records since the last barrier to have forwarded them.
+   */
+  private suspend fun awaitShards(shards: List<Shard>) {
+    val pending = shards.filter { it.hasPendingRecords }
+    if (pending.isEmpty()) {
+      return
+    }
+    val start = System.nanoTime()
+    pending.forEach { it.requestBarrier() }
+    pending.forEach { it.awaitBarrier() }
+    metricClient
+      .timer(OssMetricsRegistry.MESSAGE_PROCESSOR_BARRIER_WAIT)
+      ?.record(System.nanoTime() - start, TimeUnit.NANOSECONDS)
+  }
+
+  private suspend fun forward(merged: Channel<AirbyteMessage>) {
+    for (message in merged) {
+      if (destinationQueue.isClosedForSending()) {
+        throw DestinationQueueClosedException()
+      }
+      try {
+        destinationQueue.send(message)
+      } catch (e: ClosedSendChannelException) {
+        throw DestinationQueueClosedException()
+      }
+    }
+  }
+
+  private inner class Shard(
+    private val index: Int,
+    private val merged: Channel<AirbyteMessage>,
+  ) {
+    val input = Channel<AirbyteMessage>(shardCapacity)
+    private val barrierMarker = AirbyteMessage()
+    private val barrierAcks = Channel<Unit>(1)
+    private val depth = AtomicInteger()
+    private val shardAttribute = MetricAttribute(MetricTags.SHARD, index.toString())
+    private var processedSinceReport = 0L
+
+    // Only read and written by the dispatching coroutine.
+    var hasPendingRecords = false
+      private set
+
+    init {
+      metricClient.gauge(OssMetricsRegistry.MESSAGE_PROCESSOR_SHARD_DEPTH, depth, ToDoubleFunction { it.toDouble() }, shardAttribute)
+    }
+
+    suspend fun accept(message: AirbyteMessage) {
+      hasPendingRecords = true
+      depth.incrementAndGet()
+      input.send(message)
+    }
+
+    suspend fun requestBarrier() {
+      input.send(barrierMarker)
+    }
+
+    suspend fun awaitBarrier() {
+      barrierAcks.receive()
+      hasPendingRecords = false
+    }
+
+    suspend fun run() {
+      try {
+        for (message in input) {
+          if (message === barrierMarker) {
+            reportProcessed()
+            barrierAcks.send(Unit)
+            continue
+          }
+          val processedMessageOpt = replicationWorkerHelper.processMessageFromSource(message)
+          depth.decrementAndGet()
+          processedSinceReport++
+          if (processedMessageOpt.isPresent && processedMessageOpt.get().type == Type.RECORD) {
+            merged.send(processedMessageOpt.get())
+          }
+        }
+      } finally {
+        reportProcessed()
+      }
+    }
+
+    private fun reportProcessed() {
+      if (processedSinceReport > 0) {
+        metricClient.count(OssMetricsRegistry.MESSAGE_PROCESSOR_SHARD_RECORDS, processedSinceReport, shardAttribute)
+        processedSinceReport = 0
+      }
+    }
+  }
+
+  /**
+   * Stops the processing once the destination writer closed its queue, like [MessageProcessor] does.
+   */
+  private class DestinationQueueClosedException : RuntimeException("Destination queue closed")
+}
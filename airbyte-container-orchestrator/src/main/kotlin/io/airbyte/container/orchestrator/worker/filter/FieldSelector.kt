@@ -10,11 +10,13 @@ import io.airbyte.config.ConfiguredAirbyteStream
 import io.airbyte.container.orchestrator.worker.RecordSchemaValidator
 import io.airbyte.container.orchestrator.worker.context.ReplicationInputFeatureFlagReader
 import io.airbyte.container.orchestrator.worker.util.ReplicationMetricReporter
+import io.airbyte.container.orchestrator.worker.util.StreamLookup
 import io.airbyte.featureflag.RemoveValidationLimit
 import io.airbyte.persistence.job.models.ReplicationInput
 import io.airbyte.protocol.models.v0.AirbyteMessage
 import io.airbyte.protocol.models.v0.AirbyteRecordMessage
 import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair
+import io.airbyte.workers.internal.RawAirbyteMessage
 import io.github.oshai.kotlinlogging.KotlinLogging
 import java.util.UUID
 import java.util.concurrent.ConcurrentHashMap
@@ -63,16 +65,17 @@ class FieldSelector(
    */
   private val validationErrors: ConcurrentMap<AirbyteStreamNameNamespacePair, Pair<MutableSet<String>, Int>?> = ConcurrentHashMap()
   private val uncountedValidationErrors: ConcurrentMap<AirbyteStreamNameNamespacePair, MutableSet<String>> = ConcurrentHashMap()
-  private val streamToSelectedFields = mutableMapOf<AirbyteStreamNameNamespacePair, List<String>>()
-  private val streamToAllFields = mutableMapOf<AirbyteStreamNameNamespacePair, Set<String>>()
-  private val unexpectedFields = mutableMapOf<AirbyteStreamNameNamespacePair, MutableSet<String>>()
+
+  @Volatile
+  private var streamFields = StreamLookup<StreamFields>(emptyList(), { it.stream.namespace }, { it.stream.name })
+
+  private val unexpectedFields: ConcurrentMap<AirbyteStreamNameNamespacePair, MutableSet<String>> = ConcurrentHashMap()
 
   /**
    * Initialize the FieldSelector instance with the fields from the catalog.
    */
   fun populateFields(catalog: ConfiguredAirbyteCatalog) {
-    populatedStreamToSelectedFields(catalog)
-    populateStreamToAllFields(catalog)
+    streamFields = StreamLookup(catalog.streams.map { toStreamFields(it) }, { it.stream.namespace }, { it.stream.name })
   }
 
   /**
@@ -101,11 +104,15 @@ class FieldSelector(
       return
     }
 
-    val messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record)
-    val selectedFields = streamToSelectedFields.getOrDefault(messageStream, emptyList())
+    val selectedFields = streamFields[record.namespace, record.stream]?.fields ?: emptySet()
     val data = record.data
     if (data.isObject) {
+      val fieldCount = data.size()
       (data as ObjectNode).retain(selectedFields)
+      if (data.size() != fieldCount && airbyteMessage is RawAirbyteMessage) {
+        // The record no longer matches what was read from the source.
+        airbyteMessage.invalidateRecordData()
+      }
     } else {
       throw RuntimeException("Unexpected data in record: $data")
     }
@@ -139,45 +146,37 @@ class FieldSelector(
   }
 
   /**
-   * Generates a map from stream -> the explicit list of fields included for that stream, according to
-   * the configured catalog. Since the configured catalog only includes the selected fields, this lets
-   * us filter records to only the fields explicitly requested.
+   * Resolves the fields of a stream, according to the configured catalog. Since the configured catalog only
+   * includes the selected fields, this lets us filter records to only the fields explicitly requested, and
+   * identify any unexpected top-level fields in the records.
    *
-   * @param catalog catalog
+   * @param stream configured stream
    */
-  private fun populatedStreamToSelectedFields(catalog: ConfiguredAirbyteCatalog) {
-    catalog.streams.forEach { s ->
-      val selectedFields = mutableListOf<String>()
-      val propertiesNode = s.stream.jsonSchema.findPath("properties")
-      if (propertiesNode.isObject) {
-        propertiesNode.fieldNames().forEachRemaining { fieldName -> selectedFields.add(replaceEscapeCharacter(fieldName)) }
-      } else {
-        throw RuntimeException("No properties node in stream schema")
-      }
-      streamToSelectedFields.put(extractStream(s), selectedFields)
+  private fun toStreamFields(stream: ConfiguredAirbyteStream): StreamFields {
+    val fields = mutableSetOf<String>()
+    val propertiesNode = stream.stream.jsonSchema.findPath("properties")
+    if (propertiesNode.isObject) {
+      propertiesNode.fieldNames().forEachRemaining { fieldName -> fields.add(replaceEscapeCharacter(fieldName)) }
+    } else {
+      throw RuntimeException("No properties node in stream schema")
     }
+    return StreamFields(AirbyteStreamNameNamespacePair(stream.stream.name, stream.stream.namespace), fields)
   }
 
   /**
-   * Populates a map for stream -> all the top-level fields in the catalog. Used to identify any
-   * unexpected top-level fields in the records.
-   *
-   * @param catalog catalog
+   * The stream key and top-level fields of a stream, resolved once so that records don't allocate them.
    */
-  private fun populateStreamToAllFields(catalog: ConfiguredAirbyteCatalog) {
-    catalog.streams.forEach { s ->
-      val fields = mutableSetOf<String>()
-      val propertiesNode = s.stream.jsonSchema.findPath("properties")
-      if (propertiesNode.isObject) {
-        propertiesNode.fieldNames().forEachRemaining { fieldName -> fields.add(replaceEscapeCharacter(fieldName)) }
-      } else {
-        throw RuntimeException("No properties node in stream schema")
-      }
-      streamToAllFields.put(extractStream(s), fields)
-    }
-  }
+  private class StreamFields(
+    val stream: AirbyteStreamNameNamespacePair,
+    val fields: Set<String>,
+  )
 
-  private fun extractStream(stream: ConfiguredAirbyteStream) = AirbyteStreamNameNamespacePair(stream.stream.name, stream.stream.namespace)
+  /**
+   * Returns the fields of the stream of a record, with the key to track its errors under.
+   */
+  private fun resolveStream(record: AirbyteRecordMessage): StreamFields =
+    streamFields[record.namespace, record.stream]
+      ?: StreamFields(AirbyteStreamNameNamespacePair.fromRecordMessage(record), emptySet())
 
   private fun validateSchemaUncounted(message: AirbyteMessage) {
     if (message.record == null) {
@@ -185,10 +184,11 @@ class FieldSelector(
     }
 
     val record = message.record
-    val messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record)
+    val stream = resolveStream(record)
+    val messageStream = stream.stream
 
     recordSchemaValidator.validateSchemaWithoutCounting(record, messageStream, uncountedValidationErrors)
-    val unexpectedFieldNames = getUnexpectedFieldNames(record, streamToAllFields.getOrDefault(messageStream, emptySet()))
+    val unexpectedFieldNames = getUnexpectedFieldNames(record, stream.fields)
     if (unexpectedFieldNames.isNotEmpty()) {
       unexpectedFields.computeIfAbsent(messageStream, { _ -> ConcurrentHashMap.newKeySet() }).addAll(unexpectedFieldNames)
     }
@@ -200,14 +200,15 @@ class FieldSelector(
     }
 
     val record = message.record
-    val messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record)
+    val stream = resolveStream(record)
+    val messageStream = stream.stream
     // avoid noise by validating only if the stream has less than 10 records with validation errors
     val streamHasLessThenTenErrs = validationErrors[messageStream] == null || validationErrors[messageStream]?.second!! < 10
     if (streamHasLessThenTenErrs) {
       recordSchemaValidator.validateSchema(record, messageStream, validationErrors)
-      val unexpectedFieldNames = getUnexpectedFieldNames(record, streamToAllFields.getOrDefault(messageStream, emptySet()))
+      val unexpectedFieldNames = getUnexpectedFieldNames(record, stream.fields)
       if (!unexpectedFieldNames.isEmpty()) {
-        unexpectedFields.computeIfAbsent(messageStream, { _ -> mutableSetOf() }).addAll(unexpectedFieldNames)
+        unexpectedFields.computeIfAbsent(messageStream, { _ -> ConcurrentHashMap.newKeySet() }).addAll(unexpectedFieldNames)
       }
     }
   }
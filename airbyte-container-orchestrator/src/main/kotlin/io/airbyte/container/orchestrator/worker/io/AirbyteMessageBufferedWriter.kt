@@ -8,31 +8,118 @@ import io.airbyte.commons.protocol.AirbyteMessageVersionedMigrator
 import io.airbyte.commons.protocol.serde.AirbyteMessageSerializer
 import io.airbyte.config.ConfiguredAirbyteCatalog
 import io.airbyte.protocol.models.v0.AirbyteMessage
-import java.io.BufferedWriter
+import io.airbyte.workers.internal.RawAirbyteMessage
+import java.io.OutputStream
 import java.util.Optional
+import java.util.concurrent.TimeUnit
+
+private const val NEWLINE: Int = '\n'.code
+
+const val DEFAULT_FLUSH_THRESHOLD_BYTES = 256 * 1024
+const val DEFAULT_FLUSH_INTERVAL_MS = 1000L
 
 /**
  * Write protocol objects in a specified version.
  *
+ * Messages are serialized as UTF-8 into a buffer that is reused for the lifetime of the writer, and written to
+ * [outputStream] in chunks once it holds [flushThresholdBytes], or once its oldest message has been buffered for
+ * [flushIntervalMs] when the next message is written. [flush] writes the buffer out regardless.
+ *
+ * Messages only go through the migrator when the destination speaks an older protocol version.
+ *
+ * When [passThroughRecords] is set, records that still hold the bytes they were read from the source are written
+ * as-is instead of being serialized again. This is only valid when the destination speaks the same protocol version
+ * as the source, so no downgrade is needed.
+ *
  * @param <T> type of protocol object.
 </T> */
 class AirbyteMessageBufferedWriter<T : Any>(
-  private val writer: BufferedWriter,
+  private val outputStream: OutputStream,
   private val serializer: AirbyteMessageSerializer<T>,
   private val migrator: AirbyteMessageVersionedMigrator<T>,
   private val configuredAirbyteCatalog: Optional<ConfiguredAirbyteCatalog>,
+  private val passThroughRecords: Boolean = false,
+  private val flushThresholdBytes: Int = DEFAULT_FLUSH_THRESHOLD_BYTES,
+  flushIntervalMs: Long = DEFAULT_FLUSH_INTERVAL_MS,
 ) {
+  private val requiresMigration = migrator.requiresMigration()
+  private val flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs)
+  private val buffer = MessageBuffer(flushThresholdBytes)
+  private var oldestBufferedAtNanos = 0L
+
   fun write(message: AirbyteMessage) {
-    val downgradedMessage = migrator.downgrade(message, configuredAirbyteCatalog)
-    writer.write(serializer.serialize(downgradedMessage))
-    writer.newLine()
+    if (buffer.size == 0) {
+      oldestBufferedAtNanos = System.nanoTime()
+    }
+    val rawBytes = if (passThroughRecords && message is RawAirbyteMessage) message.rawBytes else null
+    if (rawBytes != null) {
+      buffer.write(rawBytes)
+    } else {
+      @Suppress("UNCHECKED_CAST")
+      val downgradedMessage = if (requiresMigration) migrator.downgrade(message, configuredAirbyteCatalog) else message as T
+      serializer.serialize(downgradedMessage, buffer)
+    }
+    buffer.write(NEWLINE)
+
+    if (buffer.size >= flushThresholdBytes || System.nanoTime() - oldestBufferedAtNanos >= flushIntervalNanos) {
+      flush()
+    }
   }
 
   fun flush() {
-    writer.flush()
+    buffer.writeTo(outputStream)
+    outputStream.flush()
   }
 
   fun close() {
-    writer.close()
+    try {
+      buffer.writeTo(outputStream)
+    } finally {
+      outputStream.close()
+    }
+  }
+
+  /**
+   * Growable byte buffer without the synchronization of [java.io.ByteArrayOutputStream].
+   */
+  private class MessageBuffer(
+    capacity: Int,
+  ) : OutputStream() {
+    private val capacity = capacity.coerceAtLeast(1024)
+    private var bytes = ByteArray(this.capacity)
+    var size = 0
+      private set
+
+    override fun write(b: Int) {
+      ensureCapacity(size + 1)
+      bytes[size++] = b.toByte()
+    }
+
+    override fun write(
+      b: ByteArray,
+      off: Int,
+      len: Int,
+    ) {
+      ensureCapacity(size + len)
+      System.arraycopy(b, off, bytes, size, len)
+      size += len
+    }
+
+    fun writeTo(outputStream: OutputStream) {
+      if (size > 0) {
+        outputStream.write(bytes, 0, size)
+        size = 0
+      }
+      // Don't hold on to the memory needed by an exceptionally large message.
+      if (bytes.size > 4 * capacity) {
+        bytes = ByteArray(capacity)
+      }
+    }
+
+    private fun ensureCapacity(required: Int) {
+      if (required > bytes.size) {
+        bytes = bytes.copyOf(maxOf(required, 2 * bytes.size))
+      }
+    }
   }
 }
@@ -7,10 +7,14 @@ package io.airbyte.container.orchestrator.worker.io
 import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider
 import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory
 import io.airbyte.config.ConfiguredAirbyteCatalog
+import io.airbyte.container.orchestrator.worker.context.ReplicationInputFeatureFlagReader
+import io.airbyte.featureflag.ReplicationDestinationFlushBytes
+import io.airbyte.featureflag.ReplicationDestinationFlushIntervalMs
+import io.airbyte.featureflag.ReplicationRecordPassThrough
 import io.airbyte.persistence.job.models.ReplicationInput
 import io.github.oshai.kotlinlogging.KotlinLogging
 import jakarta.inject.Singleton
-import java.io.BufferedWriter
+import java.io.OutputStream
 import java.util.Optional
 
 private val logger = KotlinLogging.logger {}
@@ -23,11 +27,12 @@ class AirbyteMessageBufferedWriterFactory(
   val replicationInput: ReplicationInput,
   private val serDeProvider: AirbyteMessageSerDeProvider,
   private val migratorFactory: AirbyteProtocolVersionedMigratorFactory,
+  private val replicationInputFeatureFlagReader: ReplicationInputFeatureFlagReader,
 ) {
   private val configuredAirbyteCatalog: ConfiguredAirbyteCatalog? = replicationInput.catalog
   private val protocolVersion = replicationInput.destinationLauncherConfig.protocolVersion
 
-  fun createWriter(bufferedWriter: BufferedWriter): AirbyteMessageBufferedWriter<*> {
+  fun createWriter(outputStream: OutputStream): AirbyteMessageBufferedWriter<*> {
     val needMigration = protocolVersion.getMajorVersion() != migratorFactory.mostRecentVersion.getMajorVersion()
     val additionalMessage =
       if (needMigration) {
@@ -37,10 +42,13 @@ class AirbyteMessageBufferedWriterFactory(
       }
     logger.info { "Writing messages to protocol version ${protocolVersion.serialize()}$additionalMessage" }
     return AirbyteMessageBufferedWriter(
-      writer = bufferedWriter,
+      outputStream = outputStream,
       serDeProvider.getSerializer(protocolVersion) ?: throw IllegalStateException("Serializer not found for version $protocolVersion"),
       migratorFactory.getAirbyteMessageMigrator(protocolVersion),
       Optional.ofNullable(configuredAirbyteCatalog),
+      passThroughRecords = !needMigration && replicationInputFeatureFlagReader.read(ReplicationRecordPassThrough),
+      flushThresholdBytes = replicationInputFeatureFlagReader.read(ReplicationDestinationFlushBytes),
+      flushIntervalMs = replicationInputFeatureFlagReader.read(ReplicationDestinationFlushIntervalMs).toLong(),
     )
   }
 }
@@ -18,14 +18,14 @@ import io.airbyte.workers.exception.WorkerException
 import io.airbyte.workers.internal.AirbyteStreamFactory
 import io.airbyte.workers.internal.MessageOrigin
 import io.github.oshai.kotlinlogging.KotlinLogging
-import java.io.BufferedWriter
+import java.io.BufferedOutputStream
 import java.io.IOException
-import java.io.OutputStreamWriter
 import java.nio.file.Path
 import java.util.Optional
 import java.util.UUID
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicBoolean
+import java.util.stream.Stream
 
 private val logger = KotlinLogging.logger {}
 private const val CALLER = "airbyte-destination"
@@ -57,6 +57,8 @@ class LocalContainerAirbyteDestination(
   }
 
   private val inputHasEnded = AtomicBoolean(false)
+  // Closing the stream releases what reading the connector output holds on to, e.g. the thread logging its messages.
+  private lateinit var messageStream: Stream<AirbyteMessage>
   private lateinit var messageIterator: Iterator<AirbyteMessage>
   private lateinit var writer: AirbyteMessageBufferedWriter<AirbyteMessage>
 
@@ -66,6 +68,16 @@ class LocalContainerAirbyteDestination(
   private var outputStreamExhausted = false
 
   override fun close() {
+    try {
+      closeContainer()
+    } finally {
+      if (::messageStream.isInitialized) {
+        messageStream.close()
+      }
+    }
+  }
+
+  private fun closeContainer() {
     emitDestinationMessageCountMetrics()
 
     if (!inputHasEnded.get()) {
@@ -111,14 +123,14 @@ class LocalContainerAirbyteDestination(
     // TODO are these the correct pipes?
     writer =
       messageWriterFactory.createWriter(
-        BufferedWriter(OutputStreamWriter(containerIOHandle.getOutputStream(), Charsets.UTF_8)),
+        BufferedOutputStream(containerIOHandle.getOutputStream()),
       ) as AirbyteMessageBufferedWriter<AirbyteMessage>
 
     Failsafe.with(LocalContainerConstants.LOCAL_CONTAINER_RETRY_POLICY).run(
       CheckedRunnable {
+        messageStream = streamFactory.create(IOs.newBufferedReader(containerIOHandle.getInputStream()), MessageOrigin.DESTINATION)
         messageIterator =
-          streamFactory
-            .create(IOs.newBufferedReader(containerIOHandle.getInputStream()), MessageOrigin.DESTINATION)
+          messageStream
             .filter { message: AirbyteMessage -> LocalContainerConstants.ACCEPTED_MESSAGE_TYPES.contains(message.type) }
             .iterator()
       },
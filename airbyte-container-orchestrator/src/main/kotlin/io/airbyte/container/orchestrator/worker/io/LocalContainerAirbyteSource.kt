@@ -22,6 +22,7 @@ import java.time.Instant
 import java.util.Optional
 import java.util.UUID
 import java.util.concurrent.atomic.AtomicLong
+import java.util.stream.Stream
 
 private val logger = KotlinLogging.logger {}
 private const val CALLER = "airbyte-source"
@@ -41,6 +42,7 @@ class LocalContainerAirbyteSource(
   private val connectionId: UUID? = null,
   private val dockerImage: String? = null,
   private val diagnosticLogsEnabled: Boolean = false,
+  private val useByteLevelReader: Boolean = false,
   private val exitCodeWaitSeconds: Long = EXIT_CODE_WAIT_SECONDS,
 ) : AirbyteSource {
   companion object {
@@ -51,6 +53,8 @@ class LocalContainerAirbyteSource(
     const val EXIT_CODE_WAIT_SECONDS = 10L
   }
 
+  // Closing the stream releases what reading the connector output holds on to, e.g. the thread logging its messages.
+  private lateinit var messageStream: Stream<AirbyteMessage>
   private lateinit var messageIterator: Iterator<AirbyteMessage>
 
   // Tracks when the output stream iterator is exhausted (pipes closed).
@@ -69,15 +73,21 @@ class LocalContainerAirbyteSource(
   private var startTime: Instant? = null
 
   override fun close() {
-    messageMetricsTracker.flushSourceReadCountMetric()
-    val terminationResult = containerIOHandle.terminate()
-    if (terminationResult) {
-      if (!LocalContainerConstants.IGNORED_EXIT_CODES.contains(exitValue)) {
-        LocalContainerConstants.emitExitCodeMetric(metricClient, "source", exitValue, workspaceId, connectionId, dockerImage)
-        throw WorkerException("Source process exit with code $exitValue. This warning is normal if the job was cancelled.")
+    try {
+      messageMetricsTracker.flushSourceReadCountMetric()
+      val terminationResult = containerIOHandle.terminate()
+      if (terminationResult) {
+        if (!LocalContainerConstants.IGNORED_EXIT_CODES.contains(exitValue)) {
+          LocalContainerConstants.emitExitCodeMetric(metricClient, "source", exitValue, workspaceId, connectionId, dockerImage)
+          throw WorkerException("Source process exit with code $exitValue. This warning is normal if the job was cancelled.")
+        }
+      } else {
+        throw WorkerException("Source has not terminated.  This warning is normal if the job was cancelled.")
+      }
+    } finally {
+      if (::messageStream.isInitialized) {
+        messageStream.close()
       }
-    } else {
-      throw WorkerException("Source has not terminated.  This warning is normal if the job was cancelled.")
     }
   }
 
@@ -99,9 +109,9 @@ class LocalContainerAirbyteSource(
 
     Failsafe.with(LocalContainerConstants.LOCAL_CONTAINER_RETRY_POLICY).run(
       CheckedRunnable {
+        messageStream = createMessageStream()
         messageIterator =
-          streamFactory
-            .create(IOs.newBufferedReader(containerIOHandle.getInputStream()), MessageOrigin.SOURCE)
+          messageStream
             .peek { message: AirbyteMessage ->
               val count = messageCount.incrementAndGet()
               if (shouldBeat(message.type)) {
@@ -128,6 +138,13 @@ class LocalContainerAirbyteSource(
     }
   }
 
+  private fun createMessageStream(): Stream<AirbyteMessage> =
+    if (useByteLevelReader) {
+      streamFactory.createFromBytes(containerIOHandle.getInputStream(), MessageOrigin.SOURCE)
+    } else {
+      streamFactory.create(IOs.newBufferedReader(containerIOHandle.getInputStream()), MessageOrigin.SOURCE)
+    }
+
   override val isFinished: Boolean
     /**
      * As this check is done on every message read, it is important for this operation to be efficient.
@@ -25,6 +25,20 @@ class JsonValueAdapter(
   override fun asNumber(): Number = node.asDouble()
 
   override fun asString(): String = node.asText()
+
+  override fun kind(): Value.Kind =
+    when {
+      node.isTextual -> Value.Kind.STRING
+      node.isIntegralNumber && node.canConvertToLong() -> Value.Kind.INTEGER
+      node.isDouble -> Value.Kind.NUMBER
+      node.isBoolean -> Value.Kind.BOOLEAN
+      node.isNull -> Value.Kind.NULL
+      else -> Value.Kind.OTHER
+    }
+
+  override fun asLong(): Long = node.asLong()
+
+  override fun asDouble(): Double = node.asDouble()
 }
 
 data class AirbyteJsonRecordAdapter(
@@ -42,6 +56,8 @@ data class AirbyteJsonRecordAdapter(
 
   override fun get(fieldName: String): Value = JsonValueAdapter(data[fieldName])
 
+  override fun getOrNull(fieldName: String): Value? = data[fieldName]?.let { JsonValueAdapter(it) }
+
   override fun remove(fieldName: String) {
     data.remove(fieldName)
   }
@@ -8,18 +8,18 @@ import kotlinx.coroutines.channels.Channel
 
 class ClosableChannelQueue<T>(
   capacity: Int,
-) {
+) : MessageQueue<T> {
   private val channel = Channel<T>(capacity)
 
-  suspend fun receive(): T? = channel.receiveCatching().getOrNull()
+  override suspend fun receive(): T? = channel.receiveCatching().getOrNull()
 
-  suspend fun send(e: T) = channel.send(e)
+  override suspend fun send(e: T) = channel.send(e)
 
-  fun close() {
+  override fun close() {
     channel.close()
   }
 
-  fun isClosedForSending(): Boolean = channel.isClosedForSend
+  override fun isClosedForSending(): Boolean = channel.isClosedForSend
 
-  fun isClosedForReceiving(): Boolean = channel.isClosedForReceive
+  override fun isClosedForReceiving(): Boolean = channel.isClosedForReceive
 }
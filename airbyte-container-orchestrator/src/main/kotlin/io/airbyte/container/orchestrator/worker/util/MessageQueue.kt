@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.worker.util
+
+/**
+ * Hands messages from one replication task to the next.
+ *
+ * Behaves like a closable channel: [send] fails once the queue is closed and [receive] returns null once the queue is
+ * closed and all the messages sent before have been received.
+ */
+interface MessageQueue<T> {
+  suspend fun receive(): T?
+
+  suspend fun send(e: T)
+
+  fun close()
+
+  fun isClosedForSending(): Boolean
+
+  fun isClosedForReceiving(): Boolean
+}
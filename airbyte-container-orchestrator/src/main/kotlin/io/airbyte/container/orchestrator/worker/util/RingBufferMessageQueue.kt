@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.worker.util
+
+import io.airbyte.metrics.MetricAttribute
+import io.airbyte.metrics.MetricClient
+import io.airbyte.metrics.OssMetricsRegistry
+import io.airbyte.metrics.lib.MetricTags
+import kotlinx.coroutines.CancellableContinuation
+import kotlinx.coroutines.channels.ClosedSendChannelException
+import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlinx.coroutines.yield
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReference
+import java.util.function.ToDoubleFunction
+import kotlin.coroutines.resume
+
+const val DEFAULT_QUEUE_BATCH_SIZE = 64
+const val DEFAULT_QUEUE_MAX_BYTES = 64L * 1024 * 1024
+
+private const val SPIN_ATTEMPTS = 64
+private const val YIELD_ATTEMPTS = 16
+
+/**
+ * Single producer, single consumer [MessageQueue] backed by a ring buffer.
+ *
+ * The producer writes each message to the next free slot and publishes it with a single write, without suspending
+ * unless the queue is full. The consumer claims every published message at once and gives the slots back to the
+ * producer once it has received [batchSize] of them, or when it runs out of messages. Both sides only read the
+ * position of the other side when their cached copy says the queue is full or empty.
+ *
+ * The queue is bounded by [capacity] messages and by [maxBytes], as measured by [sizeOf]. A message is always
+ * accepted by an empty queue, so a single message larger than [maxBytes] does not block the producer forever.
+ *
+ * A side that cannot make progress spins briefly, then yields its thread, and finally suspends until the other side
+ * signals it. The time spent waiting is reported per side: a producer waiting on a full queue means the consumer is
+ * the bottleneck, a consumer waiting on an empty queue means the producer is.
+ *
+ * [send] must only be called from one coroutine at a time, and so must [receive]. [close] can be called from either
+ * side.
+ */
+class RingBufferMessageQueue<T : Any>(
+  private val capacity: Int,
+  batchSize: Int = DEFAULT_QUEUE_BATCH_SIZE,
+  private val maxBytes: Long = DEFAULT_QUEUE_MAX_BYTES,
+  private val sizeOf: (T) -> Long = { 0L },
+  metricClient: MetricClient? = null,
+  queueName: String = "",
+) : MessageQueue<T> {
+  private val batchSize = batchSize.coerceIn(1, capacity)
+  private val mask: Int
+  private val messages: Array<Any?>
+  private val sizes: LongArray
+
+  // Written by the producer only.
+  private val tail = AtomicLong()
+  private val producedBytes = AtomicLong()
+  private var cachedHead = 0L
+  private var cachedConsumedBytes = 0L
+
+  // Written by the consumer only.
+  private val head = AtomicLong()
+  private val consumedBytes = AtomicLong()
+  private var consumerBytes = 0L
+  private var cachedTail = 0L
+  private var unreleased = 0
+
+  // Also read by isClosedForReceiving, from other threads than the consumer.
+  @Volatile
+  private var consumerPosition = 0L
+
+  @Volatile
+  private var closed = false
+
+  private val producerSignal = WaitSignal()
+  private val consumerSignal = WaitSignal()
+
+  private val producerWaitTimer =
+    metricClient?.timer(OssMetricsRegistry.REPLICATION_QUEUE_PRODUCER_WAIT, MetricAttribute(MetricTags.QUEUE_NAME_TAG, queueName))
+  private val consumerWaitTimer =
+    metricClient?.timer(OssMetricsRegistry.REPLICATION_QUEUE_CONSUMER_WAIT, MetricAttribute(MetricTags.QUEUE_NAME_TAG, queueName))
+
+  init {
+    require(capacity > 0) { "The queue capacity must be positive" }
+    val slots = Integer.highestOneBit(capacity).let { if (it < capacity) it shl 1 else it }
+    mask = slots - 1
+    messages = arrayOfNulls(slots)
+    sizes = LongArray(slots)
+
+    metricClient?.gauge(
+      OssMetricsRegistry.REPLICATION_QUEUE_DEPTH,
+      this,
+      ToDoubleFunction { it.size().toDouble() },
+      MetricAttribute(MetricTags.QUEUE_NAME_TAG, queueName),
+    )
+    metricClient?.gauge(
+      OssMetricsRegistry.REPLICATION_QUEUE_BYTES,
+      this,
+      ToDoubleFunction { it.sizeInBytes().toDouble() },
+      MetricAttribute(MetricTags.QUEUE_NAME_TAG, queueName),
+    )
+  }
+
+  override suspend fun send(e: T) {
+    if (closed) {
+      throw ClosedSendChannelException("The queue is closed")
+    }
+    val position = tail.get()
+    val size = sizeOf(e)
+    if (!hasRoom(position, size)) {
+      awaitRoom(position, size)
+    }
+    val slot = (position and mask.toLong()).toInt()
+    messages[slot] = e
+    sizes[slot] = size
+    producedBytes.lazySet(producedBytes.get() + size)
+    // Full barrier: the consumer may have registered as waiting just before.
+    tail.set(position + 1)
+    consumerSignal.signal()
+  }
+
+  override suspend fun receive(): T? {
+    if (consumerPosition == cachedTail && !refill() && !awaitMessages()) {
+      return null
+    }
+    val slot = (consumerPosition and mask.toLong()).toInt()
+    @Suppress("UNCHECKED_CAST")
+    val message = messages[slot] as T
+    messages[slot] = null
+    consumerBytes += sizes[slot]
+    consumerPosition++
+    if (++unreleased >= batchSize) {
+      release()
+    }
+    return message
+  }
+
+  override fun close() {
+    closed = true
+    producerSignal.signal()
+    consumerSignal.signal()
+  }
+
+  override fun isClosedForSending(): Boolean = closed
+
+  override fun isClosedForReceiving(): Boolean = closed && consumerPosition == tail.get()
+
+  /**
+   * Number of messages sent and not yet handed back by the consumer.
+   */
+  fun size(): Long = tail.get() - head.get()
+
+  /**
+   * Size of the messages sent and not yet handed back by the consumer.
+   */
+  fun sizeInBytes(): Long = producedBytes.get() - consumedBytes.get()
+
+  private fun hasRoom(
+    position: Long,
+    size: Long,
+  ): Boolean {
+    if (fits(position, size)) {
+      return true
+    }
+    // The consumer publishes its bytes before its position, read them in the opposite order.
+    cachedHead = head.get()
+    cachedConsumedBytes = consumedBytes.get()
+    return fits(position, size)
+  }
+
+  private fun fits(
+    position: Long,
+    size: Long,
+  ): Boolean {
+    val count = position - cachedHead
+    return count < capacity && (count == 0L || producedBytes.get() - cachedConsumedBytes + size <= maxBytes)
+  }
+
+  private suspend fun awaitRoom(
+    position: Long,
+    size: Long,
+  ) {
+    val start = System.nanoTime()
+    var attempt = 0
+    while (!closed && !hasRoom(position, size)) {
+      attempt = idle(attempt, producerSignal) { closed || hasRoom(position, size) }
+    }
+    producerWaitTimer?.record(System.nanoTime() - start, TimeUnit.NANOSECONDS)
+    if (closed) {
+      throw ClosedSendChannelException("The queue is closed")
+    }
+  }
+
+  /**
+   * Hands the received slots back to the producer and claims the messages published since the last call.
+   */
+  private fun refill(): Boolean {
+    release()
+    cachedTail = tail.get()
+    return consumerPosition != cachedTail
+  }
+
+  private fun release() {
+    if (unreleased == 0) {
+      return
+    }
+    unreleased = 0
+    consumedBytes.lazySet(consumerBytes)
+    // Full barrier: the producer may have registered as waiting just before.
+    head.set(consumerPosition)
+    producerSignal.signal()
+  }
+
+  /**
+   * Waits for messages to be published. Returns false if the queue was closed and has been drained.
+   */
+  private suspend fun awaitMessages(): Boolean {
+    val start = System.nanoTime()
+    var attempt = 0
+    try {
+      while (!refill()) {
+        if (closed) {
+          // Messages sent before the queue was closed are published by now.
+          return refill()
+        }
+        attempt = idle(attempt, consumerSignal) { closed || tail.get() != consumerPosition }
+      }
+      return true
+    } finally {
+      consumerWaitTimer?.record(System.nanoTime() - start, TimeUnit.NANOSECONDS)
+    }
+  }
+
+  private suspend fun idle(
+    attempt: Int,
+    signal: WaitSignal,
+    ready: () -> Boolean,
+  ): Int =
+    when {
+      attempt < SPIN_ATTEMPTS -> {
+        Thread.onSpinWait()
+        attempt + 1
+      }
+      attempt < SPIN_ATTEMPTS + YIELD_ATTEMPTS -> {
+        yield()
+        attempt + 1
+      }
+      else -> {
+        signal.await(ready)
+        attempt
+      }
+    }
+
+  /**
+   * Lets one side of the queue suspend until the other side makes progress.
+   *
+   * Signalling costs a volatile read when nobody is waiting.
+   */
+  private class WaitSignal {
+    private val waiter = AtomicReference<CancellableContinuation<Unit>?>()
+
+    suspend fun await(ready: () -> Boolean) {
+      suspendCancellableCoroutine { continuation ->
+        waiter.set(continuation)
+        continuation.invokeOnCancellation { waiter.compareAndSet(continuation, null) }
+        // Checked after registering, otherwise a signal sent in between would be lost.
+        if (ready() && waiter.compareAndSet(continuation, null)) {
+          continuation.resume(Unit)
+        }
+      }
+    }
+
+    fun signal() {
+      if (waiter.get() != null) {
+        waiter.getAndSet(null)?.resume(Unit)
+      }
+    }
+  }
+}
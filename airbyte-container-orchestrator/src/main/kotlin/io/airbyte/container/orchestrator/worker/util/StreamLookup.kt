@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.worker.util
+
+/**
+ * Read-only per-stream values, looked up by the namespace and name of a stream without allocating a key.
+ *
+ * Built once at the start of the sync from values that know their own stream, and safe to read concurrently
+ * afterward. When several values have the same stream, the last one wins.
+ */
+class StreamLookup<V : Any>(
+  values: Iterable<V>,
+  namespace: (V) -> String?,
+  name: (V) -> String,
+) {
+  private val valuesByNamespace: Map<String?, Map<String, V>> =
+    HashMap<String?, HashMap<String, V>>().apply {
+      values.forEach { value -> getOrPut(namespace(value)) { HashMap() }[name(value)] = value }
+    }
+
+  operator fun get(
+    namespace: String?,
+    name: String?,
+  ): V? = name?.let { valuesByNamespace[namespace]?.get(it) }
+}
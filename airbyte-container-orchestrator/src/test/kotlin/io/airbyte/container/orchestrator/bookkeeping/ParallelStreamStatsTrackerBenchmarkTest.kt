@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.bookkeeping
+
+import io.airbyte.commons.json.JsonByteSizeEstimator
+import io.airbyte.micronaut.runtime.AirbyteContainerOrchestratorConfig
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
+import io.airbyte.workers.models.ArchitectureConstants
+import io.airbyte.workers.testutils.AirbyteMessageUtils
+import io.github.oshai.kotlinlogging.KotlinLogging
+import io.mockk.mockk
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty
+import java.lang.management.ManagementFactory
+import java.math.BigDecimal
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicLong
+
+private val logger = KotlinLogging.logger {}
+
+private const val RECORD_COUNT = 2_000_000
+private const val THREAD_COUNT = 4
+private const val ITERATIONS = 5
+
+/**
+ * Compares throughput and allocations of [ParallelStreamStatsTracker.updateStats] with the per record bookkeeping it
+ * used to do with shared [AtomicLong]s and a [BigDecimal] map merge.
+ *
+ * Run with `-Dbenchmark=true`.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+internal class ParallelStreamStatsTrackerBenchmarkTest {
+  private val record: AirbyteRecordMessage =
+    AirbyteMessageUtils
+      .createRecordMessage("stream", (0 until 10).associate { "column_$it" to "value $it" })
+      .record
+
+  @Test
+  fun compareStreamCounters() {
+    val before = measure("atomic counters", LegacyStreamStats()::trackRecord)
+    val tracker =
+      ParallelStreamStatsTracker(
+        mockk(relaxed = true),
+        mockk(relaxed = true),
+        AirbyteContainerOrchestratorConfig(platformMode = ArchitectureConstants.ORCHESTRATOR),
+      )
+    val after = measure("striped counters", tracker::updateStats)
+
+    logger.info {
+      "Striped counters: ${"%.2f".format(after.recordsPerSecond / before.recordsPerSecond)}x throughput, " +
+        "${after.bytesAllocatedPerRecord} instead of ${before.bytesAllocatedPerRecord} bytes allocated/record"
+    }
+    assertEquals(
+      RECORD_COUNT.toLong() * (ITERATIONS + 1),
+      tracker.getStats().values.single().recordsEmitted,
+    )
+  }
+
+  private fun measure(
+    name: String,
+    track: (AirbyteRecordMessage) -> Unit,
+  ): Result {
+    val threadMXBean = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+    // Warm up
+    repeat(RECORD_COUNT) { track(record) }
+
+    // Allocations are measured on a single thread, throughput with threads updating the same stream.
+    val allocatedBefore = threadMXBean.currentThreadAllocatedBytes
+    repeat(RECORD_COUNT) { track(record) }
+    val bytesAllocatedPerRecord = (threadMXBean.currentThreadAllocatedBytes - allocatedBefore) / RECORD_COUNT
+
+    var elapsedNanos = 0L
+    repeat(ITERATIONS - 1) {
+      val start = CountDownLatch(1)
+      val threads =
+        (0 until THREAD_COUNT).map {
+          Thread {
+            start.await()
+            repeat(RECORD_COUNT / THREAD_COUNT) { track(record) }
+          }.also { it.start() }
+        }
+      val startNanos = System.nanoTime()
+      start.countDown()
+      threads.forEach { it.join() }
+      elapsedNanos += System.nanoTime() - startNanos
+    }
+
+    return Result(
+      recordsPerSecond = RECORD_COUNT.toLong() * (ITERATIONS - 1) * 1_000_000_000.0 / elapsedNanos,
+      bytesAllocatedPerRecord = bytesAllocatedPerRecord,
+    ).also {
+      logger.info { "$name: ${"%.0f".format(it.recordsPerSecond)} records/s, ${it.bytesAllocatedPerRecord} bytes allocated/record" }
+    }
+  }
+
+  /**
+   * The per record bookkeeping of [StreamStatsTracker.trackRecord] before its counters were striped.
+   */
+  private class LegacyStreamStats {
+    private val remittedRecordsCount = AtomicLong()
+    private val remittedBytesCount = AtomicLong()
+    private val emittedRecordsCount = AtomicLong()
+    private val emittedBytesCount = AtomicLong()
+    private val additionalStats: MutableMap<String, BigDecimal> = ConcurrentHashMap()
+
+    fun trackRecord(recordMessage: AirbyteRecordMessage) {
+      val bytes = JsonByteSizeEstimator.estimate(recordMessage.data)
+      remittedRecordsCount.incrementAndGet()
+      remittedBytesCount.addAndGet(bytes)
+      emittedRecordsCount.incrementAndGet()
+      emittedBytesCount.addAndGet(bytes)
+
+      var fieldsPopulated = 0L
+      recordMessage.data.fieldNames().forEach { fieldName ->
+        val field = recordMessage.data.get(fieldName)
+        if (field != null && !field.isNull) {
+          fieldsPopulated++
+        }
+      }
+      mapOf(SOURCE_FIELDS_POPULATED_METRIC_NAME to fieldsPopulated.toBigDecimal()).forEach { (key, value) ->
+        additionalStats.merge(key, value, BigDecimal::add)
+      }
+    }
+  }
+
+  private data class Result(
+    val recordsPerSecond: Double,
+    val bytesAllocatedPerRecord: Long,
+  )
+}
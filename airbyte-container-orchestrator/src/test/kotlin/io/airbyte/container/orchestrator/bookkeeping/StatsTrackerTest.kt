@@ -17,6 +17,7 @@ import io.airbyte.protocol.models.v0.AirbyteStateStats
 import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair
 import io.airbyte.protocol.models.v0.AirbyteStreamState
 import io.airbyte.protocol.models.v0.StreamDescriptor
+import io.airbyte.workers.internal.RawAirbyteRecordMessage
 import io.mockk.mockk
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertNotEquals
@@ -81,6 +82,34 @@ internal class StatsTrackerTest {
     )
   }
 
+  @Test
+  fun `test that the global state hash code covers the additional properties of the state`() {
+    fun globalStateMessage(configure: AirbyteGlobalState.() -> Unit): AirbyteStateMessage =
+      AirbyteStateMessage()
+        .withType(AirbyteStateType.GLOBAL)
+        .withGlobal(
+          AirbyteGlobalState()
+            .withSharedState(Jsons.jsonNode(mapOf("id" to "12345")))
+            .withStreamStates(
+              listOf(
+                AirbyteStreamState()
+                  .withStreamState(Jsons.jsonNode(mapOf("col" to "9999")))
+                  .withStreamDescriptor(StreamDescriptor().withName("name").withNamespace("namespace")),
+              ),
+            ).apply(configure),
+        )
+
+    val hashCode = globalStateMessage {}.getStateHashCode()
+
+    assertEquals(hashCode, globalStateMessage {}.getStateHashCode())
+    assertNotEquals(hashCode, globalStateMessage { setAdditionalProperty("extra", "value") }.getStateHashCode())
+    assertNotEquals(hashCode, globalStateMessage { streamStates[0].setAdditionalProperty("extra", "value") }.getStateHashCode())
+    assertNotEquals(
+      hashCode,
+      globalStateMessage { streamStates[0].streamDescriptor.setAdditionalProperty("extra", "value") }.getStateHashCode(),
+    )
+  }
+
   @Test
   fun `test file reference transfer stats`() {
     val streamStatsTracker =
@@ -109,7 +138,7 @@ internal class StatsTrackerTest {
 
     streamStatsTracker.trackRecord(record)
 
-    assertEquals(fileReferenceSize, streamStatsTracker.streamStats.emittedBytesCount.get())
+    assertEquals(fileReferenceSize, streamStatsTracker.streamStats.emittedBytesCount.sum())
   }
 
   @Test
@@ -133,7 +162,7 @@ internal class StatsTrackerTest {
 
     streamStatsTracker.trackRecord(record)
 
-    assertEquals(size, streamStatsTracker.streamStats.emittedBytesCount.get())
+    assertEquals(size, streamStatsTracker.streamStats.emittedBytesCount.sum())
   }
 
   @Test
@@ -156,7 +185,29 @@ internal class StatsTrackerTest {
 
     streamStatsTracker.trackRecord(record)
 
-    assertNotEquals(size, streamStatsTracker.streamStats.emittedBytesCount.get())
+    assertNotEquals(size, streamStatsTracker.streamStats.emittedBytesCount.sum())
+  }
+
+  @Test
+  fun `test record size uses the size read from the source`() {
+    val streamStatsTracker =
+      StreamStatsTracker(
+        mockk(),
+        mockk(relaxed = true),
+        false,
+      )
+
+    val data = Jsons.jsonNode(mapOf("id" to 1, "name" to "日本"))
+    val rawRecord = RawAirbyteRecordMessage()
+    rawRecord.withStream("name").withData(data)
+    rawRecord.dataSizeInBytes = 42L
+    streamStatsTracker.trackRecord(rawRecord)
+    assertEquals(42L, streamStatsTracker.streamStats.emittedBytesCount.sum())
+
+    // Without a size from the source, the UTF-8 size of the serialized data is used.
+    val record = AirbyteRecordMessage().withStream("name").withData(data)
+    streamStatsTracker.trackRecord(record)
+    assertEquals(42L + Jsons.serialize(data).toByteArray(Charsets.UTF_8).size, streamStatsTracker.streamStats.emittedBytesCount.sum())
   }
 
   // Test written by Claude Code
@@ -289,6 +340,27 @@ internal class StatsTrackerTest {
     assertEquals(0.toBigDecimal(), streamStatsTracker.streamStats.additionalStats["sourceFieldsPopulated"])
   }
 
+  @Test
+  fun `test stats tracked concurrently are all counted`() {
+    val streamStatsTracker = StreamStatsTracker(AirbyteStreamNameNamespacePair("name", "namespace"), mockk(relaxed = true), false)
+    val record =
+      AirbyteRecordMessage()
+        .withStream("name")
+        .withNamespace("namespace")
+        .withData(Jsons.jsonNode(mapOf("id" to 1, "name" to "test")))
+    val recordSize = Jsons.serialize(record.data).toByteArray(Charsets.UTF_8).size.toLong()
+
+    val threads = (0 until 4).map { Thread { repeat(10_000) { streamStatsTracker.trackRecord(record) } } }
+    threads.forEach { it.start() }
+    threads.forEach { it.join() }
+    streamStatsTracker.streamStats.mergeAdditionalStats(mapOf(SOURCE_FIELDS_POPULATED_METRIC_NAME to 1.toBigDecimal()))
+
+    assertEquals(40_000L, streamStatsTracker.streamStats.emittedRecordsCount.sum())
+    assertEquals(40_000L * recordSize, streamStatsTracker.streamStats.emittedBytesCount.sum())
+    assertEquals(40_000L, streamStatsTracker.getEmittedRecordCountForCurrentState())
+    assertEquals(80_001.toBigDecimal(), streamStatsTracker.streamStats.additionalStats[SOURCE_FIELDS_POPULATED_METRIC_NAME])
+  }
+
   @ParameterizedTest
   @CsvSource(value = ["true", "false"])
   fun testTrackingStateMessageFromDestination(isBookkeeperMode: Boolean) {
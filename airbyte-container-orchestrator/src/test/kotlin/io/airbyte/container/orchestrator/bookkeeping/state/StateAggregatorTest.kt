@@ -199,6 +199,28 @@ internal class StateAggregatorTest {
     assertEquals(listOf(stateA2, stateB2, stateC1), getStateMessages(stateAggregator.getAggregated()))
   }
 
+  @Test
+  fun testDrainMovesTheStatesToANewAggregator() {
+    val stateAggregator = DefaultStateAggregator(StreamStateAggregator(), SingleStateAggregator())
+    val stateA1 = getStreamMessage("a", 1)
+    val stateB2 = getStreamMessage("b", 2)
+    stateAggregator.ingest(stateA1)
+    stateAggregator.ingest(stateB2)
+
+    val drained = stateAggregator.drain()
+    assertTrue(stateAggregator.isEmpty())
+    assertEquals(listOf(stateA1, stateB2), getStateMessages(drained.getAggregated()))
+
+    // The drained aggregator keeps its state type
+    assertThrows(
+      IllegalArgumentException::class.java,
+    ) { stateAggregator.ingest(getGlobalMessage(1)) }
+    val stateA2 = getStreamMessage("a", 2)
+    stateAggregator.ingest(stateA2)
+    assertEquals(listOf(stateA2), getStateMessages(stateAggregator.getAggregated()))
+    assertEquals(listOf(stateA1, stateB2), getStateMessages(drained.getAggregated()))
+  }
+
   @Test
   fun testIngestFromAnotherStateAggregatorChecksStateType() {
     stateAggregator =
@@ -21,7 +21,6 @@ import io.airbyte.container.orchestrator.bookkeeping.StateCheckSumCountEventHand
 import io.airbyte.container.orchestrator.bookkeeping.SyncStatsTracker
 import io.airbyte.container.orchestrator.bookkeeping.state.DefaultStateAggregator
 import io.airbyte.container.orchestrator.bookkeeping.state.SingleStateAggregator
-import io.airbyte.container.orchestrator.bookkeeping.state.StateAggregator
 import io.airbyte.container.orchestrator.bookkeeping.state.StreamStateAggregator
 import io.airbyte.metrics.MetricClient
 import io.airbyte.micronaut.runtime.AirbyteContainerOrchestratorConfig
@@ -61,7 +60,7 @@ internal class SyncPersistenceImplTest {
   private lateinit var attemptApiClient: AttemptApi
   private lateinit var executorService: ScheduledExecutorService
   private lateinit var actualFlushMethod: CapturingSlot<Runnable>
-  private lateinit var stateAggregator: StateAggregator
+  private lateinit var stateAggregator: DefaultStateAggregator
   private lateinit var airbyteContainerOrchestratorConfig: AirbyteContainerOrchestratorConfig
   private lateinit var airbyteWorkerConfig: AirbyteWorkerConfig
   private lateinit var airbyteContextConfig: AirbyteContextConfig
@@ -217,6 +216,67 @@ internal class SyncPersistenceImplTest {
     verify(exactly = 0) { stateApiClient.createOrUpdateState(any()) }
   }
 
+  @Test
+  fun testFlushOnlySendsTheStreamsThatChanged() {
+    val stateA1 = getStreamState("A", 1)
+    val stateB1 = getStreamState("B", 1)
+    syncPersistence.accept(airbyteContextConfig.connectionIdAsUUID(), stateA1)
+    syncPersistence.accept(airbyteContextConfig.connectionIdAsUUID(), stateB1)
+    actualFlushMethod.captured.run()
+    verifyStateUpdateApiCall(listOf(stateA1, stateB1))
+    clearInvocations(listOf(stateApiClient))
+
+    // A stream emitting the state it already had doesn't need to be sent again
+    val stateA2 = getStreamState("A", 2)
+    syncPersistence.accept(airbyteContextConfig.connectionIdAsUUID(), stateA2)
+    syncPersistence.accept(airbyteContextConfig.connectionIdAsUUID(), getStreamState("B", 1))
+    actualFlushMethod.captured.run()
+    verifyStateUpdateApiCall(listOf(stateA2))
+    clearInvocations(listOf(stateApiClient))
+
+    syncPersistence.accept(airbyteContextConfig.connectionIdAsUUID(), getStreamState("A", 2))
+    actualFlushMethod.captured.run()
+    verify(exactly = 0) { stateApiClient.createOrUpdateState(any()) }
+  }
+
+  @Test
+  fun testFlushSendsTheNullStateOfAStreamThatWasNotFlushedYet() {
+    val stateA1 = getStreamState("A", 1)
+    syncPersistence.accept(airbyteContextConfig.connectionIdAsUUID(), stateA1)
+    actualFlushMethod.captured.run()
+    verifyStateUpdateApiCall(listOf(stateA1))
+    clearInvocations(listOf(stateApiClient))
+
+    // A null state resets the stored state of the stream, so it must be sent even though nothing was flushed for it yet
+    val clearedB = getStreamState("B", 1).apply { stream.streamState = null }
+    syncPersistence.accept(airbyteContextConfig.connectionIdAsUUID(), clearedB)
+    actualFlushMethod.captured.run()
+    verifyStateUpdateApiCall(listOf(clearedB))
+    clearInvocations(listOf(stateApiClient))
+
+    syncPersistence.accept(airbyteContextConfig.connectionIdAsUUID(), getStreamState("B", 1).apply { stream.streamState = null })
+    actualFlushMethod.captured.run()
+    verify(exactly = 0) { stateApiClient.createOrUpdateState(any()) }
+  }
+
+  @Test
+  fun testStatesAcceptedDuringAFlushAreFlushedNext() {
+    val stateA1 = getStreamState("A", 1)
+    val stateB1 = getStreamState("B", 1)
+    syncPersistence.accept(airbyteContextConfig.connectionIdAsUUID(), stateA1)
+    every { stateApiClient.createOrUpdateState(any()) } answers {
+      syncPersistence.accept(airbyteContextConfig.connectionIdAsUUID(), stateB1)
+      mockk(relaxed = true)
+    }
+    actualFlushMethod.captured.run()
+    verifyStateUpdateApiCall(listOf(stateA1))
+    clearInvocations(listOf(stateApiClient))
+
+    every { stateApiClient.createOrUpdateState(any()) } returns mockk(relaxed = true)
+    actualFlushMethod.captured.run()
+    verifyStateUpdateApiCall(listOf(stateB1))
+  }
+
   @Test
   fun testStatsFlushBasicEmissions() {
     syncPersistence.updateStats(AirbyteRecordMessage())
@@ -4,25 +4,38 @@
 
 package io.airbyte.container.orchestrator.worker
 
+import com.fasterxml.jackson.databind.node.ObjectNode
 import io.airbyte.commons.resources.Resources
 import io.airbyte.config.StandardSync
+import io.airbyte.metrics.MetricClient
+import io.airbyte.metrics.OssMetricsRegistry
 import io.airbyte.persistence.job.models.ReplicationInput
 import io.airbyte.protocol.models.Jsons
 import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
 import io.airbyte.protocol.models.v0.AirbyteStream
 import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair
 import io.airbyte.validation.json.JsonSchemaValidator
 import io.airbyte.workers.WorkerUtils
 import io.airbyte.workers.testutils.AirbyteMessageUtils
 import io.airbyte.workers.testutils.TestConfigHelpers.createReplicationConfig
+import io.micrometer.core.instrument.Counter
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
 import java.util.concurrent.TimeUnit
 import java.util.function.Consumer
+import kotlin.concurrent.thread
 
 private val AIRBYTE_STREAM_NAME_NAMESPACE_PAIR: AirbyteStreamNameNamespacePair = AirbyteStreamNameNamespacePair("user_preferences", "")
 private val STREAM_NAME: String = AIRBYTE_STREAM_NAME_NAMESPACE_PAIR.name
@@ -50,6 +63,7 @@ internal class RecordSchemaValidatorTest {
       jsonSchemaValidator = JsonSchemaValidator(),
       schemaValidationExecutorService = Executors.newSingleThreadExecutor(),
       streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(replicationInput.catalog),
+      metricClient = mockk(relaxed = true),
     ).use { recordSchemaValidator ->
       recordSchemaValidator.validateSchema(
         message = VALID_RECORD.record,
@@ -66,6 +80,7 @@ internal class RecordSchemaValidatorTest {
       jsonSchemaValidator = JsonSchemaValidator(),
       schemaValidationExecutorService = Executors.newSingleThreadExecutor(),
       streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(replicationInput.catalog),
+      metricClient = mockk(relaxed = true),
     ).use { recordSchemaValidator ->
       recordSchemaValidator.validateSchemaWithoutCounting(
         message = VALID_RECORD.record,
@@ -84,6 +99,7 @@ internal class RecordSchemaValidatorTest {
         jsonSchemaValidator = JsonSchemaValidator(),
         schemaValidationExecutorService = executorService,
         streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(replicationInput.catalog),
+        metricClient = mockk(relaxed = true),
       )
     recordSchemaValidator.initializeSchemaValidator()
     val messagesToValidate: MutableList<AirbyteMessage> = mutableListOf(INVALID_RECORD_1, INVALID_RECORD_2, VALID_RECORD)
@@ -110,6 +126,7 @@ internal class RecordSchemaValidatorTest {
         jsonSchemaValidator = JsonSchemaValidator(),
         schemaValidationExecutorService = executorService,
         streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(replicationInput.catalog),
+        metricClient = mockk(relaxed = true),
       )
     recordSchemaValidator.initializeSchemaValidator()
     val messagesToValidate: MutableList<AirbyteMessage> = mutableListOf(INVALID_RECORD_1, INVALID_RECORD_2, VALID_RECORD)
@@ -139,6 +156,7 @@ internal class RecordSchemaValidatorTest {
         jsonSchemaValidator = JsonSchemaValidator(),
         schemaValidationExecutorService = executorService,
         streamNamesToSchemas = mutableMapOf(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR to airbyteStream.jsonSchema),
+        metricClient = mockk(relaxed = true),
       )
     val messagesToValidate = mutableListOf(AirbyteMessageUtils.createRecordMessage(STREAM_NAME, "id", "5"))
 
@@ -155,4 +173,109 @@ internal class RecordSchemaValidatorTest {
     executorService.awaitTermination(3, TimeUnit.SECONDS)
     assertEquals(0, uncountedValidationErrors.size)
   }
+
+  @Test
+  fun testSampledRecordsAreDroppedWhenValidationIsBehind() {
+    val tasks = mutableListOf<Runnable>()
+    val droppedSamples = mockk<Counter>(relaxed = true)
+    val metricClient =
+      mockk<MetricClient>(relaxed = true) {
+        every { counter(OssMetricsRegistry.SCHEMA_VALIDATION_DROPPED_SAMPLES, *anyVararg()) } returns droppedSamples
+      }
+    val recordSchemaValidator =
+      createValidator(capturingExecutor(tasks), metricClient = metricClient, maxPendingValidations = 1, sampleRate = 2)
+
+    // The first and third records are sampled, the third one is dropped.
+    repeat(3) { validate(recordSchemaValidator, INVALID_RECORD_1.record) }
+
+    assertEquals(1, tasks.size)
+    verify(exactly = 1) { droppedSamples.increment() }
+
+    tasks.removeAt(0).run()
+    repeat(2) { validate(recordSchemaValidator, INVALID_RECORD_2.record) }
+    tasks.removeAt(0).run()
+
+    assertEquals(2, validationErrors[AIRBYTE_STREAM_NAME_NAMESPACE_PAIR]?.second)
+  }
+
+  @Test
+  fun testRecordsWaitForValidationWhenNotSampled() {
+    val tasks = CopyOnWriteArrayList<Runnable>()
+    val droppedSamples = mockk<Counter>(relaxed = true)
+    val metricClient =
+      mockk<MetricClient>(relaxed = true) {
+        every { counter(OssMetricsRegistry.SCHEMA_VALIDATION_DROPPED_SAMPLES, *anyVararg()) } returns droppedSamples
+      }
+    val recordSchemaValidator = createValidator(capturingExecutor(tasks), metricClient = metricClient, maxPendingValidations = 1)
+
+    validate(recordSchemaValidator, INVALID_RECORD_1.record)
+    val producer = thread { validate(recordSchemaValidator, INVALID_RECORD_2.record) }
+    producer.join(100)
+
+    assertTrue(producer.isAlive)
+    assertEquals(1, tasks.size)
+
+    tasks.removeAt(0).run()
+    producer.join(TimeUnit.SECONDS.toMillis(10))
+    tasks.removeAt(0).run()
+
+    assertFalse(producer.isAlive)
+    assertEquals(2, validationErrors[AIRBYTE_STREAM_NAME_NAMESPACE_PAIR]?.second)
+    verify(exactly = 0) { droppedSamples.increment() }
+  }
+
+  @Test
+  fun testOnlySampledRecordsAreValidated() {
+    val tasks = mutableListOf<Runnable>()
+    val recordSchemaValidator = createValidator(capturingExecutor(tasks), sampleRate = 2)
+
+    repeat(5) { validate(recordSchemaValidator, INVALID_RECORD_1.record) }
+
+    assertEquals(3, tasks.size)
+  }
+
+  @Test
+  fun testRecordsAreValidatedAsTheyWereSubmitted() {
+    val tasks = mutableListOf<Runnable>()
+    val recordSchemaValidator = createValidator(capturingExecutor(tasks))
+    val record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "blue").record
+
+    validate(recordSchemaValidator, record)
+    // Later stages of the pipeline modify the record.
+    (record.data as ObjectNode).put(FIELD_NAME, 3)
+    tasks.forEach { it.run() }
+
+    assertEquals(0, validationErrors.size)
+  }
+
+  private fun createValidator(
+    executorService: ExecutorService,
+    metricClient: MetricClient = mockk(relaxed = true),
+    maxPendingValidations: Int = DEFAULT_MAX_PENDING_VALIDATIONS,
+    sampleRate: Int = 1,
+  ): RecordSchemaValidator =
+    RecordSchemaValidator(
+      jsonSchemaValidator = JsonSchemaValidator(),
+      schemaValidationExecutorService = executorService,
+      streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(replicationInput.catalog),
+      metricClient = metricClient,
+      maxPendingValidations = maxPendingValidations,
+      sampleRate = sampleRate,
+    ).also { it.initializeSchemaValidator() }
+
+  private fun capturingExecutor(tasks: MutableList<Runnable>): ExecutorService =
+    mockk {
+      every { execute(any()) } answers { tasks.add(firstArg()) }
+    }
+
+  private fun validate(
+    recordSchemaValidator: RecordSchemaValidator,
+    record: AirbyteRecordMessage,
+  ) {
+    recordSchemaValidator.validateSchema(
+      message = record,
+      airbyteStream = AIRBYTE_STREAM_NAME_NAMESPACE_PAIR,
+      validationErrors = validationErrors,
+    )
+  }
 }
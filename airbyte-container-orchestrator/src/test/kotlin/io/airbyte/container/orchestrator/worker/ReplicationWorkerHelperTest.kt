@@ -225,7 +225,7 @@ class ReplicationWorkerHelperTest {
           .withRecord(AirbyteRecordMessage().withStream("s").withData(ObjectMapper().createObjectNode())),
       )
     helper.applyTransformationMappers(adapter)
-    verify(exactly = 0) { recordMapper.applyMappers(any(), any<List<MapperConfig>>()) }
+    verify(exactly = 0) { recordMapper.applyMappers(any(), any<RecordMapper.MapperChain>()) }
   }
 
   @Test
@@ -280,6 +280,7 @@ class ReplicationWorkerHelperTest {
       )
     helper.applyTransformationMappers(adapter)
 
-    verify(exactly = 1) { recordMapper.applyMappers(adapter, listOf(mapperConfig)) }
+    verify(exactly = 1) { recordMapper.resolve(listOf(mapperConfig)) }
+    verify(exactly = 1) { recordMapper.applyMappers(adapter, any<RecordMapper.MapperChain>()) }
   }
 }
@@ -410,6 +410,7 @@ class ReplicationWorkerPortedTests {
         jsonSchemaValidator = JsonSchemaValidator(),
         schemaValidationExecutorService = Executors.newSingleThreadExecutor(),
         streamNamesToSchemas = mutableMapOf(AirbyteStreamNameNamespacePair(stream.name, stream.namespace) to stream.jsonSchema),
+        metricClient = mockk(relaxed = true),
       )
 
     val fieldSelector = FieldSelector(recordSchemaValidator, replicationMetricReporter, replicationInput, replicationInputFeatureFlagReader)
@@ -479,6 +480,7 @@ class ReplicationWorkerPortedTests {
         jsonSchemaValidator = JsonSchemaValidator(),
         schemaValidationExecutorService = Executors.newSingleThreadExecutor(),
         streamNamesToSchemas = mutableMapOf(AirbyteStreamNameNamespacePair(stream.name, stream.namespace) to stream.jsonSchema),
+        metricClient = mockk(relaxed = true),
       )
 
     val fieldSelector = FieldSelector(recordSchemaValidator, replicationMetricReporter, replicationInput, replicationInputFeatureFlagReader)
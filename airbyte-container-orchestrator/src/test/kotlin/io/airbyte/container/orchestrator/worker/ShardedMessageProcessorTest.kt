@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.worker
+
+import io.airbyte.commons.json.Jsons
+import io.airbyte.container.orchestrator.worker.util.ClosableChannelQueue
+import io.airbyte.metrics.MetricClient
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.protocol.models.v0.AirbyteMessage.Type
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
+import io.airbyte.protocol.models.v0.AirbyteStateMessage
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.runBlocking
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.util.Optional
+
+internal class ShardedMessageProcessorTest {
+  private lateinit var replicationWorkerState: ReplicationWorkerState
+  private lateinit var replicationWorkerHelper: ReplicationWorkerHelper
+  private lateinit var metricClient: MetricClient
+  private lateinit var sourceQueue: ClosableChannelQueue<AirbyteMessage>
+  private lateinit var destinationQueue: ClosableChannelQueue<AirbyteMessage>
+
+  @BeforeEach
+  fun setUp() {
+    replicationWorkerState = mockk(relaxed = true)
+    replicationWorkerHelper = mockk()
+    metricClient = mockk(relaxed = true)
+    sourceQueue = ClosableChannelQueue(100_000)
+    destinationQueue = ClosableChannelQueue(100_000)
+
+    every { replicationWorkerState.shouldAbort } returns false
+    every { replicationWorkerHelper.processMessageFromSource(any()) } answers { Optional.of(firstArg()) }
+  }
+
+  @Test
+  fun `keeps the order of each stream and sends states after the records read before them`() {
+    val input =
+      (0 until 10_000).map { i ->
+        if (i % 500 == 499) state() else record("stream_${i % 7}", i)
+      }
+
+    val output = process(input, shardCount = 4)
+
+    assertEquals(input.size, output.size)
+    for (stream in (0 until 7).map { "stream_$it" }) {
+      assertEquals(input.filter { it.record?.stream == stream }, output.filter { it.record?.stream == stream })
+    }
+    output.forEachIndexed { index, message ->
+      if (message.type == Type.STATE) {
+        val inputIndex = input.indexOfFirst { it === message }
+        assertEquals(input.subList(0, inputIndex).toSet(), output.subList(0, index).toSet())
+      }
+    }
+    verify(exactly = input.size) { replicationWorkerHelper.processMessageFromSource(any()) }
+  }
+
+  @Test
+  fun `only forwards records and states`() {
+    val trace = AirbyteMessage().withType(Type.TRACE)
+    val input = listOf(record("a", 1), trace, record("b", 2), state())
+
+    val output = process(input, shardCount = 2)
+
+    assertEquals(listOf(Type.RECORD, Type.RECORD, Type.STATE), output.map { it.type })
+    assertEquals(input[0], output[0])
+    assertEquals(input[3], output[2])
+  }
+
+  @Test
+  fun `drops records filtered out by the helper`() {
+    val filtered = record("a", 1)
+    every { replicationWorkerHelper.processMessageFromSource(filtered) } returns Optional.empty()
+
+    val output = process(listOf(filtered, record("a", 2), state()), shardCount = 2)
+
+    assertEquals(listOf(2), output.mapNotNull { it.record?.data?.get("id")?.asInt() })
+  }
+
+  @Test
+  fun `propagates processing failures and closes the queues`() {
+    val failing = record("a", 1)
+    every { replicationWorkerHelper.processMessageFromSource(failing) } throws IllegalStateException("boom")
+
+    assertThrows<IllegalStateException> { process(listOf(record("b", 0), failing, state()), shardCount = 2) }
+    assertTrue(sourceQueue.isClosedForSending())
+    assertTrue(destinationQueue.isClosedForSending())
+  }
+
+  private fun process(
+    input: List<AirbyteMessage>,
+    shardCount: Int,
+  ): List<AirbyteMessage> =
+    runBlocking(Dispatchers.Default) {
+      input.forEach { sourceQueue.send(it) }
+      sourceQueue.close()
+
+      ShardedMessageProcessor(
+        replicationWorkerState = replicationWorkerState,
+        replicationWorkerHelper = replicationWorkerHelper,
+        sourceQueue = sourceQueue,
+        destinationQueue = destinationQueue,
+        shardCount = shardCount,
+        metricClient = metricClient,
+        shardCapacity = 16,
+      ).run()
+
+      val output = mutableListOf<AirbyteMessage>()
+      while (true) {
+        output.add(destinationQueue.receive() ?: break)
+      }
+      output
+    }
+
+  private fun record(
+    stream: String,
+    id: Int,
+  ): AirbyteMessage =
+    AirbyteMessage()
+      .withType(Type.RECORD)
+      .withRecord(AirbyteRecordMessage().withStream(stream).withData(Jsons.jsonNode(mapOf("id" to id))))
+
+  private fun state(): AirbyteMessage = AirbyteMessage().withType(Type.STATE).withState(AirbyteStateMessage())
+}
@@ -18,6 +18,8 @@ import io.airbyte.protocol.models.v0.AirbyteMessage
 import io.airbyte.protocol.models.v0.AirbyteRecordMessage
 import io.airbyte.validation.json.JsonSchemaValidator
 import io.airbyte.workers.WorkerUtils
+import io.airbyte.workers.internal.RawAirbyteMessage
+import io.airbyte.workers.internal.RawAirbyteRecordMessage
 import io.mockk.every
 import io.mockk.mockk
 import org.junit.jupiter.api.Assertions
@@ -212,6 +214,38 @@ internal class FieldSelectorTest {
     Assertions.assertEquals(expectedMessage, message)
   }
 
+  @Test
+  internal fun `test that raw record bytes and size are only kept when no field is removed`() {
+    val configuredCatalog =
+      ConfiguredAirbyteCatalog()
+        .withStreams(
+          listOf(
+            ConfiguredAirbyteStream(
+              stream = AirbyteStream(STREAM_NAME, Jsons.deserialize(SCHEMA), listOf(SyncMode.INCREMENTAL)),
+              syncMode = SyncMode.INCREMENTAL,
+              destinationSyncMode = DestinationSyncMode.APPEND,
+            ),
+          ),
+        )
+    val replicationInput =
+      mockk<ReplicationInput> {
+        every { workspaceId } returns UUID.randomUUID()
+      }
+
+    val fieldSelector = createFieldSelector(configuredCatalog = configuredCatalog, replicationInput = replicationInput)
+
+    val unchangedMessage = createRawRecord(RECORD_WITHOUT_EXTRA)
+    fieldSelector.filterSelectedFields(unchangedMessage)
+    Assertions.assertNotNull(unchangedMessage.rawBytes)
+    Assertions.assertEquals(RECORD_WITHOUT_EXTRA.length.toLong(), (unchangedMessage.record as RawAirbyteRecordMessage).dataSizeInBytes)
+
+    val filteredMessage = createRawRecord(RECORD_WITH_EXTRA)
+    fieldSelector.filterSelectedFields(filteredMessage)
+    Assertions.assertNull(filteredMessage.rawBytes)
+    Assertions.assertEquals(-1L, (filteredMessage.record as RawAirbyteRecordMessage).dataSizeInBytes)
+    Assertions.assertEquals(createRecord(RECORD_WITHOUT_EXTRA), filteredMessage)
+  }
+
   private fun createFieldSelector(
     configuredCatalog: ConfiguredAirbyteCatalog,
     replicationInput: ReplicationInput,
@@ -225,6 +259,7 @@ internal class FieldSelectorTest {
         jsonSchemaValidator = JsonSchemaValidator(),
         schemaValidationExecutorService = Executors.newSingleThreadExecutor(),
         streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(configuredCatalog),
+        metricClient = mockk(relaxed = true),
       )
     val fieldSelector =
       FieldSelector(
@@ -245,4 +280,14 @@ internal class FieldSelectorTest {
           .withStream(STREAM_NAME)
           .withData(Jsons.deserialize(jsonData)),
       )
+
+  private fun createRawRecord(jsonData: String): RawAirbyteMessage {
+    val record = RawAirbyteRecordMessage()
+    record.withStream(STREAM_NAME).withData(Jsons.deserialize(jsonData))
+    record.dataSizeInBytes = jsonData.length.toLong()
+    val message = RawAirbyteMessage()
+    message.withType(AirbyteMessage.Type.RECORD).withRecord(record)
+    message.rawBytes = jsonData.toByteArray(Charsets.UTF_8)
+    return message
+  }
 }
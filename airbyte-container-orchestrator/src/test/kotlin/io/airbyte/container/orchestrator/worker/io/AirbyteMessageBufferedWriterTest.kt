@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.worker.io
+
+import io.airbyte.commons.json.Jsons
+import io.airbyte.commons.protocol.AirbyteMessageVersionedMigrator
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Serializer
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
+import io.airbyte.workers.internal.RawAirbyteMessage
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.io.ByteArrayOutputStream
+import java.util.Optional
+
+internal class AirbyteMessageBufferedWriterTest {
+  private lateinit var migrator: AirbyteMessageVersionedMigrator<AirbyteMessage>
+  private lateinit var outputStream: ByteArrayOutputStream
+
+  @BeforeEach
+  fun setup() {
+    migrator = mockk()
+    every { migrator.requiresMigration() } returns true
+    every { migrator.downgrade(any(), any()) } answers { firstArg() }
+    outputStream = ByteArrayOutputStream()
+  }
+
+  @Test
+  fun `writes serialized messages separated by new lines`() {
+    val writer = createWriter(passThroughRecords = false)
+    val message = createRawRecord("""{"type":"RECORD","record":{"stream":"s","data":{"id":1},"emitted_at":1}}""")
+
+    writer.write(message)
+    writer.write(message)
+    writer.flush()
+
+    val expectedLine = Jsons.serialize(message)
+    assertEquals("$expectedLine\n$expectedLine\n", outputStream.toString(Charsets.UTF_8))
+    verify(exactly = 2) { migrator.downgrade(message, any()) }
+  }
+
+  @Test
+  fun `forwards raw record bytes when pass through is enabled`() {
+    val writer = createWriter(passThroughRecords = true)
+    // Formatting that would not survive a serialization round trip.
+    val line = """{"type":"RECORD", "record":{"stream":"s","data":{"id":1.0},"emitted_at":1}}"""
+
+    writer.write(createRawRecord(line))
+    writer.flush()
+
+    assertEquals("$line\n", outputStream.toString(Charsets.UTF_8))
+    verify(exactly = 0) { migrator.downgrade(any(), any()) }
+  }
+
+  @Test
+  fun `serializes records whose raw bytes were discarded`() {
+    val writer = createWriter(passThroughRecords = true)
+    val message = createRawRecord("""{"type":"RECORD", "record":{"stream":"s","data":{"id":1},"emitted_at":1}}""")
+    message.discardRawBytes()
+
+    writer.write(message)
+    writer.flush()
+
+    assertEquals("${Jsons.serialize(message)}\n", outputStream.toString(Charsets.UTF_8))
+  }
+
+  @Test
+  fun `skips the migrator when the destination speaks the current protocol version`() {
+    every { migrator.requiresMigration() } returns false
+    val writer = createWriter(passThroughRecords = false)
+    val message = createRawRecord("""{"type":"RECORD","record":{"stream":"s","data":{"id":1},"emitted_at":1}}""")
+
+    writer.write(message)
+    writer.flush()
+
+    assertEquals("${Jsons.serialize(message)}\n", outputStream.toString(Charsets.UTF_8))
+    verify(exactly = 0) { migrator.downgrade(any(), any()) }
+  }
+
+  @Test
+  fun `buffers messages until the flush threshold is reached`() {
+    val message = createRawRecord("""{"type":"RECORD","record":{"stream":"s","data":{"id":1},"emitted_at":1}}""")
+    val line = "${Jsons.serialize(message)}\n"
+    val writer = createWriter(passThroughRecords = false, flushThresholdBytes = 2 * line.length)
+
+    writer.write(message)
+    assertEquals(0, outputStream.size())
+
+    writer.write(message)
+    assertEquals(line + line, outputStream.toString(Charsets.UTF_8))
+  }
+
+  @Test
+  fun `writes buffered messages once they are older than the flush interval`() {
+    val message = createRawRecord("""{"type":"RECORD","record":{"stream":"s","data":{"id":1},"emitted_at":1}}""")
+    val writer = createWriter(passThroughRecords = false, flushIntervalMs = 0)
+
+    writer.write(message)
+
+    assertEquals("${Jsons.serialize(message)}\n", outputStream.toString(Charsets.UTF_8))
+  }
+
+  @Test
+  fun `writes buffered messages on close`() {
+    val message = createRawRecord("""{"type":"RECORD","record":{"stream":"s","data":{"id":1},"emitted_at":1}}""")
+    val writer = createWriter(passThroughRecords = false)
+
+    writer.write(message)
+    writer.close()
+
+    assertEquals("${Jsons.serialize(message)}\n", outputStream.toString(Charsets.UTF_8))
+  }
+
+  private fun createWriter(
+    passThroughRecords: Boolean,
+    flushThresholdBytes: Int = DEFAULT_FLUSH_THRESHOLD_BYTES,
+    flushIntervalMs: Long = DEFAULT_FLUSH_INTERVAL_MS,
+  ): AirbyteMessageBufferedWriter<AirbyteMessage> =
+    AirbyteMessageBufferedWriter(
+      outputStream = outputStream,
+      serializer = AirbyteMessageV0Serializer(),
+      migrator = migrator,
+      configuredAirbyteCatalog = Optional.empty(),
+      passThroughRecords = passThroughRecords,
+      flushThresholdBytes = flushThresholdBytes,
+      flushIntervalMs = flushIntervalMs,
+    )
+
+  private fun createRawRecord(line: String): RawAirbyteMessage {
+    val message = RawAirbyteMessage()
+    message
+      .withType(AirbyteMessage.Type.RECORD)
+      .withRecord(
+        AirbyteRecordMessage()
+          .withStream("s")
+          .withData(Jsons.jsonNode(mapOf("id" to 1)))
+          .withEmittedAt(1),
+      )
+    message.rawBytes = line.toByteArray(Charsets.UTF_8)
+    return message
+  }
+}
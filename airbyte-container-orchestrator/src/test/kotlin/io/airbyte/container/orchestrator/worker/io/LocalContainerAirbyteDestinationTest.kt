@@ -93,6 +93,7 @@ internal class LocalContainerAirbyteDestinationTest {
       mockk<Stream<AirbyteMessage>> {
         every { filter(any()) } returns this
         every { iterator() } returns listOf(message).iterator()
+        every { close() } returns Unit
       }
     streamFactory =
       mockk<AirbyteStreamFactory> {
@@ -397,6 +398,7 @@ internal class LocalContainerAirbyteDestinationTest {
 
     assertDoesNotThrow { destination.close() }
     verify(exactly = 1) { mockedContainerIOHandle.waitForExitCode(any(), any()) }
+    verify(exactly = 1) { stream.close() }
   }
 
   @Test
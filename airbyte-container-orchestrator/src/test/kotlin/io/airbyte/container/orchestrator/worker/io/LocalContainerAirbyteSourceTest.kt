@@ -16,6 +16,7 @@ import io.airbyte.metrics.OssMetricsRegistry
 import io.airbyte.protocol.models.v0.AirbyteMessage
 import io.airbyte.workers.exception.WorkerException
 import io.airbyte.workers.internal.AirbyteStreamFactory
+import io.airbyte.workers.internal.MessageOrigin
 import io.mockk.every
 import io.mockk.mockk
 import io.mockk.verify
@@ -79,10 +80,12 @@ internal class LocalContainerAirbyteSourceTest {
         every { filter(any()) } returns this
         every { peek(any()) } returns this
         every { iterator() } returns listOf(message).iterator()
+        every { close() } returns Unit
       }
     streamFactory =
       mockk<AirbyteStreamFactory> {
         every { create(any(), any()) } returns stream
+        every { createFromBytes(any(), any()) } returns stream
       }
     workerSourceConfig = mockk<WorkerSourceConfig>()
   }
@@ -111,6 +114,26 @@ internal class LocalContainerAirbyteSourceTest {
     verify(exactly = 1) { stream.iterator() }
   }
 
+  @Test
+  internal fun testSourceStartWithByteLevelReader() {
+    val source =
+      LocalContainerAirbyteSource(
+        heartbeatMonitor = heartbeatMonitor,
+        messageMetricsTracker = messageMetricsTracker,
+        streamFactory = streamFactory,
+        containerIOHandle = containerIOHandle,
+        containerLogMdcBuilder = containerLogMdcBuilder,
+        metricClient = metricClient,
+        useByteLevelReader = true,
+      )
+
+    source.start(sourceConfig = workerSourceConfig, jobRoot = jobRoot, connectionId = connectionId)
+
+    verify(exactly = 1) { streamFactory.createFromBytes(containerIOHandle.getInputStream(), MessageOrigin.SOURCE) }
+    verify(exactly = 0) { streamFactory.create(any(), any()) }
+    verify(exactly = 1) { stream.iterator() }
+  }
+
   @Test
   internal fun testSourceIsFinishedWithExitCode() {
     // Test normal finish with exit code file present
@@ -231,6 +254,32 @@ internal class LocalContainerAirbyteSourceTest {
     verify(exactly = 1) { mockedContainerIOHandle.terminate() }
   }
 
+  @Test
+  internal fun testSourceCloseClosesTheMessageStream() {
+    val mockedContainerIOHandle =
+      mockk<ContainerIOHandle> {
+        every { terminate() } returns false
+        every { getErrInputStream() } returns containerIOHandle.getErrInputStream()
+        every { getInputStream() } returns containerIOHandle.getInputStream()
+      }
+    every { messageMetricsTracker.flushSourceReadCountMetric() } returns Unit
+
+    val source =
+      LocalContainerAirbyteSource(
+        heartbeatMonitor = heartbeatMonitor,
+        messageMetricsTracker = messageMetricsTracker,
+        streamFactory = streamFactory,
+        containerIOHandle = mockedContainerIOHandle,
+        containerLogMdcBuilder = containerLogMdcBuilder,
+        metricClient = metricClient,
+      )
+    source.start(workerSourceConfig, jobRoot, connectionId)
+
+    // The stream is closed even when the source fails to terminate so that its connector log sink is released.
+    assertThrows(WorkerException::class.java, source::close)
+    verify(exactly = 1) { stream.close() }
+  }
+
   @Test
   internal fun testSourceCloseWithUnexpectedExitValue() {
     val exitValue = -122
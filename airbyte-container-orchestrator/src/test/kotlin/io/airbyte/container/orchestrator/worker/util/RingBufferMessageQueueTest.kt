@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.worker.util
+
+import io.airbyte.metrics.MetricClient
+import io.airbyte.metrics.OssMetricsRegistry
+import io.micrometer.core.instrument.Timer
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.channels.ClosedSendChannelException
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeoutOrNull
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotNull
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.util.concurrent.TimeUnit
+
+internal class RingBufferMessageQueueTest {
+  @Test
+  fun `delivers every message in order between two threads`() {
+    val queue = RingBufferMessageQueue<Int>(capacity = 10, batchSize = 4)
+    val count = 100_000
+
+    val received =
+      runBlocking(Dispatchers.Default) {
+        launch {
+          repeat(count) { queue.send(it) }
+          queue.close()
+        }
+        async {
+          val messages = mutableListOf<Int>()
+          while (true) {
+            messages.add(queue.receive() ?: break)
+          }
+          messages
+        }.await()
+      }
+
+    assertEquals((0 until count).toList(), received)
+    assertTrue(queue.isClosedForReceiving())
+  }
+
+  @Test
+  fun `drains the remaining messages once closed`() {
+    val queue = RingBufferMessageQueue<String>(capacity = 4)
+
+    runBlocking {
+      queue.send("a")
+      queue.send("b")
+      queue.close()
+
+      assertTrue(queue.isClosedForSending())
+      assertFalse(queue.isClosedForReceiving())
+      assertEquals("a", queue.receive())
+      assertEquals("b", queue.receive())
+      assertNull(queue.receive())
+      assertTrue(queue.isClosedForReceiving())
+    }
+  }
+
+  @Test
+  fun `rejects messages once closed`() {
+    val queue = RingBufferMessageQueue<String>(capacity = 4)
+    queue.close()
+
+    assertThrows<ClosedSendChannelException> { runBlocking { queue.send("late") } }
+  }
+
+  @Test
+  fun `producer waits for free slots`() {
+    val queue = RingBufferMessageQueue<String>(capacity = 2, batchSize = 1)
+
+    runBlocking {
+      queue.send("a")
+      queue.send("b")
+      assertNull(withTimeoutOrNull(100) { queue.send("c") })
+
+      assertEquals("a", queue.receive())
+      assertNotNull(withTimeoutOrNull(1000) { queue.send("c") })
+      assertEquals(2L, queue.size())
+    }
+  }
+
+  @Test
+  fun `producer waits for the buffered bytes to go down`() {
+    val queue = RingBufferMessageQueue<String>(capacity = 10, batchSize = 1, maxBytes = 10, sizeOf = { it.length.toLong() })
+
+    runBlocking {
+      queue.send("aaaaa")
+      queue.send("bbbbb")
+      assertEquals(10L, queue.sizeInBytes())
+      assertNull(withTimeoutOrNull(100) { queue.send("c") })
+
+      assertEquals("aaaaa", queue.receive())
+      assertNotNull(withTimeoutOrNull(1000) { queue.send("c") })
+      assertEquals(6L, queue.sizeInBytes())
+    }
+  }
+
+  @Test
+  fun `an empty queue accepts a message larger than the byte limit`() {
+    val queue = RingBufferMessageQueue<String>(capacity = 10, maxBytes = 2, sizeOf = { it.length.toLong() })
+
+    runBlocking {
+      assertNotNull(withTimeoutOrNull(1000) { queue.send("larger than the limit") })
+      assertEquals("larger than the limit", queue.receive())
+    }
+  }
+
+  @Test
+  fun `closing the queue wakes up a waiting consumer`() {
+    val queue = RingBufferMessageQueue<String>(capacity = 4)
+
+    val received =
+      runBlocking(Dispatchers.Default) {
+        val consumer = async { queue.receive() }
+        delay(100)
+        queue.close()
+        withTimeoutOrNull(1000) { consumer.await() }
+      }
+
+    assertNull(received)
+    assertTrue(queue.isClosedForReceiving())
+  }
+
+  @Test
+  fun `reports the time spent waiting for messages`() {
+    val consumerWaitTimer = mockk<Timer>(relaxed = true)
+    val metricClient = mockk<MetricClient>(relaxed = true)
+    every { metricClient.timer(OssMetricsRegistry.REPLICATION_QUEUE_CONSUMER_WAIT, *anyVararg()) } returns consumerWaitTimer
+    val queue = RingBufferMessageQueue<String>(capacity = 4, metricClient = metricClient, queueName = "source")
+
+    runBlocking(Dispatchers.Default) {
+      val consumer = async { queue.receive() }
+      delay(100)
+      queue.send("a")
+      assertEquals("a", consumer.await())
+    }
+
+    verify(exactly = 1) { consumerWaitTimer.record(any<Long>(), TimeUnit.NANOSECONDS) }
+    verify { metricClient.gauge(OssMetricsRegistry.REPLICATION_QUEUE_DEPTH, queue, any(), *anyVararg()) }
+  }
+}
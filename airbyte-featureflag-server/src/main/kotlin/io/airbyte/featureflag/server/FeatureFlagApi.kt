@@ -6,6 +6,7 @@ package io.airbyte.featureflag.server
 
 import io.airbyte.featureflag.server.model.Context
 import io.airbyte.featureflag.server.model.FeatureFlag
+import io.airbyte.featureflag.server.model.FeatureFlags
 import io.airbyte.featureflag.server.model.Rule
 import io.micronaut.http.HttpStatus
 import io.micronaut.http.annotation.Body
@@ -25,6 +26,12 @@ import jakarta.ws.rs.GET
 import jakarta.ws.rs.POST
 import jakarta.ws.rs.PUT
 import jakarta.ws.rs.Path
+import java.time.Duration
+
+/**
+ * Upper bound of how long a client may wait for the flags to change, so that intermediate proxies don't time out.
+ */
+private val MAX_LIST_WAIT = Duration.ofSeconds(60)
 
 @Controller("/api/v1/feature-flags")
 @ExecuteOn(TaskExecutors.IO)
@@ -62,6 +69,25 @@ class FeatureFlagApi(
     @PathVariable key: String,
   ): FeatureFlag = ffs.get(key) ?: throw KnownException(HttpStatus.NOT_FOUND, "$key not found")
 
+  @GET
+  @Path("/")
+  @ApiResponses(
+    value = [
+      ApiResponse(
+        responseCode = "200",
+        description = "All the FeatureFlags, once their version differs from the given one or the wait is over",
+        content = [Content(schema = Schema(implementation = FeatureFlags::class))],
+      ),
+    ],
+  )
+  fun list(
+    @QueryValue("version") version: Long? = null,
+    @QueryValue("waitSeconds") waitSeconds: Long? = null,
+  ): FeatureFlags {
+    val timeout = waitSeconds?.let { Duration.ofSeconds(it).coerceIn(Duration.ZERO, MAX_LIST_WAIT) } ?: Duration.ZERO
+    return ffs.list(version, timeout)
+  }
+
   @PUT
   @Path("/")
   @Consumes("application/json")
@@ -10,10 +10,14 @@ import com.fasterxml.jackson.module.kotlin.registerKotlinModule
 import io.airbyte.commons.json.Jsons
 import io.airbyte.featureflag.server.model.Context
 import io.airbyte.featureflag.server.model.FeatureFlag
+import io.airbyte.featureflag.server.model.FeatureFlags
 import io.airbyte.featureflag.server.model.Rule
 import io.airbyte.micronaut.runtime.AirbyteFeatureFlagConfig
 import io.github.oshai.kotlinlogging.KotlinLogging
 import jakarta.inject.Singleton
+import java.time.Duration
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
 import kotlin.io.path.exists
 import kotlin.io.path.isRegularFile
 
@@ -25,6 +29,14 @@ open class FeatureFlagService(
   airbyteFeatureFlagConfig: AirbyteFeatureFlagConfig,
 ) {
   private val flags = mutableMapOf<String, MutableFeatureFlag>()
+  private val lock = ReentrantLock()
+  private val updated = lock.newCondition()
+
+  /**
+   * Changes every time a flag is updated. It starts from the time the service was started, so that a client
+   * that last saw the flags of a previous instance of the service is never mistaken as being up-to-date.
+   */
+  private var version = System.currentTimeMillis()
 
   init {
     airbyteFeatureFlagConfig.path.also { path ->
@@ -40,7 +52,10 @@ open class FeatureFlagService(
   }
 
   open fun delete(key: String) {
-    flags.remove(key)
+    lock.withLock {
+      flags.remove(key)
+      bumpVersion()
+    }
   }
 
   open fun eval(
@@ -56,7 +71,7 @@ open class FeatureFlagService(
     key: String,
     context: Map<String, String>,
   ): String? {
-    val flag = flags[key] ?: return null
+    val flag = lock.withLock { flags[key]?.toFeatureFlag() } ?: return null
     for (rule in flag.rules) {
       if (rule.context.matches(context)) {
         return rule.value
@@ -65,47 +80,73 @@ open class FeatureFlagService(
     return flag.default
   }
 
-  open fun get(key: String): FeatureFlag? = flags[key]?.toFeatureFlag()
+  open fun get(key: String): FeatureFlag? = lock.withLock { flags[key]?.toFeatureFlag() }
+
+  /**
+   * Returns all the flags as soon as they differ from the given [version], waiting up to [timeout] for a change if
+   * they don't yet. This lets clients keep a local copy of the flags up-to-date by long-polling.
+   */
+  open fun list(
+    version: Long? = null,
+    timeout: Duration = Duration.ZERO,
+  ): FeatureFlags =
+    lock.withLock {
+      var remaining = timeout.toNanos()
+      while (version == this.version && remaining > 0) {
+        remaining = updated.awaitNanos(remaining)
+      }
+      FeatureFlags(version = this.version, flags = flags.values.map { it.toFeatureFlag() })
+    }
 
   open fun addRule(
     key: String,
     rule: Rule,
-  ): FeatureFlag {
-    val flag = flags[key] ?: throw Exception("$key not found")
+  ): FeatureFlag =
+    lock.withLock {
+      val flag = flags[key] ?: throw Exception("$key not found")
 
-    if (flag.rules.any { it.context == rule.context }) {
-      throw Exception("$key already has a rule for context ${rule.context}")
+      if (flag.rules.any { it.context == rule.context }) {
+        throw Exception("$key already has a rule for context ${rule.context}")
+      }
+      flag.rules.add(rule.toMutableRule())
+      bumpVersion()
+      logger.debug { "Updated $key to $flag" }
+      flag.toFeatureFlag()
     }
-    flag.rules.add(rule.toMutableRule())
-    logger.debug { "Updated $key to $flag" }
-    return flag.toFeatureFlag()
-  }
 
   open fun updateRule(
     key: String,
     rule: Rule,
-  ): FeatureFlag {
-    val flag = flags[key] ?: throw Exception("$key not found")
-    flag.rules
-      .find { it.context == rule.context }
-      ?.apply { value = rule.value }
-      ?: throw Exception("$key does not have a rule for context ${rule.context}")
-    logger.debug { "Updated $key to $flag" }
-    return flag.toFeatureFlag()
-  }
+  ): FeatureFlag =
+    lock.withLock {
+      val flag = flags[key] ?: throw Exception("$key not found")
+      flag.rules
+        .find { it.context == rule.context }
+        ?.apply { value = rule.value }
+        ?: throw Exception("$key does not have a rule for context ${rule.context}")
+      bumpVersion()
+      logger.debug { "Updated $key to $flag" }
+      flag.toFeatureFlag()
+    }
 
   open fun removeRule(
     key: String,
     context: Context,
-  ): FeatureFlag {
-    val flag = flags[key] ?: throw Exception("$key not found")
-    flag.rules.removeIf { it.context == context }
-    logger.debug { "Updated $key to $flag" }
-    return flag.toFeatureFlag()
-  }
+  ): FeatureFlag =
+    lock.withLock {
+      val flag = flags[key] ?: throw Exception("$key not found")
+      if (flag.rules.removeIf { it.context == context }) {
+        bumpVersion()
+      }
+      logger.debug { "Updated $key to $flag" }
+      flag.toFeatureFlag()
+    }
 
   open fun put(flag: FeatureFlag): FeatureFlag {
-    flags[flag.key] = flag.toMutableFeatureFlag()
+    lock.withLock {
+      flags[flag.key] = flag.toMutableFeatureFlag()
+      bumpVersion()
+    }
     logger.debug { "Updated ${flag.key} to $flag" }
     return get(flag.key) ?: throw Exception("Failed to put flag $flag")
   }
@@ -119,6 +160,14 @@ open class FeatureFlagService(
     return put(flag)
   }
 
+  /**
+   * Must be called with the [lock] held.
+   */
+  private fun bumpVersion() {
+    version++
+    updated.signalAll()
+  }
+
   private fun <T : Any> T.toPrettyJson(): String = Jsons.toPrettyString(Jsons.jsonNode(this))
 
   private fun Context.matches(env: Map<String, String>): Boolean = env[kind] == value
@@ -7,6 +7,7 @@ package io.airbyte.featureflag.server
 import io.airbyte.commons.json.Jsons
 import io.airbyte.featureflag.server.model.Context
 import io.airbyte.featureflag.server.model.FeatureFlag
+import io.airbyte.featureflag.server.model.FeatureFlags
 import io.airbyte.featureflag.server.model.Rule
 import io.micronaut.context.annotation.Replaces
 import io.micronaut.context.env.Environment
@@ -23,6 +24,7 @@ import io.mockk.mockk
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
+import java.time.Duration
 
 @MicronautTest(environments = [Environment.TEST])
 class FeatureFlagApiTest(
@@ -127,6 +129,26 @@ class FeatureFlagApiTest(
     assertEquals(flag, response.body.get())
   }
 
+  @Test
+  fun `test list`() {
+    val flags = FeatureFlags(version = 2, flags = listOf(FeatureFlag(key = "my-flag", default = "default")))
+    every { ffs.list(null, Duration.ZERO) } returns flags
+
+    val response = call<FeatureFlags>(HttpRequest.GET("/api/v1/feature-flags/"))
+    assertEquals(200, response.status.code)
+    assertEquals(flags, response.body.get())
+  }
+
+  @Test
+  fun `test list waiting for a change`() {
+    val flags = FeatureFlags(version = 2, flags = listOf(FeatureFlag(key = "my-flag", default = "default")))
+    every { ffs.list(1, Duration.ofSeconds(60)) } returns flags
+
+    val response = call<FeatureFlags>(HttpRequest.GET("/api/v1/feature-flags/?version=1&waitSeconds=3600"))
+    assertEquals(200, response.status.code)
+    assertEquals(flags, response.body.get())
+  }
+
   private inline fun <reified T> call(request: HttpRequest<Any>): HttpResponse<T> = client.get().toBlocking().exchange(request, T::class.java)
 
   private fun callError(request: HttpRequest<Any>): HttpResponse<*> {
@@ -6,13 +6,19 @@ package io.airbyte.featureflag.server
 
 import io.airbyte.featureflag.server.model.Context
 import io.airbyte.featureflag.server.model.FeatureFlag
+import io.airbyte.featureflag.server.model.FeatureFlags
 import io.airbyte.featureflag.server.model.Rule
 import io.airbyte.micronaut.runtime.AirbyteFeatureFlagConfig
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotEquals
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
 import java.nio.file.Path
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
 
 class FeatureFlagServiceTest {
   private lateinit var airbyteFeatureFlagConfig: AirbyteFeatureFlagConfig
@@ -186,4 +192,37 @@ class FeatureFlagServiceTest {
     // this is returning bbbb instead of aaaa because we return the first match
     assertEquals("bbbb", ffs.eval("test-context-string", mapOf(workspace to "00000000-bbbb-0000-bbbb-000000000000")))
   }
+
+  @Test
+  fun `list returns the flags right away when the version differs`() {
+    val flag = ffs.put(key = "listed", default = "default")
+
+    val initial = ffs.list()
+    assertEquals(listOf(flag), initial.flags)
+    assertEquals(initial, ffs.list(version = initial.version - 1, timeout = Duration.ofMinutes(1)))
+  }
+
+  @Test
+  fun `list waits for the flags to change`() {
+    val initial = ffs.list()
+    val listed = CompletableFuture.supplyAsync { ffs.list(version = initial.version, timeout = Duration.ofMinutes(1)) }
+
+    Thread.sleep(100)
+    assertFalse(listed.isDone)
+    val flag = ffs.put(key = "updated", default = "default")
+
+    val result = listed.get(10, TimeUnit.SECONDS)
+    assertNotEquals(initial.version, result.version)
+    assertEquals(listOf(flag), result.flags)
+
+    ffs.addRule(flag.key, Rule(Context(kind = "c", value = "c1"), value = "c1"))
+    assertNotEquals(result.version, ffs.list().version)
+  }
+
+  @Test
+  fun `list returns the unchanged flags once the wait is over`() {
+    val initial = ffs.list()
+
+    assertEquals(FeatureFlags(version = initial.version, flags = listOf()), ffs.list(version = initial.version, timeout = Duration.ofMillis(50)))
+  }
 }
@@ -16,15 +16,22 @@ import io.airbyte.micronaut.runtime.AirbyteFeatureFlagConfig
 import io.github.oshai.kotlinlogging.KotlinLogging
 import io.micronaut.context.annotation.Requires
 import io.micronaut.context.annotation.Secondary
+import jakarta.annotation.PreDestroy
 import jakarta.inject.Inject
 import jakarta.inject.Named
 import jakarta.inject.Singleton
+import okhttp3.Call
+import okhttp3.Callback
 import okhttp3.OkHttpClient
 import okhttp3.Request
+import okhttp3.Response
+import java.io.IOException
 import java.lang.Thread.MIN_PRIORITY
 import java.nio.file.Path
 import java.nio.file.StandardWatchEventKinds
 import java.nio.file.WatchService
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
 import java.util.concurrent.locks.ReentrantReadWriteLock
 import kotlin.concurrent.read
 import kotlin.concurrent.thread
@@ -91,6 +98,18 @@ sealed interface FeatureFlagClient {
         "Unsupported flag type: ${if (flag.default != null) flag.default::class.java.name else null}",
       ) as Throwable
     } as T
+
+  /**
+   * Evaluates all the [evaluations] at once, and returns their values as a [FlagSnapshot].
+   *
+   * Clients that call a remote service per evaluation should override this to avoid paying for each evaluation in turn.
+   */
+  @Suppress("UNCHECKED_CAST")
+  fun snapshot(evaluations: Collection<FlagEvaluation>): FlagSnapshot =
+    FlagSnapshot(
+      client = this,
+      values = evaluations.associate { it.snapshotKey to variation(it.flag as Flag<Any>, it.context) },
+    )
 }
 
 /** Config key used to determine which [FeatureFlagClient] to expose. */
@@ -236,6 +255,10 @@ class LaunchDarklyClient(
  * - Context serialization as query parameters
  * - Graceful fallback to default values on service errors
  * - Configurable base URL for different environments
+ * - Concurrent evaluation of the flags of a [FlagSnapshot]
+ * - Optional in-process evaluation from a local copy of the flags kept up-to-date by a [FeatureFlagServiceCache], falling
+ *   back to remote evaluation once the copy is stale, and to the last known flags if the service can't be reached. The
+ *   last known flags keep being served without calling the service until it answers the cache again.
  *
  * @param httpClient The HTTP client for making requests to the feature flag service
  * @param baseUrl The base URL of the feature flag service API
@@ -245,38 +268,178 @@ class LaunchDarklyClient(
 class FeatureFlagServiceClient(
   @Named("ffsHttpClient") private val httpClient: OkHttpClient,
   private val airbyteFeatureFlagConfig: AirbyteFeatureFlagConfig,
-) : FeatureFlagClient {
+) : FeatureFlagClient,
+  AutoCloseable {
   private val basePath = "/api/v1/feature-flags"
 
+  private val cache: FeatureFlagServiceCache? =
+    airbyteFeatureFlagConfig.cache
+      .takeIf { it.enabled }
+      ?.let { FeatureFlagServiceCache(httpClient = httpClient, baseUrl = "${airbyteFeatureFlagConfig.baseUrl}$basePath", config = it) }
+
   override fun boolVariation(
     flag: Flag<Boolean>,
     context: Context,
-  ): Boolean = callFeatureFlagService(flag.key, context)?.toBoolean() ?: flag.default
+  ): Boolean = evaluate(flag.key, context)?.toBoolean() ?: flag.default
 
   override fun stringVariation(
     flag: Flag<String>,
     context: Context,
-  ): String = callFeatureFlagService(flag.key, context) ?: flag.default
+  ): String = evaluate(flag.key, context) ?: flag.default
 
   override fun intVariation(
     flag: Flag<Int>,
     context: Context,
-  ): Int = callFeatureFlagService(flag.key, context)?.toInt() ?: flag.default
+  ): Int = evaluate(flag.key, context)?.toInt() ?: flag.default
 
-  private fun callFeatureFlagService(
+  /**
+   * Evaluates all the [evaluations] from the local copy of the flags if it is fresh, otherwise calls the feature flag
+   * service for all of them concurrently, so that taking the snapshot takes about as long as the slowest evaluation
+   * rather than the sum of them.
+   */
+  override fun snapshot(evaluations: Collection<FlagEvaluation>): FlagSnapshot {
+    val cached = cache?.lastKnown()
+    if (cached != null && isServedLocally(cached)) {
+      return FlagSnapshot(
+        client = this,
+        values = evaluations.associate { it.snapshotKey to it.flag.parse(cached.evaluate(it.flag.key, it.context)) },
+      )
+    }
+
+    val calls = evaluations.associateWith { callFeatureFlagServiceAsync(it.flag.key, it.context) }
+    val values =
+      calls.entries.associate { (evaluation, call) ->
+        val value =
+          try {
+            call.join()
+          } catch (e: CompletionException) {
+            val cause = e.cause ?: e
+            if (cause !is IOException) {
+              throw cause
+            }
+            onUnreachable(cached, cause)
+            cached?.evaluate(evaluation.flag.key, evaluation.context)
+          }
+        evaluation.snapshotKey to evaluation.flag.parse(value)
+      }
+    return FlagSnapshot(client = this, values = values)
+  }
+
+  @PreDestroy
+  override fun close() {
+    cache?.close()
+  }
+
+  /**
+   * Evaluates the flag [key] from the local copy of the flags if it is fresh, otherwise calls the feature flag service,
+   * falling back to the last known flags if it can't be reached.
+   */
+  private fun evaluate(
     key: String,
     context: Context,
   ): String? {
-    val request =
-      Request
-        .Builder()
-        .url("${airbyteFeatureFlagConfig.baseUrl}$basePath/$key/evaluate?${context.toQueryParams()}")
-        .build()
-    return httpClient.newCall(request).execute().use {
-      if (it.code == 200) it.body?.string() else null
+    val cached = cache?.lastKnown()
+    if (cached != null && isServedLocally(cached)) {
+      return cached.evaluate(key, context)
+    }
+    return try {
+      callFeatureFlagService(key, context)
+    } catch (e: IOException) {
+      onUnreachable(cached, e)
+      cached?.evaluate(key, context)
     }
   }
 
+  /**
+   * Whether to evaluate flags from the local copy: while it is fresh, and while the service is unreachable so that
+   * evaluations don't each wait for the service to time out.
+   */
+  private fun isServedLocally(cached: CachedFlags): Boolean = cached.isFresh() || cache?.isUnreachable() == true
+
+  /**
+   * Handles the failure of a remote evaluation: the last known flags are served from now on if there are some, otherwise
+   * the error is thrown, unless the service answered with an error, for which the default of the flag is used.
+   */
+  private fun onUnreachable(
+    cached: CachedFlags?,
+    e: IOException,
+  ) {
+    if (cached != null) {
+      cache?.markUnreachable()
+    } else if (e !is UnexpectedResponseException) {
+      throw e
+    }
+  }
+
+  private fun callFeatureFlagService(
+    key: String,
+    context: Context,
+  ): String? = httpClient.newCall(request(key, context)).execute().use { it.evaluation(key) }
+
+  private fun callFeatureFlagServiceAsync(
+    key: String,
+    context: Context,
+  ): CompletableFuture<String?> {
+    val result = CompletableFuture<String?>()
+    httpClient.newCall(request(key, context)).enqueue(
+      object : Callback {
+        override fun onResponse(
+          call: Call,
+          response: Response,
+        ) {
+          try {
+            result.complete(response.use { it.evaluation(key) })
+          } catch (e: IOException) {
+            result.completeExceptionally(e)
+          }
+        }
+
+        override fun onFailure(
+          call: Call,
+          e: IOException,
+        ) {
+          result.completeExceptionally(e)
+        }
+      },
+    )
+    return result
+  }
+
+  /**
+   * Value of a flag evaluated by the service, or null if the service doesn't know the flag. Other error responses, like
+   * the ones of a proxy in front of an unavailable service, are treated as the service being unreachable.
+   */
+  private fun Response.evaluation(key: String): String? =
+    when {
+      code in 200..299 -> body?.string()
+      code == 404 -> null
+      else -> throw UnexpectedResponseException("Unexpected response $code when evaluating the feature flag $key")
+    }
+
+  private class UnexpectedResponseException(
+    message: String,
+  ) : IOException(message)
+
+  private fun request(
+    key: String,
+    context: Context,
+  ): Request =
+    Request
+      .Builder()
+      .url("${airbyteFeatureFlagConfig.baseUrl}$basePath/$key/evaluate?${context.toQueryParams()}")
+      .build()
+
+  /**
+   * Converts a value returned by the service the same way the typed variations do, falling back to the default.
+   */
+  private fun Flag<*>.parse(value: String?): Any =
+    when (val default = this.default) {
+      is Boolean -> value?.toBoolean() ?: default
+      is Int -> value?.toInt() ?: default
+      is String -> value ?: default
+      else -> throw IllegalArgumentException("Unsupported flag type: ${default?.let { it::class.java.name }}")
+    }
+
   private fun Context.toQueryParams(): String =
     when (this) {
       is Multi -> contexts.joinToString("&") { it.toQueryParams() }
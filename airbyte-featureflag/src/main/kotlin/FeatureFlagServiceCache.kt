@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.featureflag
+
+import com.fasterxml.jackson.databind.DeserializationFeature
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.module.kotlin.readValue
+import com.fasterxml.jackson.module.kotlin.registerKotlinModule
+import io.airbyte.micronaut.runtime.AirbyteFeatureFlagConfig
+import io.github.oshai.kotlinlogging.KotlinLogging
+import okhttp3.Call
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import java.io.IOException
+import java.lang.Thread.MIN_PRIORITY
+import java.time.Duration
+import java.time.Instant
+import kotlin.concurrent.thread
+
+private val log = KotlinLogging.logger {}
+
+/** How much longer than the long-poll itself to wait for the service to answer it. */
+private val POLL_READ_MARGIN = Duration.ofSeconds(10)
+private val MIN_POLL_BACKOFF = Duration.ofSeconds(1)
+private val MAX_POLL_BACKOFF = Duration.ofSeconds(30)
+
+/**
+ * Local copy of the flags of the feature flag service, so that [FeatureFlagServiceClient] can evaluate them in-process.
+ *
+ * A background thread lists the flags from [baseUrl] and then long-polls it for changes: each poll is answered as soon
+ * as the flags change, or after [AirbyteFeatureFlagConfig.AirbyteFeatureFlagCacheConfig.pollTimeout] with the flags
+ * unchanged, which also tells that the local copy is still up-to-date. Failed polls are retried with a backoff, and the
+ * last known flags are kept meanwhile. The service is deemed unreachable from a failed poll or remote evaluation until
+ * the next successful poll.
+ *
+ * If the service doesn't list its flags, polling stops and [lastKnown] stays null.
+ */
+internal class FeatureFlagServiceCache(
+  httpClient: OkHttpClient,
+  private val baseUrl: String,
+  private val config: AirbyteFeatureFlagConfig.AirbyteFeatureFlagCacheConfig,
+) : AutoCloseable {
+  private val pollClient = httpClient.newBuilder().readTimeout(config.pollTimeout.plus(POLL_READ_MARGIN)).build()
+  private val mapper = ObjectMapper().registerKotlinModule().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+
+  @Volatile
+  private var flags: CachedFlags? = null
+
+  @Volatile
+  private var unreachable = false
+
+  @Volatile
+  private var running = true
+
+  @Volatile
+  private var pollCall: Call? = null
+
+  private val poller = thread(isDaemon = true, name = "feature-flag-service-cache", priority = MIN_PRIORITY) { poll() }
+
+  /**
+   * The last flags listed by the service, or null if they were never listed.
+   */
+  fun lastKnown(): CachedFlags? = flags
+
+  /**
+   * Whether the service failed to answer since the flags were last synced.
+   */
+  fun isUnreachable(): Boolean = unreachable
+
+  /**
+   * Records that the service failed to answer, until the flags are synced again.
+   */
+  fun markUnreachable() {
+    unreachable = true
+  }
+
+  override fun close() {
+    running = false
+    pollCall?.cancel()
+    poller.interrupt()
+  }
+
+  private fun poll() {
+    var backoff = MIN_POLL_BACKOFF
+    while (running) {
+      try {
+        if (!sync()) {
+          return
+        }
+        unreachable = false
+        backoff = MIN_POLL_BACKOFF
+      } catch (e: IOException) {
+        if (!running) {
+          return
+        }
+        unreachable = true
+        log.warn(e) { "Failed to sync the feature flags from $baseUrl, retrying in $backoff" }
+        try {
+          Thread.sleep(backoff.toMillis())
+        } catch (e: InterruptedException) {
+          return
+        }
+        backoff = backoff.multipliedBy(2).coerceAtMost(MAX_POLL_BACKOFF)
+      }
+    }
+  }
+
+  /**
+   * Waits for the flags to change from the last known ones and stores them.
+   *
+   * @return false if the service doesn't list its flags
+   */
+  private fun sync(): Boolean {
+    val version = flags?.version
+    val url =
+      when (version) {
+        null -> "$baseUrl/"
+        else -> "$baseUrl/?version=$version&waitSeconds=${config.pollTimeout.seconds}"
+      }
+
+    val call = pollClient.newCall(Request.Builder().url(url).build())
+    pollCall = call
+    call.execute().use {
+      if (it.code == 404 || it.code == 405) {
+        log.info { "The feature flag service at $baseUrl doesn't list its flags, flags will be evaluated remotely" }
+        return false
+      }
+      if (it.code != 200) {
+        throw IOException("Unexpected response ${it.code} when listing the feature flags")
+      }
+      val listed = mapper.readValue<ServiceFlags>(it.body?.string() ?: throw IOException("Empty response when listing the feature flags"))
+      if (listed.version != version) {
+        log.debug { "Synced ${listed.flags.size} feature flags at version ${listed.version}" }
+      }
+      flags =
+        CachedFlags(
+          version = listed.version,
+          flags = listed.flags.associateBy { flag -> flag.key },
+          freshUntil = Instant.now().plus(config.maxStaleness),
+        )
+    }
+    return true
+  }
+}
+
+/**
+ * Flags listed by the feature flag service at [version], which are trusted to be up-to-date until [freshUntil].
+ */
+internal class CachedFlags(
+  val version: Long,
+  private val flags: Map<String, ServiceFlag>,
+  private val freshUntil: Instant,
+) {
+  /**
+   * Whether these flags are still within the staleness window.
+   */
+  fun isFresh(): Boolean = !Instant.now().isAfter(freshUntil)
+
+  /**
+   * Evaluates the flag [key] for the [context] the same way the service does: the value of the first rule matching the
+   * context, or the default of the flag.
+   *
+   * @return null if the service doesn't know the flag
+   */
+  fun evaluate(
+    key: String,
+    context: Context,
+  ): String? {
+    val flag = flags[key] ?: return null
+    val env = context.toEnv()
+    return flag.rules.firstOrNull { env[it.context.kind] == it.context.value }?.value ?: flag.default
+  }
+
+  private fun Context.toEnv(): Map<String, String> =
+    when (this) {
+      is Multi -> contexts.associate { it.kind to it.key }
+      else -> mapOf(kind to key)
+    }
+}
+
+internal data class ServiceFlags(
+  val version: Long,
+  val flags: List<ServiceFlag>,
+)
+
+internal data class ServiceFlag(
+  val key: String,
+  val default: String,
+  val rules: List<ServiceRule> = listOf(),
+)
+
+internal data class ServiceRule(
+  val context: ServiceContext,
+  val value: String,
+)
+
+internal data class ServiceContext(
+  val kind: String,
+  val value: String,
+)
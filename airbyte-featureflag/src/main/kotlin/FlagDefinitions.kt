@@ -168,6 +168,63 @@ object LogStateMsgs : Temporary<Boolean>(key = "platform.log-state-msgs", defaul
 
 object ReplicationBufferOverride : Temporary<Int>(key = "platform.replication-buffer-override", default = 0)
 
+/**
+ * When enabled, the orchestrator splits and parses the source output as raw UTF-8 bytes instead of decoding every
+ * line to a String first.
+ */
+object UseByteLevelSourceReader : Temporary<Boolean>(key = "platform.use-byte-level-source-reader", default = false)
+
+/**
+ * When enabled, records that are not modified on their way to the destination are forwarded with the bytes read
+ * from the source instead of being serialized again. Implies [UseByteLevelSourceReader].
+ */
+object ReplicationRecordPassThrough : Temporary<Boolean>(key = "platform.replication-record-pass-through", default = false)
+
+/**
+ * When enabled, the replication tasks hand messages to each other through a batching ring buffer bounded by count and
+ * by bytes instead of a coroutine channel.
+ */
+object UseRingBufferReplicationQueue : Temporary<Boolean>(key = "platform.use-ring-buffer-replication-queue", default = false)
+
+/**
+ * Number of messages the consumer of the ring buffer replication queue hands back to the producer at once. The default
+ * batch size is used when lower than 1.
+ */
+object ReplicationQueueBatchSizeOverride : Temporary<Int>(key = "platform.replication-queue-batch-size-override", default = 0)
+
+/**
+ * Number of bytes of messages the ring buffer replication queue holds at most. The default size is used when lower than 1.
+ */
+object ReplicationQueueMaxBytesOverride : Temporary<Int>(key = "platform.replication-queue-max-bytes-override", default = 0)
+
+/**
+ * Number of workers processing the records read from the source in parallel, partitioned by stream. The records are
+ * processed by a single coroutine when lower than 2.
+ */
+object ReplicationMessageProcessorShards : Temporary<Int>(key = "platform.replication-message-processor-shards", default = 0)
+
+/**
+ * Number of bytes of serialized messages the destination writer buffers before writing them to the destination.
+ */
+object ReplicationDestinationFlushBytes : Temporary<Int>(key = "platform.replication-destination-flush-bytes", default = 262144)
+
+/**
+ * Maximum time in milliseconds a message stays in the destination writer buffer, checked when the next message is
+ * written.
+ */
+object ReplicationDestinationFlushIntervalMs : Temporary<Int>(key = "platform.replication-destination-flush-interval-ms", default = 1000)
+
+/**
+ * Number of threads validating records against the schema of their stream.
+ */
+object ReplicationSchemaValidationThreads : Temporary<Int>(key = "platform.replication-schema-validation-threads", default = 1)
+
+/**
+ * Only one record out of this many of each stream is validated against the schema of the stream. When higher than 1,
+ * sampled records are also skipped while the validators are behind instead of waiting for them.
+ */
+object ReplicationSchemaValidationSampleRate : Temporary<Int>(key = "platform.replication-schema-validation-sample-rate", default = 1)
+
 object NodeSelectorOverride : Temporary<String>(key = "platform.node-selector-override", default = "")
 
 object ReportConnectorDiskUsage : Temporary<Boolean>(key = "platform.report-connector-disk-usage", default = false)
@@ -202,6 +259,12 @@ object LLMSyncJobFailureExplanation : Temporary<Boolean>(key = "platform.llm-syn
 
 object WorkloadPollerUsesJitter : Temporary<Boolean>(key = "platform.workload-poller-uses-jitter", default = false)
 
+/**
+ * Sizes and paces polls of the workload queue from its depth and the launches in flight instead of polling a fixed number
+ * of workloads at a fixed interval.
+ */
+object WorkloadPollerAdaptive : Temporary<Boolean>(key = "platform.workload-poller-adaptive", default = false)
+
 object PersistSecretConfigsAndReferences : Temporary<Boolean>(key = "platform.persist-secret-configs-and-references", default = false)
 
 object ReadSecretReferenceIdsInConfigs : Temporary<Boolean>(key = "platform.read-secret-reference-ids-in-configs", default = false)
@@ -234,6 +297,17 @@ object ReplicationDebugLogLevelEnabled : Permanent<Boolean>(key = "platform.repl
 
 object UseDeadlineInWorkloadMonitorQueries : Temporary<Boolean>(key = "platform.use-deadline-in-workload-monitor-queries", default = false)
 
+/**
+ * Buffers workload heartbeats in the workload API server and writes them in batches instead of one update per heartbeat.
+ */
+object CoalesceWorkloadHeartbeats : Temporary<Boolean>(key = "platform.coalesce-workload-heartbeats", default = false)
+
+/**
+ * Serves the pod waits and existence checks of the workload launcher from a shared pod informer instead of one watch or
+ * list call per pod.
+ */
+object UseLauncherPodInformer : Temporary<Boolean>(key = "platform.use-launcher-pod-informer", default = false)
+
 object ForceDdRemoteConfigVar : Temporary<Boolean>(key = "platform.force-dd-remote-config-var", default = false)
 
 object ReplicationCommandFallsBackToWorkloadStatus : Temporary<Boolean>(
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.featureflag
+
+/**
+ * The evaluation of a [flag] for a [context], to be included in a [FlagSnapshot].
+ */
+data class FlagEvaluation(
+  val flag: Flag<*>,
+  val context: Context,
+) {
+  internal val snapshotKey: Pair<String, Context> = flag.key to context
+}
+
+/**
+ * Feature flag values evaluated up front by [FeatureFlagClient.snapshot], so that reading them later doesn't go back to
+ * the feature flag provider.
+ *
+ * A flag that wasn't evaluated for the requested context when the snapshot was taken is evaluated by the [client] the
+ * snapshot was taken from, so a snapshot can be used wherever a [FeatureFlagClient] is expected.
+ */
+class FlagSnapshot internal constructor(
+  private val client: FeatureFlagClient,
+  private val values: Map<Pair<String, Context>, Any>,
+) : FeatureFlagClient {
+  override fun boolVariation(
+    flag: Flag<Boolean>,
+    context: Context,
+  ): Boolean = values[flag.key to context] as? Boolean ?: client.boolVariation(flag, context)
+
+  override fun stringVariation(
+    flag: Flag<String>,
+    context: Context,
+  ): String = values[flag.key to context] as? String ?: client.stringVariation(flag, context)
+
+  override fun intVariation(
+    flag: Flag<Int>,
+    context: Context,
+  ): Int = values[flag.key to context] as? Int ?: client.intVariation(flag, context)
+
+  /**
+   * Takes a new snapshot from the client this one was taken from, rather than serving the values of this one.
+   */
+  override fun snapshot(evaluations: Collection<FlagEvaluation>): FlagSnapshot = client.snapshot(evaluations)
+}
@@ -21,7 +21,9 @@ import io.mockk.verify
 import jakarta.inject.Inject
 import jakarta.inject.Singleton
 import okhttp3.Call
+import okhttp3.Callback
 import okhttp3.OkHttpClient
+import okhttp3.Request
 import okhttp3.Response
 import okhttp3.ResponseBody
 import org.junit.jupiter.api.BeforeEach
@@ -29,6 +31,9 @@ import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
 import java.nio.file.Path
 import java.util.UUID
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
 import java.util.concurrent.TimeUnit
 import kotlin.io.path.createTempFile
 import kotlin.io.path.writeText
@@ -340,6 +345,65 @@ class FeatureFlagServiceClientTest {
     }
   }
 
+  @Test
+  fun `verify snapshot calls the service for all the evaluations before waiting for them`() {
+    val boolFlag = Temporary(key = "snapshot-bool", default = false)
+    val intFlag = Temporary(key = "snapshot-int", default = 7)
+    val missingFlag = Temporary(key = "snapshot-missing", default = "default")
+    val connection = Connection(UUID.randomUUID())
+    val workspace = Workspace(UUID.randomUUID())
+
+    val callbacks = ConcurrentHashMap<String, Callback>()
+    val enqueued = CountDownLatch(4)
+    val httpClient =
+      mockk<OkHttpClient> {
+        every { newCall(any()) } answers {
+          val request = firstArg<Request>()
+          mockk<Call> {
+            every { enqueue(any()) } answers {
+              callbacks[request.url.encodedPath + "?" + request.url.query] = firstArg()
+              enqueued.countDown()
+            }
+          }
+        }
+      }
+    val client = FeatureFlagServiceClient(httpClient = httpClient, airbyteFeatureFlagConfig = AirbyteFeatureFlagConfig(baseUrl = baseUrl))
+
+    val snapshot =
+      CompletableFuture.supplyAsync {
+        client.snapshot(
+          listOf(
+            FlagEvaluation(boolFlag, connection),
+            FlagEvaluation(boolFlag, workspace),
+            FlagEvaluation(intFlag, connection),
+            FlagEvaluation(missingFlag, connection),
+          ),
+        )
+      }
+    assertTrue(enqueued.await(10, TimeUnit.SECONDS))
+    fun respond(
+      flag: Flag<*>,
+      context: Context,
+      body: String,
+      statusCode: Int = 200,
+    ) {
+      val path = "/api/v1/feature-flags/${flag.key}/evaluate?kind=${context.kind}&value=${context.key}"
+      callbacks.getValue(path).onResponse(mockk(), mockResponse(body, statusCode).execute())
+    }
+    respond(boolFlag, connection, "true")
+    respond(boolFlag, workspace, "false")
+    respond(intFlag, connection, "777")
+    respond(missingFlag, connection, "not found", statusCode = 404)
+
+    with(snapshot.get(10, TimeUnit.SECONDS)) {
+      assertEquals(true, boolVariation(boolFlag, connection))
+      assertEquals(false, boolVariation(boolFlag, workspace))
+      assertEquals(777, intVariation(intFlag, connection))
+      assertEquals("default", stringVariation(missingFlag, connection))
+    }
+    verify(exactly = 4) { httpClient.newCall(any()) }
+  }
+
   private fun mockResponse(
     bodyString: String,
     statusCode: Int = 200,
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.featureflag
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.module.kotlin.registerKotlinModule
+import io.airbyte.micronaut.runtime.AirbyteFeatureFlagConfig
+import okhttp3.HttpUrl
+import okhttp3.Interceptor
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.Protocol
+import okhttp3.Response
+import okhttp3.ResponseBody.Companion.toResponseBody
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.io.IOException
+import java.io.InterruptedIOException
+import java.time.Duration
+import java.util.UUID
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class FeatureFlagServiceCacheTest {
+  private val baseUrl = "http://test.featureflag.ab.com"
+  private val connection = Connection(UUID.randomUUID())
+  private val workspace = Workspace(UUID.randomUUID())
+
+  private val boolFlag = Temporary(key = "cached-bool", default = false)
+  private val intFlag = Temporary(key = "cached-int", default = 7)
+  private val stringFlag = Temporary(key = "cached-string", default = "fancy")
+  private val missingFlag = Temporary(key = "cached-missing", default = "missing")
+
+  private val flags =
+    arrayOf(
+      ServiceFlag(
+        key = boolFlag.key,
+        default = "false",
+        rules = listOf(ServiceRule(context = ServiceContext(kind = connection.kind, value = connection.key), value = "true")),
+      ),
+      ServiceFlag(key = intFlag.key, default = "777"),
+      ServiceFlag(
+        key = stringFlag.key,
+        default = "airbyte",
+        rules =
+          listOf(
+            ServiceRule(context = ServiceContext(kind = workspace.kind, value = workspace.key), value = "workspace"),
+            ServiceRule(context = ServiceContext(kind = connection.kind, value = connection.key), value = "connection"),
+          ),
+      ),
+    )
+
+  @Test
+  fun `flags are evaluated in-process without calling the service at steady state`() {
+    val service = FakeFeatureFlagService(*flags)
+    client(service).use { client ->
+      awaitSynced(service)
+      val listCalls = service.listCalls.get()
+
+      repeat(1000) {
+        with(client) {
+          assertEquals(true, boolVariation(boolFlag, connection))
+          assertEquals(false, boolVariation(boolFlag, workspace))
+          assertEquals(777, intVariation(intFlag, connection))
+          assertEquals("connection", stringVariation(stringFlag, connection))
+          assertEquals("workspace", stringVariation(stringFlag, Multi(listOf(workspace, connection))))
+          assertEquals("airbyte", stringVariation(stringFlag, Organization(UUID.randomUUID())))
+          assertEquals("missing", stringVariation(missingFlag, connection))
+        }
+      }
+      val snapshot = client.snapshot(listOf(FlagEvaluation(boolFlag, connection), FlagEvaluation(intFlag, workspace)))
+      assertEquals(true, snapshot.boolVariation(boolFlag, connection))
+      assertEquals(777, snapshot.intVariation(intFlag, workspace))
+
+      assertEquals(0, service.evaluateCalls.get())
+      assertEquals(listCalls, service.listCalls.get())
+    }
+  }
+
+  @Test
+  fun `changes to the flags are picked up by the pending poll`() {
+    val service = FakeFeatureFlagService(*flags)
+    client(service).use { client ->
+      awaitSynced(service)
+      assertEquals(777, client.intVariation(intFlag, connection))
+
+      service.put(ServiceFlag(key = intFlag.key, default = "42"))
+      service.put(ServiceFlag(key = missingFlag.key, default = "found"))
+
+      eventually { client.intVariation(intFlag, connection) == 42 }
+      assertEquals("found", client.stringVariation(missingFlag, connection))
+      assertEquals(0, service.evaluateCalls.get())
+    }
+  }
+
+  @Test
+  fun `stale flags are evaluated remotely and the last known flags are served when the service is unreachable`() {
+    val service = FakeFeatureFlagService(*flags)
+    client(service, maxStaleness = Duration.ZERO).use { client ->
+      awaitSynced(service)
+
+      assertEquals(777, client.intVariation(intFlag, connection))
+      assertEquals(1, service.evaluateCalls.get())
+
+      service.reachable = false
+      with(client) {
+        assertEquals(true, boolVariation(boolFlag, connection))
+        assertEquals(777, intVariation(intFlag, connection))
+        assertEquals("workspace", stringVariation(stringFlag, workspace))
+        assertEquals("missing", stringVariation(missingFlag, connection))
+      }
+      assertEquals(777, client.snapshot(listOf(FlagEvaluation(intFlag, connection))).intVariation(intFlag, connection))
+    }
+  }
+
+  @Test
+  fun `the last known flags are served without calling the service while it answers with errors`() {
+    val service = FakeFeatureFlagService(*flags)
+    client(service, maxStaleness = Duration.ZERO).use { client ->
+      awaitSynced(service)
+
+      service.evaluateFailureCode = 503
+      assertEquals(777, client.intVariation(intFlag, connection))
+      val evaluateCalls = service.evaluateCalls.get()
+
+      repeat(10) {
+        assertEquals(true, client.boolVariation(boolFlag, connection))
+        assertEquals(777, client.snapshot(listOf(FlagEvaluation(intFlag, connection))).intVariation(intFlag, connection))
+      }
+      assertEquals(evaluateCalls, service.evaluateCalls.get())
+    }
+  }
+
+  @Test
+  fun `flags are evaluated remotely until the flags were synced`() {
+    val service = FakeFeatureFlagService(*flags).apply { reachable = false }
+    client(service).use { client ->
+      assertThrows<IOException> { client.intVariation(intFlag, connection) }
+
+      service.reachable = true
+      assertEquals(777, client.intVariation(intFlag, connection))
+
+      awaitSynced(service)
+      val evaluateCalls = service.evaluateCalls.get()
+      assertEquals(777, client.intVariation(intFlag, connection))
+      assertEquals(evaluateCalls, service.evaluateCalls.get())
+    }
+  }
+
+  @Test
+  fun `flags are evaluated remotely when the service doesn't list its flags`() {
+    val service = FakeFeatureFlagService(*flags).apply { listable = false }
+    client(service).use { client ->
+      eventually { service.listCalls.get() == 1 }
+
+      assertEquals(true, client.boolVariation(boolFlag, connection))
+      assertEquals(1, service.evaluateCalls.get())
+      Thread.sleep(100)
+      assertEquals(1, service.listCalls.get())
+    }
+  }
+
+  private fun client(
+    service: FakeFeatureFlagService,
+    maxStaleness: Duration = Duration.ofMinutes(5),
+  ): FeatureFlagServiceClient =
+    FeatureFlagServiceClient(
+      httpClient = OkHttpClient.Builder().addInterceptor(service).build(),
+      airbyteFeatureFlagConfig =
+        AirbyteFeatureFlagConfig(
+          baseUrl = baseUrl,
+          cache =
+            AirbyteFeatureFlagConfig.AirbyteFeatureFlagCacheConfig(
+              enabled = true,
+              pollTimeout = Duration.ofSeconds(30),
+              maxStaleness = maxStaleness,
+            ),
+        ),
+    )
+
+  /**
+   * The flags were synced once the client waits for them to change.
+   */
+  private fun awaitSynced(service: FakeFeatureFlagService) = eventually { service.listCalls.get() >= 2 }
+
+  private fun eventually(condition: () -> Boolean) {
+    val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10)
+    while (!condition()) {
+      assertTrue(System.nanoTime() < deadline, "Timed out waiting for the condition")
+      Thread.sleep(10)
+    }
+  }
+}
+
+/**
+ * In-process stand-in for the feature flag service, serving its list and evaluate endpoints and counting the calls to them.
+ */
+private class FakeFeatureFlagService(
+  vararg flags: ServiceFlag,
+) : Interceptor {
+  val listCalls = AtomicInteger()
+  val evaluateCalls = AtomicInteger()
+
+  @Volatile
+  var reachable = true
+
+  @Volatile
+  var listable = true
+
+  @Volatile
+  var evaluateFailureCode: Int? = null
+
+  private val mapper = ObjectMapper().registerKotlinModule()
+  private val lock = ReentrantLock()
+  private val updated = lock.newCondition()
+  private val flags = flags.associateBy { it.key }.toMutableMap()
+  private var version = 0L
+
+  fun put(flag: ServiceFlag) {
+    lock.withLock {
+      flags[flag.key] = flag
+      version++
+      updated.signalAll()
+    }
+  }
+
+  override fun intercept(chain: Interceptor.Chain): Response {
+    if (!reachable) {
+      throw IOException("The feature flag service is unreachable")
+    }
+    val url = chain.request().url
+    val (code, body) =
+      when {
+        url.encodedPath.endsWith("/evaluate") -> {
+          evaluateCalls.incrementAndGet()
+          evaluateFailureCode?.let { it to "unavailable" } ?: evaluate(url)?.let { 200 to it } ?: (404 to "not found")
+        }
+        url.encodedPath == "/api/v1/feature-flags/" -> {
+          listCalls.incrementAndGet()
+          if (listable) 200 to list(url) else 404 to "not found"
+        }
+        else -> 404 to "not found"
+      }
+    return Response
+      .Builder()
+      .request(chain.request())
+      .protocol(Protocol.HTTP_1_1)
+      .code(code)
+      .message("")
+      .body(body.toResponseBody("application/json".toMediaType()))
+      .build()
+  }
+
+  private fun evaluate(url: HttpUrl): String? {
+    val env = url.queryParameterValues("kind").zip(url.queryParameterValues("value")).toMap()
+    val flag = lock.withLock { flags[url.pathSegments[3]] } ?: return null
+    return flag.rules.firstOrNull { env[it.context.kind] == it.context.value }?.value ?: flag.default
+  }
+
+  private fun list(url: HttpUrl): String =
+    lock.withLock {
+      val since = url.queryParameter("version")?.toLong()
+      var remaining = TimeUnit.SECONDS.toNanos(url.queryParameter("waitSeconds")?.toLong() ?: 0)
+      try {
+        while (since == version && remaining > 0) {
+          remaining = updated.awaitNanos(remaining)
+        }
+      } catch (e: InterruptedException) {
+        throw InterruptedIOException()
+      }
+      mapper.writeValueAsString(ServiceFlags(version = version, flags = flags.values.toList()))
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.featureflag
+
+import io.mockk.spyk
+import io.mockk.verify
+import org.junit.jupiter.api.Test
+import java.util.UUID
+import kotlin.test.assertEquals
+
+class FlagSnapshotTest {
+  private val boolFlag = Temporary(key = "snapshot-bool", default = false)
+  private val stringFlag = Temporary(key = "snapshot-string", default = "default")
+  private val intFlag = Temporary(key = "snapshot-int", default = 1)
+  private val connection = Connection(UUID.randomUUID())
+
+  @Test
+  fun `evaluations are served from the snapshot`() {
+    val client = spyk(TestClient(mapOf(boolFlag.key to true, stringFlag.key to "value", intFlag.key to 42)))
+
+    val snapshot =
+      client.snapshot(
+        listOf(FlagEvaluation(boolFlag, connection), FlagEvaluation(stringFlag, connection), FlagEvaluation(intFlag, connection)),
+      )
+    repeat(3) {
+      assertEquals(true, snapshot.boolVariation(boolFlag, Connection(connection.key)))
+      assertEquals("value", snapshot.stringVariation(stringFlag, connection))
+      assertEquals(42, snapshot.intVariation(intFlag, connection))
+    }
+
+    verify(exactly = 1) { client.boolVariation(boolFlag, connection) }
+    verify(exactly = 1) { client.stringVariation(stringFlag, connection) }
+    verify(exactly = 1) { client.intVariation(intFlag, connection) }
+  }
+
+  @Test
+  fun `evaluations missing from the snapshot are evaluated by the client`() {
+    val client = spyk(TestClient(mapOf(boolFlag.key to true)))
+    val workspace = Workspace(UUID.randomUUID())
+
+    val snapshot = client.snapshot(listOf(FlagEvaluation(boolFlag, connection)))
+
+    assertEquals(true, snapshot.boolVariation(boolFlag, workspace))
+    assertEquals("default", snapshot.stringVariation(stringFlag, connection))
+    verify(exactly = 1) { client.boolVariation(boolFlag, workspace) }
+    verify(exactly = 1) { client.stringVariation(stringFlag, connection) }
+  }
+}
@@ -1,6 +1,7 @@
 plugins {
   id("io.airbyte.gradle.jvm.lib")
   id("io.airbyte.gradle.publish")
+  alias(libs.plugins.me.champeau.jmh)
 }
 
 dependencies {
@@ -13,6 +14,7 @@ dependencies {
 
   implementation(project(":oss:airbyte-commons"))
   implementation(libs.kotlin.logging)
+  implementation(libs.micronaut.cache.caffeine)
   implementation("com.networknt:json-schema-validator:1.4.0")
   // needed so that we can follow $ref when parsing json. jackson does not support this natively.
   implementation("me.andrz.jackson:jackson-json-reference-core:0.3.2")
@@ -23,6 +25,15 @@ dependencies {
   testImplementation(libs.assertj.core)
 
   testImplementation(libs.junit.pioneer)
+
+  jmhImplementation(project(":oss:airbyte-commons"))
+  jmhImplementation("com.networknt:json-schema-validator:1.4.0")
+}
+
+// Run the benchmarks with `./gradlew :oss:airbyte-json-validation:jmh`.
+jmh {
+  jmhVersion.set(libs.versions.jmh.get())
+  profilers.add("gc")
 }
 
 // The DuplicatesStrategy will be required while this module is mixture of kotlin and java dependencies.
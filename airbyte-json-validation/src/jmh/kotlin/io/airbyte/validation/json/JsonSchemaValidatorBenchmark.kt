@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.validation.json
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.networknt.schema.JsonSchemaFactory
+import com.networknt.schema.SpecVersion
+import io.airbyte.commons.json.Jsons
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+
+private const val WIDE_TABLE_COLUMNS = 300
+private const val NESTING_DEPTH = 6
+
+/**
+ * Measures validation throughput of [JsonSchemaValidator] on schemas shaped like the ones connectors declare: wide
+ * tables, deeply nested objects and specs made of `oneOf` alternatives. Validating against a schema without the
+ * validator cache, as every call used to do, is measured as a baseline.
+ *
+ * Allocations are reported by the gc profiler configured in the build.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class JsonSchemaValidatorBenchmark {
+  enum class Catalog(
+    val schema: () -> JsonNode,
+    val json: () -> JsonNode,
+  ) {
+    WIDE_TABLE(::wideTableSchema, ::wideTableRecord),
+    NESTED_OBJECTS({ nestedSchema(NESTING_DEPTH) }, { nestedRecord(NESTING_DEPTH) }),
+    ONE_OF_SPEC({ ONE_OF_SPEC }, { ONE_OF_CONFIG }),
+  }
+
+  @Param
+  lateinit var catalog: Catalog
+
+  private lateinit var schema: JsonNode
+  private lateinit var json: JsonNode
+  private lateinit var jsonSchemaFactory: JsonSchemaFactory
+  private lateinit var validator: JsonSchemaValidator
+
+  @Setup
+  fun setup() {
+    schema = catalog.schema()
+    json = catalog.json()
+    jsonSchemaFactory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7)
+    validator = JsonSchemaValidator()
+    validator.initializeSchemaValidator(catalog.name, schema)
+    check(validator.test(schema, json)) { "The ${catalog.name} record doesn't match its schema" }
+  }
+
+  @Benchmark
+  fun compiledOnEveryCall(): Boolean = jsonSchemaFactory.getSchema(schema).validate(json).isEmpty()
+
+  @Benchmark
+  fun cached(): Boolean = validator.validate(schema, json).isEmpty()
+
+  @Benchmark
+  fun initialized(): Boolean = validator.validateInitializedSchema(catalog.name, json).isEmpty()
+}
+
+private val COLUMN_TYPES = listOf("string", "integer", "number", "boolean")
+
+private fun wideTableSchema(): JsonNode =
+  Jsons.jsonNode(
+    mapOf(
+      "\$schema" to "http://json-schema.org/draft-07/schema#",
+      "type" to "object",
+      "properties" to
+        (0 until WIDE_TABLE_COLUMNS).associate {
+          "column_$it" to mapOf("type" to listOf("null", COLUMN_TYPES[it % COLUMN_TYPES.size]))
+        },
+    ),
+  )
+
+private fun wideTableRecord(): JsonNode =
+  Jsons.jsonNode(
+    (0 until WIDE_TABLE_COLUMNS).associate {
+      "column_$it" to
+        when (COLUMN_TYPES[it % COLUMN_TYPES.size]) {
+          "string" -> "value $it"
+          "integer" -> it
+          "number" -> it + 0.5
+          else -> it % 2 == 0
+        }
+    },
+  )
+
+private fun nestedSchema(depth: Int): JsonNode =
+  Jsons.jsonNode(
+    mapOf(
+      "type" to "object",
+      "properties" to
+        mapOf(
+          "id" to mapOf("type" to "integer"),
+          "name" to mapOf("type" to "string"),
+          "tags" to mapOf("type" to "array", "items" to mapOf("type" to "string")),
+        ) + if (depth > 0) mapOf("child" to nestedSchema(depth - 1)) else emptyMap(),
+    ),
+  )
+
+private fun nestedRecord(depth: Int): JsonNode =
+  Jsons.jsonNode(
+    mapOf(
+      "id" to depth,
+      "name" to "level $depth",
+      "tags" to listOf("a", "b", "c"),
+    ) + if (depth > 0) mapOf("child" to nestedRecord(depth - 1)) else emptyMap(),
+  )
+
+private val ONE_OF_SPEC: JsonNode =
+  Jsons.deserialize(
+    """
+    {
+      "${'$'}schema": "http://json-schema.org/draft-07/schema#",
+      "type": "object",
+      "required": ["host", "port", "database", "credentials"],
+      "properties": {
+        "host": {"type": "string"},
+        "port": {"type": "integer", "minimum": 0, "maximum": 65536},
+        "database": {"type": "string"},
+        "credentials": {
+          "type": "object",
+          "oneOf": [
+            {
+              "required": ["auth_type", "password"],
+              "properties": {
+                "auth_type": {"type": "string", "const": "password"},
+                "password": {"type": "string", "airbyte_secret": true}
+              }
+            },
+            {
+              "required": ["auth_type", "client_id", "client_secret", "refresh_token"],
+              "properties": {
+                "auth_type": {"type": "string", "const": "oauth2"},
+                "client_id": {"type": "string"},
+                "client_secret": {"type": "string", "airbyte_secret": true},
+                "refresh_token": {"type": "string", "airbyte_secret": true}
+              }
+            },
+            {
+              "required": ["auth_type", "private_key"],
+              "properties": {
+                "auth_type": {"type": "string", "const": "key_pair"},
+                "private_key": {"type": "string", "airbyte_secret": true},
+                "passphrase": {"type": "string", "airbyte_secret": true}
+              }
+            }
+          ]
+        },
+        "replication_method": {
+          "type": "object",
+          "oneOf": [
+            {"properties": {"method": {"const": "STANDARD"}}, "required": ["method"]},
+            {
+              "properties": {
+                "method": {"const": "CDC"},
+                "initial_waiting_seconds": {"type": "integer", "minimum": 120, "maximum": 1200}
+              },
+              "required": ["method"]
+            }
+          ]
+        }
+      }
+    }
+    """.trimIndent(),
+  )
+
+private val ONE_OF_CONFIG: JsonNode =
+  Jsons.deserialize(
+    """
+    {
+      "host": "localhost",
+      "port": 5432,
+      "database": "postgres",
+      "credentials": {
+        "auth_type": "oauth2",
+        "client_id": "client",
+        "client_secret": "secret",
+        "refresh_token": "token"
+      },
+      "replication_method": {"method": "CDC", "initial_waiting_seconds": 300}
+    }
+    """.trimIndent(),
+  )
@@ -5,6 +5,8 @@
 package io.airbyte.validation.json
 
 import com.fasterxml.jackson.databind.JsonNode
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
 import com.networknt.schema.JsonMetaSchema
 import com.networknt.schema.JsonNodePath
 import com.networknt.schema.JsonSchema
@@ -16,6 +18,7 @@ import com.networknt.schema.SpecVersion
 import com.networknt.schema.ValidationContext
 import com.networknt.schema.ValidationMessage
 import io.airbyte.commons.annotation.InternalForTesting
+import io.airbyte.commons.json.JsonHasher
 import io.github.oshai.kotlinlogging.KotlinLogging
 import jakarta.inject.Singleton
 import me.andrz.jackson.JsonContext
@@ -25,12 +28,18 @@ import java.io.File
 import java.io.IOException
 import java.net.URI
 import java.net.URISyntaxException
+import java.util.concurrent.ConcurrentHashMap
 import java.util.stream.Collectors
 
 private val log = KotlinLogging.logger {}
 
+private const val MAX_CACHED_VALIDATORS = 1_000L
+
 /**
  * Validate a JSON object against a JSONSchema schema.
+ *
+ * Compiled validators are cached by the content of their schema and shared by all the instances of this class, so
+ * validating against a schema that has already been seen doesn't build a new validator.
  */
 @Singleton
 class JsonSchemaValidator
@@ -39,7 +48,7 @@ class JsonSchemaValidator
     private val baseUri: URI?,
   ) {
     private val jsonSchemaFactory: JsonSchemaFactory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7)
-    private val schemaToValidators: MutableMap<String, JsonSchema> = HashMap()
+    private val schemaToValidators: MutableMap<String, JsonSchema> = ConcurrentHashMap()
 
     constructor() : this(defaultBaseUri)
 
@@ -84,20 +93,9 @@ class JsonSchemaValidator
       return validationMessages.stream().map { obj: ValidationMessage -> obj.message }.collect(Collectors.toSet())
     }
 
-    // todo(davin): Rewrite this section to cache schemas.
-
     /**
      * Test if a JSON object conforms to a given JSONSchema.
      *
-     *
-     * WARNING
-     *
-     *
-     * The following methods perform JSON validation **by re-creating a validator each time**. This is
-     * both CPU and GC expensive, and should be used carefully.
-     *
-     *
-     *
      * @param schemaJson JSONSchema to test against
      * @param objectJson object to test
      * @return true if objectJson conforms to the JSONSchema. Otherwise, false.
@@ -190,9 +188,21 @@ class JsonSchemaValidator
     }
 
     /**
-     * Return a schema validator for a json schema) { defaulting to the V7 Json schema.
+     * Return a schema validator for a json schema, compiling it if it isn't cached yet.
      */
     private fun getSchemaValidator(schemaJson: JsonNode): JsonSchema {
+      compiledValidators.getIfPresent(SchemaKey(baseUri, schemaJson))?.let { return it }
+
+      // The schema is copied so that changes made to it by the caller affect neither the cached key nor the validator
+      // compiled from it.
+      val schemaCopy = schemaJson.deepCopy<JsonNode>()
+      return compiledValidators.get(SchemaKey(baseUri, schemaCopy)) { compileSchemaValidator(schemaCopy) }
+    }
+
+    /**
+     * Compile a schema validator for a json schema, defaulting to the V7 Json schema.
+     */
+    private fun compileSchemaValidator(schemaJson: JsonNode): JsonSchema {
       // Default to draft-07, but have handling for the other metaschemas that networknt supports
       val metaschema: JsonMetaSchema
       val metaschemaNode = schemaJson["\$schema"]
@@ -229,10 +239,34 @@ class JsonSchemaValidator
           schemaJson,
           null,
         )
+      // Validators are lazily initialized, which isn't thread safe. Cached validators are shared across threads.
+      schema.initializeValidators()
       return schema
     }
 
+    /**
+     * Identifies a schema by its content. Keys with the same hash are still compared, so that a hash collision can't
+     * return the validator of another schema.
+     */
+    private class SchemaKey(
+      private val baseUri: URI?,
+      private val schema: JsonNode,
+    ) {
+      private val hash = JsonHasher.hash64(schema)
+
+      override fun hashCode(): Int = 31 * java.lang.Long.hashCode(hash) + baseUri.hashCode()
+
+      override fun equals(other: Any?): Boolean =
+        other is SchemaKey && hash == other.hash && baseUri == other.baseUri && schema == other.schema
+    }
+
     companion object {
+      private val compiledValidators: Cache<SchemaKey, JsonSchema> =
+        Caffeine
+          .newBuilder()
+          .maximumSize(MAX_CACHED_VALIDATORS)
+          .build()
+
       // This URI just needs to point at any path in the same directory as /app/WellKnownTypes.json
       // It's required for the JsonSchema#validate method to resolve $ref correctly.
       private var defaultBaseUri: URI? = null
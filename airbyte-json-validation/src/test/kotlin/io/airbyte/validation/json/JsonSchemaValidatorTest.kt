@@ -4,6 +4,7 @@
 
 package io.airbyte.validation.json
 
+import com.fasterxml.jackson.databind.node.ObjectNode
 import io.airbyte.commons.io.IOs.writeFile
 import io.airbyte.commons.json.Jsons.deserialize
 import io.airbyte.validation.json.JsonSchemaValidator.Companion.getSchema
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
 import java.net.URI
 import java.nio.file.Files
+import java.util.concurrent.Executors
 
 internal class JsonSchemaValidatorTest {
   @Test
@@ -161,6 +163,38 @@ internal class JsonSchemaValidatorTest {
     assert(!errorMessages.isEmpty())
   }
 
+  @Test
+  fun testValidateUsesTheCurrentContentOfTheSchema() {
+    val validator = JsonSchemaValidator()
+    val schema = VALID_SCHEMA.deepCopy()
+    val json = deserialize("{\"host\":1}")
+
+    assertFalse(validator.validate(schema, json).isEmpty())
+
+    (schema.get(PROPERTIES).get("host") as ObjectNode).put("type", "integer")
+
+    assertTrue(validator.validate(schema, json).isEmpty())
+    assertFalse(validator.validate(VALID_SCHEMA, json).isEmpty())
+  }
+
+  @Test
+  fun testValidateConcurrentlyWithEqualSchemas() {
+    val executor = Executors.newFixedThreadPool(4)
+    try {
+      val results =
+        (0 until 100)
+          .map { i ->
+            executor.submit<Boolean> {
+              JsonSchemaValidator().test(VALID_SCHEMA.deepCopy(), deserialize("{\"host\":\"abc\", \"port\":$i}"))
+            }
+          }.map { it.get() }
+
+      assertTrue(results.all { it })
+    } finally {
+      executor.shutdownNow()
+    }
+  }
+
   companion object {
     private const val PROPERTIES = "properties"
 
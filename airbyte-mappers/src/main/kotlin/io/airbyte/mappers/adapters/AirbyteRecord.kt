@@ -18,6 +18,11 @@ interface AirbyteRecord {
 
   fun get(fieldName: String): Value
 
+  /**
+   * Returns the value of a field, or null if the record doesn't have it.
+   */
+  fun getOrNull(fieldName: String): Value? = if (has(fieldName)) get(fieldName) else null
+
   fun remove(fieldName: String)
 
   fun rename(
@@ -42,9 +47,33 @@ interface AirbyteRecord {
 }
 
 interface Value {
+  /**
+   * What a value holds, so that it can be compared without being converted to a string.
+   */
+  enum class Kind {
+    NULL,
+    BOOLEAN,
+    INTEGER,
+    NUMBER,
+    STRING,
+    OTHER,
+  }
+
   fun asBoolean(): Boolean
 
   fun asNumber(): Number
 
   fun asString(): String
+
+  fun kind(): Kind = Kind.OTHER
+
+  /**
+   * Returns the value of an [Kind.INTEGER] value.
+   */
+  fun asLong(): Long = asNumber().toLong()
+
+  /**
+   * Returns the value of a [Kind.NUMBER] value.
+   */
+  fun asDouble(): Double = asNumber().toDouble()
 }
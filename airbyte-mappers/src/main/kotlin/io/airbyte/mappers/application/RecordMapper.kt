@@ -9,8 +9,9 @@ import io.airbyte.mappers.adapters.AirbyteRecord
 import io.airbyte.mappers.transformations.Mapper
 import io.github.oshai.kotlinlogging.KotlinLogging
 import jakarta.inject.Singleton
-import kotlin.time.DurationUnit
-import kotlin.time.measureTime
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
 
 private val log = KotlinLogging.logger {}
 
@@ -18,29 +19,47 @@ private val log = KotlinLogging.logger {}
 class RecordMapper(
   mappers: List<Mapper<out MapperConfig>>,
 ) {
-  private data class MapperStopwatch(
+  internal class MapperStopwatch(
     val mapper: Mapper<out MapperConfig>,
-    var executionCount: Int = 0,
-    var totalTimeMs: Long = 0L,
-  )
+  ) {
+    // Records of different streams can be mapped concurrently.
+    val executionCount: AtomicInteger = AtomicInteger()
+    val totalTimeNanos: AtomicLong = AtomicLong()
+  }
+
+  /**
+   * The mappers of a list of mapper configurations, resolved once with [resolve] so that they are not looked up
+   * for every record.
+   */
+  class MapperChain internal constructor(
+    internal val steps: List<Pair<MapperConfig, MapperStopwatch>>,
+  ) {
+    fun isEmpty(): Boolean = steps.isEmpty()
+  }
 
   private val mappersByName: Map<String, MapperStopwatch> = mappers.map { MapperStopwatch(mapper = it) }.associateBy { it.mapper.name }
 
-  @Suppress("UNCHECKED_CAST")
+  fun resolve(configuredMappers: List<MapperConfig>): MapperChain =
+    MapperChain(configuredMappers.mapNotNull { mapperConfig -> mappersByName[mapperConfig.name()]?.let { mapperConfig to it } })
+
   fun <T : MapperConfig> applyMappers(
     record: AirbyteRecord,
     configuredMappers: List<T>,
+  ) {
+    applyMappers(record, resolve(configuredMappers))
+  }
+
+  @Suppress("UNCHECKED_CAST")
+  fun applyMappers(
+    record: AirbyteRecord,
+    mapperChain: MapperChain,
   ) {
     try {
-      configuredMappers.fold(record) { acc, mapperConfig ->
-        mappersByName[mapperConfig.name()]?.let { stopwatch ->
-          stopwatch.executionCount++
-          stopwatch.totalTimeMs +=
-            measureTime {
-              (stopwatch.mapper as Mapper<T>).map(mapperConfig, acc)
-            }.toLong(DurationUnit.MILLISECONDS)
-        }
-        acc
+      for ((mapperConfig, stopwatch) in mapperChain.steps) {
+        stopwatch.executionCount.incrementAndGet()
+        val start = System.nanoTime()
+        (stopwatch.mapper as Mapper<MapperConfig>).map(mapperConfig, record)
+        stopwatch.totalTimeNanos.addAndGet(System.nanoTime() - start)
       }
     } catch (e: Exception) {
       log.debug { "Error applying mappers: ${e.message}" }
@@ -49,7 +68,7 @@ class RecordMapper(
 
   fun collectStopwatches(): Map<String, Long> =
     mappersByName
-      .filterValues { it.executionCount > 0 }
-      .map { Pair(it.key, it.value.totalTimeMs) }
+      .filterValues { it.executionCount.get() > 0 }
+      .map { Pair(it.key, TimeUnit.NANOSECONDS.toMillis(it.value.totalTimeNanos.get())) }
       .toMap()
 }
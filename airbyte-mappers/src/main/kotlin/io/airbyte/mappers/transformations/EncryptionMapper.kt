@@ -6,6 +6,8 @@ package io.airbyte.mappers.transformations
 
 import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
 import io.airbyte.config.AirbyteSecret
 import io.airbyte.config.ConfiguredMapper
 import io.airbyte.config.FieldType
@@ -16,6 +18,7 @@ import io.airbyte.config.mapper.configs.EncryptionMapperConfig
 import io.airbyte.config.mapper.configs.RsaEncryptionConfig
 import io.airbyte.mappers.adapters.AirbyteRecord
 import jakarta.inject.Singleton
+import java.security.Key
 import java.security.KeyFactory
 import java.security.SecureRandom
 import java.security.spec.X509EncodedKeySpec
@@ -51,6 +54,21 @@ class EncryptionMapper(
     override fun specType(): Class<*> = EncryptionMapperConfig::class.java
   }
 
+  /**
+   * The cipher transformation and the parsed key of an encryption configuration.
+   */
+  private class PreparedEncryption(
+    val transformation: String,
+    val key: Key,
+  )
+
+  // Keys are parsed once per configuration: the same configuration instance is applied to all the records of a stream.
+  private val preparedEncryptions: Cache<EncryptionConfig, PreparedEncryption> = Caffeine.newBuilder().weakKeys().build()
+
+  // Ciphers are reused for every record, per thread since records of different streams can be encrypted concurrently.
+  private val ciphers = ThreadLocal.withInitial { HashMap<String, Cipher>() }
+  private val secureRandoms = ThreadLocal.withInitial { SecureRandom() }
+
   override val name: String
     get() = MapperOperationName.ENCRYPTION
 
@@ -116,40 +134,67 @@ class EncryptionMapper(
     }
   }
 
+  private fun getTransformation(config: EncryptionConfig): String =
+    when (config) {
+      is AesEncryptionConfig -> "${config.algorithm}/${config.mode}/${config.padding}"
+      is RsaEncryptionConfig -> config.algorithm
+    }
+
   private fun getCipher(config: EncryptionConfig): Cipher =
     when (config) {
       is AesEncryptionConfig ->
         try {
-          Cipher.getInstance("${config.algorithm}/${config.mode}/${config.padding}")
+          Cipher.getInstance(getTransformation(config))
         } catch (e: Exception) {
           throw EncryptionConfigException("Mode ${config.mode} and padding ${config.padding} are incompatible for AES Encryption", e)
         }
-      is RsaEncryptionConfig -> Cipher.getInstance(config.algorithm)
+      is RsaEncryptionConfig -> Cipher.getInstance(getTransformation(config))
     }
 
+  /**
+   * Returns the cipher of the current thread for a configuration.
+   */
+  private fun getPooledCipher(
+    config: EncryptionConfig,
+    prepared: PreparedEncryption,
+  ): Cipher = ciphers.get().getOrPut(prepared.transformation) { getCipher(config) }
+
   @OptIn(ExperimentalStdlibApi::class)
+  private fun prepare(config: EncryptionConfig): PreparedEncryption =
+    preparedEncryptions.get(config) {
+      when (it) {
+        is AesEncryptionConfig -> {
+          val key = it.key as? AirbyteSecret.Hydrated ?: throw MissingSecretValueException("key hasn't been hydrated")
+          PreparedEncryption(getTransformation(it), SecretKeySpec(key.value.hexToByteArray(), it.algorithm))
+        }
+        is RsaEncryptionConfig -> {
+          val keyFactory = KeyFactory.getInstance(it.algorithm)
+          val keySpec = X509EncodedKeySpec(it.publicKey.hexToByteArray())
+          PreparedEncryption(getTransformation(it), keyFactory.generatePublic(keySpec))
+        }
+      }
+    }
+
   private fun encryptAES(
     data: ByteArray,
     config: AesEncryptionConfig,
   ): String {
-    val key = config.key as? AirbyteSecret.Hydrated ?: throw MissingSecretValueException("key hasn't been hydrated")
-    val cipher = getCipher(config)
+    val prepared = prepare(config)
+    val cipher = getPooledCipher(config, prepared)
     val iv = ByteArray(16)
-    SecureRandom().nextBytes(iv)
-    cipher.init(Cipher.ENCRYPT_MODE, SecretKeySpec(key.value.hexToByteArray(), config.algorithm), IvParameterSpec(iv))
+    secureRandoms.get().nextBytes(iv)
+    cipher.init(Cipher.ENCRYPT_MODE, prepared.key, IvParameterSpec(iv))
     val encryptedData = cipher.doFinal(data)
-    return (iv + encryptedData).toHexString()
+    return HexEncoder.encode(iv, encryptedData)
   }
 
-  @OptIn(ExperimentalStdlibApi::class)
   private fun encryptRSA(
     data: ByteArray,
     config: RsaEncryptionConfig,
   ): String {
-    val cipher = getCipher(config)
-    val keyFactory = KeyFactory.getInstance(config.algorithm)
-    val keySpec = X509EncodedKeySpec(config.publicKey.hexToByteArray())
-    cipher.init(Cipher.ENCRYPT_MODE, keyFactory.generatePublic(keySpec))
-    return cipher.doFinal(data).toHexString()
+    val prepared = prepare(config)
+    val cipher = getPooledCipher(config, prepared)
+    cipher.init(Cipher.ENCRYPT_MODE, prepared.key)
+    return HexEncoder.encode(cipher.doFinal(data))
   }
 }
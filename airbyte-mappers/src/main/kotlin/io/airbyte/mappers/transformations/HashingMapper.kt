@@ -12,7 +12,6 @@ import io.airbyte.mappers.adapters.AirbyteRecord
 import jakarta.inject.Named
 import jakarta.inject.Singleton
 import java.security.MessageDigest
-import java.util.HexFormat
 
 @Singleton
 @Named("HashingMapper")
@@ -39,6 +38,9 @@ class HashingMapper(
 
   private val hashingMapperSpec = HashingMapperSpec(objectMapper)
 
+  // Digests are reused for every record, per thread since records of different streams can be hashed concurrently.
+  private val digests = ThreadLocal.withInitial { HashMap<String, MessageDigest>() }
+
   override val name: String
     get() = MapperOperationName.HASHING
 
@@ -80,12 +82,14 @@ class HashingMapper(
     method: String,
     data: ByteArray,
   ): String {
-    if (supportedMethods.contains(method).not()) {
-      throw MapperException(type = DestinationCatalogGenerator.MapperErrorType.INVALID_MAPPER_CONFIG, message = "Unsupported hashing method: $method")
-    }
-
-    val hashedValue = MessageDigest.getInstance(method).digest(data)
+    val digest =
+      digests.get().getOrPut(method) {
+        if (supportedMethods.contains(method).not()) {
+          throw MapperException(type = DestinationCatalogGenerator.MapperErrorType.INVALID_MAPPER_CONFIG, message = "Unsupported hashing method: $method")
+        }
+        MessageDigest.getInstance(method)
+      }
 
-    return HexFormat.of().formatHex(hashedValue)
+    return HexEncoder.encode(digest.digest(data))
   }
 }
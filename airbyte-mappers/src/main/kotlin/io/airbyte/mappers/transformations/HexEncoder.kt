@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.mappers.transformations
+
+private const val HEX_DIGITS = "0123456789abcdef"
+
+// Largest buffer kept per thread. Longer values are encoded in a buffer of their own, so that a single large value
+// doesn't pin its buffer to the thread for good.
+private const val MAX_RETAINED_BUFFER_SIZE = 16 * 1024
+
+/**
+ * Lowercase hexadecimal encoding that writes into a per-thread buffer, so that encoding a value only allocates the
+ * resulting string. Values longer than the retained buffer also allocate their own buffer.
+ */
+internal object HexEncoder {
+  private val buffers = ThreadLocal.withInitial { CharArray(256) }
+
+  fun encode(bytes: ByteArray): String = encode(EMPTY, bytes)
+
+  /**
+   * Encodes the concatenation of [prefix] and [bytes].
+   */
+  fun encode(
+    prefix: ByteArray,
+    bytes: ByteArray,
+  ): String {
+    val length = 2 * (prefix.size + bytes.size)
+    var buffer = buffers.get()
+    if (buffer.size < length) {
+      buffer = CharArray(length)
+      if (length <= MAX_RETAINED_BUFFER_SIZE) {
+        buffers.set(buffer)
+      }
+    }
+    val end = write(prefix, buffer, 0)
+    write(bytes, buffer, end)
+    return String(buffer, 0, length)
+  }
+
+  private fun write(
+    bytes: ByteArray,
+    buffer: CharArray,
+    offset: Int,
+  ): Int {
+    var position = offset
+    for (byte in bytes) {
+      val value = byte.toInt()
+      buffer[position++] = HEX_DIGITS[(value shr 4) and 0xF]
+      buffer[position++] = HEX_DIGITS[value and 0xF]
+    }
+    return position
+  }
+
+  private val EMPTY = ByteArray(0)
+}
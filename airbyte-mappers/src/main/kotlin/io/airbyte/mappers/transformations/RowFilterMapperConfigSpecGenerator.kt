@@ -122,6 +122,10 @@ class RowFilterMapperConfigSpecGenerator {
 //            We want to hide the AND/OR operation from the end user for the first iteration, uncomment this when we want to expose them
 //            generateSchemaForClass(AndOperation::class.java),
 //            generateSchemaForClass(OrOperation::class.java),
+//            Same for the IN/RANGE/IS_NULL operations
+//            generateSchemaForClass(InOperation::class.java),
+//            generateSchemaForClass(RangeOperation::class.java),
+//            generateSchemaForClass(IsNullOperation::class.java),
             generateSchemaForClass(EqualOperation::class.java),
             generateSchemaForClass(NotOperation::class.java),
           )
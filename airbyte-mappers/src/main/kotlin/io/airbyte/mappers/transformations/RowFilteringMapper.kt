@@ -5,12 +5,9 @@
 package io.airbyte.mappers.transformations
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
 import io.airbyte.config.MapperOperationName.ROW_FILTERING
-import io.airbyte.config.mapper.configs.AndOperation
-import io.airbyte.config.mapper.configs.EqualOperation
-import io.airbyte.config.mapper.configs.NotOperation
-import io.airbyte.config.mapper.configs.Operation
-import io.airbyte.config.mapper.configs.OrOperation
 import io.airbyte.config.mapper.configs.RowFilteringMapperConfig
 import io.airbyte.mappers.adapters.AirbyteRecord
 import jakarta.inject.Named
@@ -22,6 +19,10 @@ class RowFilteringMapper(
   private val objectMapper: ObjectMapper,
 ) : FilteredRecordsMapper<RowFilteringMapperConfig>() {
   private val rowFilteringMapperSpec = RowFilteringMapperSpec(objectMapper)
+
+  // The same configuration instance is applied to all the records of a stream, compile its conditions only once.
+  private val compiledConditions: Cache<RowFilteringMapperConfig, RowFilteringPredicate> = Caffeine.newBuilder().weakKeys().build()
+
   override val name: String
     get() = ROW_FILTERING
 
@@ -30,30 +31,19 @@ class RowFilteringMapper(
   override fun schema(
     config: RowFilteringMapperConfig,
     slimStream: SlimStream,
-  ): SlimStream = slimStream
+  ): SlimStream {
+    compile(config)
+    return slimStream
+  }
 
   override fun mapForNonDiscardedRecords(
     config: RowFilteringMapperConfig,
     record: AirbyteRecord,
   ) {
-    val conditionEvalResult = eval(operation = config.config.conditions, record = record)
+    val conditionEvalResult = compile(config).test(record)
     record.setInclude(conditionEvalResult)
   }
 
-  private fun eval(
-    operation: Operation,
-    record: AirbyteRecord,
-  ): Boolean =
-    when (operation) {
-      is AndOperation -> operation.conditions.all { eval(it, record) }
-      is EqualOperation -> {
-        if (record.has(operation.fieldName)) {
-          record.get(operation.fieldName).asString() == operation.comparisonValue
-        } else {
-          false
-        }
-      }
-      is NotOperation -> operation.conditions.none { eval(operation = it, record = record) }
-      is OrOperation -> operation.conditions.any { eval(it, record) }
-    }
+  private fun compile(config: RowFilteringMapperConfig): RowFilteringPredicate =
+    compiledConditions.get(config) { RowFilteringPredicate.compile(it.config.conditions) }
 }
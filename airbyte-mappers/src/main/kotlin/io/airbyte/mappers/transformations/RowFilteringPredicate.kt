@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.mappers.transformations
+
+import io.airbyte.config.mapper.configs.AndOperation
+import io.airbyte.config.mapper.configs.EqualOperation
+import io.airbyte.config.mapper.configs.InOperation
+import io.airbyte.config.mapper.configs.IsNullOperation
+import io.airbyte.config.mapper.configs.NotOperation
+import io.airbyte.config.mapper.configs.Operation
+import io.airbyte.config.mapper.configs.OrOperation
+import io.airbyte.config.mapper.configs.RangeOperation
+import io.airbyte.mappers.adapters.AirbyteRecord
+import io.airbyte.mappers.adapters.Value
+import java.math.BigDecimal
+import java.math.RoundingMode
+
+/**
+ * A row filtering [Operation] compiled for evaluation.
+ *
+ * Comparison values are parsed once, so that record values are compared by type instead of being converted to
+ * strings. The conditions of a group are evaluated cheapest first.
+ */
+internal sealed class RowFilteringPredicate {
+  /**
+   * Relative cost of evaluating the predicate.
+   */
+  abstract val cost: Int
+
+  abstract fun test(record: AirbyteRecord): Boolean
+
+  companion object {
+    fun compile(operation: Operation): RowFilteringPredicate =
+      when (operation) {
+        is AndOperation -> AllOf(compileAll(operation.conditions))
+        is OrOperation -> AnyOf(compileAll(operation.conditions))
+        is NotOperation -> NoneOf(compileAll(operation.conditions))
+        is EqualOperation -> Equal(operation.fieldName, operation.comparisonValue)
+        is InOperation -> In(operation.fieldName, operation.comparisonValues)
+        is RangeOperation -> Range(operation.fieldName, operation.lowerBound, operation.upperBound)
+        is IsNullOperation -> IsNull(operation.fieldName)
+      }
+
+    private fun compileAll(operations: List<Operation>): Array<RowFilteringPredicate> =
+      operations.map { compile(it) }.sortedBy { it.cost }.toTypedArray()
+  }
+}
+
+private class AllOf(
+  private val predicates: Array<RowFilteringPredicate>,
+) : RowFilteringPredicate() {
+  override val cost: Int = 1 + predicates.sumOf { it.cost }
+
+  override fun test(record: AirbyteRecord): Boolean = predicates.all { it.test(record) }
+}
+
+private class AnyOf(
+  private val predicates: Array<RowFilteringPredicate>,
+) : RowFilteringPredicate() {
+  override val cost: Int = 1 + predicates.sumOf { it.cost }
+
+  override fun test(record: AirbyteRecord): Boolean = predicates.any { it.test(record) }
+}
+
+private class NoneOf(
+  private val predicates: Array<RowFilteringPredicate>,
+) : RowFilteringPredicate() {
+  override val cost: Int = 1 + predicates.sumOf { it.cost }
+
+  override fun test(record: AirbyteRecord): Boolean = predicates.none { it.test(record) }
+}
+
+/**
+ * True when the field is missing or null.
+ */
+private class IsNull(
+  private val fieldName: String,
+) : RowFilteringPredicate() {
+  override val cost: Int = 1
+
+  override fun test(record: AirbyteRecord): Boolean = record.getOrNull(fieldName)?.kind()?.let { it == Value.Kind.NULL } ?: true
+}
+
+/**
+ * True when the string representation of the field is the comparison value.
+ */
+private class Equal(
+  private val fieldName: String,
+  comparisonValue: String,
+) : RowFilteringPredicate() {
+  private val expected = ComparisonValue(comparisonValue)
+
+  override val cost: Int = 2
+
+  override fun test(record: AirbyteRecord): Boolean = record.getOrNull(fieldName)?.let { expected.matches(it) } ?: false
+}
+
+/**
+ * True when the string representation of the field is one of the comparison values.
+ */
+private class In(
+  private val fieldName: String,
+  comparisonValues: List<String>,
+) : RowFilteringPredicate() {
+  private val strings: Set<String> = comparisonValues.toHashSet()
+  private val longs: LongArray = comparisonValues.mapNotNull { canonicalLong(it) }.toLongArray().apply { sort() }
+  private val doubles: DoubleArray = comparisonValues.mapNotNull { canonicalDouble(it) }.toDoubleArray().apply { sort() }
+
+  override val cost: Int = 3
+
+  override fun test(record: AirbyteRecord): Boolean {
+    val value = record.getOrNull(fieldName) ?: return false
+    return when (value.kind()) {
+      Value.Kind.INTEGER -> longs.binarySearch(value.asLong()) >= 0
+      Value.Kind.NUMBER -> doubles.binarySearch(value.asDouble()) >= 0
+      Value.Kind.BOOLEAN -> strings.contains(value.asBoolean().toString())
+      Value.Kind.NULL -> strings.contains("null")
+      Value.Kind.STRING, Value.Kind.OTHER -> strings.contains(value.asString())
+    }
+  }
+}
+
+/**
+ * True when the field is between the inclusive bounds. Numbers are compared numerically, strings lexicographically,
+ * and any other value is out of range.
+ */
+private class Range(
+  private val fieldName: String,
+  private val lowerBound: String?,
+  private val upperBound: String?,
+) : RowFilteringPredicate() {
+  private val lowerDecimal = lowerBound?.toBigDecimalOrNull()
+  private val upperDecimal = upperBound?.toBigDecimalOrNull()
+
+  // Integers are compared with the bounds rounded toward the range, so that no precision is lost.
+  private val lowerLong: BigDecimal = lowerDecimal?.setScale(0, RoundingMode.CEILING) ?: BigDecimal.valueOf(Long.MIN_VALUE)
+  private val upperLong: BigDecimal = upperDecimal?.setScale(0, RoundingMode.FLOOR) ?: BigDecimal.valueOf(Long.MAX_VALUE)
+  private val lowerDouble = lowerDecimal?.toDouble() ?: Double.NEGATIVE_INFINITY
+  private val upperDouble = upperDecimal?.toDouble() ?: Double.POSITIVE_INFINITY
+
+  // A bound that isn't a number can't be compared with numbers.
+  private val numbersInRange = (lowerBound == null || lowerDecimal != null) && (upperBound == null || upperDecimal != null)
+  private val integersInRange =
+    numbersInRange &&
+      lowerLong <= upperLong &&
+      lowerLong <= BigDecimal.valueOf(Long.MAX_VALUE) &&
+      upperLong >= BigDecimal.valueOf(Long.MIN_VALUE)
+  private val minLong = lowerLong.max(BigDecimal.valueOf(Long.MIN_VALUE)).toLong()
+  private val maxLong = upperLong.min(BigDecimal.valueOf(Long.MAX_VALUE)).toLong()
+
+  override val cost: Int = 2
+
+  override fun test(record: AirbyteRecord): Boolean {
+    val value = record.getOrNull(fieldName) ?: return false
+    return when (value.kind()) {
+      Value.Kind.INTEGER -> integersInRange && value.asLong().let { it in minLong..maxLong }
+      Value.Kind.NUMBER -> numbersInRange && value.asDouble().let { it >= lowerDouble && it <= upperDouble }
+      Value.Kind.STRING ->
+        value.asString().let { (lowerBound == null || it >= lowerBound) && (upperBound == null || it <= upperBound) }
+      else -> false
+    }
+  }
+}
+
+/**
+ * A comparison value parsed as every type whose string representation it can be.
+ */
+private class ComparisonValue(
+  private val text: String,
+) {
+  private val longValue: Long? = canonicalLong(text)
+  private val doubleValue: Double? = canonicalDouble(text)
+  private val booleanValue: Boolean? = text.toBooleanStrictOrNull()
+
+  fun matches(value: Value): Boolean =
+    when (value.kind()) {
+      Value.Kind.INTEGER -> longValue != null && value.asLong() == longValue
+      Value.Kind.NUMBER -> doubleValue != null && java.lang.Double.compare(value.asDouble(), doubleValue) == 0
+      Value.Kind.BOOLEAN -> booleanValue != null && value.asBoolean() == booleanValue
+      Value.Kind.NULL -> text == "null"
+      Value.Kind.STRING, Value.Kind.OTHER -> value.asString() == text
+    }
+}
+
+/**
+ * Returns the integer a string is the representation of, if any.
+ */
+private fun canonicalLong(text: String): Long? = text.toLongOrNull()?.takeIf { it.toString() == text }
+
+/**
+ * Returns the floating point number a string is the representation of, if any.
+ */
+private fun canonicalDouble(text: String): Double? = text.toDoubleOrNull()?.takeIf { it.toString() == text }
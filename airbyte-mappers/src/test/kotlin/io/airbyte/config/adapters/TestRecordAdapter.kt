@@ -16,6 +16,15 @@ class TestValueAdapter(
   override fun asNumber(): Number = value as Number
 
   override fun asString(): String = value.toString()
+
+  override fun kind(): Value.Kind =
+    when (value) {
+      is String -> Value.Kind.STRING
+      is Int, is Long -> Value.Kind.INTEGER
+      is Double -> Value.Kind.NUMBER
+      is Boolean -> Value.Kind.BOOLEAN
+      else -> Value.Kind.OTHER
+    }
 }
 
 class TestRecordAdapter(
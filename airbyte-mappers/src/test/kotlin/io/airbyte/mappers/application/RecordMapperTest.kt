@@ -46,6 +46,27 @@ class RecordMapperTest {
     assertEquals(expectedRecord.data, testRecord.data)
   }
 
+  @Test
+  fun testResolvedMapperChain() {
+    val mapperChain =
+      recordMapper.resolve(
+        listOf(
+          TestMapperConfig(TEST_MAPPER_NAME, null, null, TestConfig("field1", TestEnums.ONE, "field2")),
+          TestMapperConfig("unknown", null, null, TestConfig("field1_test", TestEnums.ONE, "field2")),
+        ),
+      )
+    val firstRecord = createRecord(mutableMapOf("field1" to "value1"))
+    val secondRecord = createRecord(mutableMapOf("field1" to "value1"))
+
+    recordMapper.applyMappers(firstRecord, mapperChain)
+    recordMapper.applyMappers(secondRecord, mapperChain)
+
+    val expectedRecord = createRecord(mutableMapOf("field1_test" to "value1"))
+    assertEquals(expectedRecord.data, firstRecord.data)
+    assertEquals(expectedRecord.data, secondRecord.data)
+    assertEquals(setOf(TEST_MAPPER_NAME), recordMapper.collectStopwatches().keys)
+  }
+
   fun TestRecordAdapter.deepCopy() = TestRecordAdapter(streamDescriptor = this.streamDescriptor, data = this.data)
 
   fun createRecord(data: MutableMap<String, Any>) =
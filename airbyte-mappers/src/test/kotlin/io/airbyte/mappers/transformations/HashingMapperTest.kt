@@ -26,7 +26,11 @@ import org.junit.jupiter.api.Test
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.ValueSource
 import java.io.File
+import java.security.MessageDigest
 import java.security.Security
+import java.util.HexFormat
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
 
 private const val MAPPER_NAME = "hashing"
 
@@ -102,6 +106,34 @@ class HashingMapperTest {
     assertEquals("value2", record.get("field2").asString())
   }
 
+  @Test
+  fun mapHashesFieldsConsistentlyAcrossThreads() {
+    val config =
+      HashingMapperConfig(
+        MAPPER_NAME,
+        null,
+        HashingConfig("field1", HashingMethods.fromValue(HashingMapper.SHA256)!!, "_hashed"),
+      )
+    val values = (0 until 1000).map { "value$it" }
+    val expected =
+      values.map { HexFormat.of().formatHex(MessageDigest.getInstance(HashingMapper.SHA256).digest(it.toByteArray())) }
+
+    val executor = Executors.newFixedThreadPool(4)
+    val futures =
+      (0 until 4).map {
+        executor.submit<List<String>> {
+          values.map { value ->
+            val record = TestRecordAdapter(StreamDescriptor().withName("stream"), mutableMapOf("field1" to value))
+            hashingMapper.map(config, record)
+            record.get("field1_hashed").asString()
+          }
+        }
+      }
+    futures.forEach { assertEquals(expected, it.get()) }
+    executor.shutdown()
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS))
+  }
+
   @Test
   fun testAllMethodAreSupported() {
     val messageDigestAlgorithms = Security.getAlgorithms("MessageDigest")
@@ -298,6 +298,104 @@ class RowFilteringMapperTest {
     assertNoChangesMadeToRecord(recordToInclude, recordToIncludeData)
   }
 
+  @Test
+  fun `should compare typed values like their string representation`() {
+    val config = rowFilteringConfig("""{"type": "EQUAL", "fieldName": "value", "comparisonValue": "12"}""")
+
+    Assertions.assertTrue(isIncluded(config, mutableMapOf("value" to 12)))
+    Assertions.assertTrue(isIncluded(config, mutableMapOf("value" to 12L)))
+    Assertions.assertTrue(isIncluded(config, mutableMapOf("value" to "12")))
+    Assertions.assertFalse(isIncluded(config, mutableMapOf("value" to 12.0)))
+    Assertions.assertFalse(isIncluded(config, mutableMapOf("value" to "012")))
+    Assertions.assertFalse(isIncluded(config, mutableMapOf("other" to 12)))
+
+    val booleanConfig = rowFilteringConfig("""{"type": "EQUAL", "fieldName": "value", "comparisonValue": "true"}""")
+    Assertions.assertTrue(isIncluded(booleanConfig, mutableMapOf("value" to true)))
+    Assertions.assertFalse(isIncluded(booleanConfig, mutableMapOf("value" to false)))
+
+    val doubleConfig = rowFilteringConfig("""{"type": "EQUAL", "fieldName": "value", "comparisonValue": "1.5"}""")
+    Assertions.assertTrue(isIncluded(doubleConfig, mutableMapOf("value" to 1.5)))
+    Assertions.assertFalse(isIncluded(doubleConfig, mutableMapOf("value" to 1)))
+  }
+
+  @Test
+  fun `should handle IN condition`() {
+    val config = rowFilteringConfig("""{"type": "IN", "fieldName": "value", "comparisonValues": ["us", "7", "2.5", "false"]}""")
+
+    Assertions.assertTrue(isIncluded(config, mutableMapOf("value" to "us")))
+    Assertions.assertTrue(isIncluded(config, mutableMapOf("value" to 7)))
+    Assertions.assertTrue(isIncluded(config, mutableMapOf("value" to "7")))
+    Assertions.assertTrue(isIncluded(config, mutableMapOf("value" to 2.5)))
+    Assertions.assertTrue(isIncluded(config, mutableMapOf("value" to false)))
+    Assertions.assertFalse(isIncluded(config, mutableMapOf("value" to "eu")))
+    Assertions.assertFalse(isIncluded(config, mutableMapOf("value" to 8)))
+    Assertions.assertFalse(isIncluded(config, mutableMapOf("value" to true)))
+    Assertions.assertFalse(isIncluded(config, mutableMapOf("other" to "us")))
+  }
+
+  @Test
+  fun `should handle RANGE condition`() {
+    val numericConfig = rowFilteringConfig("""{"type": "RANGE", "fieldName": "value", "lowerBound": "1.5", "upperBound": "10"}""")
+
+    Assertions.assertTrue(isIncluded(numericConfig, mutableMapOf("value" to 2)))
+    Assertions.assertTrue(isIncluded(numericConfig, mutableMapOf("value" to 10L)))
+    Assertions.assertTrue(isIncluded(numericConfig, mutableMapOf("value" to 1.5)))
+    Assertions.assertFalse(isIncluded(numericConfig, mutableMapOf("value" to 1)))
+    Assertions.assertFalse(isIncluded(numericConfig, mutableMapOf("value" to 10.5)))
+    Assertions.assertFalse(isIncluded(numericConfig, mutableMapOf("value" to true)))
+
+    val dateConfig = rowFilteringConfig("""{"type": "RANGE", "fieldName": "value", "lowerBound": "2024-01-01"}""")
+    Assertions.assertTrue(isIncluded(dateConfig, mutableMapOf("value" to "2024-06-30T12:00:00Z")))
+    Assertions.assertFalse(isIncluded(dateConfig, mutableMapOf("value" to "2023-12-31")))
+    Assertions.assertFalse(isIncluded(dateConfig, mutableMapOf("value" to 2025)))
+  }
+
+  @Test
+  fun `should handle IS_NULL condition`() {
+    val config = rowFilteringConfig("""{"type": "NOT", "conditions": [{"type": "IS_NULL", "fieldName": "value"}]}""")
+
+    Assertions.assertTrue(isIncluded(config, mutableMapOf("value" to "present")))
+    Assertions.assertFalse(isIncluded(config, mutableMapOf("other" to "present")))
+  }
+
+  @Test
+  fun `should evaluate the conditions of a group in any order`() {
+    val config =
+      rowFilteringConfig(
+        """
+        {"type": "AND", "conditions": [
+          {"type": "IN", "fieldName": "region", "comparisonValues": ["us", "eu"]},
+          {"type": "OR", "conditions": [
+            {"type": "EQUAL", "fieldName": "status", "comparisonValue": "active"},
+            {"type": "IS_NULL", "fieldName": "status"}
+          ]},
+          {"type": "NOT", "conditions": [{"type": "IS_NULL", "fieldName": "id"}]}
+        ]}
+        """,
+      )
+
+    Assertions.assertTrue(isIncluded(config, mutableMapOf("id" to 1, "region" to "us", "status" to "active")))
+    Assertions.assertTrue(isIncluded(config, mutableMapOf("id" to 1, "region" to "eu")))
+    Assertions.assertFalse(isIncluded(config, mutableMapOf("id" to 1, "region" to "asia")))
+    Assertions.assertFalse(isIncluded(config, mutableMapOf("region" to "us")))
+    Assertions.assertFalse(isIncluded(config, mutableMapOf("id" to 1, "region" to "us", "status" to "inactive")))
+  }
+
+  private fun rowFilteringConfig(conditions: String): RowFilteringMapperConfig =
+    TEST_OBJECT_MAPPER.readValue(
+      """{"name": "row-filtering", "config": {"conditions": $conditions}}""",
+      RowFilteringMapperConfig::class.java,
+    )
+
+  private fun isIncluded(
+    config: RowFilteringMapperConfig,
+    recordData: MutableMap<String, Any>,
+  ): Boolean {
+    val record = getRecord(recordData)
+    mapper.map(config, record)
+    return record.shouldInclude()
+  }
+
   @Nested
   internal inner class RowFilteringMapperSpecTest {
     @Test
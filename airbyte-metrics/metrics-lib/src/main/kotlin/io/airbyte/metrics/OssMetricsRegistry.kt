@@ -226,6 +226,18 @@ enum class OssMetricsRegistry(
     metricName = "mapper_error",
     metricDescription = "increments when mapper errors are detected",
   ),
+  MESSAGE_PROCESSOR_BARRIER_WAIT(
+    metricName = "message_processor_barrier_wait",
+    metricDescription = "time the sharded message processor waited for its shards to drain before processing a non record message",
+  ),
+  MESSAGE_PROCESSOR_SHARD_DEPTH(
+    metricName = "message_processor_shard_depth",
+    metricDescription = "number of records waiting to be processed by a message processor shard. tagged by shard.",
+  ),
+  MESSAGE_PROCESSOR_SHARD_RECORDS(
+    metricName = "message_processor_shard_records",
+    metricDescription = "number of records processed by a message processor shard. tagged by shard.",
+  ),
   MISSING_APPLY_SCHEMA_CHANGE_INPUT(
     metricName = "missing_apply_schema_change_input",
     metricDescription = "one expected value for applying the schema change is missing",
@@ -292,6 +304,22 @@ enum class OssMetricsRegistry(
     metricName = "replication_made_progress",
     metricDescription = "Count of replication runs that made progress. To be faceted by attributes.",
   ),
+  REPLICATION_QUEUE_BYTES(
+    metricName = "replication_queue_bytes",
+    metricDescription = "size in bytes of the messages waiting in a replication queue. tagged by queue name.",
+  ),
+  REPLICATION_QUEUE_CONSUMER_WAIT(
+    metricName = "replication_queue_consumer_wait",
+    metricDescription = "time the consumer of a replication queue waited for messages. tagged by queue name.",
+  ),
+  REPLICATION_QUEUE_DEPTH(
+    metricName = "replication_queue_depth",
+    metricDescription = "number of messages waiting in a replication queue. tagged by queue name.",
+  ),
+  REPLICATION_QUEUE_PRODUCER_WAIT(
+    metricName = "replication_queue_producer_wait",
+    metricDescription = "time the producer of a replication queue waited for free space. tagged by queue name.",
+  ),
   STATE_BUFFERING(
     metricName = "state_buffering",
     metricDescription = "number of state messages being buffered before a flush",
@@ -336,6 +364,14 @@ enum class OssMetricsRegistry(
     metricName = "schema_change_auto_propagated",
     metricDescription = "a schema change have been propagated",
   ),
+  SCHEMA_VALIDATION_DROPPED_SAMPLES(
+    metricName = "schema_validation_dropped_samples",
+    metricDescription = "number of records that were not validated against their schema because the validators were behind",
+  ),
+  SCHEMA_VALIDATION_LAG(
+    metricName = "schema_validation_lag",
+    metricDescription = "time a record waited to be validated against its schema",
+  ),
   WORKER_DESTINATION_MESSAGE_READ(
     metricName = "worker_destination_message_read",
     metricDescription = "whenever a message is read from the destination",
@@ -368,6 +404,14 @@ enum class OssMetricsRegistry(
     metricName = "workload_heartbeat",
     metricDescription = "number of workload heartbeat",
   ),
+  WORKLOAD_HEARTBEAT_FLUSH(
+    metricName = "workload_heartbeat_flush",
+    metricDescription = "number of statements writing buffered workload heartbeats",
+  ),
+  WORKLOAD_HEARTBEAT_FLUSHED(
+    metricName = "workload_heartbeat_flushed",
+    metricDescription = "number of workloads whose buffered heartbeats were written",
+  ),
   WORKLOAD_LAUNCHER_CRON(
     metricName = "workload_launcher_cron",
     metricDescription = "number of cron run for the workload_launcher",
@@ -596,6 +640,14 @@ enum class OssMetricsRegistry(
     metricName = "workload_queue_messages_polled",
     metricDescription = "Count of messages polled",
   ),
+  WORKLOAD_QUEUE_POLL_DELAY(
+    metricName = "workload_queue_poll_delay",
+    metricDescription = "gauge of the milliseconds the adaptive poller waits before its next poll of the workload queue",
+  ),
+  WORKLOAD_QUEUE_POLL_SIZE(
+    metricName = "workload_queue_poll_size",
+    metricDescription = "gauge of the number of workloads the adaptive poller asks for in its next poll of the workload queue",
+  ),
   WORKLOAD_QUEUE_SIZE(
     metricName = "workload_queue_size",
     metricDescription = "used to track the queue size launcher does not processes a workload successfully",
@@ -676,6 +728,10 @@ enum class OssMetricsRegistry(
     metricName = "workload_stage_duration",
     metricDescription = "a distribution of the duration of a workload stage",
   ),
+  WORKLOAD_STAGE_QUEUE_WAIT(
+    metricName = "workload_stage_queue_wait",
+    metricDescription = "a distribution of the time a workload waits for a workload stage to be under its concurrency limit",
+  ),
   WORKLOAD_TIME_TO_TRANSITION_FROM_CREATE(
     metricName = "workload_time_to_transition_from_create",
     metricDescription = "time for a workload to transition to a given state",
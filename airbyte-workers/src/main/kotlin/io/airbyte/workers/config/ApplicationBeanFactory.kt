@@ -11,8 +11,18 @@ import io.airbyte.featureflag.LogStateMsgs
 import io.airbyte.featureflag.PrintLongRecordPks
 import io.airbyte.featureflag.RemoveValidationLimit
 import io.airbyte.featureflag.ReplicationBufferOverride
+import io.airbyte.featureflag.ReplicationDestinationFlushBytes
+import io.airbyte.featureflag.ReplicationDestinationFlushIntervalMs
+import io.airbyte.featureflag.ReplicationMessageProcessorShards
+import io.airbyte.featureflag.ReplicationQueueBatchSizeOverride
+import io.airbyte.featureflag.ReplicationQueueMaxBytesOverride
+import io.airbyte.featureflag.ReplicationRecordPassThrough
+import io.airbyte.featureflag.ReplicationSchemaValidationSampleRate
+import io.airbyte.featureflag.ReplicationSchemaValidationThreads
 import io.airbyte.featureflag.ShouldFailSyncIfHeartbeatFailure
 import io.airbyte.featureflag.ShouldFailSyncOnDestinationTimeout
+import io.airbyte.featureflag.UseByteLevelSourceReader
+import io.airbyte.featureflag.UseRingBufferReplicationQueue
 import io.airbyte.featureflag.WorkloadHeartbeatRate
 import io.airbyte.featureflag.WorkloadHeartbeatTimeout
 import io.airbyte.micronaut.runtime.AirbyteConfig
@@ -49,8 +59,18 @@ class ApplicationBeanFactory {
         PrintLongRecordPks,
         RemoveValidationLimit,
         ReplicationBufferOverride,
+        ReplicationDestinationFlushBytes,
+        ReplicationDestinationFlushIntervalMs,
+        ReplicationMessageProcessorShards,
+        ReplicationQueueBatchSizeOverride,
+        ReplicationQueueMaxBytesOverride,
+        ReplicationRecordPassThrough,
+        ReplicationSchemaValidationSampleRate,
+        ReplicationSchemaValidationThreads,
         ShouldFailSyncIfHeartbeatFailure,
         ShouldFailSyncOnDestinationTimeout,
+        UseByteLevelSourceReader,
+        UseRingBufferReplicationQueue,
         WorkloadHeartbeatRate,
         WorkloadHeartbeatTimeout,
       )
@@ -12,6 +12,7 @@ import io.airbyte.workers.workload.WorkloadConstants.WORKLOAD_CANCELLED_BY_USER_
 import io.airbyte.workers.workload.WorkloadOutputWriter
 import io.airbyte.workload.api.client.WorkloadApiClient
 import io.airbyte.workload.api.domain.Workload
+import io.airbyte.workload.api.domain.WorkloadAwaitTerminalRequest
 import io.airbyte.workload.api.domain.WorkloadCancelRequest
 import io.airbyte.workload.api.domain.WorkloadCreateRequest
 import io.airbyte.workload.api.domain.WorkloadStatus
@@ -39,10 +40,21 @@ class WorkloadClient(
   companion object {
     const val CANCELLATION_SOURCE_STR = "Cancellation callback."
     val TERMINAL_STATUSES = setOf(WorkloadStatus.SUCCESS, WorkloadStatus.FAILURE, WorkloadStatus.CANCELLED)
+
+    /**
+     * How long a single await terminal request waits. Kept well below the read timeout of the workload api client.
+     */
+    const val AWAIT_TERMINAL_TIMEOUT_SECONDS = 30
   }
 
   private val clock: Clock = clock ?: Clock.systemUTC()
 
+  /**
+   * Set once the workload api turned out not to have the await terminal endpoint, so that later waits poll right away.
+   */
+  @Volatile
+  private var awaitTerminalUnsupported = false
+
   fun createWorkload(workloadCreateRequest: WorkloadCreateRequest) {
     try {
       workloadApiClient.workloadCreate(workloadCreateRequest)
@@ -64,15 +76,22 @@ class WorkloadClient(
 
   fun isTerminal(workloadId: String) = isWorkloadTerminal(workloadApiClient.workloadGet(workloadId))
 
+  /**
+   * Waits for the workload to reach a terminal status, long polling the workload api. Falls back to polling the workload
+   * every [pollingFrequencyInSeconds] if the workload api doesn't support long polling.
+   */
   fun waitForWorkload(
     workloadId: String,
     pollingFrequencyInSeconds: Int,
   ) {
     try {
-      var workload = workloadApiClient.workloadGet(workloadId)
+      if (awaitTerminalUnsupported) {
+        return pollForWorkload(workloadId, pollingFrequencyInSeconds)
+      }
+      val request = WorkloadAwaitTerminalRequest(workloadId, AWAIT_TERMINAL_TIMEOUT_SECONDS)
+      var workload = awaitTerminal(request) ?: return pollForWorkload(workloadId, pollingFrequencyInSeconds)
       while (!isWorkloadTerminal(workload)) {
-        Thread.sleep(pollingFrequencyInSeconds.seconds.inWholeMilliseconds)
-        workload = workloadApiClient.workloadGet(workloadId)
+        workload = workloadApiClient.workloadAwaitTerminal(request)
       }
     } catch (e: IOException) {
       throw RuntimeException(e)
@@ -112,6 +131,9 @@ class WorkloadClient(
 
   /**
    * Creates and waits for workload propagating any Temporal level cancellations (detected by the heartbeats) to the workload.
+   *
+   * The activity is completed manually once the workload is terminal: the wait runs on a virtual thread and this returns
+   * right away, so that the activity thread is handed back to the worker instead of being held for the whole workload.
    */
   fun runWorkloadWithCancellationHeartbeat(
     createReq: WorkloadCreateRequest,
@@ -123,14 +145,22 @@ class WorkloadClient(
         val failReq = WorkloadCancelRequest(createReq.workloadId, WORKLOAD_CANCELLED_BY_USER_REASON, CANCELLATION_SOURCE_STR)
         cancelWorkloadBestEffort(failReq)
       }
-    HeartbeatUtils.withBackgroundHeartbeat(
-      AtomicReference(cancellationCallback),
-      {
-        createWorkload(createReq)
-        waitForWorkload(createReq.workloadId, checkFrequencyInSeconds)
-      },
-      context,
-    )
+    val completionClient = context.useLocalManualCompletion()
+    Thread.ofVirtual().name("workload-wait-${createReq.workloadId}").start {
+      try {
+        HeartbeatUtils.withBackgroundHeartbeat(
+          AtomicReference(cancellationCallback),
+          {
+            createWorkload(createReq)
+            waitForWorkload(createReq.workloadId, checkFrequencyInSeconds)
+          },
+          context,
+        )
+        completionClient.complete(null)
+      } catch (e: Exception) {
+        completionClient.fail(e)
+      }
+    }
   }
 
   private fun handleMissingConnectorJobOutput(
@@ -191,5 +221,38 @@ class WorkloadClient(
       }
   }
 
+  /**
+   * Returns the workload once terminal or after the request timeout, or null if the workload api doesn't support
+   * awaiting workloads.
+   */
+  private fun awaitTerminal(request: WorkloadAwaitTerminalRequest): Workload? {
+    try {
+      return workloadApiClient.workloadAwaitTerminal(request)
+    } catch (e: ApiException) {
+      // Workload api servers older than the await terminal endpoint don't know its route. A 404 is also returned for a
+      // workload that doesn't exist though, so the route is only deemed missing if the workload can be fetched; otherwise
+      // fetching it surfaces the missing workload.
+      when (e.statusCode) {
+        HttpStatus.METHOD_NOT_ALLOWED.code -> Unit
+        HttpStatus.NOT_FOUND.code -> workloadApiClient.workloadGet(request.workloadId)
+        else -> throw e
+      }
+    }
+    logger.info { "The workload api doesn't support awaiting terminal workloads, falling back to polling." }
+    awaitTerminalUnsupported = true
+    return null
+  }
+
+  private fun pollForWorkload(
+    workloadId: String,
+    pollingFrequencyInSeconds: Int,
+  ) {
+    var workload = workloadApiClient.workloadGet(workloadId)
+    while (!isWorkloadTerminal(workload)) {
+      Thread.sleep(pollingFrequencyInSeconds.seconds.inWholeMilliseconds)
+      workload = workloadApiClient.workloadGet(workloadId)
+    }
+  }
+
   private fun isWorkloadTerminal(workload: Workload): Boolean = workload.status in TERMINAL_STATUSES
 }
@@ -4,6 +4,7 @@
 
 package io.airbyte.workers.sync
 
+import io.airbyte.api.client.ApiException
 import io.airbyte.commons.temporal.HeartbeatUtils
 import io.airbyte.config.WorkloadPriority
 import io.airbyte.config.WorkloadType
@@ -11,8 +12,11 @@ import io.airbyte.workers.sync.WorkloadClient.Companion.CANCELLATION_SOURCE_STR
 import io.airbyte.workers.workload.WorkloadConstants.WORKLOAD_CANCELLED_BY_USER_REASON
 import io.airbyte.workers.workload.WorkloadOutputWriter
 import io.airbyte.workload.api.client.WorkloadApiClient
+import io.airbyte.workload.api.domain.Workload
+import io.airbyte.workload.api.domain.WorkloadAwaitTerminalRequest
 import io.airbyte.workload.api.domain.WorkloadCancelRequest
 import io.airbyte.workload.api.domain.WorkloadCreateRequest
+import io.airbyte.workload.api.domain.WorkloadStatus
 import io.mockk.every
 import io.mockk.mockk
 import io.mockk.mockkStatic
@@ -20,9 +24,12 @@ import io.mockk.slot
 import io.mockk.spyk
 import io.mockk.verify
 import io.temporal.activity.ActivityExecutionContext
+import io.temporal.activity.ManualActivityCompletionClient
+import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertDoesNotThrow
+import org.junit.jupiter.api.assertThrows
 import java.time.Clock
 import java.util.concurrent.Callable
 import java.util.concurrent.atomic.AtomicReference
@@ -66,6 +73,7 @@ class WorkloadClientTest {
   fun `runWorkloadWithCancellationHeartbeat wraps workload creation and waiting in a heartbeating thread that cancels the workload on failure`() {
     val cancellationCallbackSlot = slot<AtomicReference<Runnable>>()
     val callableSlot = slot<Callable<Unit>>()
+    val completionClient: ManualActivityCompletionClient = mockk(relaxed = true)
 
     mockkStatic(HeartbeatUtils::class)
     every { HeartbeatUtils.withBackgroundHeartbeat(capture(cancellationCallbackSlot), capture(callableSlot), any()) } returns Unit
@@ -83,10 +91,12 @@ class WorkloadClientTest {
     val executionContext: ActivityExecutionContext =
       mockk {
         every { heartbeat(null) } returns Unit
+        every { useLocalManualCompletion() } returns completionClient
       }
 
     client.runWorkloadWithCancellationHeartbeat(createReq, checkFreqSecs, executionContext)
-    // validate we call the wrapper
+    // validate we call the wrapper off the activity thread and complete the activity once it returns
+    verify(timeout = 1000) { completionClient.complete(null) }
     verify { HeartbeatUtils.withBackgroundHeartbeat(any(), any<Callable<Unit>>(), executionContext) }
     // validate the wrapped cancellation callback executes the code we expect
     every { client.cancelWorkloadBestEffort(any()) } returns Unit
@@ -104,4 +114,74 @@ class WorkloadClientTest {
     verify { client.createWorkload(createReq) }
     verify { client.waitForWorkload(createReq.workloadId, checkFreqSecs) }
   }
+
+  @Test
+  fun `runWorkloadWithCancellationHeartbeat fails the activity when the workload can't be awaited`() {
+    val error = RuntimeException("bang")
+    val completionClient: ManualActivityCompletionClient = mockk(relaxed = true)
+    val executionContext: ActivityExecutionContext =
+      mockk {
+        every { useLocalManualCompletion() } returns completionClient
+      }
+
+    mockkStatic(HeartbeatUtils::class)
+    every { HeartbeatUtils.withBackgroundHeartbeat(any(), any<Callable<Unit>>(), executionContext) } throws error
+
+    client.runWorkloadWithCancellationHeartbeat(mockk(relaxed = true), 10, executionContext)
+
+    verify(timeout = 1000) { completionClient.fail(error) }
+    verify(exactly = 0) { completionClient.complete(any()) }
+  }
+
+  @Test
+  fun `waitForWorkload long polls the workload until it is terminal`() {
+    val req = WorkloadAwaitTerminalRequest("workloadId", WorkloadClient.AWAIT_TERMINAL_TIMEOUT_SECONDS)
+
+    every { workloadApiClient.workloadAwaitTerminal(req) } returnsMany
+      listOf(Workload(id = "workloadId", status = WorkloadStatus.RUNNING), Workload(id = "workloadId", status = WorkloadStatus.SUCCESS))
+
+    client.waitForWorkload("workloadId", 1)
+
+    verify(exactly = 2) { workloadApiClient.workloadAwaitTerminal(req) }
+    verify(exactly = 0) { workloadApiClient.workloadGet(any()) }
+  }
+
+  @Test
+  fun `waitForWorkload polls the workload when the workload api can't long poll`() {
+    every { workloadApiClient.workloadAwaitTerminal(any()) } throws ApiException(404, "http://workload-api/await_terminal", "Not Found")
+    every { workloadApiClient.workloadGet("workloadId") } returnsMany
+      listOf(
+        Workload(id = "workloadId", status = WorkloadStatus.RUNNING),
+        Workload(id = "workloadId", status = WorkloadStatus.RUNNING),
+        Workload(id = "workloadId", status = WorkloadStatus.FAILURE),
+      )
+    every { workloadApiClient.workloadGet("otherWorkloadId") } returns Workload(id = "otherWorkloadId", status = WorkloadStatus.SUCCESS)
+
+    client.waitForWorkload("workloadId", 0)
+    client.waitForWorkload("otherWorkloadId", 0)
+
+    verify(exactly = 1) { workloadApiClient.workloadAwaitTerminal(any()) }
+    verify(exactly = 3) { workloadApiClient.workloadGet("workloadId") }
+    verify(exactly = 1) { workloadApiClient.workloadGet("otherWorkloadId") }
+  }
+
+  @Test
+  fun `waitForWorkload surfaces a missing workload`() {
+    every { workloadApiClient.workloadAwaitTerminal(any()) } throws ApiException(404, "http://workload-api/await_terminal", "Not Found")
+    every { workloadApiClient.workloadGet("workloadId") } throws ApiException(404, "http://workload-api/workloadId", "Not Found")
+
+    val error = assertThrows<ApiException> { client.waitForWorkload("workloadId", 0) }
+
+    assertEquals(404, error.statusCode)
+    verify(exactly = 1) { workloadApiClient.workloadGet("workloadId") }
+
+    // The await terminal endpoint is still used for the next workloads.
+    val req = WorkloadAwaitTerminalRequest("otherWorkloadId", WorkloadClient.AWAIT_TERMINAL_TIMEOUT_SECONDS)
+    every { workloadApiClient.workloadAwaitTerminal(req) } returns Workload(id = "otherWorkloadId", status = WorkloadStatus.SUCCESS)
+
+    client.waitForWorkload("otherWorkloadId", 0)
+
+    verify(exactly = 1) { workloadApiClient.workloadAwaitTerminal(req) }
+    verify(exactly = 0) { workloadApiClient.workloadGet("otherWorkloadId") }
+  }
 }
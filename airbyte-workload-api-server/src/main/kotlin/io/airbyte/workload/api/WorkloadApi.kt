@@ -17,6 +17,7 @@ import io.airbyte.workload.api.domain.ClaimResponse
 import io.airbyte.workload.api.domain.ExpiredDeadlineWorkloadListRequest
 import io.airbyte.workload.api.domain.LongRunningWorkloadRequest
 import io.airbyte.workload.api.domain.Workload
+import io.airbyte.workload.api.domain.WorkloadAwaitTerminalRequest
 import io.airbyte.workload.api.domain.WorkloadCancelRequest
 import io.airbyte.workload.api.domain.WorkloadClaimRequest
 import io.airbyte.workload.api.domain.WorkloadCreateRequest
@@ -36,8 +37,10 @@ import io.airbyte.workload.api.domain.WorkloadRunningRequest
 import io.airbyte.workload.api.domain.WorkloadStatus
 import io.airbyte.workload.api.domain.WorkloadSuccessRequest
 import io.airbyte.workload.common.DefaultDeadlineValues
+import io.airbyte.workload.common.WorkloadQueueListener
 import io.airbyte.workload.common.WorkloadQueueService
 import io.airbyte.workload.handler.WorkloadHandler
+import io.airbyte.workload.handler.WorkloadTerminalWaiters
 import io.micronaut.http.HttpRequest
 import io.micronaut.http.HttpResponse
 import io.micronaut.http.HttpStatus
@@ -48,6 +51,7 @@ import io.micronaut.http.context.ServerRequestContext
 import io.micronaut.scheduling.annotation.ExecuteOn
 import io.micronaut.security.annotation.Secured
 import io.micronaut.security.rules.SecurityRule
+import jakarta.inject.Named
 import jakarta.ws.rs.Consumes
 import jakarta.ws.rs.GET
 import jakarta.ws.rs.POST
@@ -55,7 +59,40 @@ import jakarta.ws.rs.PUT
 import jakarta.ws.rs.Path
 import jakarta.ws.rs.PathParam
 import jakarta.ws.rs.Produces
+import java.time.Duration
 import java.util.UUID
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.TimeUnit
+
+/**
+ * Upper bound of the time a queue poll waits for workloads to be enqueued, so that a poll doesn't hold a request
+ * thread for longer than clients and proxies are willing to wait.
+ */
+private val MAX_QUEUE_POLL_WAIT: Duration = Duration.ofSeconds(30)
+
+/**
+ * How often a waiting queue poll checks the queue again when it isn't woken up by a notification.
+ */
+private val QUEUE_POLL_FALLBACK_INTERVAL: Duration = Duration.ofSeconds(2)
+
+/**
+ * Upper bound of the time a request waits for a workload to reach a terminal status.
+ */
+private val MAX_AWAIT_TERMINAL_WAIT: Duration = Duration.ofSeconds(60)
+
+/**
+ * How often a request waiting for a workload to reach a terminal status checks its status when it isn't woken up, e.g.
+ * because the workload was terminated by another server.
+ */
+private val AWAIT_TERMINAL_FALLBACK_INTERVAL: Duration = Duration.ofSeconds(5)
+
+/**
+ * How long to wait before checking the status of a workload again when woken up before its termination committed.
+ */
+private val AWAIT_TERMINAL_SETTLE_INTERVAL: Duration = Duration.ofMillis(100)
+
+private val TERMINAL_STATUSES = setOf(WorkloadStatus.SUCCESS, WorkloadStatus.FAILURE, WorkloadStatus.CANCELLED)
 
 @Controller("/api/v1/workload")
 @Secured(SecurityRule.IS_AUTHENTICATED)
@@ -67,6 +104,9 @@ open class WorkloadApi(
   private val roleResolver: RoleResolver,
   private val dataplaneService: DataplaneService,
   private val dataplaneGroupService: DataplaneGroupService,
+  private val workloadQueueListener: WorkloadQueueListener,
+  private val workloadTerminalWaiters: WorkloadTerminalWaiters,
+  @Named(AirbyteTaskExecutors.WORKLOAD) private val workloadExecutor: ExecutorService,
 ) {
   /**
    * Create a workload
@@ -299,6 +339,64 @@ open class WorkloadApi(
     return workloadHandler.getWorkload(workloadId)
   }
 
+  /**
+   * Wait for a workload to reach a terminal status
+   *
+   * Returns as soon as the workload is terminated, or after [WorkloadAwaitTerminalRequest.timeoutSeconds] with the
+   * workload as it is. Waiting requests don't hold a thread: they are woken up when this server terminates the
+   * workload, and also check its status every [AWAIT_TERMINAL_FALLBACK_INTERVAL].
+   *
+   * @param req The await terminal request
+   * @return Workload, terminal unless the wait timed out
+   * @throws 404 if workload with given id was not found
+   */
+  @POST
+  @Path("/await_terminal")
+  @Consumes("application/json")
+  @Produces("application/json")
+  fun workloadAwaitTerminal(
+    @Body req: WorkloadAwaitTerminalRequest,
+  ): CompletableFuture<Workload> {
+    ApmTraceUtils.addTagsToTrace(mutableMapOf(MetricTags.WORKLOAD_ID_TAG to req.workloadId))
+    authorize(workloadId = req.workloadId)
+    val timeout = Duration.ofSeconds(req.timeoutSeconds.toLong()).coerceIn(Duration.ZERO, MAX_AWAIT_TERMINAL_WAIT)
+    return awaitTerminal(req.workloadId, System.nanoTime() + timeout.toNanos(), AWAIT_TERMINAL_FALLBACK_INTERVAL)
+  }
+
+  private fun awaitTerminal(
+    workloadId: String,
+    deadlineNanos: Long,
+    interval: Duration,
+  ): CompletableFuture<Workload> {
+    // Subscribe before reading the workload so that a termination in between wakes us up.
+    val terminated = workloadTerminalWaiters.subscribe(workloadId)
+    val workload =
+      try {
+        workloadHandler.getWorkload(workloadId)
+      } catch (e: Exception) {
+        workloadTerminalWaiters.unsubscribe(workloadId, terminated)
+        return CompletableFuture.failedFuture(e)
+      }
+    val remaining = Duration.ofNanos(deadlineNanos - System.nanoTime())
+    if (workload.status in TERMINAL_STATUSES || remaining <= Duration.ZERO) {
+      workloadTerminalWaiters.unsubscribe(workloadId, terminated)
+      return CompletableFuture.completedFuture(workload)
+    }
+
+    return terminated
+      .thenApply { true }
+      .completeOnTimeout(false, remaining.coerceAtMost(interval).toNanos(), TimeUnit.NANOSECONDS)
+      .thenComposeAsync(
+        { woken ->
+          workloadTerminalWaiters.unsubscribe(workloadId, terminated)
+          // Woken up workloads are terminated, but their termination may not be committed yet.
+          val nextInterval = if (woken) AWAIT_TERMINAL_SETTLE_INTERVAL else AWAIT_TERMINAL_FALLBACK_INTERVAL
+          awaitTerminal(workloadId, deadlineNanos, nextInterval)
+        },
+        workloadExecutor,
+      )
+  }
+
   /**
    * Heartbeat from a workload
    *
@@ -441,6 +539,11 @@ open class WorkloadApi(
   /**
    * Poll for workloads to process
    *
+   * When the queue is empty and [WorkloadQueuePollRequest.waitTimeoutSeconds] is set, the request is held until
+   * workloads are enqueued or the timeout passes. Waiting polls don't hold a thread: they are woken up by the
+   * notifications published when workloads are enqueued, and also check the queue every
+   * [QUEUE_POLL_FALLBACK_INTERVAL]. The wait happens outside of the poll's transaction.
+   *
    * @param req The workload queue poll request
    * @return WorkloadListResponse containing workloads available for processing
    */
@@ -450,15 +553,50 @@ open class WorkloadApi(
   @Produces("application/json")
   fun pollWorkloadQueue(
     @Body req: WorkloadQueuePollRequest,
-  ): WorkloadListResponse {
+  ): CompletableFuture<WorkloadListResponse> {
     ApmTraceUtils.addTagsToTrace(
       mutableMapOf(
         MetricTags.DATA_PLANE_GROUP_TAG to req.dataplaneGroup,
       ),
     )
     authorize(dataplaneGroup = req.dataplaneGroup)
-    val workloads = workloadHandler.pollWorkloadQueue(req.dataplaneGroup, req.priority, req.quantity)
-    return WorkloadListResponse(workloads)
+    val waitTimeout = Duration.ofSeconds(req.waitTimeoutSeconds?.toLong() ?: 0).coerceAtMost(MAX_QUEUE_POLL_WAIT)
+    if (waitTimeout <= Duration.ZERO) {
+      return CompletableFuture.completedFuture(
+        WorkloadListResponse(workloadHandler.pollWorkloadQueue(req.dataplaneGroup, req.priority, req.quantity)),
+      )
+    }
+    return awaitWorkloads(req, System.nanoTime() + waitTimeout.toNanos())
+  }
+
+  private fun awaitWorkloads(
+    req: WorkloadQueuePollRequest,
+    deadlineNanos: Long,
+  ): CompletableFuture<WorkloadListResponse> {
+    // Subscribe before polling so that a workload enqueued in between wakes us up.
+    val enqueued = workloadQueueListener.subscribe(req.dataplaneGroup)
+    val workloads =
+      try {
+        workloadHandler.pollWorkloadQueue(req.dataplaneGroup, req.priority, req.quantity)
+      } catch (e: Exception) {
+        workloadQueueListener.unsubscribe(req.dataplaneGroup, enqueued)
+        return CompletableFuture.failedFuture(e)
+      }
+    val remaining = Duration.ofNanos(deadlineNanos - System.nanoTime())
+    if (workloads.isNotEmpty() || remaining <= Duration.ZERO) {
+      workloadQueueListener.unsubscribe(req.dataplaneGroup, enqueued)
+      return CompletableFuture.completedFuture(WorkloadListResponse(workloads))
+    }
+
+    return enqueued
+      .completeOnTimeout(Unit, remaining.coerceAtMost(QUEUE_POLL_FALLBACK_INTERVAL).toNanos(), TimeUnit.NANOSECONDS)
+      .thenComposeAsync(
+        {
+          workloadQueueListener.unsubscribe(req.dataplaneGroup, enqueued)
+          awaitWorkloads(req, deadlineNanos)
+        },
+        workloadExecutor,
+      )
   }
 
   /**
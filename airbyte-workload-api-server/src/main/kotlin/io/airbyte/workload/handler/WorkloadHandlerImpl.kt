@@ -6,6 +6,7 @@ package io.airbyte.workload.handler
 
 import io.airbyte.config.WorkloadPriority
 import io.airbyte.config.WorkloadType
+import io.airbyte.featureflag.CoalesceWorkloadHeartbeats
 import io.airbyte.featureflag.Empty
 import io.airbyte.featureflag.FeatureFlagClient
 import io.airbyte.featureflag.UseDeadlineInWorkloadMonitorQueries
@@ -35,6 +36,8 @@ class WorkloadHandlerImpl(
   private val workloadQueueRepository: WorkloadQueueRepository,
   private val airbyteWorkloadApiClientConfig: AirbyteWorkloadApiClientConfig,
   private val featureFlagClient: FeatureFlagClient,
+  private val workloadHeartbeatBuffer: WorkloadHeartbeatBuffer,
+  private val workloadTerminalWaiters: WorkloadTerminalWaiters,
 ) : WorkloadHandler {
   override fun getWorkload(workloadId: String): ApiWorkload = getDomainWorkload(workloadId).toApi()
 
@@ -113,6 +116,7 @@ class WorkloadHandlerImpl(
     withWorkloadServiceExceptionConverter {
       workloadService.cancelWorkload(workloadId, source, reason)
     }
+    workloadTerminalWaiters.wake(workloadId)
   }
 
   override fun failWorkload(
@@ -124,6 +128,7 @@ class WorkloadHandlerImpl(
     withWorkloadServiceExceptionConverter {
       workloadService.failWorkload(workloadId, source, reason, dataplaneVersion)
     }
+    workloadTerminalWaiters.wake(workloadId)
   }
 
   override fun succeedWorkload(
@@ -133,6 +138,7 @@ class WorkloadHandlerImpl(
     withWorkloadServiceExceptionConverter {
       workloadService.succeedWorkload(workloadId, dataplaneVersion)
     }
+    workloadTerminalWaiters.wake(workloadId)
   }
 
   override fun setWorkloadStatusToRunning(
@@ -161,7 +167,11 @@ class WorkloadHandlerImpl(
     dataplaneVersion: String?,
   ) {
     withWorkloadServiceExceptionConverter {
-      workloadService.heartbeatWorkload(workloadId, deadline, dataplaneVersion)
+      if (featureFlagClient.boolVariation(CoalesceWorkloadHeartbeats, Empty)) {
+        workloadHeartbeatBuffer.heartbeat(workloadId, deadline, dataplaneVersion)
+      } else {
+        workloadService.heartbeatWorkload(workloadId, deadline, dataplaneVersion)
+      }
     }
   }
 
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.handler
+
+import io.airbyte.metrics.MetricAttribute
+import io.airbyte.metrics.MetricClient
+import io.airbyte.metrics.OssMetricsRegistry
+import io.airbyte.metrics.lib.MetricTags
+import io.airbyte.micronaut.runtime.AirbyteWorkloadApiClientConfig
+import io.airbyte.workload.repository.WorkloadRepository
+import io.airbyte.workload.services.WorkloadService
+import io.github.oshai.kotlinlogging.KotlinLogging
+import jakarta.annotation.PreDestroy
+import jakarta.inject.Singleton
+import java.time.Duration
+import java.time.OffsetDateTime
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * How long a workload is known to be running before one of its heartbeats checks its status in the database again.
+ */
+private val RUNNING_RECHECK_INTERVAL: Duration = Duration.ofMinutes(1)
+
+/**
+ * Max number of workloads heartbeated by a single statement.
+ */
+private const val FLUSH_BATCH_SIZE = 500
+
+/**
+ * Coalesces workload heartbeats and writes them behind, in batches.
+ *
+ * The first heartbeat of a workload, and one every [RUNNING_RECHECK_INTERVAL] after that, is written right away by
+ * [WorkloadService.heartbeatWorkload], which fails if the workload isn't running. The heartbeats in between are kept in
+ * memory, only the latest deadline of each workload, and written every flush interval by one statement per
+ * [FLUSH_BATCH_SIZE] workloads. A heartbeat is written at most one flush interval after it was received, unless the
+ * server stops before, in which case it is lost. The flush interval must thus stay well below the heartbeat timeout.
+ * Once more than the max number of workloads are buffered, heartbeats are written right away again.
+ *
+ * Batched writes only update running workloads and never move a deadline backwards, so that heartbeats written late or
+ * out of order by different replicas can't shorten the deadline of a workload nor revive it. A workload that stopped
+ * running is forgotten by the flush that misses it, so that its next heartbeat fails.
+ */
+@Singleton
+class WorkloadHeartbeatBuffer(
+  private val workloadService: WorkloadService,
+  private val workloadRepository: WorkloadRepository,
+  private val metricClient: MetricClient,
+  airbyteWorkloadApiClientConfig: AirbyteWorkloadApiClientConfig,
+) {
+  private val flushInterval: Duration = Duration.ofMillis(airbyteWorkloadApiClientConfig.heartbeat.flushIntervalMillis)
+  private val maxBuffered: Int = airbyteWorkloadApiClientConfig.heartbeat.maxBuffered
+  private val buffered = ConcurrentHashMap<String, BufferedHeartbeat>()
+  private val runningCheckedAtNanos = ConcurrentHashMap<String, Long>()
+  private val flushLock = ReentrantLock()
+  private val started = AtomicBoolean(false)
+  private val scheduler: ScheduledExecutorService =
+    Executors.newSingleThreadScheduledExecutor { runnable ->
+      Thread(runnable, "workload-heartbeat-flusher").apply { isDaemon = true }
+    }
+
+  fun heartbeat(
+    workloadId: String,
+    deadline: OffsetDateTime,
+    dataplaneVersion: String?,
+  ) {
+    val checkedAtNanos = runningCheckedAtNanos[workloadId]
+    val needsCheck = checkedAtNanos == null || System.nanoTime() - checkedAtNanos > RUNNING_RECHECK_INTERVAL.toNanos()
+    if (needsCheck || buffered.size >= maxBuffered) {
+      workloadService.heartbeatWorkload(workloadId, deadline, dataplaneVersion)
+      runningCheckedAtNanos[workloadId] = System.nanoTime()
+      return
+    }
+
+    if (started.compareAndSet(false, true)) {
+      scheduler.scheduleWithFixedDelay(::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS)
+    }
+    buffered.merge(workloadId, BufferedHeartbeat(deadline, OffsetDateTime.now()), BufferedHeartbeat::latest)
+    metricClient.count(
+      OssMetricsRegistry.WORKLOAD_HEARTBEAT,
+      1L,
+      MetricAttribute(MetricTags.DATA_PLANE_VERSION, dataplaneVersion ?: MetricTags.UNKNOWN),
+      MetricAttribute(MetricTags.STATUS_TAG, MetricTags.SUCCESS),
+    )
+  }
+
+  /**
+   * Writes the buffered heartbeats. Heartbeats that fail to be written are kept for the next flush.
+   */
+  fun flush() {
+    flushLock.withLock {
+      val heartbeats = buffered.keys.mapNotNull { workloadId -> buffered.remove(workloadId)?.let { workloadId to it } }
+      heartbeats.chunked(FLUSH_BATCH_SIZE).forEach { batch ->
+        try {
+          val updated =
+            workloadRepository
+              .heartbeatAll(
+                ids = batch.map { it.first },
+                deadlines = batch.map { it.second.deadline },
+                heartbeatAts = batch.map { it.second.heartbeatAt },
+              ).mapTo(HashSet()) { it.id }
+          batch.filterNot { it.first in updated }.forEach { runningCheckedAtNanos.remove(it.first) }
+          metricClient.count(OssMetricsRegistry.WORKLOAD_HEARTBEAT_FLUSH, 1L)
+          metricClient.count(OssMetricsRegistry.WORKLOAD_HEARTBEAT_FLUSHED, batch.size.toLong())
+        } catch (e: Exception) {
+          logger.warn(e) { "Failed to write the heartbeats of ${batch.size} workloads, retrying with the next flush" }
+          batch.forEach { (workloadId, heartbeat) -> buffered.merge(workloadId, heartbeat, BufferedHeartbeat::latest) }
+        }
+      }
+
+      // Forget workloads that stopped heartbeating, they will be checked again if they ever heartbeat again.
+      val nowNanos = System.nanoTime()
+      runningCheckedAtNanos.values.removeIf { nowNanos - it > RUNNING_RECHECK_INTERVAL.toNanos() }
+    }
+  }
+
+  @PreDestroy
+  fun close() {
+    scheduler.shutdownNow()
+    flush()
+  }
+
+  private fun flushQuietly() {
+    try {
+      flush()
+    } catch (e: Exception) {
+      logger.error(e) { "Failed to flush workload heartbeats" }
+    }
+  }
+
+  private data class BufferedHeartbeat(
+    val deadline: OffsetDateTime,
+    val heartbeatAt: OffsetDateTime,
+  ) {
+    fun latest(other: BufferedHeartbeat): BufferedHeartbeat =
+      BufferedHeartbeat(
+        deadline = maxOf(deadline, other.deadline),
+        heartbeatAt = maxOf(heartbeatAt, other.heartbeatAt),
+      )
+  }
+}
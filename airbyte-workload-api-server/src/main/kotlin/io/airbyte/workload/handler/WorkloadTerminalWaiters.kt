@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.handler
+
+import jakarta.inject.Singleton
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Wakes up requests waiting for workloads to reach a terminal status.
+ *
+ * Only the workloads terminated by this server are woken up, and possibly before the transaction terminating them
+ * commits. Waiters should check the status of the workload when they are woken up, and every now and then either way.
+ */
+@Singleton
+class WorkloadTerminalWaiters {
+  private val signals = ConcurrentHashMap<String, MutableSet<CompletableFuture<Unit>>>()
+
+  /**
+   * Returns a signal that completes when [workloadId] is terminated. Unsubscribe from it once done waiting.
+   *
+   * Subscribe before checking the status of the workload, so that a termination in between isn't missed.
+   */
+  fun subscribe(workloadId: String): CompletableFuture<Unit> {
+    val signal = CompletableFuture<Unit>()
+    signals.compute(workloadId) { _, waiting -> (waiting ?: mutableSetOf()).apply { add(signal) } }
+    return signal
+  }
+
+  fun unsubscribe(
+    workloadId: String,
+    signal: CompletableFuture<Unit>,
+  ) {
+    signals.computeIfPresent(workloadId) { _, waiting -> waiting.apply { remove(signal) }.takeIf { it.isNotEmpty() } }
+  }
+
+  fun wake(workloadId: String) {
+    signals.remove(workloadId)?.forEach { it.complete(Unit) }
+  }
+
+  /**
+   * Number of workloads waited on.
+   */
+  fun size(): Int = signals.size
+}
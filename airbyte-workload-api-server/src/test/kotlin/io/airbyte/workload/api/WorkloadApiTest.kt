@@ -10,6 +10,7 @@ import io.airbyte.commons.server.authorization.RoleResolver
 import io.airbyte.config.WorkloadPriority
 import io.airbyte.data.services.DataplaneGroupService
 import io.airbyte.workload.api.domain.KnownExceptionInfo
+import io.airbyte.workload.api.domain.WorkloadAwaitTerminalRequest
 import io.airbyte.workload.api.domain.WorkloadCancelRequest
 import io.airbyte.workload.api.domain.WorkloadClaimRequest
 import io.airbyte.workload.api.domain.WorkloadCreateRequest
@@ -19,13 +20,16 @@ import io.airbyte.workload.api.domain.WorkloadListRequest
 import io.airbyte.workload.api.domain.WorkloadQueuePollRequest
 import io.airbyte.workload.api.domain.WorkloadQueueQueryRequest
 import io.airbyte.workload.api.domain.WorkloadRunningRequest
+import io.airbyte.workload.api.domain.WorkloadStatus
 import io.airbyte.workload.api.domain.WorkloadSuccessRequest
+import io.airbyte.workload.common.WorkloadQueueListener
 import io.airbyte.workload.common.WorkloadQueueService
 import io.airbyte.workload.errors.InvalidStatusTransitionException
 import io.airbyte.workload.errors.NotFoundException
 import io.airbyte.workload.handler.ApiWorkload
 import io.airbyte.workload.handler.WorkloadHandler
 import io.airbyte.workload.handler.WorkloadHandlerImpl
+import io.airbyte.workload.handler.WorkloadTerminalWaiters
 import io.micrometer.core.instrument.MeterRegistry
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import io.micronaut.context.annotation.Property
@@ -49,11 +53,13 @@ import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
 import java.util.UUID
+import java.util.concurrent.CompletableFuture
 
 @Property(name = "airbyte.workload-api.workload-redelivery-window", value = "PT30M")
 @MicronautTest(environments = [Environment.TEST])
 class WorkloadApiTest(
   val embeddedServer: EmbeddedServer,
+  val workloadTerminalWaiters: WorkloadTerminalWaiters,
 ) {
   private val client = SupplierUtil.memoizedNonEmpty { embeddedServer.applicationContext.createBean(HttpClient::class.java, embeddedServer.url) }
 
@@ -72,6 +78,12 @@ class WorkloadApiTest(
   @Replaces(WorkloadHandler::class)
   fun workloadHandler(): WorkloadHandler = workloadHandler
 
+  private val workloadQueueListener = mockk<WorkloadQueueListener>()
+
+  @MockBean(WorkloadQueueListener::class)
+  @Replaces(WorkloadQueueListener::class)
+  fun workloadQueueListener(): WorkloadQueueListener = workloadQueueListener
+
   private val airbyteApiClient: AirbyteApiClient = mockk()
 
   @MockBean(AirbyteApiClient::class)
@@ -157,6 +169,41 @@ class WorkloadApiTest(
     )
   }
 
+  @Test
+  fun `await terminal returns terminated workloads right away`() {
+    val workloadId = UUID.randomUUID().toString()
+    every { workloadHandler.getWorkload(workloadId) } returns ApiWorkload(id = workloadId, status = WorkloadStatus.SUCCESS)
+    testEndpointStatus(HttpRequest.POST("/api/v1/workload/await_terminal", WorkloadAwaitTerminalRequest(workloadId, 30)), HttpStatus.OK)
+    verify(exactly = 2) { workloadHandler.getWorkload(workloadId) }
+  }
+
+  @Test
+  fun `await terminal waits for the workload to be terminated`() {
+    val workloadId = UUID.randomUUID().toString()
+    val running = ApiWorkload(id = workloadId, status = WorkloadStatus.RUNNING)
+    every { workloadHandler.getWorkload(workloadId) } returns running andThenAnswer {
+      // The workload is terminated right after the request reads it as running.
+      workloadTerminalWaiters.wake(workloadId)
+      running
+    } andThen ApiWorkload(id = workloadId, status = WorkloadStatus.CANCELLED)
+    testEndpointStatus(HttpRequest.POST("/api/v1/workload/await_terminal", WorkloadAwaitTerminalRequest(workloadId, 30)), HttpStatus.OK)
+    // Once to authorize the request, then once before and once after the workload is terminated.
+    verify(exactly = 3) { workloadHandler.getWorkload(workloadId) }
+    assertEquals(0, workloadTerminalWaiters.size())
+  }
+
+  @Test
+  fun `await terminal workload id not found`() {
+    val workloadId = UUID.randomUUID().toString()
+    val exceptionMessage = "workload id not found"
+    every { workloadHandler.getWorkload(workloadId) } throws NotFoundException(exceptionMessage)
+    testErrorEndpointResponse(
+      HttpRequest.POST("/api/v1/workload/await_terminal", WorkloadAwaitTerminalRequest(workloadId, 30)),
+      HttpStatus.NOT_FOUND,
+      exceptionMessage,
+    )
+  }
+
   @Test
   fun `test heartbeat success`() {
     every { workloadHandler.heartbeat(any(), any(), any()) }.returns(Unit)
@@ -332,6 +379,30 @@ class WorkloadApiTest(
     testEndpointStatus(HttpRequest.POST("/api/v1/workload/queue/poll", req), HttpStatus.OK)
   }
 
+  @Test
+  fun `poll workloads waits for workloads to be enqueued`() {
+    val req =
+      WorkloadQueuePollRequest(
+        dataplaneGroup = UUID.randomUUID().toString(),
+        priority = WorkloadPriority.DEFAULT,
+        quantity = 10,
+        waitTimeoutSeconds = 10,
+      )
+    val enqueued = CompletableFuture<Unit>()
+
+    every { dataplaneGroupService.getOrganizationIdFromDataplaneGroup(any()) } returns UUID.randomUUID()
+    every { workloadQueueListener.subscribe(req.dataplaneGroup) } returns enqueued
+    every { workloadQueueListener.unsubscribe(req.dataplaneGroup, any()) } just Runs
+    every { workloadHandler.pollWorkloadQueue(req.dataplaneGroup, req.priority, 10) } answers {
+      // The first poll finds the queue empty and waits, the next one is woken up by the enqueued workload.
+      if (enqueued.complete(Unit)) emptyList() else listOf(ApiWorkload())
+    }
+    testEndpointStatus(HttpRequest.POST("/api/v1/workload/queue/poll", req), HttpStatus.OK)
+
+    verify(exactly = 2) { workloadHandler.pollWorkloadQueue(req.dataplaneGroup, req.priority, 10) }
+    verify(exactly = 2) { workloadQueueListener.unsubscribe(req.dataplaneGroup, enqueued) }
+  }
+
   @Test
   fun `count queue depth happy path`() {
     val req =
@@ -6,6 +6,8 @@ package io.airbyte.workload.handler
 
 import io.airbyte.api.client.AirbyteApiClient
 import io.airbyte.config.WorkloadPriority
+import io.airbyte.featureflag.CoalesceWorkloadHeartbeats
+import io.airbyte.featureflag.FeatureFlagClient
 import io.airbyte.metrics.MetricClient
 import io.airbyte.micronaut.runtime.AirbyteWorkloadApiClientConfig
 import io.airbyte.workload.api.domain.WorkloadLabel
@@ -15,10 +17,13 @@ import io.airbyte.workload.errors.InvalidStatusTransitionException
 import io.airbyte.workload.errors.NotFoundException
 import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.DATAPLANE_ID
 import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.WORKLOAD_ID
+import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.featureFlagClient
+import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.workloadHeartbeatBuffer
 import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.workloadHandler
 import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.workloadQueueRepository
 import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.workloadRepository
 import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.workloadService
+import io.airbyte.workload.handler.WorkloadHandlerImplTest.Fixtures.workloadTerminalWaiters
 import io.airbyte.workload.repository.WorkloadQueueRepository
 import io.airbyte.workload.repository.WorkloadRepository
 import io.airbyte.workload.repository.domain.Workload
@@ -265,6 +270,16 @@ class WorkloadHandlerImplTest {
     assertThrows<InvalidStatusTransitionException> { workloadHandler.heartbeat(WORKLOAD_ID, now, null) }
   }
 
+  @Test
+  fun `heartbeats are buffered when coalescing is enabled`() {
+    every { featureFlagClient.boolVariation(CoalesceWorkloadHeartbeats, any()) } returns true
+
+    workloadHandler.heartbeat(WORKLOAD_ID, now.plusMinutes(10), "version")
+
+    verify { workloadHeartbeatBuffer.heartbeat(WORKLOAD_ID, now.plusMinutes(10), "version") }
+    verify(exactly = 0) { workloadService.heartbeatWorkload(any(), any(), any()) }
+  }
+
   @Test
   fun `claiming a workload unsuccessfully returns false`() {
     every { workloadRepository.claim(WORKLOAD_ID, any(), any()) }.returns(null)
@@ -325,6 +340,25 @@ class WorkloadHandlerImplTest {
     assertThrows<NotFoundException> { workloadHandler.succeedWorkload(WORKLOAD_ID, null) }
   }
 
+  @Test
+  fun `terminating a workload wakes up the requests waiting for it`() {
+    every { workloadService.succeedWorkload(WORKLOAD_ID, any()) } just Runs
+    every { workloadService.failWorkload(WORKLOAD_ID, any(), any(), any()) } just Runs
+    every { workloadService.cancelWorkload(WORKLOAD_ID, any(), any()) } just Runs
+    val terminations =
+      listOf<() -> Unit>(
+        { workloadHandler.succeedWorkload(WORKLOAD_ID, null) },
+        { workloadHandler.failWorkload(WORKLOAD_ID, "test", "test failure", null) },
+        { workloadHandler.cancelWorkload(WORKLOAD_ID, "test", "test cancel") },
+      )
+
+    terminations.forEach { terminate ->
+      val terminated = workloadTerminalWaiters.subscribe(WORKLOAD_ID)
+      terminate()
+      assertTrue(terminated.isDone)
+    }
+  }
+
   @Test
   fun `setting status to running errors are converted`() {
     every { workloadRepository.running(WORKLOAD_ID, any()) } throws
@@ -386,6 +420,8 @@ class WorkloadHandlerImplTest {
               .toInt(),
         ),
         featureFlagClient = mockk(relaxed = true),
+        workloadHeartbeatBuffer = mockk(relaxed = true),
+        workloadTerminalWaiters = WorkloadTerminalWaiters(),
       )
     val offsetDateTime = workloadHandlerImpl.offsetDateTime()
     Thread.sleep(10)
@@ -435,6 +471,9 @@ class WorkloadHandlerImplTest {
   object Fixtures {
     val workloadRepository = mockk<WorkloadRepository>()
     val workloadQueueRepository = mockk<WorkloadQueueRepository>()
+    val featureFlagClient: FeatureFlagClient = mockk(relaxed = true)
+    val workloadHeartbeatBuffer: WorkloadHeartbeatBuffer = mockk(relaxed = true)
+    val workloadTerminalWaiters = WorkloadTerminalWaiters()
     val metricClient: MetricClient = mockk(relaxed = true)
     private val airbyteApi: AirbyteApiClient = mockk()
     val signalSender = ApiSignalSender(airbyteApi, metricClient)
@@ -462,7 +501,9 @@ class WorkloadHandlerImplTest {
             heartbeat = mockk<AirbyteWorkloadApiClientConfig.WorkloadApiHeartbeatConfig>(relaxed = true),
             workloadRedeliveryWindowSeconds = redeliveryWindow.toJavaDuration().toSeconds().toInt(),
           ),
-          featureFlagClient = mockk(relaxed = true),
+          featureFlagClient = featureFlagClient,
+          workloadHeartbeatBuffer = workloadHeartbeatBuffer,
+          workloadTerminalWaiters = workloadTerminalWaiters,
         ),
       )
 
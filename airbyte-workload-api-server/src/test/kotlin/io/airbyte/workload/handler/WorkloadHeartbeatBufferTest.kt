@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.handler
+
+import io.airbyte.micronaut.runtime.AirbyteWorkloadApiClientConfig
+import io.airbyte.workload.repository.WorkloadRepository
+import io.airbyte.workload.repository.domain.WorkloadStatus
+import io.airbyte.workload.repository.domain.WorkloadSummaryDTO
+import io.airbyte.workload.services.InvalidStatusTransitionException
+import io.airbyte.workload.services.WorkloadService
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.time.OffsetDateTime
+
+private const val WORKLOAD_ID = "workload-1"
+
+class WorkloadHeartbeatBufferTest {
+  private lateinit var workloadService: WorkloadService
+  private lateinit var workloadRepository: WorkloadRepository
+  private lateinit var buffer: WorkloadHeartbeatBuffer
+  private val now: OffsetDateTime = OffsetDateTime.now()
+
+  @BeforeEach
+  fun setup() {
+    workloadService = mockk(relaxed = true)
+    workloadRepository = mockk()
+    every { workloadRepository.heartbeatAll(any(), any(), any()) } answers {
+      firstArg<List<String>>().map { WorkloadSummaryDTO(id = it, status = WorkloadStatus.RUNNING) }
+    }
+    buffer = buffer(maxBuffered = 10_000)
+  }
+
+  @AfterEach
+  fun tearDown() {
+    buffer.close()
+  }
+
+  @Test
+  fun `the first heartbeat of a workload is written right away and the next ones are buffered`() {
+    buffer.heartbeat(WORKLOAD_ID, now.plusMinutes(10), null)
+    buffer.heartbeat(WORKLOAD_ID, now.plusMinutes(11), null)
+    buffer.heartbeat(WORKLOAD_ID, now.plusMinutes(12), null)
+
+    verify(exactly = 1) { workloadService.heartbeatWorkload(WORKLOAD_ID, now.plusMinutes(10), null) }
+    verify(exactly = 0) { workloadRepository.heartbeatAll(any(), any(), any()) }
+
+    buffer.flush()
+    buffer.flush()
+
+    verify(exactly = 1) { workloadRepository.heartbeatAll(listOf(WORKLOAD_ID), listOf(now.plusMinutes(12)), any()) }
+  }
+
+  @Test
+  fun `a workload that is no longer running is checked again by its next heartbeat`() {
+    buffer.heartbeat(WORKLOAD_ID, now.plusMinutes(10), null)
+    buffer.heartbeat(WORKLOAD_ID, now.plusMinutes(11), null)
+    every { workloadRepository.heartbeatAll(any(), any(), any()) } returns emptyList()
+    buffer.flush()
+    every { workloadService.heartbeatWorkload(WORKLOAD_ID, any(), any()) } throws InvalidStatusTransitionException("not running")
+
+    assertThrows<InvalidStatusTransitionException> { buffer.heartbeat(WORKLOAD_ID, now.plusMinutes(12), null) }
+  }
+
+  @Test
+  fun `heartbeats that fail to be written are written by the next flush`() {
+    buffer.heartbeat(WORKLOAD_ID, now.plusMinutes(10), null)
+    buffer.heartbeat(WORKLOAD_ID, now.plusMinutes(11), null)
+    every { workloadRepository.heartbeatAll(any(), any(), any()) } throws RuntimeException("db is down")
+    buffer.flush()
+    every { workloadRepository.heartbeatAll(any(), any(), any()) } answers {
+      firstArg<List<String>>().map { WorkloadSummaryDTO(id = it, status = WorkloadStatus.RUNNING) }
+    }
+
+    buffer.flush()
+
+    verify(exactly = 2) { workloadRepository.heartbeatAll(listOf(WORKLOAD_ID), listOf(now.plusMinutes(11)), any()) }
+  }
+
+  @Test
+  fun `heartbeats are written right away once too many are buffered`() {
+    buffer.close()
+    buffer = buffer(maxBuffered = 1)
+    listOf("workload-1", "workload-2").forEach { buffer.heartbeat(it, now.plusMinutes(10), null) }
+
+    listOf("workload-1", "workload-2").forEach { buffer.heartbeat(it, now.plusMinutes(11), null) }
+
+    verify(exactly = 0) { workloadService.heartbeatWorkload("workload-1", now.plusMinutes(11), null) }
+    verify(exactly = 1) { workloadService.heartbeatWorkload("workload-2", now.plusMinutes(11), null) }
+  }
+
+  @Test
+  fun `coalescing heartbeats of many running workloads divides the writes to the database`() {
+    val workloads = 2_000
+    val heartbeatsPerWorkload = 6
+    val workloadIds = (0 until workloads).map { "workload-$it" }
+
+    repeat(heartbeatsPerWorkload) { round ->
+      workloadIds.forEach { buffer.heartbeat(it, now.plusMinutes(10L + round), null) }
+      // A flush interval goes by between two heartbeats of a workload.
+      buffer.flush()
+    }
+
+    // One write to check that each workload is running, then one statement per 500 workloads and flush.
+    val singleWrites = workloads
+    val batchWrites = (heartbeatsPerWorkload - 1) * (workloads / 500)
+    verify(exactly = singleWrites) { workloadService.heartbeatWorkload(any(), any(), any()) }
+    verify(exactly = batchWrites) { workloadRepository.heartbeatAll(any(), any(), any()) }
+    val writes = singleWrites + batchWrites
+    assertTrue(writes * 5 < workloads * heartbeatsPerWorkload) { "$writes writes for ${workloads * heartbeatsPerWorkload} heartbeats" }
+  }
+
+  private fun buffer(maxBuffered: Int) =
+    WorkloadHeartbeatBuffer(
+      workloadService = workloadService,
+      workloadRepository = workloadRepository,
+      metricClient = mockk(relaxed = true),
+      airbyteWorkloadApiClientConfig =
+        AirbyteWorkloadApiClientConfig(
+          heartbeat = AirbyteWorkloadApiClientConfig.WorkloadApiHeartbeatConfig(flushIntervalMillis = 60_000, maxBuffered = maxBuffered),
+        ),
+    )
+}
@@ -14,6 +14,7 @@ import io.airbyte.workload.api.domain.WorkloadClaimRequest
 import io.airbyte.workload.api.domain.WorkloadFailureRequest
 import io.airbyte.workload.api.domain.WorkloadLaunchedRequest
 import io.airbyte.workload.api.domain.WorkloadQueuePollRequest
+import io.airbyte.workload.api.domain.WorkloadQueueQueryRequest
 import io.airbyte.workload.launcher.authn.DataplaneIdentityService
 import io.github.oshai.kotlinlogging.KotlinLogging
 import io.micronaut.runtime.ApplicationConfiguration
@@ -115,15 +116,31 @@ class WorkloadApiClient(
     return result
   }
 
+  /**
+   * Polls the queue for workloads. When [waitTimeoutSeconds] is set and the queue is empty, the server waits for at most
+   * that long for workloads to be enqueued before answering.
+   */
   fun pollQueue(
     groupId: String?,
     priority: WorkloadPriority?,
     pollSizeItems: Int,
+    waitTimeoutSeconds: Int? = null,
   ): List<Workload> {
-    val req = WorkloadQueuePollRequest(quantity = pollSizeItems, dataplaneGroup = groupId, priority = priority)
+    val req =
+      WorkloadQueuePollRequest(
+        quantity = pollSizeItems,
+        dataplaneGroup = groupId,
+        priority = priority,
+        waitTimeoutSeconds = waitTimeoutSeconds,
+      )
 
     val resp = workloadApiClient.pollWorkloadQueue(req)
 
     return resp.workloads
   }
+
+  fun countQueueDepth(
+    groupId: String?,
+    priority: WorkloadPriority?,
+  ): Long = workloadApiClient.countWorkloadQueueDepth(WorkloadQueueQueryRequest(dataplaneGroup = groupId, priority = priority)).count
 }
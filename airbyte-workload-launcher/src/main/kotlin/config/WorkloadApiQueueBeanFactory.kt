@@ -9,6 +9,7 @@ import io.airbyte.featureflag.FeatureFlagClient
 import io.airbyte.metrics.MetricClient
 import io.airbyte.micronaut.runtime.AirbyteWorkloadLauncherConfig
 import io.airbyte.workload.launcher.client.WorkloadApiClient
+import io.airbyte.workload.launcher.pipeline.LaunchPipeline
 import io.airbyte.workload.launcher.pipeline.consumer.WorkloadApiQueuePoller
 import io.micronaut.context.annotation.Factory
 import jakarta.inject.Named
@@ -23,6 +24,7 @@ class WorkloadApiQueueBeanFactory {
     metricClient: MetricClient,
     featureFlagClient: FeatureFlagClient,
     workloadLauncherConfiguration: AirbyteWorkloadLauncherConfig,
+    launchPipeline: LaunchPipeline,
   ): WorkloadApiQueuePoller =
     WorkloadApiQueuePoller(
       workloadApiClient,
@@ -32,6 +34,11 @@ class WorkloadApiQueueBeanFactory {
       workloadLauncherConfiguration.consumer.highPriorityQueue.pollIntervalSeconds
         .toLong(),
       WorkloadPriority.HIGH,
+      maxPollSizeItems = workloadLauncherConfiguration.consumer.highPriorityQueue.maxPollSizeItems,
+      maxPollIntervalSeconds = workloadLauncherConfiguration.consumer.highPriorityQueue.maxPollIntervalSeconds.toLong(),
+      maxInFlightLaunches = workloadLauncherConfiguration.consumer.maxInFlightLaunches,
+      activeLaunches = launchPipeline::activeLaunches,
+      recentLaunchLatency = launchPipeline::recentLaunchLatency,
     )
 
   @Singleton
@@ -41,6 +48,7 @@ class WorkloadApiQueueBeanFactory {
     metricClient: MetricClient,
     featureFlagClient: FeatureFlagClient,
     workloadLauncherConfiguration: AirbyteWorkloadLauncherConfig,
+    launchPipeline: LaunchPipeline,
   ): WorkloadApiQueuePoller =
     WorkloadApiQueuePoller(
       workloadApiClient,
@@ -50,5 +58,10 @@ class WorkloadApiQueueBeanFactory {
       workloadLauncherConfiguration.consumer.defaultQueue.pollIntervalSeconds
         .toLong(),
       WorkloadPriority.DEFAULT,
+      maxPollSizeItems = workloadLauncherConfiguration.consumer.defaultQueue.maxPollSizeItems,
+      maxPollIntervalSeconds = workloadLauncherConfiguration.consumer.defaultQueue.maxPollIntervalSeconds.toLong(),
+      maxInFlightLaunches = workloadLauncherConfiguration.consumer.maxInFlightLaunches,
+      activeLaunches = launchPipeline::activeLaunches,
+      recentLaunchLatency = launchPipeline::recentLaunchLatency,
     )
 }
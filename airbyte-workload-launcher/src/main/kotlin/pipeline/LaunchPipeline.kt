@@ -6,12 +6,15 @@ package io.airbyte.workload.launcher.pipeline
 
 import io.airbyte.metrics.MetricClient
 import io.airbyte.metrics.OssMetricsRegistry
+import io.airbyte.micronaut.runtime.AirbyteWorkloadLauncherConfig
 import io.airbyte.workload.launcher.metrics.MeterFilterFactory.Companion.LAUNCH_PIPELINE_OPERATION_NAME
 import io.airbyte.workload.launcher.pipeline.consumer.LauncherInput
 import io.airbyte.workload.launcher.pipeline.handlers.FailureHandler
 import io.airbyte.workload.launcher.pipeline.handlers.SuccessHandler
+import io.airbyte.workload.launcher.pipeline.stages.StageName
 import io.airbyte.workload.launcher.pipeline.stages.model.LaunchStage
 import io.airbyte.workload.launcher.pipeline.stages.model.LaunchStageIO
+import io.airbyte.workload.launcher.pipeline.stages.model.StageFunction
 import io.opentelemetry.instrumentation.annotations.WithSpan
 import jakarta.inject.Named
 import jakarta.inject.Singleton
@@ -19,7 +22,14 @@ import reactor.core.publisher.Flux
 import reactor.core.publisher.Mono
 import reactor.core.scheduler.Schedulers
 import reactor.kotlin.core.publisher.toMono
+import java.time.Duration
 import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Weight of the history in the moving average of launch durations.
+ */
+private const val LAUNCH_LATENCY_SMOOTHING = 8
 
 @Singleton
 class LaunchPipeline(
@@ -34,8 +44,18 @@ class LaunchPipeline(
   private val failureHandler: FailureHandler,
   private val ingressAdapter: PipelineIngressAdapter,
   private val metricClient: MetricClient,
+  airbyteWorkloadLauncherConfig: AirbyteWorkloadLauncherConfig,
 ) {
   private val activeLaunches = AtomicInteger(0)
+  private val launchLatencyNanos = AtomicLong(0)
+  private val stageConcurrency = airbyteWorkloadLauncherConfig.stageConcurrency
+  private val limitedBuild = limited(build, StageName.BUILD, stageConcurrency.build)
+  private val limitedClaim = limited(claim, StageName.CLAIM, stageConcurrency.claim)
+  private val limitedLoadShed = limited(loadShed, StageName.LOAD_SHED, stageConcurrency.loadShed)
+  private val limitedCheck = limited(check, StageName.CHECK_STATUS, stageConcurrency.check)
+  private val limitedMutex = limited(mutex, StageName.MUTEX, stageConcurrency.mutex)
+  private val limitedArchitecture = limited(architecture, StageName.ARCHITECTURE, stageConcurrency.architecture)
+  private val limitedLaunch = limited(launch, StageName.LAUNCH, stageConcurrency.launch)
 
   init {
     metricClient.gauge(
@@ -45,6 +65,16 @@ class LaunchPipeline(
     )
   }
 
+  /**
+   * Number of workloads being processed, from claim to completion.
+   */
+  fun activeLaunches(): Int = activeLaunches.get()
+
+  /**
+   * Moving average of the time it takes to process a workload from claim to completion, null until one completes.
+   */
+  fun recentLaunchLatency(): Duration? = launchLatencyNanos.get().takeIf { it > 0 }?.let(Duration::ofNanos)
+
   @WithSpan(LAUNCH_PIPELINE_OPERATION_NAME)
   fun accept(input: LauncherInput) {
     val disposable =
@@ -61,43 +91,65 @@ class LaunchPipeline(
   fun buildPipeline(input: LauncherInput): Mono<LaunchStageIO> {
     val io = ingressAdapter.apply(input)
     var wasClaimed = false
+    var claimedAtNanos = 0L
 
     return io
       .toMono()
-      .flatMap(build)
-      .flatMap(claim)
+      .flatMap(limitedBuild)
+      .flatMap(limitedClaim)
       .doOnNext { stageIO ->
         if (!stageIO.skip) {
           activeLaunches.incrementAndGet()
           wasClaimed = true
+          claimedAtNanos = System.nanoTime()
         }
-      }.flatMap(loadShed)
-      .flatMap(check)
-      .flatMap(mutex)
-      .flatMap(architecture)
-      .flatMap(launch)
+      }.flatMap(limitedLoadShed)
+      .flatMap(limitedCheck)
+      .flatMap(limitedMutex)
+      .flatMap(limitedArchitecture)
+      .flatMap(limitedLaunch)
       .onErrorResume { e -> failureHandler.accept(e, io) }
       .doOnNext(successHandler::accept)
       .doFinally {
         if (wasClaimed) {
           activeLaunches.decrementAndGet()
+          recordLaunchLatency(System.nanoTime() - claimedAtNanos)
         }
       }
   }
 
+  /**
+   * Runs the [stage] under its own concurrency limit, so that a slow stage doesn't hold up the workloads waiting for the
+   * other stages. Workloads skipping the stage don't wait for it, the stage still logs that they skipped it.
+   */
+  private fun limited(
+    stage: LaunchStage,
+    stageName: StageName,
+    maxConcurrency: Int,
+  ): StageFunction<LaunchStageIO> {
+    val limiter = StageConcurrencyLimiter(stageName, maxConcurrency, metricClient)
+    return StageFunction<LaunchStageIO> { io -> if (stage.skipStage(io)) stage.apply(io) else limiter.limit { stage.apply(io) } }
+  }
+
+  private fun recordLaunchLatency(nanos: Long) {
+    launchLatencyNanos.updateAndGet { average ->
+      if (average == 0L) nanos else average + (nanos - average) / LAUNCH_LATENCY_SMOOTHING
+    }
+  }
+
   /*
    * Applies the pipeline to a stream of inputs.
    */
   fun apply(publisher: Flux<LauncherInput>): Flux<LaunchStageIO> =
     publisher
       .map(ingressAdapter::apply)
-      .flatMap(build)
-      .flatMap(claim)
-      .flatMap(loadShed)
-      .flatMap(check)
-      .flatMap(mutex)
-      .flatMap(architecture)
-      .flatMap(launch)
+      .flatMap(limitedBuild)
+      .flatMap(limitedClaim)
+      .flatMap(limitedLoadShed)
+      .flatMap(limitedCheck)
+      .flatMap(limitedMutex)
+      .flatMap(limitedArchitecture)
+      .flatMap(limitedLaunch)
       .onErrorContinue(failureHandler::accept)
       .doOnNext(successHandler::accept)
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.launcher.pipeline
+
+import io.airbyte.metrics.MetricAttribute
+import io.airbyte.metrics.MetricClient
+import io.airbyte.metrics.OssMetricsRegistry
+import io.airbyte.metrics.lib.MetricTags
+import io.airbyte.workload.launcher.pipeline.stages.StageName
+import reactor.core.publisher.Mono
+import reactor.core.publisher.MonoSink
+import reactor.core.scheduler.Scheduler
+import reactor.core.scheduler.Schedulers
+import java.time.Duration
+
+/**
+ * Limits the number of workloads going through a stage at once, without holding a thread while they wait for their turn.
+ *
+ * A workload holds its permit until the stage completes for it, including any asynchronous part of the stage. Workloads
+ * waiting for a permit get it in order, and the time they waited is recorded as [OssMetricsRegistry.WORKLOAD_STAGE_QUEUE_WAIT].
+ * A permit released by a workload is handed over on the [scheduler], so that the next workload doesn't run on the thread
+ * of the previous one.
+ */
+class StageConcurrencyLimiter(
+  private val stageName: StageName,
+  private val maxConcurrency: Int,
+  private val metricClient: MetricClient,
+  private val scheduler: Scheduler = Schedulers.boundedElastic(),
+) {
+  private val lock = Any()
+  private val waiting = ArrayDeque<Permit>()
+  private var running = 0
+
+  init {
+    require(maxConcurrency > 0) { "The concurrency of the $stageName stage must be positive, was $maxConcurrency" }
+  }
+
+  fun <T : Any> limit(work: () -> Mono<T>): Mono<T> =
+    Mono.defer {
+      val permit = Permit(System.nanoTime())
+      Mono
+        .create<Unit> { sink -> acquire(permit, sink) }
+        .then(
+          Mono.defer {
+            recordQueueWait(Duration.ofNanos(System.nanoTime() - permit.requestedAtNanos))
+            work()
+          },
+        ).doFinally { release(permit) }
+    }
+
+  /**
+   * Number of workloads waiting for a permit.
+   */
+  fun waiting(): Int = synchronized(lock) { waiting.size }
+
+  private fun acquire(
+    permit: Permit,
+    sink: MonoSink<Unit>,
+  ) {
+    val granted =
+      synchronized(lock) {
+        permit.sink = sink
+        if (running < maxConcurrency) {
+          running++
+          permit.granted = true
+        } else {
+          waiting.addLast(permit)
+        }
+        permit.granted
+      }
+
+    if (granted) {
+      sink.success(Unit)
+    }
+  }
+
+  private fun release(permit: Permit) {
+    val next =
+      synchronized(lock) {
+        if (!permit.granted) {
+          // Cancelled while waiting, the permit was never handed over.
+          waiting.remove(permit)
+          return
+        }
+        permit.granted = false
+        waiting.removeFirstOrNull()?.also { it.granted = true } ?: run {
+          running--
+          null
+        }
+      }
+
+    next?.sink?.let { sink -> scheduler.schedule { sink.success(Unit) } }
+  }
+
+  private fun recordQueueWait(wait: Duration) {
+    metricClient
+      .timer(
+        metric = OssMetricsRegistry.WORKLOAD_STAGE_QUEUE_WAIT,
+        attributes = arrayOf(MetricAttribute(MetricTags.STAGE_NAME_TAG, stageName.toString())),
+      )?.record(wait)
+  }
+
+  private class Permit(
+    val requestedAtNanos: Long,
+  ) {
+    var sink: MonoSink<Unit>? = null
+    var granted = false
+  }
+}
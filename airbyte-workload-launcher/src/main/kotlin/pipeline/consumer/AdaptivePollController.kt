@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.launcher.pipeline.consumer
+
+import java.time.Duration
+
+/**
+ * Shortest wait before checking again when the launcher has no room for more launches.
+ */
+private val MIN_CAPACITY_WAIT: Duration = Duration.ofMillis(100)
+
+/**
+ * Decides how many workloads each poll of the queue asks for, and how long to wait before the next poll.
+ *
+ * - While polls come back empty, the wait doubles from [minInterval] up to [maxInterval].
+ * - While polls come back full, the next poll happens right away. It asks for as many workloads as the queue holds,
+ *   or for twice as many as the last poll when the depth of the queue isn't known.
+ * - A poll never asks for more than [maxPollSize] workloads, nor for more than the launches the launcher has room for
+ *   out of [maxInFlightLaunches]. When it has no room, polling waits for about the time it takes a launch to complete.
+ *
+ * Not thread safe: it is meant to be driven by a single poller.
+ */
+class AdaptivePollController(
+  private val basePollSize: Int,
+  private val maxPollSize: Int,
+  private val maxInFlightLaunches: Int,
+  private val minInterval: Duration,
+  private val maxInterval: Duration,
+) {
+  private var emptyPolls = 0
+
+  /**
+   * Size of the next poll, before accounting for the launches in flight.
+   */
+  @Volatile
+  var pollSize: Int = basePollSize
+    private set
+
+  /**
+   * Wait before the next poll.
+   */
+  @Volatile
+  var delay: Duration = minInterval
+    private set
+
+  /**
+   * Returns how many workloads to ask for in the next poll, 0 if the launcher has no room for more launches.
+   */
+  fun nextPollSize(inFlightLaunches: Int): Int = pollSize.coerceAtMost(capacity(inFlightLaunches))
+
+  /**
+   * Whether the next poll follows polls that came back empty, so that it can wait on the server for workloads.
+   */
+  fun isIdle(): Boolean = emptyPolls > 0
+
+  /**
+   * Records the result of a poll and returns how long to wait before the next one.
+   *
+   * @param requested number of workloads the poll asked for
+   * @param polled number of workloads the poll returned
+   * @param queueDepth number of workloads left in the queue after the poll, if known
+   * @param inFlightLaunches number of launches in progress
+   */
+  fun onPolled(
+    requested: Int,
+    polled: Int,
+    queueDepth: Long?,
+    inFlightLaunches: Int,
+  ): Duration {
+    val maxSize = maxPollSize.coerceAtMost(capacity(inFlightLaunches)).coerceAtLeast(1)
+    when {
+      polled >= requested || (queueDepth ?: 0) > 0 -> {
+        emptyPolls = 0
+        val target = queueDepth?.coerceAtMost(Int.MAX_VALUE.toLong())?.toInt() ?: (pollSize * 2)
+        pollSize = target.coerceAtLeast(basePollSize).coerceAtMost(maxSize)
+        delay = Duration.ZERO
+      }
+      polled > 0 -> {
+        emptyPolls = 0
+        pollSize = basePollSize.coerceAtMost(maxSize)
+        delay = minInterval
+      }
+      else -> {
+        emptyPolls++
+        pollSize = basePollSize.coerceAtMost(maxSize)
+        delay = backoff()
+      }
+    }
+    return delay
+  }
+
+  /**
+   * Records that a poll was skipped because the launcher had no room for more launches, and returns how long to wait
+   * before checking again: the expected time for one of the launches in flight to complete.
+   *
+   * @param launchLatency recent average duration of a launch, if known
+   */
+  fun onFull(
+    inFlightLaunches: Int,
+    launchLatency: Duration?,
+  ): Duration {
+    val expected = launchLatency?.dividedBy(inFlightLaunches.coerceAtLeast(1).toLong()) ?: minInterval
+    delay = expected.coerceIn(MIN_CAPACITY_WAIT, minInterval.coerceAtLeast(MIN_CAPACITY_WAIT))
+    return delay
+  }
+
+  /**
+   * Records that polling failed and returns how long to wait before trying again.
+   */
+  fun onError(): Duration {
+    delay = minInterval
+    return delay
+  }
+
+  private fun capacity(inFlightLaunches: Int): Int = (maxInFlightLaunches - inFlightLaunches).coerceAtLeast(0)
+
+  private fun backoff(): Duration {
+    // Stop doubling once the max is reached so that the multiplication can't overflow.
+    val exponent = (emptyPolls - 1).coerceAtMost(30)
+    val backoff = minInterval.multipliedBy(1L shl exponent)
+    return if (backoff > maxInterval) maxInterval else backoff
+  }
+}
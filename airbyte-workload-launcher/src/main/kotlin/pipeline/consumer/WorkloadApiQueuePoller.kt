@@ -7,6 +7,7 @@ package io.airbyte.workload.launcher.pipeline.consumer
 import io.airbyte.config.WorkloadPriority
 import io.airbyte.featureflag.DataplaneGroup
 import io.airbyte.featureflag.FeatureFlagClient
+import io.airbyte.featureflag.WorkloadPollerAdaptive
 import io.airbyte.featureflag.WorkloadPollerUsesJitter
 import io.airbyte.metrics.MetricAttribute
 import io.airbyte.metrics.MetricClient
@@ -18,6 +19,7 @@ import io.airbyte.workload.launcher.model.toLauncherInput
 import io.github.oshai.kotlinlogging.KotlinLogging
 import reactor.core.publisher.Flux
 import reactor.core.publisher.Mono
+import reactor.core.scheduler.Schedulers
 import java.time.Duration
 import kotlin.concurrent.Volatile
 import kotlin.random.Random
@@ -26,10 +28,19 @@ import kotlin.time.toJavaDuration
 
 private val logger = KotlinLogging.logger {}
 
+/**
+ * Longest time an idle adaptive poll waits on the server for workloads to be enqueued.
+ */
+private val MAX_POLL_WAIT: Duration = Duration.ofSeconds(20)
+
 /**
  * Polls the workload api backed queue with given configuration.
  * Emits a Flux<LauncherInput> for consumption by the pipeline.
  *
+ * Polls [pollSizeItems] workloads every [pollIntervalSeconds], unless the [WorkloadPollerAdaptive] flag is set, in which
+ * case an [AdaptivePollController] sizes and paces the polls from the depth of the queue, the [activeLaunches] and the
+ * [recentLaunchLatency]. Idle adaptive polls wait on the server for workloads to be enqueued.
+ *
  * Starts in a suspended state until #resumePolling is called.
  */
 class WorkloadApiQueuePoller(
@@ -39,6 +50,11 @@ class WorkloadApiQueuePoller(
   private val pollSizeItems: Int,
   private val pollIntervalSeconds: Long,
   private val priority: WorkloadPriority,
+  private val maxPollSizeItems: Int = pollSizeItems,
+  private val maxPollIntervalSeconds: Long = pollIntervalSeconds,
+  private val maxInFlightLaunches: Int = Int.MAX_VALUE,
+  private val activeLaunches: () -> Int = { 0 },
+  private val recentLaunchLatency: () -> Duration? = { null },
 ) {
   @Volatile
   private var suspended = true
@@ -47,6 +63,9 @@ class WorkloadApiQueuePoller(
   lateinit var flux: Flux<LauncherInput>
     private set
 
+  @Volatile
+  private var nextPollDelay: Duration = Duration.ZERO
+
   fun initialize(groupId: String): WorkloadApiQueuePoller {
     if (initialized) return this
 
@@ -71,7 +90,9 @@ class WorkloadApiQueuePoller(
 
   fun isSuspended(): Boolean = suspended
 
-  private fun buildInputFlux(): Flux<LauncherInput> {
+  private fun buildInputFlux(): Flux<LauncherInput> = if (useAdaptivePolling()) buildAdaptiveInputFlux() else buildIntervalInputFlux()
+
+  private fun buildIntervalInputFlux(): Flux<LauncherInput> {
     val interval =
       if (useJitter()) {
         Flux
@@ -102,6 +123,81 @@ class WorkloadApiQueuePoller(
       .onErrorContinue(this::handlePollError)
   }
 
+  private fun buildAdaptiveInputFlux(): Flux<LauncherInput> {
+    val controller =
+      AdaptivePollController(
+        basePollSize = pollSizeItems,
+        maxPollSize = maxPollSizeItems.coerceAtLeast(pollSizeItems),
+        maxInFlightLaunches = maxInFlightLaunches,
+        minInterval = Duration.ofSeconds(pollIntervalSeconds),
+        maxInterval = Duration.ofSeconds(maxPollIntervalSeconds.coerceAtLeast(pollIntervalSeconds)),
+      )
+    val attributes =
+      arrayOf(
+        MetricAttribute(MetricTags.DATA_PLANE_GROUP_TAG, groupId),
+        MetricAttribute(MetricTags.PRIORITY_TAG, priority.toString()),
+      )
+    metricClient.gauge(OssMetricsRegistry.WORKLOAD_QUEUE_POLL_SIZE, controller, { it.pollSize.toDouble() }, *attributes)
+    metricClient.gauge(OssMetricsRegistry.WORKLOAD_QUEUE_POLL_DELAY, controller, { it.delay.toMillis().toDouble() }, *attributes)
+
+    return Mono
+      // Polls block, possibly for as long as the server holds them, so they don't run on the parallel scheduler.
+      .defer { Mono.delay(nextPollDelay, Schedulers.boundedElastic()) }
+      .flatMapIterable { pollAdaptively(controller) }
+      .repeat()
+      .map(Workload::toLauncherInput)
+  }
+
+  /**
+   * Runs one poll, if the poller isn't suspended and the launcher has room for more launches, and lets [controller]
+   * decide on the next one.
+   */
+  private fun pollAdaptively(controller: AdaptivePollController): List<Workload> {
+    if (isSuspended()) {
+      nextPollDelay = Duration.ofSeconds(pollIntervalSeconds)
+      return emptyList()
+    }
+
+    return try {
+      val size = controller.nextPollSize(activeLaunches())
+      if (size == 0) {
+        nextPollDelay = controller.onFull(activeLaunches(), recentLaunchLatency())
+        return emptyList()
+      }
+
+      // Once the queue is idle, the server holds the poll until workloads are enqueued, or for as long as we would
+      // have waited before polling again.
+      val waitTimeoutSeconds = if (controller.isIdle()) controller.delay.coerceAtMost(MAX_POLL_WAIT).toSeconds() else 0L
+      val startNanos = System.nanoTime()
+      val results = workloadApiClient.pollQueue(groupId, priority, size, waitTimeoutSeconds.toInt().takeIf { it > 0 })
+      val waited = Duration.ofNanos(System.nanoTime() - startNanos)
+      metricClient.count(
+        OssMetricsRegistry.WORKLOAD_QUEUE_MESSAGES_POLLED,
+        results.size.toLong(),
+        MetricAttribute(MetricTags.DATA_PLANE_GROUP_TAG, groupId),
+        MetricAttribute(MetricTags.PRIORITY_TAG, priority.toString()),
+      )
+
+      // The depth of the queue is only worth asking for when there may be more workloads than we asked for.
+      val queueDepth = if (results.size >= size) workloadApiClient.countQueueDepth(groupId, priority) else null
+      val delay = controller.onPolled(size, results.size, queueDepth, activeLaunches())
+      nextPollDelay =
+        if (waitTimeoutSeconds > 0 && results.isEmpty()) {
+          // Only wait for what's left of the wait the server didn't hold the poll for, e.g. when it doesn't support it.
+          Duration.ofSeconds(waitTimeoutSeconds).minus(waited).coerceAtLeast(Duration.ZERO)
+        } else {
+          delay
+        }
+      results
+    } catch (e: Exception) {
+      handlePollError(e, null)
+      nextPollDelay = controller.onError()
+      emptyList()
+    }
+  }
+
+  private fun useAdaptivePolling(): Boolean = featureFlagClient.boolVariation(WorkloadPollerAdaptive, DataplaneGroup(groupId))
+
   private fun useJitter(): Boolean = featureFlagClient.boolVariation(WorkloadPollerUsesJitter, DataplaneGroup(groupId))
 
   private fun handlePollError(
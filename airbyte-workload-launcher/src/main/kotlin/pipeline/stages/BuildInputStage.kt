@@ -5,13 +5,38 @@
 package io.airbyte.workload.launcher.pipeline.stages
 
 import io.airbyte.config.WorkloadType
+import io.airbyte.featureflag.ANONYMOUS
+import io.airbyte.featureflag.ConcurrentSourceStreamRead
+import io.airbyte.featureflag.Connection
+import io.airbyte.featureflag.ConnectorApmEnabled
+import io.airbyte.featureflag.ContainerOrchestratorDevImage
+import io.airbyte.featureflag.ContainerOrchestratorJavaOpts
 import io.airbyte.featureflag.Context
+import io.airbyte.featureflag.Empty
+import io.airbyte.featureflag.EnableAsyncProfiler
+import io.airbyte.featureflag.FeatureFlagClient
+import io.airbyte.featureflag.FlagEvaluation
+import io.airbyte.featureflag.FlagSnapshot
+import io.airbyte.featureflag.ForceDdRemoteConfigVar
+import io.airbyte.featureflag.InjectAwsSecretsToConnectorPods
+import io.airbyte.featureflag.LoadShedWorkloadLauncher
+import io.airbyte.featureflag.Multi
+import io.airbyte.featureflag.Organization
+import io.airbyte.featureflag.ProfilingMode
+import io.airbyte.featureflag.ReplicationDebugLogLevelEnabled
+import io.airbyte.featureflag.ShouldWaitForMainContainersOnReplication
+import io.airbyte.featureflag.UseAllowCustomCode
+import io.airbyte.featureflag.UseRuntimeSecretPersistence
+import io.airbyte.featureflag.Workspace
 import io.airbyte.metrics.MetricClient
 import io.airbyte.metrics.annotations.Instrument
 import io.airbyte.metrics.annotations.Tag
 import io.airbyte.metrics.lib.MetricTags
+import io.airbyte.persistence.job.models.IntegrationLauncherConfig
+import io.airbyte.persistence.job.models.ReplicationInput
 import io.airbyte.workers.input.InputFeatureFlagContextMapper
 import io.airbyte.workers.input.ReplicationInputMapper
+import io.airbyte.workers.input.getOrganizationId
 import io.airbyte.workers.models.CheckConnectionInput
 import io.airbyte.workers.models.DiscoverCatalogInput
 import io.airbyte.workers.models.ReplicationActivityInput
@@ -25,15 +50,21 @@ import io.airbyte.workload.launcher.pipeline.stages.model.LaunchStageIO
 import io.airbyte.workload.launcher.pipeline.stages.model.SpecPayload
 import io.airbyte.workload.launcher.pipeline.stages.model.SyncPayload
 import io.airbyte.workload.launcher.pipeline.stages.model.WorkloadPayload
+import io.airbyte.workload.launcher.pods.factories.RuntimeEnvVarFactory
+import io.github.oshai.kotlinlogging.KotlinLogging
 import io.opentelemetry.api.trace.Span
 import io.opentelemetry.instrumentation.annotations.WithSpan
 import jakarta.inject.Named
 import jakarta.inject.Singleton
 import reactor.core.publisher.Mono
 
+private val logger = KotlinLogging.logger {}
+
 /**
  * Deserializes input payloads, derives a feature flag context from input data and attaches both to the IO.
  * The input is usually not fully hydrated with further hydration eventually performed by the launched pod itself.
+ *
+ * Also evaluates the feature flags the rest of the launch reads, all at once, and attaches them to the IO as a snapshot.
  */
 @Singleton
 @Named("build")
@@ -42,6 +73,7 @@ open class BuildInputStage(
   private val deserializer: PayloadDeserializer,
   metricClient: MetricClient,
   private val ffCtxMapper: InputFeatureFlagContextMapper,
+  private val featureFlagClient: FeatureFlagClient,
 ) : LaunchStage(metricClient) {
   @WithSpan(MeterFilterFactory.LAUNCH_PIPELINE_STAGE_OPERATION_NAME)
   @Instrument(
@@ -61,6 +93,7 @@ open class BuildInputStage(
     return input.apply {
       payload = built
       ffContext = ffCtx
+      flags = snapshotFlags(built, ffCtx)
     }
   }
 
@@ -103,4 +136,80 @@ open class BuildInputStage(
       is SpecPayload -> ffCtxMapper.map(payload.input)
       is SyncPayload -> ffCtxMapper.map(payload.input)
     }
+
+  /**
+   * The snapshot is only an optimization: if it can't be taken, the flags are evaluated when they are read.
+   */
+  private fun snapshotFlags(
+    payload: WorkloadPayload,
+    ffCtx: Context,
+  ): FlagSnapshot? =
+    try {
+      featureFlagClient.snapshot(flagEvaluations(payload, ffCtx))
+    } catch (e: Exception) {
+      logger.warn(e) { "Failed to snapshot the feature flags of the launch, they will be evaluated one at a time." }
+      null
+    }
+
+  /**
+   * The flag evaluations of the launch, with the contexts the load shed stage, the pod client, the kube input mapper and
+   * the runtime env var factory evaluate them with. An evaluation missing from this list is still served, by the client.
+   */
+  private fun flagEvaluations(
+    payload: WorkloadPayload,
+    ffCtx: Context,
+  ): List<FlagEvaluation> {
+    val launch = listOf(FlagEvaluation(LoadShedWorkloadLauncher, ffCtx), FlagEvaluation(ForceDdRemoteConfigVar, Empty))
+    return launch +
+      when (payload) {
+        is CheckPayload ->
+          connectorFlagEvaluations(payload.input.launcherConfig) +
+            FlagEvaluation(UseRuntimeSecretPersistence, Organization(payload.input.getOrganizationId()))
+        is DiscoverCatalogPayload ->
+          connectorFlagEvaluations(payload.input.launcherConfig) +
+            FlagEvaluation(UseRuntimeSecretPersistence, Organization(payload.input.getOrganizationId()))
+        is SpecPayload -> listOfNotNull(payload.input.launcherConfig.workspaceId?.let { FlagEvaluation(UseAllowCustomCode, Workspace(it)) })
+        is SyncPayload -> syncFlagEvaluations(payload.input)
+      }
+  }
+
+  private fun syncFlagEvaluations(input: ReplicationInput): List<FlagEvaluation> {
+    val connection = Connection(input.connectionId)
+    val connectionContext = input.connectionContext
+    val orchestrator =
+      listOf(
+        FlagEvaluation(ContainerOrchestratorDevImage, connection),
+        FlagEvaluation(ContainerOrchestratorJavaOpts, connection),
+        FlagEvaluation(EnableAsyncProfiler, connection),
+        FlagEvaluation(ProfilingMode, connection),
+        FlagEvaluation(ShouldWaitForMainContainersOnReplication, connection),
+        FlagEvaluation(UseRuntimeSecretPersistence, Organization(connectionContext.organizationId)),
+        FlagEvaluation(
+          ReplicationDebugLogLevelEnabled,
+          Multi(listOf(Workspace(connectionContext.workspaceId), Connection(connectionContext.connectionId))),
+        ),
+      )
+    val connectors =
+      listOf(input.sourceLauncherConfig, input.destinationLauncherConfig).flatMap { launcherConfig ->
+        connectorFlagEvaluations(launcherConfig) +
+          FlagEvaluation(
+            ReplicationDebugLogLevelEnabled,
+            Multi(listOf(Workspace(launcherConfig.workspaceId), Connection(launcherConfig.connectionId))),
+          ) +
+          listOfNotNull(
+            FlagEvaluation(ConcurrentSourceStreamRead, Connection(launcherConfig.connectionId ?: ANONYMOUS))
+              .takeIf { launcherConfig.dockerImage.startsWith(RuntimeEnvVarFactory.MYSQL_SOURCE_NAME) },
+          )
+      }
+    return orchestrator + connectors
+  }
+
+  private fun connectorFlagEvaluations(launcherConfig: IntegrationLauncherConfig): List<FlagEvaluation> {
+    val workspace = launcherConfig.workspaceId?.let { Workspace(it) } ?: return emptyList()
+    return listOfNotNull(
+      FlagEvaluation(ConnectorApmEnabled, workspace),
+      FlagEvaluation(UseAllowCustomCode, workspace),
+      FlagEvaluation(InjectAwsSecretsToConnectorPods, workspace).takeUnless { launcherConfig.isCustomConnector },
+    )
+  }
 }
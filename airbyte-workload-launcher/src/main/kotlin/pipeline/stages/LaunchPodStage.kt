@@ -21,6 +21,9 @@ import io.opentelemetry.instrumentation.annotations.WithSpan
 import jakarta.inject.Named
 import jakarta.inject.Singleton
 import reactor.core.publisher.Mono
+import reactor.core.scheduler.Schedulers
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
 
 /**
  * Launches the pods for the workload, serializing and passing through input
@@ -44,20 +47,43 @@ open class LaunchPodStage(
   }
 
   override fun applyStage(input: LaunchStageIO): LaunchStageIO {
+    try {
+      launch(input).join()
+    } catch (e: CompletionException) {
+      throw e.cause ?: e
+    }
+
+    return input
+  }
+
+  /**
+   * Completes once the pods have started, without holding a thread while they start if the pod client doesn't.
+   */
+  override fun applyStageAsync(input: LaunchStageIO): Mono<LaunchStageIO> {
+    val launched = launch(input)
+    if (launched.isDone) {
+      return Mono.fromFuture(launched).thenReturn(input)
+    }
+
+    // The pods start on the thread of the pod informer, the rest of the pipeline must not run on it.
+    return Mono
+      .fromFuture(launched)
+      .publishOn(Schedulers.boundedElastic())
+      .thenReturn(input)
+  }
+
+  private fun launch(input: LaunchStageIO): CompletableFuture<Unit> =
     when (val payload = input.payload!!) {
       is SyncPayload ->
         if (payload.input.isReset) {
-          launcher.launchReset(payload, input.msg)
+          launcher.launchReset(payload, input.msg, input.flags)
         } else {
-          launcher.launchReplication(payload, input.msg)
+          launcher.launchReplication(payload, input.msg, input.flags)
         }
-      is CheckPayload -> launcher.launchCheck(payload.input, input.msg)
-      is DiscoverCatalogPayload -> launcher.launchDiscover(payload.input, input.msg)
-      is SpecPayload -> launcher.launchSpec(payload.input, input.msg)
+      is CheckPayload -> launcher.launchCheck(payload.input, input.msg, input.flags)
+      is DiscoverCatalogPayload -> launcher.launchDiscover(payload.input, input.msg, input.flags)
+      is SpecPayload -> launcher.launchSpec(payload.input, input.msg, input.flags)
     }
 
-    return input
-  }
-
   override fun getStageName(): StageName = StageName.LAUNCH
 }
@@ -42,7 +42,7 @@ open class LoadShedStage(
   }
 
   override fun applyStage(input: LaunchStageIO): LaunchStageIO {
-    val shouldShed = featureFlagClient.boolVariation(LoadShedWorkloadLauncher, input.ffContext!!)
+    val shouldShed = (input.flags ?: featureFlagClient).boolVariation(LoadShedWorkloadLauncher, input.ffContext!!)
     if (shouldShed) {
       try {
         workloadClient.updateStatusToFailed(input.msg.workloadId, LOAD_SHED_FAILURE_REASON)
@@ -41,29 +41,42 @@ abstract class Stage<T : StageIO>(
 
       logger.info { "APPLY Stage: ${getStageName()} — $detailedInfo" }
 
-      return try {
-        applyStage(input).toMono()
-      } catch (t: Throwable) {
-        success = false
-        ApmTraceUtils.addExceptionToTrace(t)
-        Mono.error(StageError(input, getStageName(), t))
-      } finally {
-        metricClient
-          .timer(
-            metric = OssMetricsRegistry.WORKLOAD_STAGE_DURATION,
-            attributes =
-              getMetricAttrs(input).toTypedArray() +
-                arrayOf(
-                  MetricAttribute(MetricTags.STAGE_NAME_TAG, getStageName().toString()),
-                  MetricAttribute(MetricTags.STATUS, if (success) SUCCESS_STATUS else FAILURE_STATUS),
-                ),
-          )?.record(startTime.elapsedNow().toJavaDuration())
-      }
+      val output =
+        try {
+          applyStageAsync(input)
+        } catch (t: Throwable) {
+          Mono.error(t)
+        }
+
+      return output
+        .onErrorMap { t ->
+          success = false
+          ApmTraceUtils.addExceptionToTrace(t)
+          StageError(input, getStageName(), t)
+        }.doFinally {
+          metricClient
+            .timer(
+              metric = OssMetricsRegistry.WORKLOAD_STAGE_DURATION,
+              attributes =
+                getMetricAttrs(input).toTypedArray() +
+                  arrayOf(
+                    MetricAttribute(MetricTags.STAGE_NAME_TAG, getStageName().toString()),
+                    MetricAttribute(MetricTags.STATUS, if (success) SUCCESS_STATUS else FAILURE_STATUS),
+                  ),
+            )?.record(startTime.elapsedNow().toJavaDuration())
+        }
     }
   }
 
   abstract fun applyStage(input: T): T
 
+  /**
+   * Applies the stage, completing once it is done. Defaults to applying it right away with [applyStage].
+   *
+   * Stages that wait on something outside the launcher override it to wait without holding a thread.
+   */
+  open fun applyStageAsync(input: T): Mono<T> = applyStage(input).toMono()
+
   abstract fun skipStage(input: StageIO): Boolean
 
   abstract fun getStageName(): StageName
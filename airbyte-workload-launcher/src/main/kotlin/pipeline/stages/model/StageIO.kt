@@ -5,6 +5,7 @@
 package io.airbyte.workload.launcher.pipeline.stages.model
 
 import io.airbyte.featureflag.Context
+import io.airbyte.featureflag.FlagSnapshot
 import io.airbyte.persistence.job.models.ReplicationInput
 import io.airbyte.workers.models.CheckConnectionInput
 import io.airbyte.workers.models.DiscoverCatalogInput
@@ -32,12 +33,14 @@ sealed class StageIO {
  * @param logCtx - string key value pairs to add to logging context
  * @param payload - workload payload
  * @param ffContext - feature flag context derived from the input payload
+ * @param flags - feature flags evaluated up front for the launch, so that later stages don't evaluate them one at a time
  */
 data class LaunchStageIO(
   override val msg: LauncherInput,
   override val logCtx: Map<String, String> = mapOf(),
   var payload: WorkloadPayload? = null,
   var ffContext: Context? = null,
+  var flags: FlagSnapshot? = null,
   var receivedAt: TimeSource.Monotonic.ValueTimeMark? = null,
 ) : StageIO() {
   val workloadId = msg.workloadId
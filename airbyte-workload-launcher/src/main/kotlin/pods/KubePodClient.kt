@@ -7,10 +7,13 @@ package io.airbyte.workload.launcher.pods
 import io.airbyte.commons.annotation.InternalForTesting
 import io.airbyte.commons.constants.WorkerConstants.KubeConstants.FULL_POD_TIMEOUT
 import io.airbyte.featureflag.Connection
+import io.airbyte.featureflag.Empty
 import io.airbyte.featureflag.EnableAsyncProfiler
 import io.airbyte.featureflag.FeatureFlagClient
+import io.airbyte.featureflag.FlagSnapshot
 import io.airbyte.featureflag.ProfilingMode
 import io.airbyte.featureflag.ShouldWaitForMainContainersOnReplication
+import io.airbyte.featureflag.UseLauncherPodInformer
 import io.airbyte.metrics.MetricAttribute
 import io.airbyte.metrics.MetricClient
 import io.airbyte.metrics.OssMetricsRegistry
@@ -39,6 +42,8 @@ import jakarta.inject.Named
 import jakarta.inject.Singleton
 import java.time.Duration
 import java.util.UUID
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
 import java.util.concurrent.TimeoutException
 
 private val logger = KotlinLogging.logger {}
@@ -46,6 +51,12 @@ private val logger = KotlinLogging.logger {}
 /**
  * Interface layer between domain and Kube layers.
  * Composes raw Kube layer atomic operations to perform business operations.
+ *
+ * Launches create the pods right away, and return a future that completes once the pods have started. Pods are waited on
+ * without holding a thread if the shared pod informer is enabled, and by the launch itself otherwise, in which case the
+ * future is already complete when the launch returns.
+ *
+ * Launches read their feature flags from the flag snapshot of the launch if given one, and evaluate them otherwise.
  */
 @Singleton
 class KubePodClient(
@@ -65,7 +76,8 @@ class KubePodClient(
   fun launchReplication(
     payload: SyncPayload,
     launcherInput: LauncherInput,
-  ) {
+    flagSnapshot: FlagSnapshot? = null,
+  ): CompletableFuture<Unit> {
     val replicationInput = payload.input
     val sharedLabels =
       labeler.getSharedLabels(
@@ -77,9 +89,10 @@ class KubePodClient(
         networkSecurityTokens = replicationInput.networkSecurityTokens,
       )
 
-    val kubeInput = mapper.toKubeInput(launcherInput.workloadId, payload, sharedLabels)
-    val enableAsyncProfiler = featureFlagClient.boolVariation(EnableAsyncProfiler, Connection(replicationInput.connectionId))
-    val profilingMode = featureFlagClient.stringVariation(ProfilingMode, Connection(replicationInput.connectionId))
+    val kubeInput = mapper.toKubeInput(launcherInput.workloadId, payload, sharedLabels, flagSnapshot)
+    val flags = flagSnapshot ?: featureFlagClient
+    val enableAsyncProfiler = flags.boolVariation(EnableAsyncProfiler, Connection(replicationInput.connectionId))
+    val profilingMode = flags.stringVariation(ProfilingMode, Connection(replicationInput.connectionId))
     var pod =
       replicationPodFactory.create(
         podName = kubeInput.podName,
@@ -122,12 +135,14 @@ class KubePodClient(
     // NOTE: might not be necessary depending on when `serversideApply` returns.
     // If it blocks until it moves from PENDING, then we are good. Otherwise, we
     // need this or something similar to wait for the pod to be running on the node.
-    waitForPodInitComplete(pod, PodType.REPLICATION.toString())
-
-    // Wait for main containers to be ready or terminal to detect image pull errors early
-    val shouldWait = featureFlagClient.boolVariation(ShouldWaitForMainContainersOnReplication, Connection(replicationInput.connectionId))
-    if (shouldWait) {
-      waitForMainContainersReady(pod)
+    return awaitPodInitComplete(pod, PodType.REPLICATION.toString()).andThen {
+      // Wait for main containers to be ready or terminal to detect image pull errors early
+      val shouldWait = flags.boolVariation(ShouldWaitForMainContainersOnReplication, Connection(replicationInput.connectionId))
+      if (shouldWait) {
+        awaitMainContainersReady(pod).thenApply { }
+      } else {
+        CompletableFuture.completedFuture(Unit)
+      }
     }
   }
 
@@ -135,7 +150,8 @@ class KubePodClient(
   fun launchReset(
     payload: SyncPayload,
     launcherInput: LauncherInput,
-  ) {
+    flagSnapshot: FlagSnapshot? = null,
+  ): CompletableFuture<Unit> {
     val replicationInput = payload.input
     val sharedLabels =
       labeler.getSharedLabels(
@@ -146,7 +162,8 @@ class KubePodClient(
         workspaceId = replicationInput.workspaceId,
         networkSecurityTokens = replicationInput.networkSecurityTokens,
       )
-    val kubeInput = mapper.toKubeInput(launcherInput.workloadId, payload, sharedLabels)
+    val kubeInput = mapper.toKubeInput(launcherInput.workloadId, payload, sharedLabels, flagSnapshot)
+    val flags = flagSnapshot ?: featureFlagClient
 
     var pod =
       replicationPodFactory.createReset(
@@ -184,19 +201,22 @@ class KubePodClient(
     // NOTE: might not be necessary depending on when `serversideApply` returns.
     // If it blocks until it moves from PENDING, then we are good. Otherwise, we
     // need this or something similar to wait for the pod to be running on the node.
-    waitForPodInitComplete(pod, PodType.REPLICATION.toString())
-
-    // Wait for main containers to be ready or terminal to detect image pull errors early
-    val shouldWait = featureFlagClient.boolVariation(ShouldWaitForMainContainersOnReplication, Connection(replicationInput.connectionId))
-    if (shouldWait) {
-      waitForMainContainersReady(pod)
+    return awaitPodInitComplete(pod, PodType.REPLICATION.toString()).andThen {
+      // Wait for main containers to be ready or terminal to detect image pull errors early
+      val shouldWait = flags.boolVariation(ShouldWaitForMainContainersOnReplication, Connection(replicationInput.connectionId))
+      if (shouldWait) {
+        awaitMainContainersReady(pod).thenApply { }
+      } else {
+        CompletableFuture.completedFuture(Unit)
+      }
     }
   }
 
   fun launchCheck(
     checkInput: CheckConnectionInput,
     launcherInput: LauncherInput,
-  ) {
+    flagSnapshot: FlagSnapshot? = null,
+  ): CompletableFuture<Unit> {
     // For check the workload id is too long to be store as a kube label thus it is not added
     val sharedLabels =
       labeler.getSharedLabels(
@@ -207,15 +227,16 @@ class KubePodClient(
         workspaceId = checkInput.launcherConfig.workspaceId,
         networkSecurityTokens = checkInput.checkConnectionInput.networkSecurityTokens,
       )
-    val kubeInput = mapper.toKubeInput(launcherInput.workloadId, checkInput, sharedLabels)
+    val kubeInput = mapper.toKubeInput(launcherInput.workloadId, checkInput, sharedLabels, flagSnapshot)
 
-    launchConnectorWithSidecar(kubeInput, checkPodFactory, launcherInput.workloadType.toOperationName())
+    return launchConnectorWithSidecar(kubeInput, checkPodFactory, launcherInput.workloadType.toOperationName())
   }
 
   fun launchDiscover(
     discoverCatalogInput: DiscoverCatalogInput,
     launcherInput: LauncherInput,
-  ) {
+    flagSnapshot: FlagSnapshot? = null,
+  ): CompletableFuture<Unit> {
     // For discover the workload id is too long to be store as a kube label thus it is not added
     val sharedLabels =
       labeler.getSharedLabels(
@@ -227,15 +248,16 @@ class KubePodClient(
         networkSecurityTokens = discoverCatalogInput.discoverCatalogInput.networkSecurityTokens,
       )
 
-    val kubeInput = mapper.toKubeInput(launcherInput.workloadId, discoverCatalogInput, sharedLabels)
+    val kubeInput = mapper.toKubeInput(launcherInput.workloadId, discoverCatalogInput, sharedLabels, flagSnapshot)
 
-    launchConnectorWithSidecar(kubeInput, discoverPodFactory, launcherInput.workloadType.toOperationName())
+    return launchConnectorWithSidecar(kubeInput, discoverPodFactory, launcherInput.workloadType.toOperationName())
   }
 
   fun launchSpec(
     specInput: SpecInput,
     launcherInput: LauncherInput,
-  ) {
+    flagSnapshot: FlagSnapshot? = null,
+  ): CompletableFuture<Unit> {
     // For spec the workload id is too long to be store as a kube label thus it is not added
     val sharedLabels =
       labeler.getSharedLabels(
@@ -247,9 +269,9 @@ class KubePodClient(
         emptyList(),
       )
 
-    val kubeInput = mapper.toKubeInput(launcherInput.workloadId, specInput, sharedLabels)
+    val kubeInput = mapper.toKubeInput(launcherInput.workloadId, specInput, sharedLabels, flagSnapshot)
 
-    launchConnectorWithSidecar(kubeInput, specPodFactory, launcherInput.workloadType.toOperationName())
+    return launchConnectorWithSidecar(kubeInput, specPodFactory, launcherInput.workloadType.toOperationName())
   }
 
   @InternalForTesting
@@ -257,7 +279,7 @@ class KubePodClient(
     kubeInput: ConnectorKubeInput,
     factory: ConnectorPodFactory,
     podLogLabel: String,
-  ) {
+  ): CompletableFuture<Unit> {
     var pod =
       factory.create(
         allLabels = kubeInput.connectorLabels,
@@ -280,10 +302,9 @@ class KubePodClient(
       )
     }
 
-    waitForPodInitComplete(pod, podLogLabel)
-
-    val readyPod = waitForMainContainersReady(pod)
-    recordPodStartupMetrics(readyPod, podLogLabel)
+    return awaitPodInitComplete(pod, podLogLabel)
+      .andThen { awaitMainContainersReady(pod) }
+      .thenApply { readyPod -> recordPodStartupMetrics(readyPod, podLogLabel) }
   }
 
   fun deleteMutexPods(mutexKey: String): Boolean {
@@ -310,45 +331,93 @@ class KubePodClient(
     try {
       kubePodLauncher.waitForPodInitComplete(pod, POD_INIT_TIMEOUT_VALUE)
     } catch (e: Exception) {
-      when (e) {
-        is ImagePullException -> {
-          ApmTraceUtils.addExceptionToTrace(e)
-          // Re-throw with more context - this will be caught by FailureHandler and reported to workload API
-          throw ImagePullException(
-            message = "Failed to pull container image(s) for $podLogLabel pod. ${e.message}",
-            cause = e,
-            commandType = KubeCommandType.WAIT_INIT,
-          )
-        }
-        is TimeoutException, is KubernetesClientTimeoutException -> {
-          ApmTraceUtils.addExceptionToTrace(e)
-          throw ResourceConstraintException(
-            "Unable to start the $podLogLabel pod. This may be due to insufficient system resources. Please check available resources and try again.",
-            e,
-            KubeCommandType.WAIT_INIT,
-          )
-        }
-        else -> throw e
-      }
+      throw toPodInitError(e, podLogLabel)
+    }
+  }
+
+  private fun awaitPodInitComplete(
+    pod: Pod,
+    podLogLabel: String,
+  ): CompletableFuture<Unit> {
+    if (!useAsyncWaits()) {
+      waitForPodInitComplete(pod, podLogLabel)
+      return CompletableFuture.completedFuture(Unit)
     }
+
+    return runAsync { kubePodLauncher.awaitPodInitComplete(pod, POD_INIT_TIMEOUT_VALUE) }
+      .exceptionally { e -> throw toPodInitError(unwrap(e), podLogLabel) }
   }
 
+  private fun toPodInitError(
+    e: Throwable,
+    podLogLabel: String,
+  ): Throwable =
+    when (e) {
+      is ImagePullException -> {
+        ApmTraceUtils.addExceptionToTrace(e)
+        // Re-throw with more context - this will be caught by FailureHandler and reported to workload API
+        ImagePullException(
+          message = "Failed to pull container image(s) for $podLogLabel pod. ${e.message}",
+          cause = e,
+          commandType = KubeCommandType.WAIT_INIT,
+        )
+      }
+      is TimeoutException, is KubernetesClientTimeoutException -> {
+        ApmTraceUtils.addExceptionToTrace(e)
+        ResourceConstraintException(
+          "Unable to start the $podLogLabel pod. This may be due to insufficient system resources. Please check available resources and try again.",
+          e,
+          KubeCommandType.WAIT_INIT,
+        )
+      }
+      else -> e
+    }
+
   /**
    * Waits for main containers to be ready or terminal, detecting image pull errors.
    * Adds APM tracing for any exceptions encountered.
    */
-  private fun waitForMainContainersReady(
+  private fun awaitMainContainersReady(
     pod: Pod,
     timeout: Duration = REPL_CONNECTOR_STARTUP_TIMEOUT_VALUE,
-  ): Pod {
-    try {
-      return kubePodLauncher.waitForPodReadyOrTerminalByPod(pod, timeout)
-    } catch (e: RuntimeException) {
-      ApmTraceUtils.addExceptionToTrace(e)
-      throw e
+  ): CompletableFuture<Pod> {
+    if (!useAsyncWaits()) {
+      try {
+        return CompletableFuture.completedFuture(kubePodLauncher.waitForPodReadyOrTerminalByPod(pod, timeout))
+      } catch (e: RuntimeException) {
+        ApmTraceUtils.addExceptionToTrace(e)
+        throw e
+      }
     }
+
+    return runAsync { kubePodLauncher.awaitPodReadyOrTerminalByPod(pod, timeout) }
+      .exceptionally { e ->
+        val cause = unwrap(e)
+        ApmTraceUtils.addExceptionToTrace(cause)
+        throw cause
+      }
   }
 
+  private fun useAsyncWaits(): Boolean = featureFlagClient.boolVariation(UseLauncherPodInformer, Empty)
+
+  /**
+   * Runs [start], turning an exception thrown while starting into a failed future.
+   */
+  private fun <T> runAsync(start: () -> CompletableFuture<T>): CompletableFuture<T> =
+    try {
+      start()
+    } catch (e: Exception) {
+      CompletableFuture.failedFuture(e)
+    }
+
+  private fun unwrap(e: Throwable): Throwable = (e as? CompletionException)?.cause ?: e
+
+  /**
+   * Composes [next] right away if this already completed, so that waiting synchronously throws to the caller of the launch.
+   */
+  private fun <T, R> CompletableFuture<T>.andThen(next: (T) -> CompletableFuture<R>): CompletableFuture<R> =
+    if (isDone && !isCompletedExceptionally) next(join()) else thenCompose { next(it) }
+
   private fun recordPodStartupMetrics(
     pod: Pod,
     workloadType: String,
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.launcher.pods
+
+import io.airbyte.micronaut.runtime.AirbyteWorkerConfig
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.KubernetesClientTimeoutException
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer
+import io.fabric8.kubernetes.client.informers.cache.Cache
+import io.github.oshai.kotlinlogging.KotlinLogging
+import jakarta.annotation.PreDestroy
+import jakarta.inject.Singleton
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.function.Function
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Labels the cached pods are indexed by.
+ */
+private val INDEXED_LABELS = listOf(AUTO_ID, WORKLOAD_ID, MUTEX_KEY)
+
+/**
+ * How long to wait for the informer to list the pods when it starts.
+ */
+private val INFORMER_SYNC_TIMEOUT: Duration = Duration.ofMinutes(1)
+
+/**
+ * Launcher-wide cache of the pods of the job namespace, kept up to date by a single watch.
+ *
+ * Waiting for a pod or listing pods from the cache doesn't call the Kube API, so the number of calls stays the same
+ * however many pods are being launched. A wait registers a condition that is tested against the cached pod right away,
+ * then on every update of the pod until it holds.
+ */
+@Singleton
+class KubePodInformer(
+  private val kubernetesClient: KubernetesClient,
+  airbyteWorkerConfig: AirbyteWorkerConfig,
+) {
+  private val namespace = airbyteWorkerConfig.job.kubernetes.namespace
+  private val conditions = ConcurrentHashMap<String, MutableSet<PodCondition>>()
+
+  @Volatile
+  private var informer: SharedIndexInformer<Pod>? = null
+
+  /**
+   * Waits until [condition] holds for [pod], and returns the pod it held for.
+   *
+   * @throws KubernetesClientTimeoutException if it didn't hold after [timeout]
+   */
+  fun waitUntilCondition(
+    pod: Pod,
+    timeout: Duration,
+    condition: (Pod) -> Boolean,
+  ): Pod =
+    try {
+      awaitCondition(pod, timeout, condition).get()
+    } catch (e: ExecutionException) {
+      throw e.cause ?: e
+    }
+
+  /**
+   * Returns a future of the pod once [condition] holds for [pod], without holding a thread while waiting. The future
+   * fails with a [KubernetesClientTimeoutException] if it didn't hold after [timeout].
+   *
+   * The future may complete on the thread of the informer, it shouldn't be blocked on by its dependents.
+   */
+  fun awaitCondition(
+    pod: Pod,
+    timeout: Duration,
+    condition: (Pod) -> Boolean,
+  ): CompletableFuture<Pod> {
+    val informer = startedInformer()
+    val key = Cache.namespaceKeyFunc(pod.metadata.namespace ?: namespace, pod.metadata.name)
+    val podCondition = PodCondition(condition)
+    conditions.compute(key) { _, waiting -> (waiting ?: ConcurrentHashMap.newKeySet()).apply { add(podCondition) } }
+    podCondition.test(informer.store.getByKey(key))
+
+    return podCondition.future
+      .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+      .handle { readyPod, e ->
+        conditions.computeIfPresent(key) { _, waiting -> waiting.apply { remove(podCondition) }.takeIf { it.isNotEmpty() } }
+        when (val cause = (e as? CompletionException)?.cause ?: e) {
+          null -> readyPod
+          is TimeoutException -> throw KubernetesClientTimeoutException(pod, timeout.toMillis(), TimeUnit.MILLISECONDS)
+          else -> throw cause
+        }
+      }
+  }
+
+  /**
+   * Lists the cached pods that have all the [labels].
+   */
+  fun listPods(labels: Map<String, String>): List<Pod> {
+    val informer = startedInformer()
+    val indexedLabel = labels.entries.firstOrNull { it.key in INDEXED_LABELS }
+    val candidates = indexedLabel?.let { informer.indexer.byIndex(it.key, it.value) } ?: informer.indexer.list()
+    return candidates.filter { pod -> labels.all { (key, value) -> pod.metadata?.labels?.get(key) == value } }
+  }
+
+  @PreDestroy
+  fun close() {
+    informer?.stop()
+  }
+
+  private fun startedInformer(): SharedIndexInformer<Pod> =
+    informer ?: synchronized(this) {
+      informer ?: startInformer().also { informer = it }
+    }
+
+  private fun startInformer(): SharedIndexInformer<Pod> {
+    logger.info { "Starting the pod informer for namespace $namespace" }
+    val informer = kubernetesClient.pods().inNamespace(namespace).runnableInformer(0)
+    try {
+      informer.addIndexers(
+        INDEXED_LABELS.associateWith { label -> Function<Pod, List<String>> { pod -> listOfNotNull(pod.metadata?.labels?.get(label)) } },
+      )
+      informer.addEventHandler(ConditionTester())
+      informer.start().toCompletableFuture().get(INFORMER_SYNC_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+      return informer
+    } catch (e: Exception) {
+      informer.stop()
+      throw (e as? ExecutionException)?.cause ?: e
+    }
+  }
+
+  private fun testConditions(pod: Pod) {
+    conditions[Cache.metaNamespaceKeyFunc(pod)]?.forEach { it.test(pod) }
+  }
+
+  private inner class ConditionTester : ResourceEventHandler<Pod> {
+    override fun onAdd(pod: Pod) = testConditions(pod)
+
+    override fun onUpdate(
+      oldPod: Pod,
+      newPod: Pod,
+    ) = testConditions(newPod)
+
+    override fun onDelete(
+      pod: Pod,
+      deletedFinalStateUnknown: Boolean,
+    ) {}
+  }
+
+  private class PodCondition(
+    private val condition: (Pod) -> Boolean,
+  ) {
+    val future = CompletableFuture<Pod>()
+
+    @Synchronized
+    fun test(pod: Pod?) {
+      if (pod == null || future.isDone) {
+        return
+      }
+
+      try {
+        if (condition(pod)) {
+          future.complete(pod)
+        }
+      } catch (e: Exception) {
+        future.completeExceptionally(e)
+      }
+    }
+  }
+}
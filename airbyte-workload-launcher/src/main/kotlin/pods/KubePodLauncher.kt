@@ -10,6 +10,7 @@ import dev.failsafe.function.CheckedSupplier
 import io.airbyte.featureflag.CheckImagePullBackoff
 import io.airbyte.featureflag.Empty
 import io.airbyte.featureflag.FeatureFlagClient
+import io.airbyte.featureflag.UseLauncherPodInformer
 import io.airbyte.metrics.MetricAttribute
 import io.airbyte.metrics.MetricClient
 import io.airbyte.metrics.OssMetricsRegistry
@@ -38,6 +39,7 @@ import jakarta.inject.Named
 import jakarta.inject.Singleton
 import java.time.Duration
 import java.util.Objects
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.TimeoutException
 
@@ -53,6 +55,7 @@ class KubePodLauncher(
   private val airbyteWorkerConfig: AirbyteWorkerConfig,
   private val featureFlagClient: FeatureFlagClient,
   @Named("kubernetesClientRetryPolicy") private val kubernetesClientRetryPolicy: RetryPolicy<Any>,
+  private val kubePodInformer: KubePodInformer,
 ) {
   fun create(pod: Pod): Pod =
     runKubeCommand(
@@ -76,36 +79,51 @@ class KubePodLauncher(
     waitDuration: Duration,
   ) {
     val failOnImagePullBackoff = featureFlagClient.boolVariation(CheckImagePullBackoff, Empty)
-    var imagePullErrors: List<PodStatusChecker.ImagePullError> = emptyList()
 
     val initializedPod =
       runKubeCommand(
-        {
-          kubernetesClient
-            .resource(pod)
-            .waitUntilCondition(
-              { p: Pod? ->
-                p?.let {
-                  imagePullErrors = PodStatusChecker.checkForImagePullErrors(p)
-                  // Fail on  image pull errors on every poll if feature flag is enabled
-                  if (failOnImagePullBackoff && imagePullErrors.isNotEmpty()) {
-                    // Return true to exit the wait condition - we'll throw outside the predicate
-                    return@waitUntilCondition true
-                  }
-
-                  p.status.initContainerStatuses.isNotEmpty() &&
-                    p.status.initContainerStatuses[0]
-                      .state.terminated != null
-                } ?: false
-              },
-              waitDuration.toMinutes(),
-              TimeUnit.MINUTES,
-            )
-        },
+        { waitUntilPodCondition(pod, waitDuration) { p: Pod -> isInitCompleteOrFailingToPull(p, failOnImagePullBackoff) } },
         "wait",
       )
 
-    handleImagePullErrors(imagePullErrors, pod, failOnImagePullBackoff)
+    checkInitComplete(pod, initializedPod, waitDuration, failOnImagePullBackoff)
+  }
+
+  /**
+   * Same as [waitForPodInitComplete], but waits on the shared pod informer without holding a thread.
+   */
+  fun awaitPodInitComplete(
+    pod: Pod,
+    waitDuration: Duration,
+  ): CompletableFuture<Unit> {
+    val failOnImagePullBackoff = featureFlagClient.boolVariation(CheckImagePullBackoff, Empty)
+
+    return awaitPodCondition(pod, waitDuration) { p: Pod -> isInitCompleteOrFailingToPull(p, failOnImagePullBackoff) }
+      .thenApply { initializedPod -> checkInitComplete(pod, initializedPod, waitDuration, failOnImagePullBackoff) }
+  }
+
+  private fun isInitCompleteOrFailingToPull(
+    pod: Pod,
+    failOnImagePullBackoff: Boolean,
+  ): Boolean {
+    // Fail on image pull errors on every poll if feature flag is enabled
+    // Return true to exit the wait condition - we'll throw outside the predicate
+    if (failOnImagePullBackoff && PodStatusChecker.checkForImagePullErrors(pod).isNotEmpty()) {
+      return true
+    }
+
+    return pod.status.initContainerStatuses.isNotEmpty() &&
+      pod.status.initContainerStatuses[0]
+        .state.terminated != null
+  }
+
+  private fun checkInitComplete(
+    pod: Pod,
+    initializedPod: Pod,
+    waitDuration: Duration,
+    failOnImagePullBackoff: Boolean,
+  ) {
+    handleImagePullErrors(PodStatusChecker.checkForImagePullErrors(initializedPod), pod, failOnImagePullBackoff)
 
     val containerState =
       initializedPod
@@ -150,26 +168,20 @@ class KubePodLauncher(
     val initializedPod =
       runKubeCommand(
         {
-          kubernetesClient
-            .resource(pod)
-            .waitUntilCondition(
-              { p: Pod ->
-                imagePullErrors = PodStatusChecker.checkForImagePullErrors(p)
-                // Fail on image pull errors on every poll if feature flag is enabled
-                if (failOnImagePullBackoff && imagePullErrors.isNotEmpty()) {
-                  // Return true to exit the wait condition - we'll throw outside the predicate
-                  return@waitUntilCondition true
-                }
-
-                (
-                  p.status.initContainerStatuses.isNotEmpty() &&
-                    p.status.initContainerStatuses[0]
-                      .state.waiting == null
-                )
-              },
-              waitDuration.toMinutes(),
-              TimeUnit.MINUTES,
+          waitUntilPodCondition(pod, waitDuration) { p: Pod ->
+            imagePullErrors = PodStatusChecker.checkForImagePullErrors(p)
+            // Fail on image pull errors on every poll if feature flag is enabled
+            if (failOnImagePullBackoff && imagePullErrors.isNotEmpty()) {
+              // Return true to exit the wait condition - we'll throw outside the predicate
+              return@waitUntilPodCondition true
+            }
+
+            (
+              p.status.initContainerStatuses.isNotEmpty() &&
+                p.status.initContainerStatuses[0]
+                  .state.waiting == null
             )
+          }
         },
         "wait",
       )
@@ -218,53 +230,62 @@ class KubePodLauncher(
     waitDuration: Duration,
   ): Pod {
     val failOnImagePullBackoff = featureFlagClient.boolVariation(CheckImagePullBackoff, Empty)
-    var imagePullErrors: List<PodStatusChecker.ImagePullError> = emptyList()
 
     val readyPod =
       runKubeCommand(
-        {
-          kubernetesClient
-            .resource(pod)
-            .waitUntilCondition(
-              { p: Pod? ->
-                if (Objects.nonNull(p)) {
-                  imagePullErrors = PodStatusChecker.checkForImagePullErrors(p)
-                  // Fail on image pull errors on every poll if feature flag is enabled
-                  if (failOnImagePullBackoff && imagePullErrors.isNotEmpty()) {
-                    // Return true to exit the wait condition - we'll throw outside the predicate
-                    return@waitUntilCondition true
-                  }
-
-                  Readiness.getInstance().isReady(p) || isTerminal(p)
-                } else {
-                  false
-                }
-              },
-              waitDuration.toMinutes(),
-              TimeUnit.MINUTES,
-            )
-        },
+        { waitUntilPodCondition(pod, waitDuration) { p: Pod -> isReadyOrTerminalOrFailingToPull(p, failOnImagePullBackoff) } },
         "wait",
       )
 
-    handleImagePullErrors(imagePullErrors, pod, failOnImagePullBackoff)
+    handleImagePullErrors(PodStatusChecker.checkForImagePullErrors(readyPod), pod, failOnImagePullBackoff)
     return readyPod
   }
 
+  /**
+   * Same as [waitForPodReadyOrTerminalByPod], but waits on the shared pod informer without holding a thread.
+   */
+  fun awaitPodReadyOrTerminalByPod(
+    pod: Pod,
+    waitDuration: Duration,
+  ): CompletableFuture<Pod> {
+    val failOnImagePullBackoff = featureFlagClient.boolVariation(CheckImagePullBackoff, Empty)
+
+    return awaitPodCondition(pod, waitDuration) { p: Pod -> isReadyOrTerminalOrFailingToPull(p, failOnImagePullBackoff) }
+      .thenApply { readyPod ->
+        handleImagePullErrors(PodStatusChecker.checkForImagePullErrors(readyPod), pod, failOnImagePullBackoff)
+        readyPod
+      }
+  }
+
+  private fun isReadyOrTerminalOrFailingToPull(
+    pod: Pod,
+    failOnImagePullBackoff: Boolean,
+  ): Boolean {
+    // Fail on image pull errors on every poll if feature flag is enabled
+    // Return true to exit the wait condition - we'll throw outside the predicate
+    if (failOnImagePullBackoff && PodStatusChecker.checkForImagePullErrors(pod).isNotEmpty()) {
+      return true
+    }
+
+    return Readiness.getInstance().isReady(pod) || isTerminal(pod)
+  }
+
   fun podsRunning(labels: Map<String, String>): Boolean {
     try {
       return runKubeCommand(
         {
-          kubernetesClient
-            .pods()
-            .inNamespace(airbyteWorkerConfig.job.kubernetes.namespace)
-            .withLabels(labels)
-            .list()
-            .items
-            .stream()
-            .filter { kubePod: Pod -> !isTerminal(kubePod) && !PodStatusUtil.isInitializing(kubePod) }
-            .findAny()
-            .isPresent
+          val pods =
+            if (featureFlagClient.boolVariation(UseLauncherPodInformer, Empty)) {
+              kubePodInformer.listPods(labels)
+            } else {
+              kubernetesClient
+                .pods()
+                .inNamespace(airbyteWorkerConfig.job.kubernetes.namespace)
+                .withLabels(labels)
+                .list()
+                .items
+            }
+          pods.any { kubePod: Pod -> !isTerminal(kubePod) && !PodStatusUtil.isInitializing(kubePod) }
         },
         "list",
       )
@@ -303,6 +324,37 @@ class KubePodLauncher(
     )
   }
 
+  /**
+   * Waits until [condition] holds for [pod], from the shared pod informer if enabled, or by watching the pod otherwise.
+   */
+  private fun waitUntilPodCondition(
+    pod: Pod,
+    waitDuration: Duration,
+    condition: (Pod) -> Boolean,
+  ): Pod =
+    if (featureFlagClient.boolVariation(UseLauncherPodInformer, Empty)) {
+      kubePodInformer.waitUntilCondition(pod, waitDuration, condition)
+    } else {
+      kubernetesClient
+        .resource(pod)
+        .waitUntilCondition({ p: Pod? -> p != null && condition(p) }, waitDuration.toMinutes(), TimeUnit.MINUTES)
+    }
+
+  /**
+   * Waits until [condition] holds for [pod] on the shared pod informer. Failures of the wait count as kube errors.
+   */
+  private fun awaitPodCondition(
+    pod: Pod,
+    waitDuration: Duration,
+    condition: (Pod) -> Boolean,
+  ): CompletableFuture<Pod> =
+    runKubeCommand({ kubePodInformer.awaitCondition(pod, waitDuration, condition) }, "wait")
+      .whenComplete { _, e ->
+        if (e != null) {
+          countKubeError("wait")
+        }
+      }
+
   /**
    * Checks that the pod's main container(s) are in a terminal state.
    */
@@ -370,14 +422,17 @@ class KubePodLauncher(
         CheckedSupplier<T> { kubeCommand() },
       )
     } catch (e: Exception) {
-      val attributes: List<MetricAttribute> = listOf(MetricAttribute("operation", commandName))
-      val attributesArray = attributes.toTypedArray<MetricAttribute>()
-      metricClient.count(metric = OssMetricsRegistry.WORKLOAD_LAUNCHER_KUBE_ERROR, attributes = attributesArray)
-
+      countKubeError(commandName)
       throw e
     }
   }
 
+  private fun countKubeError(commandName: String) {
+    val attributes: List<MetricAttribute> = listOf(MetricAttribute("operation", commandName))
+    val attributesArray = attributes.toTypedArray<MetricAttribute>()
+    metricClient.count(metric = OssMetricsRegistry.WORKLOAD_LAUNCHER_KUBE_ERROR, attributes = attributesArray)
+  }
+
   private fun handleImagePullErrors(
     imagePullErrors: List<PodStatusChecker.ImagePullError>,
     pod: Pod,
@@ -9,6 +9,7 @@ import io.airbyte.config.WorkloadPriority
 import io.airbyte.featureflag.Connection
 import io.airbyte.featureflag.ContainerOrchestratorDevImage
 import io.airbyte.featureflag.FeatureFlagClient
+import io.airbyte.featureflag.FlagSnapshot
 import io.airbyte.micronaut.runtime.AirbyteWorkerConfig
 import io.airbyte.workers.input.getAttemptId
 import io.airbyte.workers.input.getJobId
@@ -48,6 +49,7 @@ class PayloadKubeInputMapper(
     workloadId: String,
     payload: SyncPayload,
     sharedLabels: Map<String, String>,
+    flagSnapshot: FlagSnapshot? = null,
   ): ReplicationKubeInput {
     val input = payload.input
     val jobId = input.getJobId()
@@ -56,18 +58,20 @@ class PayloadKubeInputMapper(
     val podName = podNameGenerator.getReplicationPodName(jobId, attemptId)
     val nodeSelectors = kubeNodeSelector.getNodeSelectors(input.usesCustomConnector(), replicationWorkerConfigs, input.connectionId)
 
-    val orchImage = resolveOrchestratorImageFFOverride(input.connectionId, orchestratorKubeContainerInfo.image)
+    val orchImage =
+      resolveOrchestratorImageFFOverride(input.connectionId, orchestratorKubeContainerInfo.image, flagSnapshot ?: featureFlagClient)
     val orchestratorReqs =
       payload.architectureEnvironmentVariables
         ?.takeIf { it.isPlatformBookkeeperMode() }
         ?.bookkeeperResourceRequirements()
         ?: resourceRequirementsFactory.orchestrator(input)
 
-    val orchRuntimeEnvVars = runTimeEnvVarFactory.orchestratorEnvVars(input, workloadId)
+    val orchRuntimeEnvVars = runTimeEnvVarFactory.orchestratorEnvVars(input, workloadId, flagSnapshot)
 
     val sourceImage = input.sourceLauncherConfig.dockerImage.withImageRegistry()
     val sourceReqs = resourceRequirementsFactory.replSource(input)
-    val sourceRuntimeEnvVars = runTimeEnvVarFactory.replicationConnectorEnvVars(input.sourceLauncherConfig, sourceReqs, input.useFileTransfer)
+    val sourceRuntimeEnvVars =
+      runTimeEnvVarFactory.replicationConnectorEnvVars(input.sourceLauncherConfig, sourceReqs, input.useFileTransfer, flagSnapshot)
 
     val destinationImage = input.destinationLauncherConfig.dockerImage.withImageRegistry()
     val destinationReqs = resourceRequirementsFactory.replDestination(input)
@@ -76,6 +80,7 @@ class PayloadKubeInputMapper(
         input.destinationLauncherConfig,
         destinationReqs,
         input.useFileTransfer && (input.omitFileTransferEnvVar == null || input.omitFileTransferEnvVar == false),
+        flagSnapshot,
       )
 
     val labels =
@@ -108,8 +113,9 @@ class PayloadKubeInputMapper(
   private fun resolveOrchestratorImageFFOverride(
     connectionId: UUID,
     image: String,
+    flags: FeatureFlagClient,
   ): String {
-    val override = featureFlagClient.stringVariation(ContainerOrchestratorDevImage, Connection(connectionId))
+    val override = flags.stringVariation(ContainerOrchestratorDevImage, Connection(connectionId))
     return override.ifEmpty {
       image
     }
@@ -119,6 +125,7 @@ class PayloadKubeInputMapper(
     workloadId: String,
     input: CheckConnectionInput,
     sharedLabels: Map<String, String>,
+    flagSnapshot: FlagSnapshot? = null,
   ): ConnectorKubeInput {
     val jobId = input.getJobId()
     val attemptId = input.getAttemptId()
@@ -148,7 +155,8 @@ class PayloadKubeInputMapper(
         connectionId = input.launcherConfig.connectionId,
       )
 
-    val runtimeEnvVars = runTimeEnvVarFactory.checkConnectorEnvVars(input.launcherConfig, input.getOrganizationId(), workloadId)
+    val runtimeEnvVars =
+      runTimeEnvVarFactory.checkConnectorEnvVars(input.launcherConfig, input.getOrganizationId(), workloadId, flagSnapshot)
     val connectorReqs = resourceRequirementsFactory.checkConnector(input)
     val initReqs = resourceRequirementsFactory.checkInit(input)
 
@@ -168,6 +176,7 @@ class PayloadKubeInputMapper(
     workloadId: String,
     input: DiscoverCatalogInput,
     sharedLabels: Map<String, String>,
+    flagSnapshot: FlagSnapshot? = null,
   ): ConnectorKubeInput {
     val jobId = input.getJobId()
     val attemptId = input.getAttemptId()
@@ -195,7 +204,8 @@ class PayloadKubeInputMapper(
         workerConfigs = workerConfigs,
         connectionId = input.launcherConfig.connectionId,
       )
-    val runtimeEnvVars = runTimeEnvVarFactory.discoverConnectorEnvVars(input.launcherConfig, input.getOrganizationId(), workloadId)
+    val runtimeEnvVars =
+      runTimeEnvVarFactory.discoverConnectorEnvVars(input.launcherConfig, input.getOrganizationId(), workloadId, flagSnapshot)
     val connectorReqs = resourceRequirementsFactory.discoverConnector(input)
     val initReqs = resourceRequirementsFactory.discoverInit(input)
 
@@ -215,6 +225,7 @@ class PayloadKubeInputMapper(
     workloadId: String,
     input: SpecInput,
     sharedLabels: Map<String, String>,
+    flagSnapshot: FlagSnapshot? = null,
   ): ConnectorKubeInput {
     val jobId = input.getJobId()
     val attemptId = input.getAttemptId()
@@ -232,7 +243,7 @@ class PayloadKubeInputMapper(
       )
 
     val nodeSelectors = kubeNodeSelector.getNodeSelectors(input.usesCustomConnector(), specWorkerConfigs)
-    val runtimeEnvVars = runTimeEnvVarFactory.specConnectorEnvVars(input.launcherConfig, workloadId)
+    val runtimeEnvVars = runTimeEnvVarFactory.specConnectorEnvVars(input.launcherConfig, workloadId, flagSnapshot)
     val connectorReqs = resourceRequirementsFactory.specConnector()
     val initReqs = resourceRequirementsFactory.specInit()
 
@@ -16,6 +16,7 @@ import io.airbyte.featureflag.ContainerOrchestratorJavaOpts
 import io.airbyte.featureflag.Context
 import io.airbyte.featureflag.Empty
 import io.airbyte.featureflag.FeatureFlagClient
+import io.airbyte.featureflag.FlagSnapshot
 import io.airbyte.featureflag.ForceDdRemoteConfigVar
 import io.airbyte.featureflag.InjectAwsSecretsToConnectorPods
 import io.airbyte.featureflag.Multi
@@ -55,6 +56,8 @@ internal const val OSS_DEPLOYMENT_MODE = "OSS"
  * Performs dynamic mapping of config to env vars based on runtime inputs.
  *
  * For static stat time configuration see EnvVarConfigBeanFactory.
+ *
+ * Feature flags are read from the flag snapshot of the launch if given one, and evaluated otherwise.
  */
 @Singleton
 class RuntimeEnvVarFactory(
@@ -69,17 +72,20 @@ class RuntimeEnvVarFactory(
   internal fun orchestratorEnvVars(
     replicationInput: ReplicationInput,
     workloadId: String,
+    flagSnapshot: FlagSnapshot? = null,
   ): List<EnvVar> {
-    val ddConfigEnvVars = getDdConfiguration()
-    val optionsOverride: String = featureFlagClient.stringVariation(ContainerOrchestratorJavaOpts, Connection(replicationInput.connectionId))
+    val flags = flagSnapshot ?: featureFlagClient
+    val ddConfigEnvVars = getDdConfiguration(flags)
+    val optionsOverride: String = flags.stringVariation(ContainerOrchestratorJavaOpts, Connection(replicationInput.connectionId))
     val javaOpts = optionsOverride.trim().ifEmpty { airbyteContainerOrchestratorConfig.javaOpts }
-    val secretPersistenceEnvVars = getSecretPersistenceEnvVars(replicationInput.connectionContext.organizationId)
+    val secretPersistenceEnvVars = getSecretPersistenceEnvVars(replicationInput.connectionContext.organizationId, flags)
     val useFileTransferEnvVar =
       replicationInput.useFileTransfer == true &&
         (replicationInput.omitFileTransferEnvVar == null || replicationInput.omitFileTransferEnvVar == false)
     val logLevelEnvVars =
       getLogLevelEnvVars(
         Multi(listOf(Workspace(replicationInput.connectionContext.workspaceId), Connection(replicationInput.connectionContext.connectionId))),
+        flags,
       )
 
     return listOf(
@@ -99,17 +105,20 @@ class RuntimeEnvVarFactory(
     launcherConfig: IntegrationLauncherConfig,
     resourceReqs: AirbyteResourceRequirements?,
     useFileTransfers: Boolean,
+    flagSnapshot: FlagSnapshot? = null,
   ): List<EnvVar> {
-    val ddConfigEnvVars = getDdConfiguration()
-    val awsEnvVars = resolveAwsAssumedRoleEnvVars(launcherConfig)
-    val apmEnvVars = getConnectorApmEnvVars(launcherConfig.dockerImage, Workspace(launcherConfig.workspaceId))
-    val configurationEnvVars = getConfigurationEnvVars(launcherConfig.dockerImage, launcherConfig.connectionId ?: ANONYMOUS, useFileTransfers)
+    val flags = flagSnapshot ?: featureFlagClient
+    val ddConfigEnvVars = getDdConfiguration(flags)
+    val awsEnvVars = resolveAwsAssumedRoleEnvVars(launcherConfig, flags)
+    val apmEnvVars = getConnectorApmEnvVars(launcherConfig.dockerImage, Workspace(launcherConfig.workspaceId), flags)
+    val configurationEnvVars =
+      getConfigurationEnvVars(launcherConfig.dockerImage, launcherConfig.connectionId ?: ANONYMOUS, useFileTransfers, flags)
     val metadataEnvVars = getMetadataEnvVars(launcherConfig)
     val resourceEnvVars = getResourceEnvVars(resourceReqs)
-    val customCodeEnvVars = getDeclarativeCustomCodeSupportEnvVars(Workspace(launcherConfig.workspaceId))
+    val customCodeEnvVars = getDeclarativeCustomCodeSupportEnvVars(Workspace(launcherConfig.workspaceId), flags)
     val configPassThroughEnv = launcherConfig.additionalEnvironmentVariables?.toEnvVarList().orEmpty()
     val logLevelEnvVars =
-      getLogLevelEnvVars(Multi(listOf(Workspace(launcherConfig.workspaceId), Connection(launcherConfig.connectionId))))
+      getLogLevelEnvVars(Multi(listOf(Workspace(launcherConfig.workspaceId), Connection(launcherConfig.connectionId))), flags)
 
     return ddConfigEnvVars + awsEnvVars + apmEnvVars + configurationEnvVars + metadataEnvVars + resourceEnvVars + configPassThroughEnv +
       customCodeEnvVars +
@@ -121,41 +130,50 @@ class RuntimeEnvVarFactory(
     launcherConfig: IntegrationLauncherConfig,
     organizationId: UUID,
     workloadId: String,
-  ): List<EnvVar> =
-    getDdConfiguration() +
-      resolveAwsAssumedRoleEnvVars(launcherConfig) +
-      getConnectorApmEnvVars(launcherConfig.dockerImage, Workspace(launcherConfig.workspaceId)) +
-      getSecretPersistenceEnvVars(organizationId) +
-      getDeclarativeCustomCodeSupportEnvVars(Workspace(launcherConfig.workspaceId)) +
+    flagSnapshot: FlagSnapshot? = null,
+  ): List<EnvVar> {
+    val flags = flagSnapshot ?: featureFlagClient
+    return getDdConfiguration(flags) +
+      resolveAwsAssumedRoleEnvVars(launcherConfig, flags) +
+      getConnectorApmEnvVars(launcherConfig.dockerImage, Workspace(launcherConfig.workspaceId), flags) +
+      getSecretPersistenceEnvVars(organizationId, flags) +
+      getDeclarativeCustomCodeSupportEnvVars(Workspace(launcherConfig.workspaceId), flags) +
       EnvVar(AirbyteEnvVar.OPERATION_TYPE.toString(), WorkloadType.CHECK.toString(), null) +
       EnvVar(AirbyteEnvVar.WORKLOAD_ID.toString(), workloadId, null)
+  }
 
   // TODO: Separate env factory methods per container (init, sidecar, main, etc.)
   fun discoverConnectorEnvVars(
     launcherConfig: IntegrationLauncherConfig,
     organizationId: UUID,
     workloadId: String,
-  ): List<EnvVar> =
-    getDdConfiguration() +
-      resolveAwsAssumedRoleEnvVars(launcherConfig) +
-      getConnectorApmEnvVars(launcherConfig.dockerImage, Workspace(launcherConfig.workspaceId)) +
-      getSecretPersistenceEnvVars(organizationId) +
-      getDeclarativeCustomCodeSupportEnvVars(Workspace(launcherConfig.workspaceId)) +
+    flagSnapshot: FlagSnapshot? = null,
+  ): List<EnvVar> {
+    val flags = flagSnapshot ?: featureFlagClient
+    return getDdConfiguration(flags) +
+      resolveAwsAssumedRoleEnvVars(launcherConfig, flags) +
+      getConnectorApmEnvVars(launcherConfig.dockerImage, Workspace(launcherConfig.workspaceId), flags) +
+      getSecretPersistenceEnvVars(organizationId, flags) +
+      getDeclarativeCustomCodeSupportEnvVars(Workspace(launcherConfig.workspaceId), flags) +
       EnvVar(AirbyteEnvVar.OPERATION_TYPE.toString(), WorkloadType.DISCOVER.toString(), null) +
       EnvVar(AirbyteEnvVar.WORKLOAD_ID.toString(), workloadId, null)
+  }
 
   // TODO: Separate env factory methods per container (init, sidecar, main, etc.)
   fun specConnectorEnvVars(
     launcherConfig: IntegrationLauncherConfig,
     workloadId: String,
-  ): List<EnvVar> =
-    getDdConfiguration() +
-      getDeclarativeCustomCodeSupportEnvVars(Workspace(launcherConfig.workspaceId)) +
+    flagSnapshot: FlagSnapshot? = null,
+  ): List<EnvVar> {
+    val flags = flagSnapshot ?: featureFlagClient
+    return getDdConfiguration(flags) +
+      getDeclarativeCustomCodeSupportEnvVars(Workspace(launcherConfig.workspaceId), flags) +
       EnvVar(AirbyteEnvVar.OPERATION_TYPE.toString(), WorkloadType.SPEC.toString(), null) +
       EnvVar(AirbyteEnvVar.WORKLOAD_ID.toString(), workloadId, null)
+  }
 
-  private fun getDdConfiguration(): List<EnvVar> =
-    if (featureFlagClient.boolVariation(ForceDdRemoteConfigVar, Empty)) {
+  private fun getDdConfiguration(flags: FeatureFlagClient): List<EnvVar> =
+    if (flags.boolVariation(ForceDdRemoteConfigVar, Empty)) {
       listOf(EnvVar(AirbyteEnvVar.DD_REMOTE_CONFIGURATION_ENABLED.toString(), "false", null))
     } else {
       emptyList()
@@ -170,9 +188,10 @@ class RuntimeEnvVarFactory(
   internal fun getConnectorApmEnvVars(
     image: String,
     context: Context,
+    flags: FeatureFlagClient = featureFlagClient,
   ): List<EnvVar> {
     val connectorApmEnvVars = mutableListOf<EnvVar>()
-    if (featureFlagClient.boolVariation(ConnectorApmEnabled, context)) {
+    if (flags.boolVariation(ConnectorApmEnabled, context)) {
       connectorApmSupportHelper.addApmEnvVars(connectorApmEnvVars)
       connectorApmSupportHelper.addServerNameAndVersionToEnvVars(image, connectorApmEnvVars)
     } else {
@@ -182,8 +201,11 @@ class RuntimeEnvVarFactory(
   }
 
   @InternalForTesting
-  internal fun getLogLevelEnvVars(context: Context): List<EnvVar> {
-    val replicationDebugLogLevelEnabled = featureFlagClient.boolVariation(ReplicationDebugLogLevelEnabled, context)
+  internal fun getLogLevelEnvVars(
+    context: Context,
+    flags: FeatureFlagClient = featureFlagClient,
+  ): List<EnvVar> {
+    val replicationDebugLogLevelEnabled = flags.boolVariation(ReplicationDebugLogLevelEnabled, context)
 
     return if (replicationDebugLogLevelEnabled) {
       listOf(EnvVar(EnvVarConstants.LOG_LEVEL, "debug", null))
@@ -230,6 +252,7 @@ class RuntimeEnvVarFactory(
     dockerImage: String,
     connectionId: UUID,
     useFileTransfers: Boolean,
+    flags: FeatureFlagClient = featureFlagClient,
   ): List<EnvVar> {
     val envVars = mutableListOf<EnvVar>()
     envVars.add(EnvVar(EnvVarConstants.USE_STREAM_CAPABLE_STATE_ENV_VAR, true.toString(), null))
@@ -239,7 +262,7 @@ class RuntimeEnvVarFactory(
     }
     val concurrentSourceStreamReadEnabled =
       dockerImage.startsWith(MYSQL_SOURCE_NAME) &&
-        featureFlagClient.boolVariation(ConcurrentSourceStreamRead, Connection(connectionId))
+        flags.boolVariation(ConcurrentSourceStreamRead, Connection(connectionId))
 
     envVars.add(EnvVar(EnvVarConstants.CONCURRENT_SOURCE_STREAM_READ_ENV_VAR, concurrentSourceStreamReadEnabled.toString(), null))
 
@@ -250,8 +273,11 @@ class RuntimeEnvVarFactory(
    * Env vars for controlling runtime secrets hydration behavior.
    */
   @InternalForTesting
-  internal fun getSecretPersistenceEnvVars(organizationId: UUID): List<EnvVar> {
-    val useRuntimeSecretPersistence = featureFlagClient.boolVariation(UseRuntimeSecretPersistence, Organization(organizationId))
+  internal fun getSecretPersistenceEnvVars(
+    organizationId: UUID,
+    flags: FeatureFlagClient = featureFlagClient,
+  ): List<EnvVar> {
+    val useRuntimeSecretPersistence = flags.boolVariation(UseRuntimeSecretPersistence, Organization(organizationId))
 
     return listOf(
       EnvVar(EnvVarConstants.USE_RUNTIME_SECRET_PERSISTENCE, useRuntimeSecretPersistence.toString(), null),
@@ -262,8 +288,11 @@ class RuntimeEnvVarFactory(
    * Env vars for controlling runtime custom code execution behaviour.
    */
   @InternalForTesting
-  internal fun getDeclarativeCustomCodeSupportEnvVars(context: Context): List<EnvVar> {
-    val useAllowCustomCode = featureFlagClient.boolVariation(UseAllowCustomCode, context)
+  internal fun getDeclarativeCustomCodeSupportEnvVars(
+    context: Context,
+    flags: FeatureFlagClient = featureFlagClient,
+  ): List<EnvVar> {
+    val useAllowCustomCode = flags.boolVariation(UseAllowCustomCode, context)
 
     // Turn on unsafe code execution if the feature flag is enabled or the global override is set.
     // PROBLEM TO WORKAROUND: We do not haven't the ability to set feature flags for OSS/Enterprise customers.
@@ -281,7 +310,10 @@ class RuntimeEnvVarFactory(
    * Conditionally adds AWS assumed role env vars for use by connector pods.
    */
   @InternalForTesting
-  internal fun resolveAwsAssumedRoleEnvVars(launcherConfig: IntegrationLauncherConfig): List<EnvVar> {
+  internal fun resolveAwsAssumedRoleEnvVars(
+    launcherConfig: IntegrationLauncherConfig,
+    flags: FeatureFlagClient = featureFlagClient,
+  ): List<EnvVar> {
     // Only inject into connectors we own.
     if (launcherConfig.isCustomConnector) {
       return listOf()
@@ -289,7 +321,7 @@ class RuntimeEnvVarFactory(
     // Only inject into enabled workspaces.
     val workspaceEnabled =
       launcherConfig.workspaceId != null &&
-        this.featureFlagClient.boolVariation(InjectAwsSecretsToConnectorPods, Workspace(launcherConfig.workspaceId))
+        flags.boolVariation(InjectAwsSecretsToConnectorPods, Workspace(launcherConfig.workspaceId))
     if (!workspaceEnabled) {
       return listOf()
     }
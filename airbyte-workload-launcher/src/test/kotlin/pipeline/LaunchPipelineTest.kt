@@ -6,24 +6,35 @@ package pipeline
 
 import fixtures.RecordFixtures.launcherInput
 import io.airbyte.metrics.MetricClient
+import io.airbyte.micronaut.runtime.AirbyteWorkloadLauncherConfig
+import io.airbyte.micronaut.runtime.AirbyteWorkloadLauncherConfig.AirbyteWorkloadLauncherStageConcurrencyConfig
 import io.airbyte.workload.launcher.pipeline.LaunchPipeline
 import io.airbyte.workload.launcher.pipeline.PipelineIngressAdapter
 import io.airbyte.workload.launcher.pipeline.handlers.FailureHandler
 import io.airbyte.workload.launcher.pipeline.handlers.SuccessHandler
+import io.airbyte.workload.launcher.pipeline.stages.LaunchPodStage
 import io.airbyte.workload.launcher.pipeline.stages.StageName
+import io.airbyte.workload.launcher.pipeline.stages.model.CheckPayload
 import io.airbyte.workload.launcher.pipeline.stages.model.LaunchStage
 import io.airbyte.workload.launcher.pipeline.stages.model.LaunchStageIO
+import io.airbyte.workload.launcher.pods.KubePodClient
 import io.mockk.every
 import io.mockk.impl.annotations.MockK
 import io.mockk.junit5.MockKExtension
 import io.mockk.mockk
 import io.mockk.verify
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.extension.ExtendWith
 import reactor.core.publisher.Flux
 import reactor.test.StepVerifier
 import java.lang.RuntimeException
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 @ExtendWith(MockKExtension::class)
 class LaunchPipelineTest {
@@ -58,6 +69,7 @@ class LaunchPipelineTest {
         failureHandler = failureHandler,
         ingressAdapter = ingressAdapter,
         metricClient = metricClient,
+        airbyteWorkloadLauncherConfig = AirbyteWorkloadLauncherConfig(),
       )
   }
 
@@ -117,6 +129,7 @@ class LaunchPipelineTest {
         failureHandler = failureHandler,
         ingressAdapter = ingressAdapter,
         metricClient = metricClient,
+        airbyteWorkloadLauncherConfig = AirbyteWorkloadLauncherConfig(),
       )
 
     val appliedPipe = pipeline.apply(inputFlux)
@@ -132,6 +145,55 @@ class LaunchPipelineTest {
     verify { successHandler.accept(LaunchStageIO(msg = workload3)) }
   }
 
+  @Test
+  fun `slow pod starts hold neither a thread nor the other stages`() {
+    val workloads = 50
+    val launchConcurrency = 10
+    val podStart = Duration.ofMillis(300)
+    val starting = AtomicInteger(0)
+    val maxStarting = AtomicInteger(0)
+    val podClient: KubePodClient = mockk()
+    every { podClient.launchCheck(any(), any(), any()) } answers {
+      maxStarting.accumulateAndGet(starting.incrementAndGet(), ::maxOf)
+      CompletableFuture<Unit>()
+        .completeOnTimeout(Unit, podStart.toMillis(), TimeUnit.MILLISECONDS)
+        .whenComplete { _, _ -> starting.decrementAndGet() }
+    }
+    val checked = AtomicInteger(0)
+
+    pipeline =
+      LaunchPipeline(
+        build = MockStage(StageName.BUILD) { it.also { io -> io.payload = CheckPayload(mockk()) } },
+        claim = MockStage(StageName.CLAIM),
+        loadShed = MockStage(StageName.LOAD_SHED),
+        check = MockStage(StageName.CHECK_STATUS) { it.also { checked.incrementAndGet() } },
+        mutex = MockStage(StageName.MUTEX),
+        architecture = MockStage(StageName.ARCHITECTURE),
+        launch = LaunchPodStage(podClient, metricClient),
+        successHandler = successHandler,
+        failureHandler = failureHandler,
+        ingressAdapter = ingressAdapter,
+        metricClient = metricClient,
+        airbyteWorkloadLauncherConfig =
+          AirbyteWorkloadLauncherConfig(
+            stageConcurrency = AirbyteWorkloadLauncherStageConcurrencyConfig(launch = launchConcurrency),
+          ),
+      )
+
+    val startedAt = System.nanoTime()
+    StepVerifier
+      .create(pipeline.apply(Flux.fromIterable((0 until workloads).map { launcherInput("workload-$it") })))
+      .then { assertEquals(workloads, checked.get()) }
+      .expectNextCount(workloads.toLong())
+      .expectComplete()
+      .verify(Duration.ofMinutes(1))
+    val elapsed = Duration.ofNanos(System.nanoTime() - startedAt)
+
+    assertEquals(launchConcurrency, maxStarting.get())
+    // Waiting for the pods on the thread feeding the pipeline would take workloads * podStart = 15s.
+    assertTrue(elapsed < podStart.multipliedBy(4L * workloads / launchConcurrency)) { "took $elapsed" }
+  }
+
   // Manually mock as using mockk w/ inheritance and Reactor gets complicated
   class MockStage(
     val name: StageName,
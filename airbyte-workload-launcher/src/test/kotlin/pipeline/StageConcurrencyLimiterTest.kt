@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.launcher.pipeline
+
+import io.airbyte.workload.launcher.pipeline.stages.StageName
+import io.mockk.mockk
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import reactor.core.publisher.Sinks
+import reactor.core.scheduler.Schedulers
+import reactor.test.StepVerifier
+import java.time.Duration
+
+class StageConcurrencyLimiterTest {
+  private val limiter = StageConcurrencyLimiter(StageName.LAUNCH, 2, mockk(relaxed = true), Schedulers.immediate())
+
+  @Test
+  fun `work waits for a permit once the stage is at its concurrency and gets one in order`() {
+    val work = (0 until 4).map { Sinks.one<Int>() }
+    val started = mutableListOf<Int>()
+    val results = work.mapIndexed { i, sink -> limiter.limit { sink.asMono().doOnSubscribe { started.add(i) } } }
+
+    val verifiers = results.map { StepVerifier.create(it).expectNextCount(1).expectComplete().verifyLater() }
+
+    assertEquals(listOf(0, 1), started)
+    assertEquals(2, limiter.waiting())
+
+    work[1].tryEmitValue(1)
+    assertEquals(listOf(0, 1, 2), started)
+    work[0].tryEmitValue(0)
+    assertEquals(listOf(0, 1, 2, 3), started)
+    assertEquals(0, limiter.waiting())
+
+    work[2].tryEmitValue(2)
+    work[3].tryEmitValue(3)
+    verifiers.forEach { it.verify(Duration.ofSeconds(5)) }
+  }
+
+  @Test
+  fun `work cancelled while waiting gives up its place`() {
+    val running = (0 until 2).map { Sinks.one<Int>() }
+    val verifiers =
+      running.map { sink -> StepVerifier.create(limiter.limit { sink.asMono() }).expectNextCount(1).expectComplete().verifyLater() }
+
+    val waiting = limiter.limit { Sinks.one<Int>().asMono() }.subscribe()
+    assertEquals(1, limiter.waiting())
+    waiting.dispose()
+    assertEquals(0, limiter.waiting())
+
+    running.forEachIndexed { i, sink -> sink.tryEmitValue(i) }
+    verifiers.forEach { it.verify(Duration.ofSeconds(5)) }
+  }
+
+  @Test
+  fun `the concurrency must be positive`() {
+    assertThrows<IllegalArgumentException> { StageConcurrencyLimiter(StageName.LAUNCH, 0, mockk(relaxed = true)) }
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.launcher.pipeline.consumer
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.time.Duration
+
+private const val BASE_POLL_SIZE = 10
+private const val MAX_POLL_SIZE = 100
+private const val MAX_IN_FLIGHT_LAUNCHES = 200
+private val MIN_INTERVAL: Duration = Duration.ofSeconds(1)
+private val MAX_INTERVAL: Duration = Duration.ofSeconds(30)
+
+private fun controller() =
+  AdaptivePollController(
+    basePollSize = BASE_POLL_SIZE,
+    maxPollSize = MAX_POLL_SIZE,
+    maxInFlightLaunches = MAX_IN_FLIGHT_LAUNCHES,
+    minInterval = MIN_INTERVAL,
+    maxInterval = MAX_INTERVAL,
+  )
+
+class AdaptivePollControllerTest {
+  @Test
+  fun `backs off exponentially while the queue is empty`() {
+    val controller = controller()
+
+    val delays = (0 until 7).map { controller.onPolled(requested = BASE_POLL_SIZE, polled = 0, queueDepth = null, inFlightLaunches = 0) }
+
+    assertEquals(listOf(1L, 2L, 4L, 8L, 16L, 30L, 30L), delays.map { it.toSeconds() })
+    assertTrue(controller.isIdle())
+    assertEquals(BASE_POLL_SIZE, controller.nextPollSize(0))
+  }
+
+  @Test
+  fun `ramps up right away when the queue is backed up`() {
+    val controller = controller()
+    repeat(5) { controller.onPolled(requested = BASE_POLL_SIZE, polled = 0, queueDepth = null, inFlightLaunches = 0) }
+
+    val delay = controller.onPolled(requested = BASE_POLL_SIZE, polled = BASE_POLL_SIZE, queueDepth = 60, inFlightLaunches = 10)
+
+    assertEquals(Duration.ZERO, delay)
+    assertFalse(controller.isIdle())
+    assertEquals(60, controller.nextPollSize(10))
+  }
+
+  @Test
+  fun `doubles the poll size when the depth of the queue is unknown`() {
+    val controller = controller()
+
+    controller.onPolled(requested = BASE_POLL_SIZE, polled = BASE_POLL_SIZE, queueDepth = null, inFlightLaunches = 0)
+    assertEquals(20, controller.nextPollSize(0))
+    controller.onPolled(requested = 20, polled = 20, queueDepth = null, inFlightLaunches = 0)
+    assertEquals(40, controller.nextPollSize(0))
+  }
+
+  @Test
+  fun `never asks for more than the max poll size or the room left for launches`() {
+    val controller = controller()
+
+    controller.onPolled(requested = BASE_POLL_SIZE, polled = BASE_POLL_SIZE, queueDepth = 1_000, inFlightLaunches = 0)
+    assertEquals(MAX_POLL_SIZE, controller.nextPollSize(0))
+    assertEquals(30, controller.nextPollSize(MAX_IN_FLIGHT_LAUNCHES - 30))
+    assertEquals(0, controller.nextPollSize(MAX_IN_FLIGHT_LAUNCHES))
+  }
+
+  @Test
+  fun `goes back to the base poll size once the queue is drained`() {
+    val controller = controller()
+    controller.onPolled(requested = BASE_POLL_SIZE, polled = BASE_POLL_SIZE, queueDepth = 1_000, inFlightLaunches = 0)
+
+    val delay = controller.onPolled(requested = MAX_POLL_SIZE, polled = 7, queueDepth = null, inFlightLaunches = 0)
+
+    assertEquals(MIN_INTERVAL, delay)
+    assertEquals(BASE_POLL_SIZE, controller.nextPollSize(0))
+  }
+
+  @Test
+  fun `waits for a launch to complete when the launcher is full`() {
+    val controller = controller()
+
+    assertEquals(Duration.ofMillis(500), controller.onFull(inFlightLaunches = 20, launchLatency = Duration.ofSeconds(10)))
+    assertEquals(MIN_INTERVAL, controller.onFull(inFlightLaunches = 20, launchLatency = null))
+    assertEquals(Duration.ofMillis(100), controller.onFull(inFlightLaunches = 200, launchLatency = Duration.ofSeconds(1)))
+  }
+
+  @Test
+  fun `drains a recorded burst faster than fixed polling with fewer idle polls`() {
+    val fixed = Simulation.run(RECORDED_BURST, adaptive = false)
+    val adaptive = Simulation.run(RECORDED_BURST, adaptive = true)
+
+    assertEquals(RECORDED_BURST.sum(), fixed.launched)
+    assertEquals(RECORDED_BURST.sum(), adaptive.launched)
+    assertTrue(adaptive.maxQueueWaitMs < fixed.maxQueueWaitMs / 2) {
+      "adaptive max queue wait ${adaptive.maxQueueWaitMs}ms, fixed ${fixed.maxQueueWaitMs}ms"
+    }
+    assertTrue(adaptive.emptyPolls < fixed.emptyPolls / 4) { "adaptive ${adaptive.emptyPolls} empty polls, fixed ${fixed.emptyPolls}" }
+    assertTrue(adaptive.maxInFlight <= MAX_IN_FLIGHT_LAUNCHES) { "adaptive max in flight ${adaptive.maxInFlight}" }
+  }
+
+  /**
+   * Replays workloads enqueued per second against a poller, in simulated time. Launches complete [LAUNCH_LATENCY_MS]
+   * after they are polled, and an idle adaptive poller waits on the server for workloads like
+   * [WorkloadApiQueuePoller] does.
+   */
+  private object Simulation {
+    private const val LAUNCH_LATENCY_MS = 5_000L
+    private const val POLL_DURATION_MS = 20L
+    private const val MAX_POLL_WAIT_MS = 20_000L
+
+    data class Result(
+      val launched: Int,
+      val emptyPolls: Int,
+      val maxQueueWaitMs: Long,
+      val maxInFlight: Int,
+    )
+
+    fun run(
+      enqueuedPerSecond: List<Int>,
+      adaptive: Boolean,
+    ): Result {
+      val enqueuedAt = ArrayDeque(enqueuedPerSecond.flatMapIndexed { second, count -> List(count) { second * 1_000L } })
+      val queue = ArrayDeque<Long>()
+      val completions = ArrayDeque<Long>()
+      val controller = controller()
+      val endMs = enqueuedPerSecond.size * 1_000L + 120_000L
+      var now = 0L
+      var launched = 0
+      var emptyPolls = 0
+      var maxQueueWaitMs = 0L
+      var maxInFlight = 0
+
+      fun advanceTo(time: Long) {
+        now = time
+        while (enqueuedAt.isNotEmpty() && enqueuedAt.first() <= now) queue.addLast(enqueuedAt.removeFirst())
+        while (completions.isNotEmpty() && completions.first() <= now) completions.removeFirst()
+      }
+
+      fun poll(size: Int): Int {
+        val polled = minOf(size, queue.size)
+        repeat(polled) {
+          maxQueueWaitMs = maxOf(maxQueueWaitMs, now - queue.removeFirst())
+          completions.addLast(now + LAUNCH_LATENCY_MS)
+        }
+        launched += polled
+        maxInFlight = maxOf(maxInFlight, completions.size)
+        if (polled == 0) emptyPolls++
+        return polled
+      }
+
+      while (now < endMs) {
+        advanceTo(now)
+        if (!adaptive) {
+          poll(BASE_POLL_SIZE)
+          advanceTo(now + MIN_INTERVAL.toMillis())
+          continue
+        }
+
+        val size = controller.nextPollSize(completions.size)
+        if (size == 0) {
+          advanceTo(now + controller.onFull(completions.size, Duration.ofMillis(LAUNCH_LATENCY_MS)).toMillis())
+          continue
+        }
+        val waitMs = if (controller.isIdle()) minOf(controller.delay.toMillis(), MAX_POLL_WAIT_MS) else 0L
+        if (queue.isEmpty() && waitMs > 0) {
+          // The server holds the poll until a workload is enqueued or the wait times out.
+          advanceTo(minOf(now + waitMs, enqueuedAt.firstOrNull() ?: Long.MAX_VALUE))
+        }
+        val polled = poll(size)
+        val queueDepth = if (polled >= size) queue.size.toLong() else null
+        val delay = controller.onPolled(size, polled, queueDepth, completions.size)
+        advanceTo(now + POLL_DURATION_MS + if (waitMs > 0 && polled == 0) 0L else delay.toMillis())
+      }
+
+      return Result(launched, emptyPolls, maxQueueWaitMs, maxInFlight)
+    }
+  }
+
+  companion object {
+    /**
+     * Workloads enqueued per second around the top of an hour: a trickle, the burst of scheduled syncs, then a tail.
+     */
+    private val RECORDED_BURST: List<Int> =
+      List(300) { if (it % 45 == 0) 1 else 0 } +
+        listOf(180, 140, 95, 60, 42, 30, 21, 15, 12, 9, 8, 6, 5, 4, 4, 3, 3, 2, 2, 2) +
+        List(120) { if (it % 10 == 0) 2 else 0 } +
+        List(300) { if (it % 60 == 0) 1 else 0 }
+  }
+}
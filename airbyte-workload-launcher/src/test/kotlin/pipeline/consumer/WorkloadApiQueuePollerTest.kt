@@ -7,6 +7,7 @@ package io.airbyte.workload.launcher.pipeline.consumer
 import io.airbyte.config.WorkloadPriority
 import io.airbyte.config.WorkloadType
 import io.airbyte.featureflag.FeatureFlagClient
+import io.airbyte.featureflag.WorkloadPollerAdaptive
 import io.airbyte.metrics.MetricClient
 import io.airbyte.workload.api.domain.Workload
 import io.airbyte.workload.api.domain.WorkloadLabel
@@ -156,6 +157,90 @@ class WorkloadApiQueuePollerTest {
     verify(exactly = 3) { workloadApiClient.pollQueue(groupId, priority, pollSizeItems) }
   }
 
+  @Test
+  fun `adaptive polling asks for the rest of the queue right away when a poll comes back full`() {
+    every { featureFlagClient.boolVariation(WorkloadPollerAdaptive, any()) } returns true
+    every { workloadApiClient.pollQueue(groupId, priority, 2, null) } returns listOf(workload1, workload2)
+    every { workloadApiClient.countQueueDepth(groupId, priority) } returns 3
+    every { workloadApiClient.pollQueue(groupId, priority, 3, null) } returns listOf(workload3, workload4, workload5)
+    val adaptivePoller = adaptivePoller(pollSizeItems = 2)
+
+    StepVerifier
+      .withVirtualTime {
+        adaptivePoller.initialize(groupId)
+        adaptivePoller.resumePolling()
+        adaptivePoller.flux.take(5)
+      }.thenAwait()
+      .expectNext(workload1.toLauncherInput())
+      .expectNext(workload2.toLauncherInput())
+      .thenAwait()
+      .expectNext(workload3.toLauncherInput())
+      .expectNext(workload4.toLauncherInput())
+      .expectNext(workload5.toLauncherInput())
+      .verifyComplete()
+
+    verify(exactly = 1) { workloadApiClient.pollQueue(groupId, priority, 2, null) }
+    verify(exactly = 1) { workloadApiClient.pollQueue(groupId, priority, 3, null) }
+  }
+
+  @Test
+  fun `adaptive polling waits on the server for workloads once the queue is idle`() {
+    every { featureFlagClient.boolVariation(WorkloadPollerAdaptive, any()) } returns true
+    every { workloadApiClient.pollQueue(groupId, priority, pollSizeItems, null) } returns emptyList()
+    every { workloadApiClient.pollQueue(groupId, priority, pollSizeItems, pollIntervalSeconds.toInt()) } returns listOf(workload1)
+    val adaptivePoller = adaptivePoller()
+
+    StepVerifier
+      .withVirtualTime {
+        adaptivePoller.initialize(groupId)
+        adaptivePoller.resumePolling()
+        adaptivePoller.flux.take(1)
+      }.thenAwait()
+      .expectNoEvent(Duration.ofSeconds(pollIntervalSeconds - 1))
+      .thenAwait(Duration.ofSeconds(1))
+      .expectNext(workload1.toLauncherInput())
+      .verifyComplete()
+
+    verify(exactly = 1) { workloadApiClient.pollQueue(groupId, priority, pollSizeItems, null) }
+    verify(exactly = 1) { workloadApiClient.pollQueue(groupId, priority, pollSizeItems, pollIntervalSeconds.toInt()) }
+    verify(exactly = 0) { workloadApiClient.countQueueDepth(any(), any()) }
+  }
+
+  @Test
+  fun `adaptive polling only asks for as many workloads as the launcher has room for`() {
+    every { featureFlagClient.boolVariation(WorkloadPollerAdaptive, any()) } returns true
+    every { workloadApiClient.pollQueue(groupId, priority, 2, null) } returns listOf(workload1)
+    val adaptivePoller = adaptivePoller(maxInFlightLaunches = 3, activeLaunches = 1)
+
+    StepVerifier
+      .withVirtualTime {
+        adaptivePoller.initialize(groupId)
+        adaptivePoller.resumePolling()
+        adaptivePoller.flux.take(1)
+      }.thenAwait()
+      .expectNext(workload1.toLauncherInput())
+      .verifyComplete()
+
+    verify(exactly = 1) { workloadApiClient.pollQueue(groupId, priority, 2, null) }
+  }
+
+  private fun adaptivePoller(
+    pollSizeItems: Int = this.pollSizeItems,
+    maxInFlightLaunches: Int = 100,
+    activeLaunches: Int = 0,
+  ) = WorkloadApiQueuePoller(
+    workloadApiClient,
+    metricClient,
+    featureFlagClient,
+    pollSizeItems,
+    pollIntervalSeconds,
+    priority,
+    maxPollSizeItems = 10 * pollSizeItems,
+    maxPollIntervalSeconds = 6 * pollIntervalSeconds,
+    maxInFlightLaunches = maxInFlightLaunches,
+    activeLaunches = { activeLaunches },
+  )
+
   object Fixtures {
     val groupId = "dataplane-group-1"
 
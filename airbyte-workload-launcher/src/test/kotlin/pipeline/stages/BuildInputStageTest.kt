@@ -6,11 +6,17 @@ package io.airbyte.workload.launcher.pipeline.stages
 
 import com.fasterxml.jackson.databind.node.POJONode
 import fixtures.RecordFixtures
+import io.airbyte.config.ActorContext
 import io.airbyte.config.ActorType
 import io.airbyte.config.StandardCheckConnectionInput
 import io.airbyte.config.StandardDiscoverCatalogInput
 import io.airbyte.config.WorkloadType
 import io.airbyte.featureflag.Empty
+import io.airbyte.featureflag.LoadShedWorkloadLauncher
+import io.airbyte.featureflag.Organization
+import io.airbyte.featureflag.TestClient
+import io.airbyte.featureflag.UseAllowCustomCode
+import io.airbyte.featureflag.UseRuntimeSecretPersistence
 import io.airbyte.featureflag.Workspace
 import io.airbyte.metrics.MetricClient
 import io.airbyte.persistence.job.models.IntegrationLauncherConfig
@@ -32,8 +38,10 @@ import io.mockk.every
 import io.mockk.impl.annotations.MockK
 import io.mockk.junit5.MockKExtension
 import io.mockk.mockk
+import io.mockk.spyk
 import io.mockk.verify
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.extension.ExtendWith
@@ -53,6 +61,8 @@ class BuildInputStageTest {
   @MockK
   private lateinit var metricClient: MetricClient
 
+  private val featureFlagClient = spyk(TestClient(mapOf(UseAllowCustomCode.key to true)))
+
   private lateinit var stage: BuildInputStage
 
   @BeforeEach
@@ -63,6 +73,7 @@ class BuildInputStageTest {
         deserializer,
         metricClient,
         ffCtxMapper,
+        featureFlagClient,
       )
 
     every { ffCtxMapper.map(any<ReplicationInput>()) } returns Empty
@@ -198,4 +209,56 @@ class BuildInputStageTest {
     assertEquals(inputWrapper, payload.input)
     assertEquals(context, result.ffContext)
   }
+
+  @Test
+  fun `snapshots the flags of the launch`() {
+    val inputStr = "foo"
+    val workspaceId = UUID.randomUUID()
+    val organizationId = UUID.randomUUID()
+    val inputWrapper =
+      CheckConnectionInput(
+        launcherConfig = IntegrationLauncherConfig().withWorkspaceId(workspaceId).withDockerImage("airbyte/source-postgres"),
+        jobRunConfig = JobRunConfig().withJobId("1").withAttemptId(0L),
+        checkConnectionInput = StandardCheckConnectionInput().withActorContext(ActorContext().withOrganizationId(organizationId)),
+      )
+    val context = Workspace(workspaceId)
+
+    every { deserializer.toCheckConnectionInput(inputStr) } returns inputWrapper
+    every { ffCtxMapper.map(inputWrapper) } returns context
+
+    val io = LaunchStageIO(msg = RecordFixtures.launcherInput(workloadInput = inputStr, workloadType = WorkloadType.CHECK))
+
+    val flags = stage.applyStage(io).flags!!
+    repeat(2) {
+      assertEquals(true, flags.boolVariation(UseAllowCustomCode, Workspace(workspaceId)))
+      assertEquals(false, flags.boolVariation(LoadShedWorkloadLauncher, context))
+      assertEquals(false, flags.boolVariation(UseRuntimeSecretPersistence, Organization(organizationId)))
+    }
+
+    verify(exactly = 1) { featureFlagClient.boolVariation(UseAllowCustomCode, Workspace(workspaceId)) }
+    verify(exactly = 1) { featureFlagClient.boolVariation(LoadShedWorkloadLauncher, context) }
+    verify(exactly = 1) { featureFlagClient.boolVariation(UseRuntimeSecretPersistence, Organization(organizationId)) }
+  }
+
+  @Test
+  fun `leaves the flags to be evaluated when they are read if they can't be snapshot`() {
+    val inputStr = "foo"
+    val inputWrapper =
+      CheckConnectionInput(
+        launcherConfig = IntegrationLauncherConfig().withWorkspaceId(UUID.randomUUID()),
+        jobRunConfig = JobRunConfig().withJobId("1").withAttemptId(0L),
+        checkConnectionInput = StandardCheckConnectionInput(),
+      )
+
+    every { deserializer.toCheckConnectionInput(inputStr) } returns inputWrapper
+    every { ffCtxMapper.map(inputWrapper) } returns Empty
+    every { featureFlagClient.snapshot(any()) } throws RuntimeException("bang")
+
+    val io = LaunchStageIO(msg = RecordFixtures.launcherInput(workloadInput = inputStr, workloadType = WorkloadType.CHECK))
+
+    val result = stage.applyStage(io)
+
+    assertEquals(Empty, result.ffContext)
+    assertNull(result.flags)
+  }
 }
@@ -6,6 +6,7 @@ package io.airbyte.workload.launcher.pipeline.stages
 
 import fixtures.RecordFixtures
 import io.airbyte.config.StandardCheckConnectionInput
+import io.airbyte.featureflag.FlagSnapshot
 import io.airbyte.persistence.job.models.IntegrationLauncherConfig
 import io.airbyte.persistence.job.models.JobRunConfig
 import io.airbyte.persistence.job.models.ReplicationInput
@@ -20,7 +21,10 @@ import io.mockk.every
 import io.mockk.mockk
 import io.mockk.verify
 import org.junit.jupiter.api.Test
+import reactor.test.StepVerifier
+import java.time.Duration
 import java.util.UUID
+import java.util.concurrent.CompletableFuture
 
 class LaunchPodStageTest {
   @Test
@@ -29,7 +33,7 @@ class LaunchPodStageTest {
     val payload = SyncPayload(replInput)
 
     val launcher: KubePodClient = mockk()
-    every { launcher.launchReplication(any(), any()) } returns Unit
+    every { launcher.launchReplication(any(), any(), any()) } returns CompletableFuture.completedFuture(Unit)
 
     val stage = LaunchPodStage(launcher, mockk())
     val workloadId = UUID.randomUUID().toString()
@@ -39,7 +43,7 @@ class LaunchPodStageTest {
     val result = stage.applyStage(io)
 
     verify {
-      launcher.launchReplication(payload, msg)
+      launcher.launchReplication(payload, msg, null)
     }
 
     assert(result.payload == payload)
@@ -51,7 +55,7 @@ class LaunchPodStageTest {
     val payload = SyncPayload(replInput)
 
     val launcher: KubePodClient = mockk()
-    every { launcher.launchReset(any(), any()) } returns Unit
+    every { launcher.launchReset(any(), any(), any()) } returns CompletableFuture.completedFuture(Unit)
 
     val stage = LaunchPodStage(launcher, mockk())
     val workloadId = UUID.randomUUID().toString()
@@ -61,7 +65,7 @@ class LaunchPodStageTest {
     val result = stage.applyStage(io)
 
     verify {
-      launcher.launchReset(payload, msg)
+      launcher.launchReset(payload, msg, null)
     }
 
     assert(result.payload == payload)
@@ -80,17 +84,18 @@ class LaunchPodStageTest {
     val payload = CheckPayload(checkInput)
 
     val launcher: KubePodClient = mockk()
-    every { launcher.launchCheck(any(), any()) } returns Unit
+    every { launcher.launchCheck(any(), any(), any()) } returns CompletableFuture.completedFuture(Unit)
 
     val stage = LaunchPodStage(launcher, mockk())
     val workloadId = UUID.randomUUID().toString()
     val msg = RecordFixtures.launcherInput(workloadId)
-    val io = LaunchStageIO(msg = msg, payload = payload)
+    val flags: FlagSnapshot = mockk()
+    val io = LaunchStageIO(msg = msg, payload = payload, flags = flags)
 
     val result = stage.applyStage(io)
 
     verify {
-      launcher.launchCheck(checkInput, msg)
+      launcher.launchCheck(checkInput, msg, flags)
     }
 
     assert(result.payload == payload)
@@ -107,7 +112,7 @@ class LaunchPodStageTest {
     val payload = DiscoverCatalogPayload(discoverInput)
 
     val launcher: KubePodClient = mockk()
-    every { launcher.launchDiscover(any(), any()) } returns Unit
+    every { launcher.launchDiscover(any(), any(), any()) } returns CompletableFuture.completedFuture(Unit)
 
     val stage = LaunchPodStage(launcher, mockk())
     val workloadId = UUID.randomUUID().toString()
@@ -117,9 +122,28 @@ class LaunchPodStageTest {
     val result = stage.applyStage(io)
 
     verify {
-      launcher.launchDiscover(discoverInput, msg)
+      launcher.launchDiscover(discoverInput, msg, null)
     }
 
     assert(result.payload == payload)
   }
+
+  @Test
+  fun `completes once the pods have started`() {
+    val payload = CheckPayload(mockk())
+    val started = CompletableFuture<Unit>()
+    val launcher: KubePodClient = mockk()
+    every { launcher.launchCheck(any(), any(), any()) } returns started
+
+    val stage = LaunchPodStage(launcher, mockk())
+    val io = LaunchStageIO(msg = RecordFixtures.launcherInput(UUID.randomUUID().toString()), payload = payload)
+
+    StepVerifier
+      .create(stage.applyStageAsync(io))
+      .expectSubscription()
+      .expectNoEvent(Duration.ofMillis(100))
+      .then { started.complete(Unit) }
+      .expectNext(io)
+      .verifyComplete()
+  }
 }
@@ -7,8 +7,10 @@ package io.airbyte.workload.launcher.pipeline.stages
 import fixtures.RecordFixtures
 import io.airbyte.featureflag.Connection
 import io.airbyte.featureflag.FeatureFlagClient
+import io.airbyte.featureflag.FlagEvaluation
 import io.airbyte.featureflag.LoadShedWorkloadLauncher
 import io.airbyte.featureflag.Multi
+import io.airbyte.featureflag.TestClient
 import io.airbyte.featureflag.Workspace
 import io.airbyte.metrics.MetricClient
 import io.airbyte.workload.launcher.client.WorkloadApiClient
@@ -77,6 +79,20 @@ class LoadShedStageTest {
     assertTrue(result.skip)
   }
 
+  @Test
+  fun `reads the flag from the snapshot of the launch`() {
+    val flags =
+      TestClient(mapOf(LoadShedWorkloadLauncher.key to true)).snapshot(listOf(FlagEvaluation(LoadShedWorkloadLauncher, ffContext)))
+    val result = stage.applyStage(input.copy(flags = flags))
+
+    verify(exactly = 0) { ffClient.boolVariation(any(), any()) }
+    verify(exactly = 1) {
+      workloadClient.updateStatusToFailed(input.workloadId, LOAD_SHED_FAILURE_REASON)
+    }
+
+    assertTrue(result.skip)
+  }
+
   @Test
   fun `swallows failures to fail workload`() {}
 
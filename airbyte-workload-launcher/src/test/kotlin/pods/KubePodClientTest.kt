@@ -14,6 +14,7 @@ import io.airbyte.featureflag.ProfilingMode
 import io.airbyte.featureflag.ShouldWaitForMainContainersOnReplication
 import io.airbyte.featureflag.SocketTest
 import io.airbyte.featureflag.TestClient
+import io.airbyte.featureflag.UseLauncherPodInformer
 import io.airbyte.metrics.MetricAttribute
 import io.airbyte.metrics.MetricClient
 import io.airbyte.metrics.OssMetricsRegistry
@@ -24,6 +25,7 @@ import io.airbyte.persistence.job.models.ReplicationInput
 import io.airbyte.workers.exception.ImagePullException
 import io.airbyte.workers.exception.KubeClientException
 import io.airbyte.workers.exception.KubeCommandType
+import io.airbyte.workers.exception.ResourceConstraintException
 import io.airbyte.workers.models.CheckConnectionInput
 import io.airbyte.workers.models.DiscoverCatalogInput
 import io.airbyte.workers.models.SpecInput
@@ -60,11 +62,15 @@ import io.mockk.mockk
 import io.mockk.slot
 import io.mockk.spyk
 import io.mockk.verify
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
 import org.junit.jupiter.api.extension.ExtendWith
 import java.util.UUID
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
 import java.util.concurrent.TimeoutException
 
 @ExtendWith(MockKExtension::class)
@@ -171,6 +177,7 @@ internal class KubePodClientTest {
     every { featureFlagClient.stringVariation(ProfilingMode, any()) } returns "cpu"
     every { featureFlagClient.boolVariation(SocketTest, any()) } returns false
     every { featureFlagClient.boolVariation(ShouldWaitForMainContainersOnReplication, any()) } returns true
+    every { featureFlagClient.boolVariation(UseLauncherPodInformer, any()) } returns false
 
     every { mapper.toKubeInput(WORKLOAD_ID, checkInput, sharedLabels) } returns connectorKubeInput
     every { mapper.toKubeInput(WORKLOAD_ID, discoverInput, sharedLabels) } returns connectorKubeInput
@@ -791,6 +798,40 @@ internal class KubePodClientTest {
     }
   }
 
+  @Test
+  fun `launchConnectorWithSidecar waits on the pod without blocking when the pod informer is enabled`() {
+    val initComplete = CompletableFuture<Unit>()
+    val ready = CompletableFuture<Pod>()
+    every { featureFlagClient.boolVariation(UseLauncherPodInformer, any()) } returns true
+    every { launcher.awaitPodInitComplete(pod, POD_INIT_TIMEOUT_VALUE) } returns initComplete
+    every { launcher.awaitPodReadyOrTerminalByPod(pod, REPL_CONNECTOR_STARTUP_TIMEOUT_VALUE) } returns ready
+    every { metricClient.distribution(any(), any(), *anyVararg()) } returns null
+
+    val launched = client.launchConnectorWithSidecar(connectorKubeInput, podFactory, "OPERATION NAME")
+
+    assertFalse(launched.isDone)
+    initComplete.complete(Unit)
+    assertFalse(launched.isDone)
+    ready.complete(pod)
+    assertTrue(launched.isDone)
+    launched.get()
+
+    verify(exactly = 0) { launcher.waitForPodInitComplete(any(), any()) }
+    verify(exactly = 0) { launcher.waitForPodReadyOrTerminalByPod(any(Pod::class), any()) }
+  }
+
+  @Test
+  fun `launchConnectorWithSidecar fails with a resource constraint exception when the pod init times out without blocking`() {
+    every { featureFlagClient.boolVariation(UseLauncherPodInformer, any()) } returns true
+    every { launcher.awaitPodInitComplete(pod, POD_INIT_TIMEOUT_VALUE) } returns CompletableFuture.failedFuture(TimeoutException("bang"))
+
+    val launched = client.launchConnectorWithSidecar(connectorKubeInput, podFactory, "OPERATION NAME")
+
+    val e = assertThrows<ExecutionException> { launched.get() }
+    assertTrue(e.cause is ResourceConstraintException)
+    verify(exactly = 0) { launcher.awaitPodReadyOrTerminalByPod(any(), any()) }
+  }
+
   private fun podWithLifecycle(
     name: String,
     creationTimestamp: String,
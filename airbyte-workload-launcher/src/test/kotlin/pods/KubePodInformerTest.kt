@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2020-2026 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.launcher.pods
+
+import io.airbyte.micronaut.runtime.AirbyteWorkerConfig
+import io.fabric8.kubernetes.api.model.ContainerState
+import io.fabric8.kubernetes.api.model.ContainerStateBuilder
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.KubernetesClientTimeoutException
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+private const val NAMESPACE = "jobs"
+
+@EnableKubernetesMockClient(crud = true)
+class KubePodInformerTest {
+  private lateinit var client: KubernetesClient
+  private lateinit var server: KubernetesMockServer
+  private lateinit var informer: KubePodInformer
+
+  private val running = ContainerStateBuilder().withNewRunning().endRunning().build()
+  private val terminated = ContainerStateBuilder().withNewTerminated().withExitCode(0).endTerminated().build()
+
+  @BeforeEach
+  fun setup() {
+    informer = informer()
+  }
+
+  @AfterEach
+  fun tearDown() {
+    informer.close()
+  }
+
+  @Test
+  fun `waits are served from the cache so the api calls don't grow with the number of concurrent waits`() {
+    assertEquals(apiCallsToWaitFor(pods = 5), apiCallsToWaitFor(pods = 50))
+  }
+
+  @Test
+  fun `a wait returns once the pod is updated to meet the condition`() {
+    client.pods().inNamespace(NAMESPACE).resource(pod("pod-1", running)).create()
+
+    val waited =
+      CompletableFuture.supplyAsync {
+        informer.waitUntilCondition(pod("pod-1", running), Duration.ofMinutes(1)) { it.initContainerState().terminated != null }
+      }
+    val stored = client.pods().inNamespace(NAMESPACE).withName("pod-1").get()
+    stored.status.initContainerStatuses[0].state = terminated
+    client.pods().inNamespace(NAMESPACE).resource(stored).updateStatus()
+
+    assertEquals(terminated, waited.get(1, TimeUnit.MINUTES).initContainerState())
+  }
+
+  @Test
+  fun `a wait times out if the condition isn't met`() {
+    client.pods().inNamespace(NAMESPACE).resource(pod("pod-1", running)).create()
+
+    assertThrows<KubernetesClientTimeoutException> {
+      informer.waitUntilCondition(pod("pod-1", running), Duration.ofMillis(100)) { it.initContainerState().terminated != null }
+    }
+  }
+
+  @Test
+  fun `pods are listed by all their labels`() {
+    client.pods().inNamespace(NAMESPACE).resource(pod("pod-1", running, mapOf(WORKLOAD_ID to "workload-1", "other" to "a"))).create()
+    client.pods().inNamespace(NAMESPACE).resource(pod("pod-2", running, mapOf(WORKLOAD_ID to "workload-1", "other" to "b"))).create()
+    client.pods().inNamespace(NAMESPACE).resource(pod("pod-3", running, mapOf(WORKLOAD_ID to "workload-2", "other" to "a"))).create()
+
+    assertEquals(listOf("pod-1", "pod-2"), informer.listPods(mapOf(WORKLOAD_ID to "workload-1")).map { it.metadata.name }.sorted())
+    assertEquals(listOf("pod-1"), informer.listPods(mapOf(WORKLOAD_ID to "workload-1", "other" to "a")).map { it.metadata.name })
+    assertEquals(listOf("pod-1", "pod-3"), informer.listPods(mapOf("other" to "a")).map { it.metadata.name }.sorted())
+  }
+
+  /**
+   * Creates [pods] pods, then waits for all of them at once from a new informer, and returns the api calls the waits made.
+   */
+  private fun apiCallsToWaitFor(pods: Int): Int {
+    informer.close()
+    client.pods().inNamespace(NAMESPACE).delete()
+    val created = (0 until pods).map { client.pods().inNamespace(NAMESPACE).resource(pod("pod-$it", terminated)).create() }
+    informer = informer()
+
+    val requestsBefore = server.requestCount
+    val executor = Executors.newFixedThreadPool(pods)
+    try {
+      created
+        .map { pod ->
+          CompletableFuture.supplyAsync(
+            { informer.waitUntilCondition(pod, Duration.ofMinutes(1)) { it.initContainerState().terminated != null } },
+            executor,
+          )
+        }.forEach { it.get(1, TimeUnit.MINUTES) }
+      created.forEach { pod -> informer.listPods(mapOf(WORKLOAD_ID to pod.metadata.name)) }
+    } finally {
+      executor.shutdownNow()
+    }
+    return server.requestCount - requestsBefore
+  }
+
+  private fun informer() =
+    KubePodInformer(
+      client,
+      AirbyteWorkerConfig(
+        job =
+          AirbyteWorkerConfig.AirbyteWorkerJobConfig(
+            kubernetes = AirbyteWorkerConfig.AirbyteWorkerJobConfig.AirbyteWorkerJobKubernetesConfig(namespace = NAMESPACE),
+          ),
+      ),
+    )
+
+  private fun pod(
+    name: String,
+    initContainerState: ContainerState,
+    labels: Map<String, String> = mapOf(WORKLOAD_ID to name),
+  ): Pod =
+    PodBuilder()
+      .withNewMetadata()
+      .withName(name)
+      .withNamespace(NAMESPACE)
+      .withLabels(labels)
+      .endMetadata()
+      .withNewStatus()
+      .addNewInitContainerStatus()
+      .withName("init")
+      .withState(initContainerState)
+      .endInitContainerStatus()
+      .endStatus()
+      .build()
+
+  private fun Pod.initContainerState(): ContainerState = status.initContainerStatuses[0].state
+}
@@ -76,6 +76,7 @@ class KubePodLauncherTest {
         airbyteWorkerConfig,
         featureFlagClient,
         kubernetesClientRetryPolicy,
+        KubePodInformer(kubernetesClient, airbyteWorkerConfig),
       )
 
     every { kubernetesClient.pods() } throws IllegalStateException()
@@ -169,6 +170,7 @@ class KubePodLauncherTest {
         airbyteWorkerConfig,
         featureFlagClient,
         kubernetesClientRetryPolicy,
+        KubePodInformer(kubernetesClient, airbyteWorkerConfig),
       )
 
     assertThrows<KubernetesClientException> {
@@ -208,6 +210,7 @@ class KubePodLauncherTest {
         airbyteWorkerConfig,
         featureFlagClient,
         kubernetesClientRetryPolicy,
+        KubePodInformer(kubernetesClient, airbyteWorkerConfig),
       )
 
     assertThrows<KubernetesClientException> {
@@ -250,6 +253,7 @@ class KubePodLauncherTest {
         airbyteWorkerConfig,
         featureFlagClient,
         kubernetesClientRetryPolicy,
+        KubePodInformer(kubernetesClient, airbyteWorkerConfig),
       )
 
     assertThrows<KubernetesClientException> {
@@ -292,6 +296,7 @@ class KubePodLauncherTest {
         airbyteWorkerConfig,
         featureFlagClient,
         kubernetesClientRetryPolicy,
+        KubePodInformer(kubernetesClient, airbyteWorkerConfig),
       )
 
     assertThrows<RuntimeException> {